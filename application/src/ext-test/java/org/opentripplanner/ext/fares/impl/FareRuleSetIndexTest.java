@@ -0,0 +1,119 @@
+package org.opentripplanner.ext.fares.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.fares.model.FareAttribute;
+import org.opentripplanner.ext.fares.model.FareRuleSet;
+import org.opentripplanner.transit.model.basic.Money;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+class FareRuleSetIndexTest {
+
+  private static final FeedScopedId ROUTE_1 = id("r1");
+  private static final FeedScopedId ROUTE_2 = id("r2");
+
+  private static final FareRuleSet ROUTE_1_SET = ruleSet("route-1", 3);
+  private static final FareRuleSet ZONE_A_TO_B_SET = ruleSet("a-to-b", 2);
+  private static final FareRuleSet FROM_ZONE_B_SET = ruleSet("from-b", 2);
+  private static final FareRuleSet ANY_SET = ruleSet("any", 5);
+  private static final FareRuleSet ANY_OTHER_SET = ruleSet("any-other", 5);
+
+  static {
+    ROUTE_1_SET.addRoute(ROUTE_1);
+    ZONE_A_TO_B_SET.addOriginDestination("A", "B");
+    FROM_ZONE_B_SET.addOriginDestination(null, "B");
+  }
+
+  private static final FareRuleSetIndex SUBJECT = new FareRuleSetIndex(
+    List.of(ANY_SET, ROUTE_1_SET, ZONE_A_TO_B_SET, FROM_ZONE_B_SET, ANY_OTHER_SET)
+  );
+
+  @Test
+  void routeRuleSet() {
+    assertEquals(fare(ROUTE_1_SET), SUBJECT.findBestFare(rideSpan(null, null, ROUTE_1)));
+    assertEquals(fare(ANY_SET), SUBJECT.findBestFare(rideSpan(null, null, ROUTE_2)));
+    // All routes of the rides must be in the rule set
+    assertEquals(fare(ANY_SET), SUBJECT.findBestFare(rideSpan(null, null, ROUTE_1, ROUTE_2)));
+  }
+
+  @Test
+  void originDestinationRuleSet() {
+    assertEquals(fare(ZONE_A_TO_B_SET), SUBJECT.findBestFare(rideSpan("A", "B", ROUTE_2)));
+    assertEquals(fare(ANY_SET), SUBJECT.findBestFare(rideSpan("A", "C", ROUTE_2)));
+    assertEquals(fare(ANY_SET), SUBJECT.findBestFare(rideSpan("C", "B", ROUTE_2)));
+  }
+
+  @Test
+  void originDestinationWithoutOrigin() {
+    assertEquals(fare(FROM_ZONE_B_SET), SUBJECT.findBestFare(rideSpan("B", "C", ROUTE_2)));
+  }
+
+  @Test
+  void firstOfEqualFaresIsUsed() {
+    assertEquals(fare(ANY_SET), SUBJECT.findBestFare(rideSpan("C", "D", ROUTE_2)));
+
+    var reversed = new FareRuleSetIndex(List.of(ANY_OTHER_SET, ANY_SET));
+    assertEquals(fare(ANY_OTHER_SET), reversed.findBestFare(rideSpan("C", "D", ROUTE_2)));
+  }
+
+  @Test
+  void otherFeed() {
+    var rideSpan = new FareRuleSetIndex.RideSpan(
+      "F2",
+      null,
+      null,
+      Set.of(),
+      ROUTE_2,
+      Set.of(ROUTE_2),
+      0,
+      Duration.ZERO,
+      Duration.ofMinutes(10)
+    );
+    assertTrue(SUBJECT.findBestFare(rideSpan).isEmpty());
+  }
+
+  @Test
+  void memoizedResult() {
+    var subject = new FareRuleSetIndex(List.of(ROUTE_1_SET, ANY_SET));
+
+    var fare = subject.findBestFare(rideSpan(null, null, ROUTE_1));
+
+    assertSame(fare, subject.findBestFare(rideSpan(null, null, ROUTE_1)));
+  }
+
+  private static FareRuleSet ruleSet(String id, int dollars) {
+    return new FareRuleSet(FareAttribute.of(id(id)).setPrice(Money.usDollars(dollars)).build());
+  }
+
+  private static Optional<FareAndId> fare(FareRuleSet ruleSet) {
+    var attribute = ruleSet.getFareAttribute();
+    return Optional.of(new FareAndId(attribute.getPrice(), attribute.getId()));
+  }
+
+  private static FareRuleSetIndex.RideSpan rideSpan(
+    @Nullable String startZone,
+    @Nullable String endZone,
+    FeedScopedId... routes
+  ) {
+    return new FareRuleSetIndex.RideSpan(
+      id("x").getFeedId(),
+      startZone,
+      endZone,
+      Set.of(),
+      routes[0],
+      Set.of(routes),
+      routes.length - 1,
+      Duration.ZERO,
+      Duration.ofMinutes(10)
+    );
+  }
+}
@@ -208,6 +208,46 @@ class GtfsFaresV2ServiceTest implements PlanTestConstants {
       var result = service.getProducts(i1);
       assertEquals(Set.of(singleFromOuter), result.itineraryProducts());
     }
+
+    @Test
+    void networkAndAreaId() {
+      var service = new GtfsFaresV2Service(
+        List.of(
+          FareLegRule.of(id("1"), single).withLegGroupId(LEG_GROUP1).build(),
+          FareLegRule
+            .of(id("2"), expressPass)
+            .withLegGroupId(LEG_GROUP1)
+            .withNetworkId(expressNetwork)
+            .build(),
+          FareLegRule
+            .of(id("3"), singleToOuter)
+            .withLegGroupId(LEG_GROUP1)
+            .withNetworkId(expressNetwork)
+            .withToAreaId(OUTER_ZONE)
+            .build()
+        ),
+        List.of(),
+        Multimaps.forMap(Map.of(OUTER_ZONE_STOP.stop.getId(), OUTER_ZONE))
+      );
+
+      var toOuterZone = newItinerary(A, 0)
+        .walk(20, B)
+        .faresV2Rail(ID, 0, 50, OUTER_ZONE_STOP, expressNetwork)
+        .build();
+      assertEquals(Set.of(singleToOuter), service.getProducts(toOuterZone).itineraryProducts());
+
+      var toOtherStop = newItinerary(A, 0)
+        .walk(20, B)
+        .faresV2Rail(ID, 0, 50, C, expressNetwork)
+        .build();
+      assertEquals(Set.of(expressPass), service.getProducts(toOtherStop).itineraryProducts());
+
+      var otherNetwork = newItinerary(A, 0)
+        .walk(20, B)
+        .faresV2Rail(ID, 0, 50, OUTER_ZONE_STOP, localNetwork)
+        .build();
+      assertEquals(Set.of(), service.getProducts(otherNetwork).itineraryProducts());
+    }
   }
 
   @Nested
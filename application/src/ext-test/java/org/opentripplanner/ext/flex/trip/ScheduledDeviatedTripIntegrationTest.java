@@ -109,7 +109,8 @@ class ScheduledDeviatedTripIntegrationTest {
       1,
       1,
       List.of(from),
-      List.of(to)
+      List.of(to),
+      null
     );
 
     var filter = new DecorateWithFare(graph.getFareService());
@@ -1,11 +1,17 @@
 package org.opentripplanner.ext.vectortiles;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import org.glassfish.grizzly.http.server.Request;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.opentripplanner.TestServerContext;
+import org.opentripplanner._support.time.ZoneIds;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource.LayerType;
+import org.opentripplanner.ext.vectortiles.layers.LayerFilters.FilterType;
+import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.test.support.HttpForTest;
 import org.opentripplanner.transit.service.TimetableRepository;
@@ -28,4 +34,61 @@ class VectorTilesResourceTest {
       tileJson.tiles[0]
     );
   }
+
+  @Test
+  void staticLayersAreNotVersionedOnRealtimeUpdates() {
+    var timetableRepository = new TimetableRepository();
+    var context = TestServerContext.createServerContext(new Graph(), timetableRepository);
+    var layer = new TestLayer(LayerType.Stop, FilterType.NONE);
+
+    var version = VectorTilesResource.dataVersion(layer, context);
+    timetableRepository.setRealtimeTransitLayer(Mockito.mock(TransitLayer.class));
+
+    assertEquals(version, VectorTilesResource.dataVersion(layer, context));
+  }
+
+  @Test
+  void staticLayersAreVersionedOnDateOnlyWithFilter() {
+    var timetableRepository = new TimetableRepository();
+    timetableRepository.initTimeZone(ZoneIds.UTC);
+    var context = TestServerContext.createServerContext(new Graph(), timetableRepository);
+
+    assertNotEquals(
+      VectorTilesResource.dataVersion(new TestLayer(LayerType.Stop, FilterType.NONE), context),
+      VectorTilesResource.dataVersion(
+        new TestLayer(LayerType.Stop, FilterType.SUNDAY_TO_SUNDAY_SERVICE_WEEK),
+        context
+      )
+    );
+  }
+
+  @Test
+  void staticLayersAreVersionedOnGraph() {
+    var timetableRepository = new TimetableRepository();
+    var layer = new TestLayer(LayerType.Station, FilterType.NONE);
+
+    assertNotEquals(
+      VectorTilesResource.dataVersion(
+        layer,
+        TestServerContext.createServerContext(new Graph(), timetableRepository)
+      ),
+      VectorTilesResource.dataVersion(
+        layer,
+        TestServerContext.createServerContext(new Graph(), timetableRepository)
+      )
+    );
+  }
+
+  private record TestLayer(LayerType type, FilterType filterType)
+    implements LayerParameters<LayerType> {
+    @Override
+    public String name() {
+      return "layer";
+    }
+
+    @Override
+    public String mapper() {
+      return "Digitransit";
+    }
+  }
 }
@@ -1,5 +1,7 @@
 package org.opentripplanner.ext.fares.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import java.time.Duration;
@@ -14,9 +16,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
-import org.opentripplanner.ext.fares.model.FareAttribute;
 import org.opentripplanner.ext.fares.model.FareRuleSet;
 import org.opentripplanner.ext.flex.FlexibleTransitLeg;
 import org.opentripplanner.model.fare.FareProduct;
@@ -78,12 +80,27 @@ public class DefaultFareService implements FareService {
   /** For each fare type (regular, student, etc...) the collection of rules that apply. */
   protected Map<FareType, Collection<FareRuleSet>> fareRulesPerType;
 
+  /**
+   * The rules of {@link #fareRulesPerType} grouped by feed, created when first used. The same
+   * collection of rules is returned for each fare type and feed, so its index is reused.
+   */
+  @Nullable
+  private transient volatile Map<FareType, Map<String, List<FareRuleSet>>> fareRulesByTypeAndFeed;
+
+  /**
+   * The index of each collection of rules used to calculate fares, by identity of the collection.
+   * See {@link FareRuleSetIndex}.
+   */
+  @Nullable
+  private transient volatile Cache<Collection<FareRuleSet>, FareRuleSetIndex> fareRuleSetIndexes;
+
   public DefaultFareService() {
     fareRulesPerType = new HashMap<>();
   }
 
   public void addFareRules(FareType fareType, Collection<FareRuleSet> fareRules) {
     fareRulesPerType.put(fareType, new ArrayList<>(fareRules));
+    fareRulesByTypeAndFeed = null;
   }
 
   public Map<FareType, Collection<FareRuleSet>> getFareRulesPerType() {
@@ -143,19 +160,26 @@ public class DefaultFareService implements FareService {
    */
   @Nullable
   protected Collection<FareRuleSet> fareRulesForFeed(FareType fareType, String feedId) {
-    var fareRulesByTypeAndFeed = fareRulesPerType
-      .entrySet()
-      .stream()
-      .collect(
-        Collectors.toMap(
-          Map.Entry::getKey,
-          rules ->
-            rules
-              .getValue()
-              .stream()
-              .collect(Collectors.groupingBy(rule -> rule.getFareAttribute().getId().getFeedId()))
-        )
-      );
+    var fareRulesByTypeAndFeed = this.fareRulesByTypeAndFeed;
+    if (fareRulesByTypeAndFeed == null) {
+      fareRulesByTypeAndFeed =
+        fareRulesPerType
+          .entrySet()
+          .stream()
+          .collect(
+            Collectors.toMap(
+              Map.Entry::getKey,
+              rules ->
+                rules
+                  .getValue()
+                  .stream()
+                  .collect(
+                    Collectors.groupingBy(rule -> rule.getFareAttribute().getId().getFeedId())
+                  )
+            )
+          );
+      this.fareRulesByTypeAndFeed = fareRulesByTypeAndFeed;
+    }
     return fareRulesByTypeAndFeed.get(fareType).get(feedId);
   }
 
@@ -251,7 +275,6 @@ public class DefaultFareService implements FareService {
   ) {
     Set<String> zones = new HashSet<>();
     Set<FeedScopedId> routes = new HashSet<>();
-    Set<FeedScopedId> trips = new HashSet<>();
     int transfersUsed = -1;
 
     var firstRide = legs.get(0);
@@ -271,51 +294,42 @@ public class DefaultFareService implements FareService {
       lastRideEndTime = leg.getEndTime();
       endZone = leg.getTo().stop.getFirstZoneAsString();
       routes.add(leg.getRoute().getId());
-      trips.add(leg.getTrip().getId());
       for (FareZone z : leg.getFareZones()) {
         zones.add(z.getId().getId());
       }
       transfersUsed += 1;
     }
 
-    @Nullable
-    FareAttribute bestAttribute = null;
-    @Nullable
-    Money bestFare = null;
-    Duration tripTime = Duration.between(startTime, lastRideStartTime);
-    Duration journeyTime = Duration.between(startTime, lastRideEndTime);
+    var rideSpan = new FareRuleSetIndex.RideSpan(
+      feedId,
+      startZone,
+      endZone,
+      zones,
+      firstRide.getRoute().getId(),
+      routes,
+      transfersUsed,
+      Duration.between(startTime, lastRideStartTime),
+      Duration.between(startTime, lastRideEndTime)
+    );
 
     // find the best fare that matches this set of rides
-    for (FareRuleSet ruleSet : fareRules) {
-      FareAttribute attribute = ruleSet.getFareAttribute();
-      // fares also don't really have an agency id, they will have the per-feed default id
-      // check only if the fare is not mapped to an agency
-      if (!attribute.getId().getFeedId().equals(feedId)) continue;
+    var best = fareRuleSetIndex(fareRules).findBestFare(rideSpan);
+    LOG.debug("{} best for {}", best, legs);
+    return best;
+  }
 
-      if (
-        ruleSet.matches(
-          startZone,
-          endZone,
-          zones,
-          routes,
-          trips,
-          transfersUsed,
-          tripTime,
-          journeyTime
-        )
-      ) {
-        Money newFare = attribute.getPrice();
-        if (bestFare == null || newFare.lessThan(bestFare)) {
-          bestAttribute = attribute;
-          bestFare = newFare;
-        }
-      }
+  private FareRuleSetIndex fareRuleSetIndex(Collection<FareRuleSet> fareRules) {
+    var indexes = fareRuleSetIndexes;
+    if (indexes == null) {
+      // weak keys are compared by identity
+      indexes = CacheBuilder.newBuilder().weakKeys().build();
+      fareRuleSetIndexes = indexes;
+    }
+    try {
+      return indexes.get(fareRules, () -> new FareRuleSetIndex(fareRules));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
     }
-    LOG.debug("{} best for {}", bestAttribute, legs);
-    Money finalBestFare = bestFare;
-    return Optional
-      .ofNullable(bestAttribute)
-      .map(attribute -> new FareAndId(finalBestFare, attribute.getId()));
   }
 
   /**
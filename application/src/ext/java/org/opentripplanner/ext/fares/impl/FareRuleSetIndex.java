@@ -0,0 +1,184 @@
+package org.opentripplanner.ext.fares.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opentripplanner.ext.fares.model.FareAttribute;
+import org.opentripplanner.ext.fares.model.FareRuleSet;
+import org.opentripplanner.transit.model.basic.Money;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * An index of a collection of {@link FareRuleSet}s used to find the best fare for a sequence of
+ * rides. Only the rule sets which may match the rides are tested:
+ * <ul>
+ *   <li>rule sets with routes, if the first route of the rides is one of them,</li>
+ *   <li>rule sets with origins and destinations, if the start zone of the rides is one of them,</li>
+ *   <li>and all other rule sets.</li>
+ * </ul>
+ * The best fare only depends on the {@link RideSpan} of the rides, so the result is memoized for
+ * each ride span. The itineraries of a plan response share many sequences of rides, so most
+ * sequences are only matched against the rule sets once.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+class FareRuleSetIndex {
+
+  /** The maximum number of ride spans for which the best fare is memoized. */
+  private static final int MEMO_SIZE = 10_000;
+
+  private static final int[] EMPTY = new int[0];
+
+  private final List<FareRuleSet> fareRules;
+  private final Map<FeedScopedId, int[]> byRoute;
+  private final Map<String, int[]> byOriginZone;
+
+  /** The rule sets with origins and destinations, used when the start zone is unknown. */
+  private final int[] withOriginDestinations;
+  private final int[] withoutRoutesOrOriginDestinations;
+
+  private final Cache<RideSpan, Optional<FareAndId>> memo = CacheBuilder
+    .newBuilder()
+    .maximumSize(MEMO_SIZE)
+    .build();
+
+  FareRuleSetIndex(Collection<FareRuleSet> fareRules) {
+    this.fareRules = List.copyOf(fareRules);
+
+    var byRoute = new HashMap<FeedScopedId, List<Integer>>();
+    var byOriginZone = new HashMap<String, List<Integer>>();
+    var withOriginDestinations = new ArrayList<Integer>();
+    var others = new ArrayList<Integer>();
+
+    for (int i = 0; i < this.fareRules.size(); i++) {
+      var ruleSet = this.fareRules.get(i);
+      if (!ruleSet.getRoutes().isEmpty()) {
+        for (FeedScopedId route : ruleSet.getRoutes()) {
+          byRoute.computeIfAbsent(route, k -> new ArrayList<>()).add(i);
+        }
+      } else if (!ruleSet.getStartZones().isEmpty()) {
+        for (String zone : ruleSet.getStartZones()) {
+          byOriginZone.computeIfAbsent(zone, k -> new ArrayList<>()).add(i);
+        }
+        withOriginDestinations.add(i);
+      } else {
+        others.add(i);
+      }
+    }
+    this.byRoute = toArrays(byRoute);
+    this.byOriginZone = toArrays(byOriginZone);
+    this.withOriginDestinations = toArray(withOriginDestinations);
+    this.withoutRoutesOrOriginDestinations = toArray(others);
+  }
+
+  /**
+   * Find the lowest fare of the rule sets matching the ride span. If several rule sets have the
+   * same lowest fare, the first of them is used.
+   */
+  Optional<FareAndId> findBestFare(RideSpan rideSpan) {
+    var result = memo.getIfPresent(rideSpan);
+    if (result == null) {
+      result = findBestFareWithoutMemo(rideSpan);
+      memo.put(rideSpan, result);
+    }
+    return result;
+  }
+
+  private Optional<FareAndId> findBestFareWithoutMemo(RideSpan rideSpan) {
+    @Nullable
+    FareAttribute bestAttribute = null;
+    @Nullable
+    Money bestFare = null;
+
+    for (int i : candidates(rideSpan)) {
+      FareRuleSet ruleSet = fareRules.get(i);
+      FareAttribute attribute = ruleSet.getFareAttribute();
+      // fares also don't really have an agency id, they will have the per-feed default id
+      // check only if the fare is not mapped to an agency
+      if (!attribute.getId().getFeedId().equals(rideSpan.feedId())) continue;
+
+      if (
+        ruleSet.matches(
+          rideSpan.startZone(),
+          rideSpan.endZone(),
+          rideSpan.zones(),
+          rideSpan.routes(),
+          Set.of(),
+          rideSpan.transfersUsed(),
+          rideSpan.tripTime(),
+          rideSpan.journeyTime()
+        )
+      ) {
+        Money newFare = attribute.getPrice();
+        if (bestFare == null || newFare.lessThan(bestFare)) {
+          bestAttribute = attribute;
+          bestFare = newFare;
+        }
+      }
+    }
+    Money finalBestFare = bestFare;
+    return Optional
+      .ofNullable(bestAttribute)
+      .map(attribute -> new FareAndId(finalBestFare, attribute.getId()));
+  }
+
+  /**
+   * The indexes of the rule sets which may match the ride span, in the order of the rule sets.
+   */
+  private int[] candidates(RideSpan rideSpan) {
+    var withRoute = byRoute.getOrDefault(rideSpan.firstRoute(), EMPTY);
+    var withOriginZone = rideSpan.startZone() == null
+      ? withOriginDestinations
+      : byOriginZone.getOrDefault(rideSpan.startZone(), EMPTY);
+
+    int[] result = new int[
+      withRoute.length + withOriginZone.length + withoutRoutesOrOriginDestinations.length
+    ];
+    System.arraycopy(withRoute, 0, result, 0, withRoute.length);
+    System.arraycopy(withOriginZone, 0, result, withRoute.length, withOriginZone.length);
+    System.arraycopy(
+      withoutRoutesOrOriginDestinations,
+      0,
+      result,
+      withRoute.length + withOriginZone.length,
+      withoutRoutesOrOriginDestinations.length
+    );
+    Arrays.sort(result);
+    return result;
+  }
+
+  private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> map) {
+    var result = new HashMap<K, int[]>();
+    map.forEach((key, value) -> result.put(key, toArray(value)));
+    return result;
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    return list.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * The properties of a sequence of rides used to match the fare rule sets. The trips are not
+   * included, because they are not used by {@link FareRuleSet#matches}.
+   */
+  record RideSpan(
+    String feedId,
+    @Nullable String startZone,
+    @Nullable String endZone,
+    Set<String> zones,
+    FeedScopedId firstRoute,
+    Set<FeedScopedId> routes,
+    int transfersUsed,
+    Duration tripTime,
+    Duration journeyTime
+  ) {}
+}
@@ -1,18 +1,21 @@
 package org.opentripplanner.ext.fares.impl;
 
-import static java.util.Objects.isNull;
-import static java.util.Objects.nonNull;
-
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.opentripplanner.ext.fares.model.FareDistance;
 import org.opentripplanner.ext.fares.model.FareLegRule;
 import org.opentripplanner.ext.fares.model.FareTransferRule;
@@ -22,31 +25,43 @@ import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.model.plan.Leg;
 import org.opentripplanner.model.plan.ScheduledTransitLeg;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
-import org.opentripplanner.transit.model.site.StopLocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Computes the fare products of an itinerary with GTFS Fares V2.
+ * <p>
+ * The fare leg rules are indexed by feed, network and from and to area when the service is
+ * created, so the rules matching a leg are found with a few lookups instead of testing every rule.
+ * The transfer rules are indexed by feed and from leg group in the same way.
+ */
 public final class GtfsFaresV2Service implements Serializable {
 
   private static final Logger LOG = LoggerFactory.getLogger(GtfsFaresV2Service.class);
-  private final List<FareLegRule> legRules;
-  private final List<FareTransferRule> transferRules;
   private final Multimap<FeedScopedId, String> stopAreas;
   private final Set<String> networksWithRules;
   private final Set<String> fromAreasWithRules;
   private final Set<String> toAreasWithRules;
+  private final ListMultimap<LegRuleKey, FareLegRule> legRulesByKey;
+  private final Map<FeedScopedId, FareLegRule> legRulesByGroupId;
+  private final ListMultimap<TransferRuleKey, FareTransferRule> transferRulesByFromLegGroup;
 
   public GtfsFaresV2Service(
     List<FareLegRule> legRules,
     List<FareTransferRule> fareTransferRules,
     Multimap<FeedScopedId, String> stopAreas
   ) {
-    this.legRules = legRules;
-    this.transferRules = fareTransferRules;
     this.networksWithRules = findNetworksWithRules(legRules);
     this.fromAreasWithRules = findAreasWithRules(legRules, FareLegRule::fromAreaId);
     this.toAreasWithRules = findAreasWithRules(legRules, FareLegRule::toAreaId);
     this.stopAreas = stopAreas;
+    this.legRulesByKey = Multimaps.index(legRules, LegRuleKey::of);
+    this.legRulesByGroupId = indexByGroupId(legRules);
+    this.transferRulesByFromLegGroup =
+      Multimaps.index(
+        fareTransferRules.stream().filter(GtfsFaresV2Service::checkForWildcards).iterator(),
+        TransferRuleKey::of
+      );
   }
 
   public ProductResult getProducts(Itinerary itinerary) {
@@ -78,6 +93,16 @@ public final class GtfsFaresV2Service implements Serializable {
     return legRules.stream().map(getArea).filter(Objects::nonNull).collect(Collectors.toSet());
   }
 
+  private static Map<FeedScopedId, FareLegRule> indexByGroupId(List<FareLegRule> legRules) {
+    var result = new HashMap<FeedScopedId, FareLegRule>();
+    for (var rule : legRules) {
+      if (rule.legGroupId() != null) {
+        result.putIfAbsent(rule.legGroupId(), rule);
+      }
+    }
+    return Map.copyOf(result);
+  }
+
   private static Set<String> findNetworksWithRules(Collection<FareLegRule> legRules) {
     return legRules
       .stream()
@@ -146,38 +171,60 @@ public final class GtfsFaresV2Service implements Serializable {
   }
 
   private boolean legMatchesRule(ScheduledTransitLeg leg, FareLegRule rule) {
-    // make sure that you only get rules for the correct feed
-    return (
-      leg.getAgency().getId().getFeedId().equals(rule.feedId()) &&
-      matchesNetworkId(leg, rule) &&
-      // apply only those fare leg rules which have the correct area ids
-      // if area id is null, the rule applies to all legs UNLESS there is another rule that
-      // covers this area
-      matchesArea(leg.getFrom().stop, rule.fromAreaId(), fromAreasWithRules) &&
-      matchesArea(leg.getTo().stop, rule.toAreaId(), toAreasWithRules) &&
-      matchesDistance(leg, rule)
-    );
+    return findLegRules(leg).contains(rule);
+  }
+
+  /**
+   * Find the rules matching the feed, network, areas and distance of the leg.
+   * <p>
+   * The rules with a network or area apply to the legs with that network or area. The rules
+   * without a network or area apply to all legs UNLESS there is another rule that covers the
+   * network or area of the leg. So the rules are looked up for each network and area of the leg
+   * with rules, or for no network or area if none of them have rules.
+   */
+  private Set<FareLegRule> findLegRules(ScheduledTransitLeg leg) {
+    var feedId = leg.getAgency().getId().getFeedId();
+    var networkIds = lookupKeys(networkIds(leg), networksWithRules);
+    var fromAreaIds = lookupKeys(stopAreas.get(leg.getFrom().stop.getId()), fromAreasWithRules);
+    var toAreaIds = lookupKeys(stopAreas.get(leg.getTo().stop.getId()), toAreasWithRules);
+
+    var result = new HashSet<FareLegRule>();
+    for (String networkId : networkIds) {
+      for (String fromAreaId : fromAreaIds) {
+        for (String toAreaId : toAreaIds) {
+          var key = new LegRuleKey(feedId, networkId, fromAreaId, toAreaId);
+          for (var rule : legRulesByKey.get(key)) {
+            if (matchesDistance(leg, rule)) {
+              result.add(rule);
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The given keys which are used in a rule, or only {@code null} if none of them are. Rules with
+   * a {@code null} key apply when there are no rules for the key of the leg.
+   */
+  private static List<String> lookupKeys(Collection<String> keys, Set<String> keysWithRules) {
+    var result = keys.stream().filter(keysWithRules::contains).distinct().toList();
+    return result.isEmpty() ? Collections.singletonList(null) : result;
   }
 
   private LegProducts getLegProduct(
     ScheduledTransitLeg leg,
     Optional<ScheduledTransitLeg> nextLeg
   ) {
-    var legRules =
-      this.legRules.stream().filter(r -> legMatchesRule(leg, r)).collect(Collectors.toSet());
+    var feedId = leg.getAgency().getId().getFeedId();
 
-    var transferRulesForLeg = transferRules
-      .stream()
-      .filter(t -> t.feedId().equals(leg.getAgency().getId().getFeedId()))
-      .toList();
-
-    var products = legRules
+    var products = findLegRules(leg)
       .stream()
       .map(rule -> {
-        var transferRulesToNextLeg = transferRulesForLeg
+        var transferRulesToNextLeg = transferRulesByFromLegGroup
+          .get(new TransferRuleKey(feedId, rule.legGroupId()))
           .stream()
-          .filter(GtfsFaresV2Service::checkForWildcards)
-          .filter(t -> t.fromLegGroup().equals(rule.legGroupId()))
           .filter(t -> transferRuleMatchesNextLeg(nextLeg, t))
           .toList();
         return new LegProducts.ProductWithTransfer(rule, transferRulesToNextLeg);
@@ -210,36 +257,17 @@ public final class GtfsFaresV2Service implements Serializable {
   }
 
   private Optional<FareLegRule> getFareLegRuleByGroupId(FeedScopedId groupId) {
-    return legRules.stream().filter(lr -> groupId.equals(lr.legGroupId())).findAny();
+    return Optional.ofNullable(legRulesByGroupId.get(groupId));
   }
 
-  private boolean matchesArea(StopLocation stop, String areaId, Set<String> areasWithRules) {
-    var stopAreas = this.stopAreas.get(stop.getId());
-    return (
-      (isNull(areaId) && stopAreas.stream().noneMatch(areasWithRules::contains)) ||
-      (nonNull(areaId) && stopAreas.contains(areaId))
-    );
-  }
-
-  /**
-   * Get the fare products that match the network_id. If the network id of the product is null it
-   * depends on the presence/absence of other rules with that network id.
-   */
-  private boolean matchesNetworkId(ScheduledTransitLeg leg, FareLegRule rule) {
-    var routesNetworkIds = leg
+  private static List<String> networkIds(ScheduledTransitLeg leg) {
+    return leg
       .getRoute()
       .getGroupsOfRoutes()
       .stream()
       .map(group -> group.getId().getId())
       .filter(Objects::nonNull)
       .toList();
-
-    return (
-      (
-        isNull(rule.networkId()) && networksWithRules.stream().noneMatch(routesNetworkIds::contains)
-      ) ||
-      routesNetworkIds.contains(rule.networkId())
-    );
   }
 
   private boolean matchesDistance(ScheduledTransitLeg leg, FareLegRule rule) {
@@ -258,6 +286,25 @@ public final class GtfsFaresV2Service implements Serializable {
     } else return true;
   }
 
+  private record LegRuleKey(
+    String feedId,
+    @Nullable String networkId,
+    @Nullable String fromAreaId,
+    @Nullable String toAreaId
+  )
+    implements Serializable {
+    static LegRuleKey of(FareLegRule rule) {
+      return new LegRuleKey(rule.feedId(), rule.networkId(), rule.fromAreaId(), rule.toAreaId());
+    }
+  }
+
+  private record TransferRuleKey(String feedId, @Nullable FeedScopedId fromLegGroup)
+    implements Serializable {
+    static TransferRuleKey of(FareTransferRule rule) {
+      return new TransferRuleKey(rule.feedId(), rule.fromLegGroup());
+    }
+  }
+
   /**
    * @param itineraryProducts The fare products that cover the entire itinerary, like a daily pass.
    * @param legProducts       The fare products that cover only individual legs.
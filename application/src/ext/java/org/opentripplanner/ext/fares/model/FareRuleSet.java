@@ -40,6 +40,19 @@ public class FareRuleSet implements Serializable {
     return routeOriginDestinations;
   }
 
+  /**
+   * The zones in which the rides matching the origins and destinations of this rule set start. An
+   * origin-destination without an origin matches the rides starting in its destination, see
+   * {@link #matches}.
+   */
+  public Set<String> getStartZones() {
+    var zones = new HashSet<String>();
+    for (var od : originDestinations) {
+      zones.add(od.origin != null ? od.origin : od.destination);
+    }
+    return zones;
+  }
+
   /**
    * Determine whether the FareRuleSet has any rules added.
    * @return True if any rules have been added.
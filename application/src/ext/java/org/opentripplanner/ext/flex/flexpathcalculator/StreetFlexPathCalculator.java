@@ -3,6 +3,7 @@ package org.opentripplanner.ext.flex.flexpathcalculator;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
@@ -11,6 +12,7 @@ import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.api.request.request.StreetRequest;
 import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.state.State;
@@ -29,6 +31,9 @@ import org.opentripplanner.street.search.strategy.DominanceFunctions;
  * configured so that the caching is done with either the origin or destination vertex as the key.
  * The one-to-many search will then either be done in the forward or the reverse direction depending
  * on this configuration.
+ * <p>
+ * The searches follow the temporary edges of the request in the overlay, if given, since the
+ * flex trips may start or end at the temporary vertices of the request.
  */
 public class StreetFlexPathCalculator implements FlexPathCalculator {
 
@@ -36,9 +41,21 @@ public class StreetFlexPathCalculator implements FlexPathCalculator {
   private final boolean reverseDirection;
   private final Duration maxFlexTripDuration;
 
+  @Nullable
+  private final TemporaryEdgeOverlay overlay;
+
   public StreetFlexPathCalculator(boolean reverseDirection, Duration maxFlexTripDuration) {
+    this(reverseDirection, maxFlexTripDuration, null);
+  }
+
+  public StreetFlexPathCalculator(
+    boolean reverseDirection,
+    Duration maxFlexTripDuration,
+    @Nullable TemporaryEdgeOverlay overlay
+  ) {
     this.reverseDirection = reverseDirection;
     this.maxFlexTripDuration = maxFlexTripDuration;
+    this.overlay = overlay;
   }
 
   @Override
@@ -91,6 +108,7 @@ public class StreetFlexPathCalculator implements FlexPathCalculator {
       .setStreetRequest(new StreetRequest(StreetMode.CAR))
       .setFrom(reverseDirection ? null : vertex)
       .setTo(reverseDirection ? vertex : null)
+      .setOverlay(overlay)
       .getShortestPathTree();
   }
 }
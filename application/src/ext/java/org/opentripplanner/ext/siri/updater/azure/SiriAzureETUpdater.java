@@ -96,17 +96,20 @@ public class SiriAzureETUpdater extends AbstractAzureSiriUpdater {
   }
 
   private Future<?> processMessage(List<EstimatedTimetableDeliveryStructure> updates) {
-    return super.saveResultOnGraph.execute(context -> {
-      var result = snapshotSource.applyEstimatedTimetable(
-        fuzzyTripMatching() ? context.siriFuzzyTripMatcher() : null,
-        context.entityResolver(feedId),
-        feedId,
-        UpdateIncrementality.DIFFERENTIAL,
-        updates
-      );
-      ResultLogger.logUpdateResultErrors(feedId, "siri-et", result);
-      recordMetrics.accept(result);
-    });
+    return super.saveResultOnGraph.execute(
+      feedId,
+      context -> {
+        var result = snapshotSource.applyEstimatedTimetable(
+          fuzzyTripMatching() ? context.siriFuzzyTripMatcher() : null,
+          context.entityResolver(feedId),
+          feedId,
+          UpdateIncrementality.DIFFERENTIAL,
+          updates
+        );
+        ResultLogger.logUpdateResultErrors(feedId, "siri-et", result);
+        recordMetrics.accept(result);
+      }
+    );
   }
 
   private void processHistory(ServiceDelivery siri) {
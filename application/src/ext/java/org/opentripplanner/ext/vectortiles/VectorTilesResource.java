@@ -11,13 +11,17 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import org.glassfish.grizzly.http.server.Request;
 import org.opentripplanner.apis.support.TileJson;
+import org.opentripplanner.ext.vectortiles.layers.LayerFilters;
 import org.opentripplanner.ext.vectortiles.layers.areastops.AreaStopsLayerBuilder;
 import org.opentripplanner.ext.vectortiles.layers.stations.StationsLayerBuilder;
 import org.opentripplanner.ext.vectortiles.layers.stops.StopsLayerBuilder;
@@ -28,13 +32,20 @@ import org.opentripplanner.ext.vectortiles.layers.vehiclerental.VehicleRentalSta
 import org.opentripplanner.ext.vectortiles.layers.vehiclerental.VehicleRentalVehiclesLayerBuilder;
 import org.opentripplanner.inspector.vector.LayerBuilder;
 import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.VectorTilePyramid;
 import org.opentripplanner.inspector.vector.VectorTileResponseFactory;
 import org.opentripplanner.model.FeedInfo;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Path("/routers/{ignoreRouterId}/vectorTiles")
 public class VectorTilesResource {
 
+  private static final Logger LOG = LoggerFactory.getLogger(VectorTilesResource.class);
+
   private final OtpServerRequestContext serverContext;
   private final String ignoreRouterId;
   private final Locale locale;
@@ -70,6 +81,7 @@ public class VectorTilesResource {
       Arrays.asList(requestedLayers.split(",")),
       serverContext.vectorTileConfig().layers(),
       VectorTilesResource::createLayerBuilder,
+      VectorTilesResource::dataVersion,
       serverContext
     );
   }
@@ -152,6 +164,91 @@ public class VectorTilesResource {
     };
   }
 
+  /**
+   * The stops, stations and area stops are mapped from the scheduled transit data, which only
+   * changes with the graph. The date is part of the version only if the filter of the layer
+   * depends on the current date. The other layers show real-time data, and are cached for the
+   * {@code cacheMaxSeconds} of the layer.
+   */
+  @Nullable
+  static Object dataVersion(
+    LayerParameters<LayerType> layerParameters,
+    OtpServerRequestContext context
+  ) {
+    if (!isStatic(layerParameters)) {
+      return timeVersion(layerParameters);
+    }
+    var transitService = context.transitService();
+    return new StaticDataVersion(
+      context.graph(),
+      transitService.getTransitLayer(),
+      layerParameters.filterType() == LayerFilters.FilterType.NONE
+        ? null
+        : LocalDate.now(transitService.getTimeZone())
+    );
+  }
+
+  /**
+   * Pre-render the tiles of the static layers without a filter, if enabled in the configuration,
+   * see {@link VectorTilePyramid}.
+   */
+  public static void prerenderStaticLayers(OtpServerRequestContext context) {
+    int maxZoom = context.vectorTileConfig().prerenderMaxZoom();
+    if (maxZoom < 0) {
+      return;
+    }
+    var layers = context
+      .vectorTileConfig()
+      .layers()
+      .stream()
+      .filter(VectorTilesResource::isStatic)
+      .filter(layer -> layer.filterType() == LayerFilters.FilterType.NONE)
+      .toList();
+    LOG.info("Pre-rendering {} vector tile layers up to zoom level {}.", layers.size(), maxZoom);
+    context
+      .vectorTileCache()
+      .setPyramid(
+        VectorTilePyramid.render(
+          layers,
+          maxZoom,
+          context.defaultRouteRequest().locale(),
+          VectorTilesResource::createLayerBuilder,
+          context
+        )
+      );
+  }
+
+  /**
+   * The stops, stations and area stops only change with the transit data, unless they show
+   * real-time data.
+   */
+  private static boolean isStatic(LayerParameters<LayerType> layerParameters) {
+    return switch (layerParameters.type()) {
+      case Stop, Station, AreaStop -> !"DigitransitRealtime".equals(layerParameters.mapper());
+      default -> false;
+    };
+  }
+
+  /**
+   * A version changing every {@code cacheMaxSeconds}, or {@code null} if the layer should not be
+   * cached.
+   */
+  @Nullable
+  private static Long timeVersion(LayerParameters<LayerType> layerParameters) {
+    int seconds = layerParameters.cacheMaxSeconds();
+    return seconds > 0 ? Instant.now().getEpochSecond() / seconds : null;
+  }
+
+  /**
+   * The graph and the scheduled transit layer of the timetable repository are compared by
+   * identity. Unlike the real-time transit layer they are not replaced by real-time updates.
+   */
+  private record StaticDataVersion(
+    Graph graph,
+    @Nullable TransitLayer transitLayer,
+    @Nullable LocalDate date
+  ) {}
+
   public enum LayerType {
     Stop,
     Station,
@@ -7,13 +7,15 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.opentripplanner.astar.model.BinHeap;
+import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.model.IndexedHeap;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.spi.AStarEdge;
 import org.opentripplanner.astar.spi.AStarState;
 import org.opentripplanner.astar.spi.AStarVertex;
 import org.opentripplanner.astar.spi.DominanceFunction;
+import org.opentripplanner.astar.spi.EdgeOverlay;
 import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
 import org.opentripplanner.astar.spi.SearchTerminationStrategy;
 import org.opentripplanner.astar.spi.SkipEdgeStrategy;
@@ -45,9 +47,14 @@ public class AStar<
   private final SearchTerminationStrategy<State> terminationStrategy;
   private final TraverseVisitor<State, Edge> traverseVisitor;
   private final Duration timeout;
+  private final boolean decreaseKey;
+
+  @Nullable
+  private final EdgeOverlay<Edge, Vertex> overlay;
 
   private final ShortestPathTree<State, Edge, Vertex> spt;
-  private final BinHeap<State> pq;
+  private final IndexedHeap<State> pq;
+  private final boolean reuseQueue;
   private final List<State> targetAcceptedStates;
 
   private State u;
@@ -63,6 +70,9 @@ public class AStar<
     SearchTerminationStrategy<State> terminationStrategy,
     DominanceFunction<State> dominanceFunction,
     Duration timeout,
+    boolean decreaseKey,
+    @Nullable AStarBuffers<State, Edge, Vertex> buffers,
+    @Nullable EdgeOverlay<Edge, Vertex> overlay,
     Collection<State> initialStates
   ) {
     this.heuristic = heuristic;
@@ -73,17 +83,23 @@ public class AStar<
     this.arriveBy = arriveBy;
     this.terminationStrategy = terminationStrategy;
     this.timeout = Objects.requireNonNull(timeout);
-
-    this.spt = new ShortestPathTree<>(dominanceFunction);
-
-    // Initialized with a reasonable size, see #4445
-    this.pq = new BinHeap<>(1000);
+    this.decreaseKey = decreaseKey;
+    this.overlay = overlay;
+
+    this.reuseQueue = buffers != null;
+    if (buffers != null) {
+      this.spt = buffers.shortestPathTree(dominanceFunction);
+      this.pq = buffers.queue();
+    } else {
+      this.spt = new ShortestPathTree<>(dominanceFunction);
+      // Initialized with a reasonable size, see #4445
+      this.pq = new IndexedHeap<>(1000);
+    }
     this.nVisited = 0;
     this.targetAcceptedStates = new ArrayList<>();
 
     for (State initialState : initialStates) {
-      spt.add(initialState);
-      pq.insert(initialState, initialState.getWeight());
+      enqueue(spt.addAndGetKey(initialState), initialState, initialState.getWeight());
     }
   }
 
@@ -133,7 +149,7 @@ public class AStar<
       LOG.debug("   vertex {}", u_vertex);
     }
 
-    Collection<Edge> edges = arriveBy ? u_vertex.getIncoming() : u_vertex.getOutgoing();
+    Collection<Edge> edges = edges(u_vertex);
     for (Edge edge : edges) {
       if (skipEdgeStrategy != null && skipEdgeStrategy.shouldSkipEdge(u, edge)) {
         continue;
@@ -168,13 +184,14 @@ public class AStar<
           );
         }
 
-        // spt.add returns true if the state is hopeful; enqueue state if it's hopeful
-        if (spt.add(v)) {
+        // enqueue the state if it is hopeful, that is if it is not dominated
+        int key = spt.addAndGetKey(v);
+        if (key != ShortestPathTree.NOT_ADDED) {
           // report to the visitor if there is one
           if (traverseVisitor != null) {
             traverseVisitor.visitEnqueue();
           }
-          pq.insert(v, estimate);
+          enqueue(key, v, estimate);
         }
       }
     }
@@ -182,7 +199,38 @@ public class AStar<
     return true;
   }
 
+  private Collection<Edge> edges(Vertex vertex) {
+    if (overlay != null) {
+      return arriveBy ? overlay.getIncoming(vertex) : overlay.getOutgoing(vertex);
+    }
+    return arriveBy ? vertex.getIncoming() : vertex.getOutgoing();
+  }
+
+  /**
+   * If the state is the only state of its vertex, it replaces the dominated state of the vertex
+   * in the queue when decrease-key is enabled. Otherwise, the dominated states are left in the
+   * queue and skipped when they come out.
+   */
+  private void enqueue(int sptKey, State state, double estimate) {
+    if (decreaseKey && sptKey >= 0) {
+      pq.update(sptKey, state, estimate);
+    } else {
+      pq.insert(state, estimate);
+    }
+  }
+
   private void runSearch() {
+    try {
+      search();
+    } finally {
+      if (reuseQueue) {
+        // The states left in a reused queue should not be kept until the next search
+        pq.reset();
+      }
+    }
+  }
+
+  private void search() {
     OTPRequestTimeoutException.checkForTimeout();
     long abortTime = DateUtils.absoluteTimeout(timeout);
 
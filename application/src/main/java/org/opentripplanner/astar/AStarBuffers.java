@@ -0,0 +1,56 @@
+package org.opentripplanner.astar;
+
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.model.IndexedHeap;
+import org.opentripplanner.astar.model.ShortestPathTree;
+import org.opentripplanner.astar.spi.AStarEdge;
+import org.opentripplanner.astar.spi.AStarState;
+import org.opentripplanner.astar.spi.AStarVertex;
+import org.opentripplanner.astar.spi.DominanceFunction;
+
+/**
+ * The priority queue and the shortest path tree tables of a search, kept so that the next search
+ * can reuse them. Each search starts with small tables which grow as it explores the graph, so
+ * many similar searches in a row, like the transfer searches from each stop during graph build,
+ * allocate and grow the same tables again and again.
+ * <p>
+ * The queue is emptied at the end of each search. Call {@link #clear()} when the result of a
+ * search is no longer used, so the buffers do not keep the states of the search. The tree returned
+ * by the search is emptied, and must not be used after this.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE, only one search may use the buffers at a time.
+ */
+public class AStarBuffers<
+  State extends AStarState<State, Edge, Vertex>,
+  Edge extends AStarEdge<State, Edge, Vertex>,
+  Vertex extends AStarVertex<State, Edge, Vertex>
+> {
+
+  private final IndexedHeap<State> queue = new IndexedHeap<>(1000);
+  @Nullable
+  private ShortestPathTree<State, Edge, Vertex> tree;
+
+  /**
+   * Empty the tree of the last search. Only the entries in use are removed, so this is cheap for a
+   * small search even if the tables were grown by a large one.
+   */
+  public void clear() {
+    if (tree != null) {
+      tree.clear();
+    }
+  }
+
+  /** The queue is emptied at the end of each search. */
+  IndexedHeap<State> queue() {
+    return queue;
+  }
+
+  ShortestPathTree<State, Edge, Vertex> shortestPathTree(
+    DominanceFunction<State> dominanceFunction
+  ) {
+    tree = tree == null
+      ? new ShortestPathTree<>(dominanceFunction)
+      : new ShortestPathTree<>(dominanceFunction, tree);
+    return tree;
+  }
+}
@@ -6,12 +6,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.spi.AStarEdge;
 import org.opentripplanner.astar.spi.AStarState;
 import org.opentripplanner.astar.spi.AStarVertex;
 import org.opentripplanner.astar.spi.DominanceFunction;
+import org.opentripplanner.astar.spi.EdgeOverlay;
 import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
 import org.opentripplanner.astar.spi.SearchTerminationStrategy;
 import org.opentripplanner.astar.spi.SkipEdgeStrategy;
@@ -35,6 +37,9 @@ public abstract class AStarBuilder<
   private DominanceFunction<State> dominanceFunction;
   private Edge originBackEdge;
   private Collection<State> initialStates;
+  private boolean decreaseKey = false;
+  private AStarBuffers<State, Edge, Vertex> buffers;
+  private EdgeOverlay<Edge, Vertex> overlay;
 
   protected AStarBuilder() {}
 
@@ -109,6 +114,34 @@ public abstract class AStarBuilder<
     return builder;
   }
 
+  /**
+   * Replace a dominated state in the priority queue instead of leaving it in the queue until it is
+   * polled. This keeps the queue smaller when many states are dominated, as in dense street
+   * networks, at the cost of tracking the position of each vertex in the queue.
+   */
+  public Builder setDecreaseKey(boolean decreaseKey) {
+    this.decreaseKey = decreaseKey;
+    return builder;
+  }
+
+  /**
+   * Reuse the priority queue and shortest path tree tables of the previous search using the same
+   * buffers. The tree returned by the previous search is emptied, see {@link AStarBuffers}.
+   */
+  public Builder setBuffers(AStarBuffers<State, Edge, Vertex> buffers) {
+    this.buffers = buffers;
+    return builder;
+  }
+
+  /**
+   * Follow the edges of the overlay in addition to the edges of the graph. If not set, the overlay
+   * is found from the origin and destination vertices, see {@link #findOverlay(Set, Set)}.
+   */
+  public Builder setOverlay(EdgeOverlay<Edge, Vertex> overlay) {
+    this.overlay = overlay;
+    return builder;
+  }
+
   public ShortestPathTree<State, Edge, Vertex> getShortestPathTree() {
     return build().getShortestPathTree();
   }
@@ -148,10 +181,25 @@ public abstract class AStarBuilder<
       terminationStrategy,
       Optional.ofNullable(dominanceFunction).orElseGet(this::createDefaultDominanceFunction),
       streetRoutingTimeout(),
+      decreaseKey,
+      buffers,
+      overlay != null ? overlay : findOverlay(origin, destination),
       initialStates
     );
   }
 
+  /**
+   * Find the overlay the origin or destination vertices belong to, return {@code null} if there is
+   * none.
+   */
+  @Nullable
+  protected EdgeOverlay<Edge, Vertex> findOverlay(
+    @Nullable Set<Vertex> origin,
+    @Nullable Set<Vertex> destination
+  ) {
+    return null;
+  }
+
   protected abstract Collection<State> createInitialStates(Set<Vertex> originVertices);
 
   protected abstract void prepareInitialStates(Collection<State> initialStates);
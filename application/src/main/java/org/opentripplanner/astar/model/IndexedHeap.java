@@ -0,0 +1,174 @@
+package org.opentripplanner.astar.model;
+
+import java.util.Arrays;
+
+/**
+ * A 4-ary min-heap where an element can be inserted with an integer key. The heap keeps track of
+ * the position of each key, so inserting an element with a key which is already in the heap
+ * replaces the element and moves it to its new priority instead of adding a duplicate. This is
+ * the "decrease-key" operation, but the priority is allowed to increase as well.
+ * <p>
+ * Elements can also be inserted without a key, like in {@link BinHeap}. The keys should be small
+ * non-negative integers, since an array indexed by the key is used to find the position.
+ * <p>
+ * The 4-ary heap is shallower than a binary heap, so an insert moves fewer elements, and the
+ * children of a node are next to each other in memory.
+ */
+public class IndexedHeap<T> {
+
+  private static final int ARITY = 4;
+  private static final int NO_KEY = -1;
+
+  /** The position of each key plus one, zero if the key is not in the heap. */
+  private int[] position;
+
+  private double[] prio;
+  private T[] elem;
+  private int[] keys;
+  private int size = 0;
+
+  public IndexedHeap() {
+    this(1000);
+  }
+
+  @SuppressWarnings("unchecked")
+  public IndexedHeap(int capacity) {
+    capacity = Math.max(capacity, 10);
+    this.position = new int[capacity];
+    this.prio = new double[capacity];
+    this.elem = (T[]) new Object[capacity];
+    this.keys = new int[capacity];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean empty() {
+    return size == 0;
+  }
+
+  public double peek_min_key() {
+    if (size == 0) {
+      throw new IllegalStateException("An empty queue does not have a minimum key.");
+    }
+    return prio[0];
+  }
+
+  public T peek_min() {
+    return size == 0 ? null : elem[0];
+  }
+
+  /** Insert an element without a key, the same element may be inserted more than once. */
+  public void insert(T e, double p) {
+    grow();
+    siftUp(size++, e, p, NO_KEY);
+  }
+
+  /**
+   * Insert the element with the given key, or replace the element with the key if it is already
+   * in the heap.
+   */
+  public void update(int key, T e, double p) {
+    if (key >= position.length) {
+      position = Arrays.copyOf(position, Math.max(key + 1, position.length * 2));
+    }
+    int pos = position[key];
+    if (pos == 0) {
+      grow();
+      siftUp(size++, e, p, key);
+    } else if (p < prio[pos - 1]) {
+      siftUp(pos - 1, e, p, key);
+    } else {
+      siftDown(pos - 1, e, p, key);
+    }
+  }
+
+  /** Return {@code true} if an element with the given key is in the heap. */
+  public boolean contains(int key) {
+    return key < position.length && position[key] != 0;
+  }
+
+  public T extract_min() {
+    if (size == 0) {
+      return null;
+    }
+    T minElem = elem[0];
+    if (keys[0] != NO_KEY) {
+      position[keys[0]] = 0;
+    }
+    --size;
+    if (size > 0) {
+      siftDown(0, elem[size], prio[size], keys[size]);
+    }
+    elem[size] = null;
+    return minElem;
+  }
+
+  /** Empty the queue. */
+  public void reset() {
+    for (int i = 0; i < size; ++i) {
+      if (keys[i] != NO_KEY) {
+        position[keys[i]] = 0;
+      }
+      elem[i] = null;
+    }
+    size = 0;
+  }
+
+  private void siftUp(int i, T e, double p, int key) {
+    while (i > 0) {
+      int parent = (i - 1) / ARITY;
+      if (prio[parent] <= p) {
+        break;
+      }
+      move(parent, i);
+      i = parent;
+    }
+    set(i, e, p, key);
+  }
+
+  private void siftDown(int i, T e, double p, int key) {
+    while (true) {
+      int first = i * ARITY + 1;
+      if (first >= size) {
+        break;
+      }
+      int min = first;
+      int last = Math.min(first + ARITY, size);
+      for (int c = first + 1; c < last; ++c) {
+        if (prio[c] < prio[min]) {
+          min = c;
+        }
+      }
+      if (prio[min] >= p) {
+        break;
+      }
+      move(min, i);
+      i = min;
+    }
+    set(i, e, p, key);
+  }
+
+  private void move(int from, int to) {
+    set(to, elem[from], prio[from], keys[from]);
+  }
+
+  private void set(int i, T e, double p, int key) {
+    elem[i] = e;
+    prio[i] = p;
+    keys[i] = key;
+    if (key != NO_KEY) {
+      position[key] = i + 1;
+    }
+  }
+
+  private void grow() {
+    if (size == elem.length) {
+      int capacity = elem.length * 2;
+      prio = Arrays.copyOf(prio, capacity);
+      elem = Arrays.copyOf(elem, capacity);
+      keys = Arrays.copyOf(keys, capacity);
+    }
+  }
+}
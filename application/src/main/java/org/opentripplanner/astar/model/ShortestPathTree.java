@@ -9,7 +9,6 @@ import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import org.opentripplanner.astar.spi.AStarEdge;
 import org.opentripplanner.astar.spi.AStarState;
@@ -33,6 +32,10 @@ import org.slf4j.LoggerFactory;
  * when walking. The turn restriction handling is done in the base dominance function
  * implementation, and applies to all subclasses. It essentially splits each vertex into N vertices
  * depending on the incoming edge being taken.
+ * <p>
+ * The states are kept in an open-addressing hash table keyed by {@link AStarVertex#getIndex()}.
+ * Most vertices have a single non-dominated state, which is stored directly in the table, a list
+ * is only created when a vertex has more than one co-dominant state.
  */
 public class ShortestPathTree<
   State extends AStarState<State, Edge, Vertex>,
@@ -44,15 +47,73 @@ public class ShortestPathTree<
 
   public final DominanceFunction<State> dominanceFunction;
 
-  private final Map<Vertex, List<State>> stateSets;
+  /** Returned by {@link #addAndGetKey(AStarState)} if the state is dominated. */
+  public static final int NOT_ADDED = -2;
+
+  /**
+   * Returned by {@link #addAndGetKey(AStarState)} if the state is added next to other co-dominant
+   * states.
+   */
+  public static final int CO_DOMINANT = -1;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /** The vertex index of each slot in the table. */
+  private int[] indices = new int[INITIAL_CAPACITY];
+
+  /** The key of each slot, the vertices are numbered in the order they are added. */
+  private int[] keys = new int[INITIAL_CAPACITY];
+
+  /**
+   * The state of each slot if the vertex has a single state, or a list of the states. A slot is
+   * empty if the value is {@code null}.
+   */
+  private Object[] values = new Object[INITIAL_CAPACITY];
+
+  /** The slot of each key, used to empty the slots in use when the tree is cleared. */
+  private int[] slots = new int[INITIAL_CAPACITY / 2 + 1];
+
+  /** The number of vertices in the table. */
+  private int size = 0;
 
   /** Indicates that the search timed out or was otherwise aborted. */
   private boolean aborted = false;
 
   public ShortestPathTree(DominanceFunction<State> dominanceFunction) {
     this.dominanceFunction = dominanceFunction;
-    // Initialized with a reasonable size, see #4445
-    stateSets = new IdentityHashMap<>(10_000);
+  }
+
+  /**
+   * Create an empty tree which reuses the tables of a previous tree, so they do not need to be
+   * allocated and grown again. The previous tree is emptied, and should not be used after this.
+   */
+  public ShortestPathTree(
+    DominanceFunction<State> dominanceFunction,
+    ShortestPathTree<State, Edge, Vertex> previous
+  ) {
+    this.dominanceFunction = dominanceFunction;
+    previous.clear();
+    this.indices = previous.indices;
+    this.keys = previous.keys;
+    this.values = previous.values;
+    this.slots = previous.slots;
+
+    previous.indices = new int[1];
+    previous.keys = new int[1];
+    previous.values = new Object[1];
+    previous.slots = new int[1];
+  }
+
+  /**
+   * Remove all states from the tree, keeping its tables. Only the slots in use are emptied, so the
+   * cost is proportional to the number of vertices in the tree, not to the size of the tables.
+   */
+  public void clear() {
+    for (int key = 0; key < size; ++key) {
+      values[slots[key]] = null;
+    }
+    size = 0;
+    aborted = false;
   }
 
   /** @return a list of GraphPaths, sometimes empty but never null. */
@@ -85,9 +146,11 @@ public class ShortestPathTree<
     Multiset<Integer> histogram = HashMultiset.create();
     int statesCount = 0;
     int maxSize = 0;
-    for (Map.Entry<Vertex, List<State>> kv : stateSets.entrySet()) {
-      List<State> states = kv.getValue();
-      int size = states.size();
+    for (Object value : values) {
+      if (value == null) {
+        continue;
+      }
+      int size = states(value).size();
       histogram.add(size);
       statesCount += size;
       if (size > maxSize) {
@@ -96,13 +159,13 @@ public class ShortestPathTree<
     }
     LOG.info(
       "SPT: vertices: " +
-      stateSets.size() +
+      size +
       " states: total: " +
       statesCount +
       " per vertex max: " +
       maxSize +
       " avg: " +
-      (statesCount * 1.0 / stateSets.size())
+      (statesCount * 1.0 / size)
     );
     List<Integer> nStates = new ArrayList<>(histogram.elementSet());
     Collections.sort(nStates);
@@ -112,7 +175,13 @@ public class ShortestPathTree<
   }
 
   public Set<Vertex> getVertices() {
-    return stateSets.keySet();
+    Set<Vertex> vertices = Collections.newSetFromMap(new IdentityHashMap<>(size));
+    for (Object value : values) {
+      if (value != null) {
+        vertices.add(states(value).getFirst().getVertex());
+      }
+    }
+    return vertices;
   }
 
   /**
@@ -126,26 +195,62 @@ public class ShortestPathTree<
    * be enqueued
    */
   public boolean add(State newState) {
+    return addAndGetKey(newState) != NOT_ADDED;
+  }
+
+  /**
+   * Add the state in the same way as {@link #add(AStarState)}. If the new state is the only state
+   * of the vertex after it is added, a key identifying the vertex is returned. The keys are small
+   * non-negative integers, and the key of a vertex does not change, so it can be used to replace a
+   * dominated state in an indexed priority queue.
+   *
+   * @return the key of the vertex, {@link #CO_DOMINANT} if the vertex has other states, or
+   * {@link #NOT_ADDED} if the state is dominated
+   */
+  public int addAndGetKey(State newState) {
     Vertex vertex = newState.getVertex();
-    List<State> states = stateSets.get(vertex);
+    int slot = slot(vertex);
+    Object value = values[slot];
 
     // if the vertex has no states, add one and return
-    if (states == null) {
-      states = new ArrayList<>();
-      stateSets.put(vertex, states);
+    if (value == null) {
+      int key = size;
+      indices[slot] = vertex.getIndex();
+      keys[slot] = key;
+      values[slot] = newState;
+      slots[key] = slot;
+      if (++size > indices.length / 2) {
+        rehash();
+      }
+      return key;
+    }
+
+    if (!(value instanceof List)) {
+      State oldState = state(value);
+      if (dominanceFunction.betterOrEqualAndComparable(oldState, newState)) {
+        return NOT_ADDED;
+      }
+      if (dominanceFunction.betterOrEqualAndComparable(newState, oldState)) {
+        values[slot] = newState;
+        return keys[slot];
+      }
+      List<State> states = new ArrayList<>(2);
+      states.add(oldState);
       states.add(newState);
-      return true;
+      values[slot] = states;
+      return CO_DOMINANT;
     }
 
     // if the vertex has any states that dominate the new state, don't add the state
     // if the new state dominates any old states, remove them
+    List<State> states = states(value);
     Iterator<State> it = states.iterator();
     while (it.hasNext()) {
       State oldState = it.next();
       // order is important, because in the case of a tie
       // we want to reject the new state
       if (dominanceFunction.betterOrEqualAndComparable(oldState, newState)) {
-        return false;
+        return NOT_ADDED;
       }
       if (dominanceFunction.betterOrEqualAndComparable(newState, oldState)) {
         it.remove();
@@ -153,8 +258,12 @@ public class ShortestPathTree<
     }
 
     // any states remaining are co-dominant with the new state
+    if (states.isEmpty()) {
+      values[slot] = newState;
+      return keys[slot];
+    }
     states.add(newState);
-    return true;
+    return CO_DOMINANT;
   }
 
   /**
@@ -164,7 +273,7 @@ public class ShortestPathTree<
    * @return a 'best' state at that vertex
    */
   public State getState(Vertex dest) {
-    Collection<State> states = stateSets.get(dest);
+    Collection<State> states = getStates(dest);
     if (states == null) {
       return null;
     }
@@ -188,12 +297,13 @@ public class ShortestPathTree<
    * @return a collection of 'interesting' states at that vertex
    */
   public List<State> getStates(Vertex dest) {
-    return stateSets.get(dest);
+    Object value = values[slot(dest)];
+    return value == null ? null : states(value);
   }
 
   /** @return number of vertices referenced in this SPT */
   public int getVertexCount() {
-    return stateSets.keySet().size();
+    return size;
   }
 
   /**
@@ -215,27 +325,38 @@ public class ShortestPathTree<
    * high constant factors and more complex code.
    * <p>
    * So there can be dominated (useless) states in the queue. When they come out we want to
-   * ignore them rather than spend time branching out from them.
+   * ignore them rather than spend time branching out from them. The search can optionally replace
+   * the dominated state of a vertex with a single state in an {@link IndexedHeap}, using the key
+   * returned by {@link #addAndGetKey(AStarState)}, but co-dominant states are still left in the
+   * queue.
    *
    * @param state - the state about to be visited
    * @return - whether this state is still considered worth visiting.
    */
   public boolean visit(State state) {
-    boolean ret = false;
-    for (State s : stateSets.get(state.getVertex())) {
-      if (s == state) {
-        ret = true;
-        break;
+    Object value = values[slot(state.getVertex())];
+    if (value == state) {
+      return true;
+    }
+    if (value instanceof List<?> states) {
+      for (Object s : states) {
+        if (s == state) {
+          return true;
+        }
       }
     }
-    return ret;
+    return false;
   }
 
   /** @return every state in this tree */
   public Collection<State> getAllStates() {
-    ArrayList<State> allStates = new ArrayList<>();
-    for (List<State> stateSet : stateSets.values()) {
-      allStates.addAll(stateSet);
+    ArrayList<State> allStates = new ArrayList<>(size);
+    for (Object value : values) {
+      if (value instanceof List) {
+        allStates.addAll(states(value));
+      } else if (value != null) {
+        allStates.add(state(value));
+      }
     }
     return allStates;
   }
@@ -244,7 +365,74 @@ public class ShortestPathTree<
     aborted = true;
   }
 
+  /** @return true if the search timed out or was otherwise aborted */
+  public boolean isAborted() {
+    return aborted;
+  }
+
   public String toString() {
-    return "ShortestPathTree(" + this.stateSets.size() + " vertices)";
+    return "ShortestPathTree(" + size + " vertices)";
+  }
+
+  /**
+   * Find the slot of the vertex, or the empty slot where it should be inserted. The index is used
+   * to find the slot, but two vertices may have the same index, so the vertex of the states is
+   * compared as well.
+   */
+  private int slot(Vertex vertex) {
+    int mask = indices.length - 1;
+    int index = vertex.getIndex();
+    int i = hash(index) & mask;
+    while (values[i] != null) {
+      if (indices[i] == index && vertex(values[i]) == vertex) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return i;
+  }
+
+  private void rehash() {
+    int[] oldIndices = indices;
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    indices = new int[oldIndices.length * 2];
+    keys = new int[oldKeys.length * 2];
+    values = new Object[oldValues.length * 2];
+    slots = new int[indices.length / 2 + 1];
+    int mask = indices.length - 1;
+    for (int j = 0; j < oldIndices.length; ++j) {
+      if (oldValues[j] != null) {
+        int i = hash(oldIndices[j]) & mask;
+        while (values[i] != null) {
+          i = (i + 1) & mask;
+        }
+        indices[i] = oldIndices[j];
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+        slots[keys[i]] = i;
+      }
+    }
+  }
+
+  /** Spread the sequential vertex indices over the table. */
+  private static int hash(int index) {
+    int h = index * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private Vertex vertex(Object value) {
+    return value instanceof List ? states(value).getFirst().getVertex() : state(value).getVertex();
+  }
+
+  @SuppressWarnings("unchecked")
+  private State state(Object value) {
+    return (State) value;
+  }
+
+  /** Return the states of a slot which is not empty. */
+  @SuppressWarnings("unchecked")
+  private List<State> states(Object value) {
+    return value instanceof List ? (List<State>) value : List.of((State) value);
   }
 }
@@ -16,4 +16,10 @@ public interface AStarVertex<
 
   /** Get a collection containing all the edges leading from other vertices to this vertex. */
   Collection<Edge> getIncoming();
+
+  /**
+   * A small integer identifying the vertex, used as a cheap hash key by the search. Two vertices
+   * may in rare cases share the same index, so the index must not be used for equality.
+   */
+  int getIndex();
 }
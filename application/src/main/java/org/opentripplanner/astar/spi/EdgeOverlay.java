@@ -0,0 +1,18 @@
+package org.opentripplanner.astar.spi;
+
+import java.util.Collection;
+
+/**
+ * Edges which are only visible to some searches, like the edges linking the origin and destination
+ * of a request to the graph. The overlay is asked for the edges of every vertex instead of the
+ * vertex itself, so the edges can be added without changing the vertices shared by all searches.
+ */
+public interface EdgeOverlay<
+  Edge extends AStarEdge<?, Edge, Vertex>, Vertex extends AStarVertex<?, Edge, Vertex>
+> {
+  /** The outgoing edges of the vertex, including the edges added by this overlay. */
+  Collection<Edge> getOutgoing(Vertex vertex);
+
+  /** The incoming edges of the vertex, including the edges added by this overlay. */
+  Collection<Edge> getIncoming(Vertex vertex);
+}
@@ -161,6 +161,15 @@ public class GraphBuilder implements Runnable {
       }
     }
 
+    // The landmark distances and the contraction hierarchy must be computed after all changes to
+    // the street network
+    if ((loadStreetGraph || hasOsm) && config.streetLandmarks > 0) {
+      graphBuilder.addModule(factory.streetLandmarkModule());
+    }
+    if ((loadStreetGraph || hasOsm) && config.carContractionHierarchy) {
+      graphBuilder.addModule(factory.carContractionHierarchyModule());
+    }
+
     if (loadStreetGraph || hasOsm) {
       graphBuilder.addModule(factory.graphCoherencyCheckerModule());
     }
@@ -0,0 +1,301 @@
+package org.opentripplanner.graph_builder.module;
+
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.opentripplanner.astar.model.BinHeap;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.ContractionHierarchy;
+import org.opentripplanner.street.model.StreetLandmarks;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.utils.logging.ProgressTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build a {@link ContractionHierarchy} over the car network. The vertices are contracted one at
+ * a time in the order of the "edge difference": the number of shortcuts needed minus the number
+ * of arcs removed, plus the number of neighbours already contracted to spread the contraction
+ * evenly. The priorities are updated lazily, a vertex is re-inserted in the queue if its priority
+ * has increased since it was inserted.
+ * <p>
+ * To decide if a shortcut is needed a "witness search" looks for a path between the two
+ * neighbours which avoids the vertex being contracted. The witness search is limited, so a few
+ * unnecessary shortcuts may be added, this does not change the paths found.
+ */
+public class CarContractionHierarchyModule implements GraphBuilderModule {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CarContractionHierarchyModule.class);
+
+  private final Graph graph;
+
+  public CarContractionHierarchyModule(Graph graph) {
+    this.graph = graph;
+  }
+
+  @Override
+  public void buildGraph() {
+    var vertices = graph.getVertices().toArray(Vertex[]::new);
+    var hierarchy = build(vertices);
+    graph.setCarContractionHierarchy(hierarchy);
+    LOG.info(
+      "Car contraction hierarchy created with {} arcs for {} vertices.",
+      hierarchy.numberOfArcs(),
+      vertices.length
+    );
+  }
+
+  static ContractionHierarchy build(Vertex[] vertices) {
+    return new Contraction(vertices).contract();
+  }
+
+  private static class Contraction {
+
+    private static final int NOT_CONTRACTED = -1;
+    private static final int NO_ARC = -1;
+
+    /** Limit the number of vertices settled in each witness search. */
+    private static final int MAX_WITNESS_SEARCH_SETTLED = 50;
+
+    private final Vertex[] vertices;
+    private final int[] rank;
+    private final int[] contractedNeighbours;
+
+    /** The arcs of each vertex, arcs to contracted vertices are skipped. */
+    private final TIntArrayList[] outArcs;
+    private final TIntArrayList[] inArcs;
+
+    private final List<Edge> arcEdge = new ArrayList<>();
+    private final TIntArrayList arcFrom = new TIntArrayList();
+    private final TIntArrayList arcTo = new TIntArrayList();
+    private final TDoubleArrayList arcCost = new TDoubleArrayList();
+    private final TIntArrayList arcFirst = new TIntArrayList();
+    private final TIntArrayList arcSecond = new TIntArrayList();
+
+    /** The witness search state, only the touched vertices are reset after each search. */
+    private final double[] witnessCost;
+    private final TIntArrayList witnessTouched = new TIntArrayList();
+    private final BinHeap<Integer> witnessQueue = new BinHeap<>();
+
+    private Contraction(Vertex[] vertices) {
+      int n = vertices.length;
+      this.vertices = vertices;
+      this.rank = new int[n];
+      this.contractedNeighbours = new int[n];
+      this.outArcs = new TIntArrayList[n];
+      this.inArcs = new TIntArrayList[n];
+      this.witnessCost = new double[n];
+      Arrays.fill(rank, NOT_CONTRACTED);
+      Arrays.fill(witnessCost, Double.POSITIVE_INFINITY);
+
+      for (int v = 0; v < n; ++v) {
+        outArcs[v] = new TIntArrayList(4);
+        inArcs[v] = new TIntArrayList(4);
+      }
+
+      var index = StreetLandmarks.createIndex(vertices);
+      for (int v = 0; v < n; ++v) {
+        for (Edge e : vertices[v].getOutgoing()) {
+          double cost = ContractionHierarchy.carDuration(e);
+          int to = index.get(e.getToVertex());
+          if (cost < Double.POSITIVE_INFINITY && to >= 0 && to != v) {
+            addArc(v, to, cost, e, NO_ARC, NO_ARC);
+          }
+        }
+      }
+    }
+
+    private ContractionHierarchy contract() {
+      int n = vertices.length;
+      var progress = ProgressTracker.track("Contract car network", 50_000, n);
+      LOG.info(progress.startMessage());
+
+      var queue = new BinHeap<Integer>(n);
+      for (int v = 0; v < n; ++v) {
+        queue.insert(v, priority(v));
+      }
+
+      int nextRank = 0;
+      while (!queue.empty()) {
+        int v = queue.extract_min();
+        double priority = priority(v);
+        if (!queue.empty() && priority > queue.peek_min_key()) {
+          queue.insert(v, priority);
+          continue;
+        }
+        contract(v, false);
+        rank[v] = nextRank++;
+        progress.step(m -> LOG.info(m));
+      }
+      LOG.info(progress.completeMessage());
+
+      return new ContractionHierarchy(
+        vertices,
+        rank,
+        arcEdge.toArray(Edge[]::new),
+        arcFrom.toArray(),
+        arcTo.toArray(),
+        arcCost.toArray(),
+        arcFirst.toArray(),
+        arcSecond.toArray()
+      );
+    }
+
+    private double priority(int v) {
+      int shortcuts = contract(v, true);
+      int removed = 0;
+      for (int i = 0; i < outArcs[v].size(); ++i) {
+        removed += isContracted(arcTo.get(outArcs[v].get(i))) ? 0 : 1;
+      }
+      for (int i = 0; i < inArcs[v].size(); ++i) {
+        removed += isContracted(arcFrom.get(inArcs[v].get(i))) ? 0 : 1;
+      }
+      return shortcuts - removed + contractedNeighbours[v];
+    }
+
+    /**
+     * Add the shortcuts needed to remove the vertex from the graph, or count them if
+     * {@code simulate} is true.
+     *
+     * @return the number of shortcuts needed
+     */
+    private int contract(int v, boolean simulate) {
+      var in = cheapestArcs(inArcs[v], v, true);
+      var out = cheapestArcs(outArcs[v], v, false);
+      int shortcuts = 0;
+
+      for (int u : in.keys()) {
+        int inArc = in.get(u);
+        double maxCost = 0.0;
+        for (int w : out.keys()) {
+          if (w != u) {
+            maxCost = Math.max(maxCost, arcCost.get(inArc) + arcCost.get(out.get(w)));
+          }
+        }
+        int targets = out.size() - (out.containsKey(u) ? 1 : 0);
+        if (targets == 0) {
+          continue;
+        }
+        witnessSearch(u, v, maxCost, out, targets);
+
+        for (int w : out.keys()) {
+          int outArc = out.get(w);
+          double cost = arcCost.get(inArc) + arcCost.get(outArc);
+          if (w != u && witnessCost[w] > cost) {
+            ++shortcuts;
+            if (!simulate) {
+              addArc(u, w, cost, null, inArc, outArc);
+            }
+          }
+        }
+        clearWitnessSearch();
+      }
+
+      if (!simulate) {
+        var neighbours = new TIntHashSet(in.keySet());
+        neighbours.addAll(out.keySet());
+        neighbours.forEach(x -> {
+          ++contractedNeighbours[x];
+          return true;
+        });
+      }
+      return shortcuts;
+    }
+
+    /** Find the cheapest arc to or from each neighbour which is not contracted. */
+    private TIntIntMap cheapestArcs(TIntArrayList arcs, int v, boolean incoming) {
+      var result = new TIntIntHashMap();
+      for (int i = 0; i < arcs.size(); ++i) {
+        int a = arcs.get(i);
+        int other = incoming ? arcFrom.get(a) : arcTo.get(a);
+        if (other == v || isContracted(other)) {
+          continue;
+        }
+        if (!result.containsKey(other) || arcCost.get(a) < arcCost.get(result.get(other))) {
+          result.put(other, a);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Dijkstra search from the source among the vertices not contracted, avoiding the excluded
+     * vertex. The search stops when the cost exceeds {@code maxCost}, or when all the targets are
+     * settled.
+     */
+    private void witnessSearch(
+      int source,
+      int excluded,
+      double maxCost,
+      TIntIntMap targets,
+      int numberOfTargets
+    ) {
+      var queue = witnessQueue;
+      witnessCost[source] = 0.0;
+      witnessTouched.add(source);
+      queue.insert(source, 0.0);
+      int settled = 0;
+
+      while (!queue.empty() && settled < MAX_WITNESS_SEARCH_SETTLED) {
+        double cost = queue.peek_min_key();
+        int v = queue.extract_min();
+        if (cost > witnessCost[v]) {
+          continue;
+        }
+        if (cost > maxCost) {
+          break;
+        }
+        if (v != source && targets.containsKey(v) && --numberOfTargets == 0) {
+          break;
+        }
+        ++settled;
+        for (int i = 0; i < outArcs[v].size(); ++i) {
+          int a = outArcs[v].get(i);
+          int w = arcTo.get(a);
+          if (w == excluded || isContracted(w)) {
+            continue;
+          }
+          double c = cost + arcCost.get(a);
+          if (c < witnessCost[w]) {
+            if (witnessCost[w] == Double.POSITIVE_INFINITY) {
+              witnessTouched.add(w);
+            }
+            witnessCost[w] = c;
+            queue.insert(w, c);
+          }
+        }
+      }
+    }
+
+    private void clearWitnessSearch() {
+      for (int i = 0; i < witnessTouched.size(); ++i) {
+        witnessCost[witnessTouched.get(i)] = Double.POSITIVE_INFINITY;
+      }
+      witnessTouched.resetQuick();
+      witnessQueue.reset();
+    }
+
+    private boolean isContracted(int v) {
+      return rank[v] != NOT_CONTRACTED;
+    }
+
+    private void addArc(int from, int to, double cost, Edge edge, int first, int second) {
+      int a = arcFrom.size();
+      arcEdge.add(edge);
+      arcFrom.add(from);
+      arcTo.add(to);
+      arcCost.add(cost);
+      arcFirst.add(first);
+      arcSecond.add(second);
+      outArcs[from].add(a);
+      inArcs[to].add(a);
+    }
+  }
+}
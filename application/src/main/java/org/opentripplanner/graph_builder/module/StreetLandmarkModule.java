@@ -0,0 +1,249 @@
+package org.opentripplanner.graph_builder.module;
+
+import gnu.trove.map.TObjectIntMap;
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+import org.opentripplanner.astar.model.BinHeap;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.LandmarkDistanceTable;
+import org.opentripplanner.street.model.StreetLandmarks;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Select a set of landmarks and compute the street network distances to and from each landmark,
+ * see {@link StreetLandmarks}. The landmarks are spread out using the farthest point heuristic,
+ * each new landmark is the street vertex farthest away from the landmarks already selected.
+ * <p>
+ * The edge costs are lower bounds of the routing cost. Edges which are not street edges, like
+ * elevators and links, are given a cost of zero.
+ */
+public class StreetLandmarkModule implements GraphBuilderModule {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StreetLandmarkModule.class);
+  private static final double NOT_TRAVERSABLE = Double.POSITIVE_INFINITY;
+
+  private final Graph graph;
+  private final int numberOfLandmarks;
+
+  public StreetLandmarkModule(Graph graph, int numberOfLandmarks) {
+    this.graph = graph;
+    this.numberOfLandmarks = numberOfLandmarks;
+  }
+
+  @Override
+  public void buildGraph() {
+    var vertices = graph.getVertices().toArray(Vertex[]::new);
+    int[] landmarks = selectLandmarks(vertices, numberOfLandmarks);
+
+    if (landmarks.length == 0) {
+      LOG.info("No street vertices found, landmarks are not created.");
+      return;
+    }
+    LOG.info(
+      "Computing street distances for {} landmarks and {} vertices...",
+      landmarks.length,
+      vertices.length
+    );
+    var index = StreetLandmarks.createIndex(vertices);
+    var carDurations = createTable(vertices, index, landmarks, StreetLandmarkModule::carDuration);
+    var bikeDistances = createTable(vertices, index, landmarks, StreetLandmarkModule::bikeDistance);
+    graph.setStreetLandmarks(new StreetLandmarks(vertices, carDurations, bikeDistances));
+    LOG.info("Computing street distances for landmarks complete.");
+  }
+
+  /**
+   * The time in seconds to drive the edge at the max speed allowed on the edge.
+   */
+  static double carDuration(Edge edge) {
+    if (edge instanceof StreetEdge e) {
+      return e.getPermission().allows(TraverseMode.CAR) && e.getCarSpeed() > 0
+        ? e.getDistanceMeters() / e.getCarSpeed()
+        : NOT_TRAVERSABLE;
+    }
+    return 0.0;
+  }
+
+  /**
+   * The shortest effective distance in meters, the effective bike and walk distances take slopes
+   * into account. A bicycle may be walked on pedestrian streets.
+   */
+  static double bikeDistance(Edge edge) {
+    if (edge instanceof StreetEdge e) {
+      var permission = e.getPermission();
+      if (
+        !permission.allows(StreetTraversalPermission.BICYCLE) &&
+        !permission.allows(StreetTraversalPermission.PEDESTRIAN)
+      ) {
+        return NOT_TRAVERSABLE;
+      }
+      return Math.min(
+        e.getDistanceMeters(),
+        Math.min(e.getEffectiveBikeDistance(), e.getEffectiveWalkDistance())
+      );
+    }
+    return 0.0;
+  }
+
+  /**
+   * Select landmarks among the vertices connected to the street network, the first landmark is
+   * the vertex farthest away from the center of all street vertices.
+   */
+  static int[] selectLandmarks(Vertex[] vertices, int numberOfLandmarks) {
+    int[] candidates = IntStream
+      .range(0, vertices.length)
+      .filter(i -> isStreetVertex(vertices[i]))
+      .toArray();
+
+    if (candidates.length == 0) {
+      return new int[0];
+    }
+
+    double lat = Arrays
+      .stream(candidates)
+      .mapToDouble(i -> vertices[i].getLat())
+      .average()
+      .orElse(0);
+    double lon = Arrays
+      .stream(candidates)
+      .mapToDouble(i -> vertices[i].getLon())
+      .average()
+      .orElse(0);
+
+    // The distance from each candidate to the closest selected landmark
+    var minDistance = new double[candidates.length];
+    for (int c = 0; c < candidates.length; ++c) {
+      var v = vertices[candidates[c]];
+      minDistance[c] = SphericalDistanceLibrary.fastDistance(v.getLat(), v.getLon(), lat, lon);
+    }
+
+    int n = Math.min(numberOfLandmarks, candidates.length);
+    int[] landmarks = new int[n];
+    for (int l = 0; l < n; ++l) {
+      int best = 0;
+      for (int c = 1; c < candidates.length; ++c) {
+        if (minDistance[c] > minDistance[best]) {
+          best = c;
+        }
+      }
+      var landmark = vertices[candidates[best]];
+      landmarks[l] = candidates[best];
+
+      for (int c = 0; c < candidates.length; ++c) {
+        var v = vertices[candidates[c]];
+        double d = SphericalDistanceLibrary.fastDistance(
+          v.getLat(),
+          v.getLon(),
+          landmark.getLat(),
+          landmark.getLon()
+        );
+        // The first distance is to the center, not to a landmark
+        minDistance[c] = l == 0 ? d : Math.min(minDistance[c], d);
+      }
+    }
+    return landmarks;
+  }
+
+  private static boolean isStreetVertex(Vertex v) {
+    return !v.getOutgoingStreetEdges().isEmpty() && !v.getIncomingStreetEdges().isEmpty();
+  }
+
+  private static LandmarkDistanceTable createTable(
+    Vertex[] vertices,
+    TObjectIntMap<Vertex> index,
+    int[] landmarks,
+    ToDoubleFunction<Edge> cost
+  ) {
+    var forward = Network.of(vertices, index, cost, true);
+    var reverse = Network.of(vertices, index, cost, false);
+
+    int[][] fromLandmark = new int[landmarks.length][];
+    int[][] toLandmark = new int[landmarks.length][];
+
+    IntStream
+      .range(0, landmarks.length)
+      .parallel()
+      .forEach(l -> {
+        fromLandmark[l] = forward.shortestDistances(landmarks[l]);
+        toLandmark[l] = reverse.shortestDistances(landmarks[l]);
+      });
+    return new LandmarkDistanceTable(fromLandmark, toLandmark);
+  }
+
+  /**
+   * The street network in a compact adjacency array form, the edges of vertex {@code v} are in
+   * the range {@code [offsets[v], offsets[v+1])}. A reverse network contains the incoming
+   * edges, and is used to compute the distances to a landmark.
+   */
+  private record Network(int[] offsets, int[] targets, double[] costs) {
+    static Network of(
+      Vertex[] vertices,
+      TObjectIntMap<Vertex> index,
+      ToDoubleFunction<Edge> cost,
+      boolean forward
+    ) {
+      int n = vertices.length;
+      int[] offsets = new int[n + 1];
+      for (int v = 0; v < n; ++v) {
+        var edges = forward ? vertices[v].getOutgoing() : vertices[v].getIncoming();
+        offsets[v + 1] = offsets[v] + edges.size();
+      }
+      int[] targets = new int[offsets[n]];
+      double[] costs = new double[offsets[n]];
+      for (int v = 0; v < n; ++v) {
+        int i = offsets[v];
+        var edges = forward ? vertices[v].getOutgoing() : vertices[v].getIncoming();
+        for (Edge e : edges) {
+          var other = forward ? e.getToVertex() : e.getFromVertex();
+          targets[i] = index.get(other);
+          costs[i] = cost.applyAsDouble(e);
+          ++i;
+        }
+      }
+      return new Network(offsets, targets, costs);
+    }
+
+    /** Dijkstra one-to-all, the result is rounded down. */
+    int[] shortestDistances(int source) {
+      int n = offsets.length - 1;
+      var distances = new double[n];
+      Arrays.fill(distances, Double.POSITIVE_INFINITY);
+      distances[source] = 0.0;
+
+      var queue = new BinHeap<Integer>();
+      queue.insert(source, 0.0);
+
+      while (!queue.empty()) {
+        double d = queue.peek_min_key();
+        int v = queue.extract_min();
+        if (d > distances[v]) {
+          continue;
+        }
+        for (int i = offsets[v]; i < offsets[v + 1]; ++i) {
+          int u = targets[i];
+          double du = d + costs[i];
+          if (u >= 0 && du < distances[u]) {
+            distances[u] = du;
+            queue.insert(u, du);
+          }
+        }
+      }
+
+      var result = new int[n];
+      for (int v = 0; v < n; ++v) {
+        result[v] = distances[v] == Double.POSITIVE_INFINITY
+          ? LandmarkDistanceTable.UNREACHABLE
+          : (int) Math.min(distances[v], LandmarkDistanceTable.UNREACHABLE - 1);
+      }
+      return result;
+    }
+  }
+}
@@ -9,7 +9,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.AStarBuffers;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
 import org.opentripplanner.astar.strategy.MaxCountTerminationStrategy;
@@ -23,6 +27,7 @@ import org.opentripplanner.routing.graphfinder.NearbyStop;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
 import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.TemporaryStreetLocation;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
@@ -39,6 +44,20 @@ public class StreetNearbyStopFinder implements NearbyStopFinder {
   private final DataOverlayContext dataOverlayContext;
   private final Set<Vertex> ignoreVertices;
 
+  @Nullable
+  private final TemporaryEdgeOverlay overlay;
+
+  /**
+   * The search tables which are free to be reused by the next search, if enabled with
+   * {@link #reuseSearchBuffers()}. Each search takes a set of tables from the pool, so the finder
+   * can be used by several threads.
+   */
+  @Nullable
+  private Queue<AStarBuffers<State, Edge, Vertex>> searchBuffers = null;
+
+  /** Set if the last street search timed out, so the stops found may be incomplete. */
+  private boolean searchAborted = false;
+
   /**
    * Construct a NearbyStopFinder for the given graph and search radius.
    *
@@ -65,11 +84,36 @@ public class StreetNearbyStopFinder implements NearbyStopFinder {
     int maxStopCount,
     DataOverlayContext dataOverlayContext,
     Set<Vertex> ignoreVertices
+  ) {
+    this(durationLimit, maxStopCount, dataOverlayContext, ignoreVertices, null);
+  }
+
+  /**
+   * @param overlay The temporary and real-time edges of the request, needed if the origin vertices
+   *                are permanent vertices.
+   */
+  public StreetNearbyStopFinder(
+    Duration durationLimit,
+    int maxStopCount,
+    DataOverlayContext dataOverlayContext,
+    Set<Vertex> ignoreVertices,
+    @Nullable TemporaryEdgeOverlay overlay
   ) {
     this.dataOverlayContext = dataOverlayContext;
     this.durationLimit = durationLimit;
     this.maxStopCount = maxStopCount;
     this.ignoreVertices = ignoreVertices;
+    this.overlay = overlay;
+  }
+
+  /**
+   * Reuse the search tables between the searches of this finder. This is only worth it for a
+   * long-lived finder running many searches, like the one generating the transfers during graph
+   * build. The tables are kept as long as the finder.
+   */
+  public StreetNearbyStopFinder reuseSearchBuffers() {
+    this.searchBuffers = new ConcurrentLinkedQueue<>();
+    return this;
   }
 
   /**
@@ -119,6 +163,7 @@ public class StreetNearbyStopFinder implements NearbyStopFinder {
     }
     stopsFound = new ArrayList<>(stopsFound);
 
+    var buffers = takeSearchBuffers();
     var streetSearch = StreetSearchBuilder
       .of()
       .setSkipEdgeStrategy(new DurationSkipEdgeStrategy<>(durationLimit))
@@ -128,7 +173,9 @@ public class StreetNearbyStopFinder implements NearbyStopFinder {
       .setStreetRequest(streetRequest)
       .setFrom(reverseDirection ? null : originVertices)
       .setTo(reverseDirection ? originVertices : null)
-      .setDataOverlayContext(dataOverlayContext);
+      .setDataOverlayContext(dataOverlayContext)
+      .setOverlay(overlay)
+      .setBuffers(buffers);
 
     if (maxStopCount > 0) {
       streetSearch.setTerminationStrategy(
@@ -137,6 +184,7 @@ public class StreetNearbyStopFinder implements NearbyStopFinder {
     }
 
     ShortestPathTree<State, Edge, Vertex> spt = streetSearch.getShortestPathTree();
+    searchAborted = spt != null && spt.isAborted();
 
     // Only used if OTPFeature.FlexRouting.isOn()
     Multimap<AreaStop, State> locationsMap = ArrayListMultimap.create();
@@ -166,6 +214,8 @@ public class StreetNearbyStopFinder implements NearbyStopFinder {
         }
       }
     }
+    // The states are kept by the stops found, the tree is not needed after this
+    releaseSearchBuffers(buffers);
 
     if (OTPFeature.FlexRouting.isOn()) {
       for (var locationStates : locationsMap.asMap().entrySet()) {
@@ -189,6 +239,31 @@ public class StreetNearbyStopFinder implements NearbyStopFinder {
     return stopsFound;
   }
 
+  @Nullable
+  private AStarBuffers<State, Edge, Vertex> takeSearchBuffers() {
+    if (searchBuffers == null) {
+      return null;
+    }
+    var buffers = searchBuffers.poll();
+    return buffers != null ? buffers : new AStarBuffers<>();
+  }
+
+  /** Empty the tree of the search, and return the tables to the pool. */
+  private void releaseSearchBuffers(@Nullable AStarBuffers<State, Edge, Vertex> buffers) {
+    if (buffers != null) {
+      buffers.clear();
+      searchBuffers.add(buffers);
+    }
+  }
+
+  /**
+   * Return {@code true} if the street search of the last call to {@code findNearbyStops} timed
+   * out, and the result may be incomplete.
+   */
+  public boolean isSearchAborted() {
+    return searchAborted;
+  }
+
   private boolean canBoardFlex(State state, boolean reverse) {
     Collection<Edge> edges = reverse
       ? state.getVertex().getIncoming()
@@ -0,0 +1,109 @@
+package org.opentripplanner.inspector.vector;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Cache the encoded vector tiles of each layer, so the tiles are not created again for each
+ * request. A vector tile with several layers is the concatenation of the tiles of each layer, so
+ * the tiles are cached for each layer and shared between the requests for different sets of
+ * layers.
+ * <p>
+ * The tiles are cached for a version of the data shown in the layer, see
+ * {@link VectorTileResponseFactory.LayerDataVersion}. When a request sees a new version of the data
+ * of a layer, all the cached tiles of the layer are invalidated. The tiles of the other layers are
+ * kept, so an update of the real-time data does not invalidate the tiles of layers showing only
+ * the transit data.
+ * <p>
+ * The tiles of the layers in the {@link VectorTilePyramid}, if set, are served from the pyramid
+ * and are not added to the cache. The pyramid is only used for tiles with a version, the layers of
+ * other APIs without a version, like the debug client, may have the same names as the
+ * pre-rendered layers.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class VectorTileCache {
+
+  /** A cache which never caches any tiles. */
+  public static final VectorTileCache DISABLED = new VectorTileCache(0);
+
+  @Nullable
+  private final Cache<Key, byte[]> tiles;
+
+  /** The latest version of the data seen for each layer. */
+  private final Map<String, Object> versions = new ConcurrentHashMap<>();
+
+  @Nullable
+  private volatile VectorTilePyramid pyramid;
+
+  /**
+   * @param maximumSize The maximum number of layer tiles in the cache. Zero disables the cache.
+   */
+  public VectorTileCache(int maximumSize) {
+    this.tiles = maximumSize > 0
+      ? CacheBuilder.newBuilder().maximumSize(maximumSize).build()
+      : null;
+  }
+
+  /**
+   * Serve the pre-rendered tiles of the pyramid. The pyramid is set when it is rendered at startup,
+   * after the cache is created.
+   */
+  public void setPyramid(VectorTilePyramid pyramid) {
+    this.pyramid = pyramid;
+  }
+
+  /**
+   * Return the encoded tile of the layer, or create it with the given function if the tile is not
+   * cached for the version.
+   *
+   * @param version The version of the data of the layer, or {@code null} if the tile should not be
+   *                cached.
+   */
+  public byte[] get(
+    String layer,
+    @Nullable Locale locale,
+    int x,
+    int y,
+    int z,
+    @Nullable Object version,
+    Supplier<byte[]> createTile
+  ) {
+    if (version == null) {
+      return createTile.get();
+    }
+    var pyramid = this.pyramid;
+    if (pyramid != null) {
+      var tile = pyramid.get(layer, locale, x, y, z);
+      if (tile != null) {
+        return tile;
+      }
+    }
+    if (tiles == null) {
+      return createTile.get();
+    }
+    var previous = versions.put(layer, version);
+    if (previous != null && !previous.equals(version)) {
+      tiles.asMap().keySet().removeIf(key -> key.layer.equals(layer));
+    }
+    var key = new Key(layer, locale, x, y, z, version);
+    var tile = tiles.getIfPresent(key);
+    if (tile == null) {
+      tile = createTile.get();
+      tiles.put(key, tile);
+    }
+    return tile;
+  }
+
+  /** The number of layer tiles in the cache. */
+  long size() {
+    return tiles == null ? 0 : tiles.size();
+  }
+
+  private record Key(String layer, @Nullable Locale locale, int x, int y, int z, Object version) {}
+}
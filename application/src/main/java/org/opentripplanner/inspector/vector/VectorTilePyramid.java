@@ -0,0 +1,197 @@
+package org.opentripplanner.inspector.vector;
+
+import edu.colorado.cires.cmg.mvt.VectorTile;
+import edu.colorado.cires.cmg.mvt.build.MvtLayerBuild;
+import edu.colorado.cires.cmg.mvt.build.MvtLayerParams;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opentripplanner.api.resource.WebMercatorTile;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The encoded vector tiles of layers which only change with the graph, rendered once for all zoom
+ * levels up to a maximum zoom level. The tiles of a layer are stored after each other in one
+ * off-heap buffer, and are found with a binary search in the sorted tile ids. Only tiles with
+ * features in them are stored, all other tiles of the layer are the same empty tile.
+ * <p>
+ * The tiles are rendered for one locale, and are only used for requests in the language of the
+ * locale.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+public final class VectorTilePyramid {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VectorTilePyramid.class);
+
+  private static final Envelope WORLD = new Envelope(-180, 180, -90, 90);
+
+  private final Locale locale;
+  private final Map<String, LayerTiles> layers;
+
+  private VectorTilePyramid(Locale locale, Map<String, LayerTiles> layers) {
+    this.locale = locale;
+    this.layers = Map.copyOf(layers);
+  }
+
+  /**
+   * Render the tiles of the layers for the zoom levels of each layer up to the given maximum zoom
+   * level.
+   */
+  public static <LayerType extends Enum<LayerType>> VectorTilePyramid render(
+    List<LayerParameters<LayerType>> layers,
+    int maxZoom,
+    Locale locale,
+    VectorTileResponseFactory.LayerBuilderFactory<LayerType> layerBuilderFactory,
+    OtpServerRequestContext context
+  ) {
+    var result = new HashMap<String, LayerTiles>();
+    for (var layerParameters : layers) {
+      var tiles = LayerTiles.render(
+        layerParameters,
+        Math.min(maxZoom, layerParameters.maxZoom()),
+        () -> layerBuilderFactory.createLayerBuilder(layerParameters, locale, context)
+      );
+      LOG.info(
+        "Pre-rendered {} tiles ({} bytes) of vector tile layer {}.",
+        tiles.tileIds.length,
+        tiles.data.capacity(),
+        layerParameters.name()
+      );
+      result.put(layerParameters.name(), tiles);
+    }
+    return new VectorTilePyramid(locale, result);
+  }
+
+  /**
+   * Return the encoded tile of the layer, or {@code null} if the tile is not pre-rendered for the
+   * layer, zoom level or locale.
+   */
+  @Nullable
+  public byte[] get(String layer, @Nullable Locale locale, int x, int y, int z) {
+    var tiles = layers.get(layer);
+    if (
+      tiles == null ||
+      locale == null ||
+      !this.locale.getLanguage().equals(locale.getLanguage())
+    ) {
+      return null;
+    }
+    return tiles.get(x, y, z);
+  }
+
+  private static long tileId(int x, int y, int z) {
+    return ((long) z << 56) | ((long) x << 28) | y;
+  }
+
+  private record LayerTiles(
+    int minZoom,
+    int maxZoom,
+    long[] tileIds,
+    int[] offsets,
+    ByteBuffer data,
+    byte[] emptyTile
+  ) {
+    static LayerTiles render(
+      LayerParameters<?> layerParameters,
+      int maxZoom,
+      Supplier<LayerBuilder<?>> layerBuilder
+    ) {
+      int minZoom = Math.max(0, layerParameters.minZoom());
+      long[] tileIds = findTilesWithFeatures(
+        layerBuilder.get().getGeometries(WORLD),
+        minZoom,
+        maxZoom,
+        (int) Math.ceil(layerParameters.expansionFactor())
+      );
+
+      // A new builder is needed for each tile, a layer builder can only build one tile
+      var out = new ByteArrayOutputStream();
+      int[] offsets = new int[tileIds.length + 1];
+      for (int i = 0; i < tileIds.length; i++) {
+        int z = (int) (tileIds[i] >>> 56);
+        int x = (int) ((tileIds[i] >>> 28) & 0xFFFFFFF);
+        int y = (int) (tileIds[i] & 0xFFFFFFF);
+        var layer = layerBuilder.get().build(WebMercatorTile.tile2Envelope(x, y, z));
+        out.writeBytes(encode(layer));
+        offsets[i + 1] = out.size();
+      }
+      var data = ByteBuffer.allocateDirect(out.size()).put(out.toByteArray()).flip();
+
+      var emptyLayer = MvtLayerBuild
+        .newLayerBuilder(layerParameters.name(), MvtLayerParams.DEFAULT)
+        .build();
+
+      return new LayerTiles(
+        minZoom,
+        maxZoom,
+        tileIds,
+        offsets,
+        data.asReadOnlyBuffer(),
+        encode(emptyLayer)
+      );
+    }
+
+    /**
+     * Find the sorted ids of the tiles which may contain a feature. Each tile is rendered with the
+     * features in the tile expanded by the expansion factor, so the tiles next to the tiles
+     * covering the geometry are included as well.
+     */
+    private static long[] findTilesWithFeatures(
+      List<Geometry> geometries,
+      int minZoom,
+      int maxZoom,
+      int expansion
+    ) {
+      TLongSet tileIds = new TLongHashSet();
+      for (Geometry geometry : geometries) {
+        var envelope = geometry.getEnvelopeInternal();
+        for (int z = minZoom; z <= maxZoom; z++) {
+          int maxTile = (1 << z) - 1;
+          int minX = WebMercatorTile.lon2tileX(envelope.getMinX(), z) - expansion;
+          int maxX = WebMercatorTile.lon2tileX(envelope.getMaxX(), z) + expansion;
+          int minY = WebMercatorTile.lat2tileY(envelope.getMaxY(), z) - expansion;
+          int maxY = WebMercatorTile.lat2tileY(envelope.getMinY(), z) + expansion;
+          for (int x = Math.max(0, minX); x <= Math.min(maxTile, maxX); x++) {
+            for (int y = Math.max(0, minY); y <= Math.min(maxTile, maxY); y++) {
+              tileIds.add(tileId(x, y, z));
+            }
+          }
+        }
+      }
+      long[] result = tileIds.toArray();
+      Arrays.sort(result);
+      return result;
+    }
+
+    private static byte[] encode(VectorTile.Tile.Layer layer) {
+      return VectorTile.Tile.newBuilder().addLayers(layer).build().toByteArray();
+    }
+
+    @Nullable
+    byte[] get(int x, int y, int z) {
+      if (z < minZoom || z > maxZoom) {
+        return null;
+      }
+      int index = Arrays.binarySearch(tileIds, tileId(x, y, z));
+      if (index < 0) {
+        return emptyTile;
+      }
+      byte[] tile = new byte[offsets[index + 1] - offsets[index]];
+      data.get(offsets[index], tile);
+      return tile;
+    }
+  }
+}
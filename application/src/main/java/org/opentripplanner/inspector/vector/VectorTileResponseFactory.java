@@ -4,9 +4,11 @@ import edu.colorado.cires.cmg.mvt.VectorTile;
 import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.hc.core5.http.ContentType;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.api.resource.WebMercatorTile;
@@ -28,7 +30,36 @@ public class VectorTileResponseFactory {
     LayerBuilderFactory<LayerType> layerBuilderFactory,
     OtpServerRequestContext context
   ) {
-    VectorTile.Tile.Builder mvtBuilder = VectorTile.Tile.newBuilder();
+    return create(
+      x,
+      y,
+      z,
+      locale,
+      requestedLayers,
+      availableLayers,
+      layerBuilderFactory,
+      (layerParameters, ctx) -> null,
+      context
+    );
+  }
+
+  /**
+   * Create a vector tile response, using the {@link VectorTileCache} of the server context for the
+   * layers with a data version.
+   */
+  public static <LayerType extends Enum<LayerType>> Response create(
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    List<String> requestedLayers,
+    List<LayerParameters<LayerType>> availableLayers,
+    LayerBuilderFactory<LayerType> layerBuilderFactory,
+    LayerDataVersion<LayerType> layerDataVersion,
+    OtpServerRequestContext context
+  ) {
+    // A tile with several layers is the concatenation of the encoded tiles of each layer
+    var tile = new ByteArrayOutputStream();
     Envelope envelope = WebMercatorTile.tile2Envelope(x, y, z);
 
     int cacheMaxSeconds = Integer.MAX_VALUE;
@@ -57,10 +88,23 @@ public class VectorTileResponseFactory {
         z <= layerParameters.maxZoom()
       ) {
         cacheMaxSeconds = Math.min(cacheMaxSeconds, layerParameters.cacheMaxSeconds());
-        VectorTile.Tile.Layer layer = layerBuilderFactory
-          .createLayerBuilder(layerParameters, locale, context)
-          .build(envelope);
-        mvtBuilder.addLayers(layer);
+        byte[] layerTile = context
+          .vectorTileCache()
+          .get(
+            layerParameters.name(),
+            locale,
+            x,
+            y,
+            z,
+            layerDataVersion.dataVersion(layerParameters, context),
+            () -> {
+              VectorTile.Tile.Layer layer = layerBuilderFactory
+                .createLayerBuilder(layerParameters, locale, context)
+                .build(envelope);
+              return VectorTile.Tile.newBuilder().addLayers(layer).build().toByteArray();
+            }
+          );
+        tile.writeBytes(layerTile);
       }
     }
 
@@ -71,7 +115,7 @@ public class VectorTileResponseFactory {
     return Response
       .status(Response.Status.OK)
       .cacheControl(cacheControl)
-      .entity(mvtBuilder.build().toByteArray())
+      .entity(tile.toByteArray())
       .build();
   }
 
@@ -83,4 +127,15 @@ public class VectorTileResponseFactory {
       OtpServerRequestContext context
     );
   }
+
+  @FunctionalInterface
+  public interface LayerDataVersion<LayerType extends Enum<LayerType>> {
+    /**
+     * The version of the data shown in the layer. The tiles of the layer are cached until the
+     * version changes, see {@link VectorTileCache}. Return {@code null} if the tiles of the layer
+     * should not be cached.
+     */
+    @Nullable
+    Object dataVersion(LayerParameters<LayerType> layerParameters, OtpServerRequestContext context);
+  }
 }
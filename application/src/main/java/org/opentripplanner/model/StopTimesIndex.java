@@ -0,0 +1,130 @@
+package org.opentripplanner.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import org.opentripplanner.transit.model.timetable.TripTimes;
+
+/**
+ * An index of the trips in a {@link Timetable} sorted by arrival and departure time at each stop
+ * position of the pattern. The index is used to find the trips arriving or departing in a time
+ * window with a binary search, instead of going through all trips of the timetable. This is used
+ * by the departure boards, which are polled frequently.
+ * <p>
+ * The index of a stop position is created the first time the stop position is searched. A real-time
+ * update replaces the timetables of the updated patterns, so only the indexes of the updated
+ * timetables are created again.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public final class StopTimesIndex {
+
+  private final List<TripTimes> tripTimes;
+
+  /**
+   * The index for each stop position, or {@code null} if not created yet. The index of a stop
+   * position is immutable, and if two threads create it at the same time they create equal
+   * indexes, so it is safe to set without synchronization.
+   */
+  private final StopPositionIndex[] stopPositions;
+
+  StopTimesIndex(List<TripTimes> tripTimes, int numberOfStops) {
+    this.tripTimes = tripTimes;
+    this.stopPositions = new StopPositionIndex[numberOfStops];
+  }
+
+  /**
+   * Return the indexes of the trips in the timetable departing from the stop position in the
+   * given time range (inclusive), ordered by departure time.
+   */
+  public int[] findTripsDepartingBetween(int stopPos, int fromTime, int toTime) {
+    var index = stopPosition(stopPos);
+    return index.tripsBetween(index.tripsByDeparture, index.departureTimes, fromTime, toTime);
+  }
+
+  /**
+   * Return the indexes of the trips in the timetable arriving at the stop position in the given
+   * time range (inclusive), ordered by arrival time.
+   */
+  public int[] findTripsArrivingBetween(int stopPos, int fromTime, int toTime) {
+    var index = stopPosition(stopPos);
+    return index.tripsBetween(index.tripsByArrival, index.arrivalTimes, fromTime, toTime);
+  }
+
+  private StopPositionIndex stopPosition(int stopPos) {
+    var index = stopPositions[stopPos];
+    if (index == null) {
+      index = StopPositionIndex.create(tripTimes, stopPos);
+      stopPositions[stopPos] = index;
+    }
+    return index;
+  }
+
+  private record StopPositionIndex(
+    int[] tripsByDeparture,
+    int[] departureTimes,
+    int[] tripsByArrival,
+    int[] arrivalTimes
+  ) {
+    static StopPositionIndex create(List<TripTimes> tripTimes, int stopPos) {
+      int[] tripsByDeparture = sortTrips(tripTimes, t -> t.getDepartureTime(stopPos));
+      int[] tripsByArrival = sortTrips(tripTimes, t -> t.getArrivalTime(stopPos));
+      return new StopPositionIndex(
+        tripsByDeparture,
+        times(tripTimes, tripsByDeparture, t -> t.getDepartureTime(stopPos)),
+        tripsByArrival,
+        times(tripTimes, tripsByArrival, t -> t.getArrivalTime(stopPos))
+      );
+    }
+
+    int[] tripsBetween(int[] trips, int[] times, int fromTime, int toTime) {
+      int start = firstIndexAfter(times, fromTime - 1);
+      int end = firstIndexAfter(times, toTime);
+      return start < end ? Arrays.copyOfRange(trips, start, end) : new int[0];
+    }
+
+    /** The index of the first time after the given time, or the length if there is none. */
+    private static int firstIndexAfter(int[] times, int time) {
+      int low = 0;
+      int high = times.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (times[mid] <= time) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Sort the trip indexes by time, using the time in the upper and the trip index in the lower
+     * half of a long.
+     */
+    private static int[] sortTrips(List<TripTimes> tripTimes, ToIntFunction<TripTimes> time) {
+      long[] keys = new long[tripTimes.size()];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = ((long) time.applyAsInt(tripTimes.get(i)) << 32) | i;
+      }
+      Arrays.sort(keys);
+      int[] trips = new int[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        trips[i] = (int) keys[i];
+      }
+      return trips;
+    }
+
+    private static int[] times(
+      List<TripTimes> tripTimes,
+      int[] trips,
+      ToIntFunction<TripTimes> time
+    ) {
+      int[] times = new int[trips.length];
+      for (int i = 0; i < trips.length; i++) {
+        times[i] = time.applyAsInt(tripTimes.get(trips[i]));
+      }
+      return times;
+    }
+  }
+}
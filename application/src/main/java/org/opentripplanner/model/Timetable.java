@@ -62,6 +62,10 @@ public class Timetable implements Serializable {
   @Nullable
   private final LocalDate serviceDate;
 
+  /** Created when first used, see {@link #getStopTimesIndex()}. */
+  @Nullable
+  private transient StopTimesIndex stopTimesIndex;
+
   Timetable(TimetableBuilder timetableBuilder) {
     this.pattern = timetableBuilder.getPattern();
     this.serviceDate = timetableBuilder.getServiceDate();
@@ -406,6 +410,19 @@ public class Timetable implements Serializable {
     return tripTimes;
   }
 
+  /**
+   * The trip times sorted by arrival and departure time at each stop, used to find the trips
+   * passing a stop in a time window. The index is created the first time it is used.
+   */
+  public StopTimesIndex getStopTimesIndex() {
+    var index = stopTimesIndex;
+    if (index == null) {
+      index = new StopTimesIndex(tripTimes, pattern.numberOfStops());
+      stopTimesIndex = index;
+    }
+    return index;
+  }
+
   /**
    * Contains one FrequencyEntry object for each block of frequency-based trips.
    */
@@ -6,18 +6,19 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.TransitLayerUpdater;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
@@ -54,9 +55,12 @@ import org.slf4j.LoggerFactory;
  * provide a consistent view not only of trips that have been boarded, but of relative arrival and
  * departure times of other trips that have not necessarily been boarded.
  * <p>
- * A TimetableSnapshot instance may only be modified by a single thread. This makes it easier to
- * reason about how the snapshot is built up and used. Write operations are applied one by one, in
- * order, with no concurrent access. Read operations are then allowed concurrently by many threads
+ * The updates of a feed may only be applied by a single thread at a time. This makes it easier to
+ * reason about how the snapshot is built up and used. Write operations for a feed are applied one
+ * by one, in order. The updates of different feeds may be applied concurrently, since all the
+ * entries of the buffer belong to a single feed, and the updates of a feed only change the entries
+ * of that feed, including clearing the feed. Purging and committing the buffer must not run
+ * concurrently with any updates. Read operations are then allowed concurrently by many threads
  * after writing is forbidden.
  * <p>
  * The fact that TripPattern instances carry a reference only to their scheduled Timetable and not
@@ -86,9 +90,9 @@ public class TimetableSnapshot {
    * A real-time timetable overrides the scheduled timetable of a TripPattern for only a single
    * service date. There can be only one overriding timetable per TripPattern and per service date.
    * This is enforced by indexing the map with a pair (TripPattern, service date).
-   * This map is cleared when the TimetableSnapshot becomes read-only.
+   * This map is cleared when the TimetableSnapshot is committed.
    */
-  private final Map<TripPatternAndServiceDate, Timetable> dirtyTimetables = new HashMap<>();
+  private final Map<TripPatternAndServiceDate, Timetable> dirtyTimetables = new ConcurrentHashMap<>();
 
   /**
    * For each TripPattern (sequence of stops on a particular Route) for which we have received a
@@ -151,19 +155,24 @@ public class TimetableSnapshot {
    * Boolean value indicating that this timetable snapshot contains changes compared to the state of
    * the last commit if true.
    */
-  private boolean dirty = false;
+  private volatile boolean dirty = false;
 
+  /**
+   * Create an empty buffer. The maps of the buffer are concurrent, so the updates of different
+   * feeds can be applied at the same time. The multimaps are shared by the feeds, since the stops
+   * may be used by several feeds, and are synchronized.
+   */
   public TimetableSnapshot() {
     this(
-      new HashMap<>(),
-      new HashMap<>(),
-      new HashMap<>(),
-      new HashMap<>(),
-      new HashMap<>(),
-      HashMultimap.create(),
-      new HashMap<>(),
-      new HashMap<>(),
-      HashMultimap.create(),
+      new ConcurrentHashMap<>(),
+      new ConcurrentHashMap<>(),
+      new ConcurrentHashMap<>(),
+      new ConcurrentHashMap<>(),
+      new ConcurrentHashMap<>(),
+      Multimaps.synchronizedSetMultimap(HashMultimap.create()),
+      new ConcurrentHashMap<>(),
+      new ConcurrentHashMap<>(),
+      Multimaps.synchronizedSetMultimap(HashMultimap.create()),
       false
     );
   }
@@ -582,9 +591,11 @@ public class TimetableSnapshot {
       .keySet()
       .removeIf(tripOnServiceDate -> feedId.equals(tripOnServiceDate.tripId().getFeedId()));
     realTimeAddedTripOnServiceDateById.keySet().removeIf(id -> feedId.equals(id.getFeedId()));
-    realTimeAddedPatternsForRoute
-      .keySet()
-      .removeIf(route -> feedId.equals(route.getId().getFeedId()));
+    synchronized (realTimeAddedPatternsForRoute) {
+      realTimeAddedPatternsForRoute
+        .keySet()
+        .removeIf(route -> feedId.equals(route.getId().getFeedId()));
+    }
     realtimeAddedRoutes.keySet().removeIf(id -> feedId.equals(id.getFeedId()));
     return removedEntry;
   }
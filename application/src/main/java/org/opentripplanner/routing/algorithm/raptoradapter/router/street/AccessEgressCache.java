@@ -0,0 +1,108 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.street;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graphfinder.NearbyStop;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * Share the stops found by the access/egress street search between requests. Many requests start
+ * or end at the same place, like a large station or the home location of an app user, and the
+ * street search is then repeated with the same result. The result is cached by the origin
+ * location, the street mode, the routing preferences and the search limits.
+ * <p>
+ * Park-and-ride searches are not cached, since the opening hours of the parking depend on the time
+ * of the request. Rental searches depend on the rental vehicles available, so the
+ * {@link Graph#getStreetVersion()} is part of the key for them. The other modes only depend on the
+ * streets, which are not changed by the real-time updaters in a way that changes the result.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class AccessEgressCache {
+
+  /** A cache which does not keep any results. */
+  public static final AccessEgressCache DISABLED = new AccessEgressCache(null, 0, Duration.ZERO);
+
+  @Nullable
+  private final Graph graph;
+
+  @Nullable
+  private final Cache<Key, List<NearbyStop>> cache;
+
+  /**
+   * @param maximumSize The maximum number of results to keep, the cache is disabled if 0.
+   * @param timeToLive The maximum time a result is kept in the cache.
+   */
+  public AccessEgressCache(@Nullable Graph graph, int maximumSize, Duration timeToLive) {
+    this.graph = graph;
+    this.cache = graph != null && maximumSize > 0
+      ? CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive).build()
+      : null;
+  }
+
+  /**
+   * Create the cache key for a street search, return {@code null} if the result should not be
+   * cached.
+   */
+  @Nullable
+  Key key(
+    RouteRequest request,
+    StreetMode mode,
+    AccessEgressType type,
+    Duration durationLimit,
+    int maxStopCount
+  ) {
+    var location = type.isAccess() ? request.from() : request.to();
+    if (cache == null || location == null || mode.includesParking()) {
+      return null;
+    }
+    return new Key(
+      Location.of(location),
+      type,
+      mode,
+      request.preferences(),
+      request.wheelchair(),
+      durationLimit,
+      maxStopCount,
+      mode.includesRenting() ? graph.getStreetVersion() : 0
+    );
+  }
+
+  @Nullable
+  Collection<NearbyStop> get(@Nullable Key key) {
+    return key == null ? null : cache.getIfPresent(key);
+  }
+
+  void put(@Nullable Key key, Collection<NearbyStop> nearbyStops) {
+    if (key != null) {
+      cache.put(key, List.copyOf(nearbyStops));
+    }
+  }
+
+  /** The location label is not part of the key, only where the search starts. */
+  record Location(@Nullable FeedScopedId stopId, @Nullable Double lat, @Nullable Double lng) {
+    static Location of(GenericLocation location) {
+      return new Location(location.stopId, location.lat, location.lng);
+    }
+  }
+
+  record Key(
+    Location location,
+    AccessEgressType type,
+    StreetMode mode,
+    RoutingPreferences preferences,
+    boolean wheelchair,
+    Duration durationLimit,
+    int maxStopCount,
+    long streetVersion
+  ) {}
+}
@@ -35,7 +35,8 @@ public class AccessEgressRouter {
     @Nullable DataOverlayContext dataOverlayContext,
     AccessEgressType accessOrEgress,
     Duration durationLimit,
-    int maxStopCount
+    int maxStopCount,
+    AccessEgressCache cache
   ) {
     OTPRequestTimeoutException.checkForTimeout();
 
@@ -58,13 +59,32 @@ public class AccessEgressRouter {
     var originVertices = accessOrEgress.isAccess()
       ? verticesContainer.getFromVertices()
       : verticesContainer.getToVertices();
-    var streetAccessEgress = new StreetNearbyStopFinder(
-      durationLimit,
-      maxStopCount,
-      dataOverlayContext,
-      ignoreVertices
-    )
-      .findNearbyStops(originVertices, request, streetRequest, accessOrEgress.isEgress());
+
+    // The data overlay is request specific, so the result can not be shared
+    var cacheKey = dataOverlayContext == null
+      ? cache.key(request, streetRequest.mode(), accessOrEgress, durationLimit, maxStopCount)
+      : null;
+    var streetAccessEgress = cache.get(cacheKey);
+
+    if (streetAccessEgress == null) {
+      var stopFinder = new StreetNearbyStopFinder(
+        durationLimit,
+        maxStopCount,
+        dataOverlayContext,
+        ignoreVertices,
+        verticesContainer.getOverlay()
+      );
+      streetAccessEgress =
+        stopFinder.findNearbyStops(
+          originVertices,
+          request,
+          streetRequest,
+          accessOrEgress.isEgress()
+        );
+      if (!stopFinder.isSearchAborted()) {
+        cache.put(cacheKey, streetAccessEgress);
+      }
+    }
 
     var results = ListUtils.combine(zeroDistanceAccessEgress, streetAccessEgress);
     LOG.debug("Found {} {} stops", results.size(), accessOrEgress);
@@ -34,7 +34,8 @@ public class DirectFlexRouter {
         request.journey().direct().mode()
       )
     ) {
-      // Prepare access/egress transfers
+      // Prepare access/egress transfers. The vertices are linked for the direct mode, so the
+      // results are not cached.
       Collection<NearbyStop> accessStops = AccessEgressRouter.findAccessEgresses(
         request,
         temporaryVertices,
@@ -42,7 +43,8 @@ public class DirectFlexRouter {
         serverContext.dataOverlayContext(request),
         AccessEgressType.ACCESS,
         serverContext.flexParameters().maxAccessWalkDuration(),
-        0
+        0,
+        AccessEgressCache.DISABLED
       );
       Collection<NearbyStop> egressStops = AccessEgressRouter.findAccessEgresses(
         request,
@@ -51,7 +53,8 @@ public class DirectFlexRouter {
         serverContext.dataOverlayContext(request),
         AccessEgressType.EGRESS,
         serverContext.flexParameters().maxEgressWalkDuration(),
-        0
+        0,
+        AccessEgressCache.DISABLED
       );
 
       var flexRouter = new FlexRouter(
@@ -63,7 +66,8 @@ public class DirectFlexRouter {
         additionalSearchDays.additionalSearchDaysInPast(),
         additionalSearchDays.additionalSearchDaysInFuture(),
         accessStops,
-        egressStops
+        egressStops,
+        temporaryVertices.getOverlay()
       );
 
       return new ArrayList<>(flexRouter.createFlexOnlyItineraries(request.arriveBy()));
@@ -33,6 +33,8 @@ public class FlexAccessEgressRouter {
 
     TransitService transitService = serverContext.transitService();
 
+    // The vertices are linked for the access/egress mode, not for walking, so the results are not
+    // cached.
     Collection<NearbyStop> accessStops = accessOrEgress.isAccess()
       ? AccessEgressRouter.findAccessEgresses(
         request,
@@ -41,7 +43,8 @@ public class FlexAccessEgressRouter {
         dataOverlayContext,
         AccessEgressType.ACCESS,
         serverContext.flexParameters().maxAccessWalkDuration(),
-        0
+        0,
+        AccessEgressCache.DISABLED
       )
       : List.of();
 
@@ -53,7 +56,8 @@ public class FlexAccessEgressRouter {
         dataOverlayContext,
         AccessEgressType.EGRESS,
         serverContext.flexParameters().maxEgressWalkDuration(),
-        0
+        0,
+        AccessEgressCache.DISABLED
       )
       : List.of();
 
@@ -66,7 +70,8 @@ public class FlexAccessEgressRouter {
       searchDays.additionalSearchDaysInPast(),
       searchDays.additionalSearchDaysInFuture(),
       accessStops,
-      egressStops
+      egressStops,
+      verticesContainer.getOverlay()
     );
 
     return accessOrEgress.isEgress()
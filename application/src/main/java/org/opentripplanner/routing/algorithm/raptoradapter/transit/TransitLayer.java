@@ -1,6 +1,7 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -12,6 +13,8 @@ import org.opentripplanner.model.transfer.TransferService;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.ConstrainedTransfersForPatterns;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.TransferIndexGenerator;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRequestTransferCache;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.TripPatternsForSearchDays;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.TripPatternsForSearchDaysCache;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.service.SiteRepository;
@@ -35,7 +38,7 @@ public class TransitLayer {
    * The same trip pattern can therefore have multiple running dates and trip pattern is not
    * required to "run" on its service date.
    */
-  private final HashMap<LocalDate, List<TripPatternForDate>> tripPatternsRunningOnDate;
+  private final HashMap<LocalDate, Collection<TripPatternForDate>> tripPatternsRunningOnDate;
 
   /**
    * Index of outer list is from stop index, inner list index has no specific meaning. To stop index
@@ -52,6 +55,12 @@ public class TransitLayer {
 
   private final RaptorRequestTransferCache transferCache;
 
+  /**
+   * The merged trip patterns shared by requests without trip level filters. Entries are
+   * invalidated when the trip patterns for one of their dates are replaced.
+   */
+  private final TripPatternsForSearchDaysCache tripPatternsForSearchDaysCache;
+
   private ConstrainedTransfersForPatterns constrainedTransfers;
 
   private final TransferIndexGenerator transferIndexGenerator;
@@ -61,8 +70,9 @@ public class TransitLayer {
 
   /**
    * Makes a shallow copy of the TransitLayer, except for the tripPatternsForDate, where a shallow
-   * copy of the HashMap is made. This is sufficient, as the TransitLayerUpdater will replace entire
-   * keys and their values in the map.
+   * copy of the HashMap is made. This is sufficient, as the TransitLayerUpdater will replace the
+   * values of the updated dates in the map, without changing the old values. The trip patterns for
+   * search days cache is also copied, so entries can be invalidated without affecting the original.
    */
   public TransitLayer(TransitLayer transitLayer) {
     this(
@@ -71,6 +81,7 @@ public class TransitLayer {
       transitLayer.transferService,
       transitLayer.siteRepository,
       transitLayer.transferCache,
+      transitLayer.tripPatternsForSearchDaysCache.copy(),
       transitLayer.constrainedTransfers,
       transitLayer.transferIndexGenerator,
       transitLayer.stopBoardAlightTransferCosts
@@ -86,12 +97,37 @@ public class TransitLayer {
     ConstrainedTransfersForPatterns constrainedTransfers,
     TransferIndexGenerator transferIndexGenerator,
     @Nullable int[] stopBoardAlightTransferCosts
+  ) {
+    this(
+      tripPatternsRunningOnDate,
+      transfersByStopIndex,
+      transferService,
+      siteRepository,
+      transferCache,
+      new TripPatternsForSearchDaysCache(),
+      constrainedTransfers,
+      transferIndexGenerator,
+      stopBoardAlightTransferCosts
+    );
+  }
+
+  private TransitLayer(
+    Map<LocalDate, ? extends Collection<TripPatternForDate>> tripPatternsRunningOnDate,
+    List<List<Transfer>> transfersByStopIndex,
+    TransferService transferService,
+    SiteRepository siteRepository,
+    RaptorRequestTransferCache transferCache,
+    TripPatternsForSearchDaysCache tripPatternsForSearchDaysCache,
+    ConstrainedTransfersForPatterns constrainedTransfers,
+    TransferIndexGenerator transferIndexGenerator,
+    @Nullable int[] stopBoardAlightTransferCosts
   ) {
     this.tripPatternsRunningOnDate = new HashMap<>(tripPatternsRunningOnDate);
     this.transfersByStopIndex = transfersByStopIndex;
     this.transferService = transferService;
     this.siteRepository = siteRepository;
     this.transferCache = transferCache;
+    this.tripPatternsForSearchDaysCache = tripPatternsForSearchDaysCache;
     this.constrainedTransfers = constrainedTransfers;
     this.transferIndexGenerator = transferIndexGenerator;
     this.stopBoardAlightTransferCosts = stopBoardAlightTransferCosts;
@@ -121,7 +157,9 @@ public class TransitLayer {
    * or departures is happening on that date. Trip pattern can have multiple running dates.
    */
   public List<TripPatternForDate> getTripPatternsRunningOnDateCopy(LocalDate runningPeriodDate) {
-    List<TripPatternForDate> tripPatternForDate = tripPatternsRunningOnDate.get(runningPeriodDate);
+    Collection<TripPatternForDate> tripPatternForDate = tripPatternsRunningOnDate.get(
+      runningPeriodDate
+    );
     return tripPatternForDate != null ? new ArrayList<>(tripPatternForDate) : new ArrayList<>();
   }
 
@@ -141,6 +179,23 @@ public class TransitLayer {
       .collect(Collectors.toList());
   }
 
+  /**
+   * Return the merged trip patterns for the search days. The result is cached and shared between
+   * requests, so it is created without any request specific filtering.
+   */
+  public TripPatternsForSearchDays getTripPatternsForSearchDays(
+    ZonedDateTime transitSearchTimeZero,
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays
+  ) {
+    return tripPatternsForSearchDaysCache.get(
+      this,
+      transitSearchTimeZero,
+      additionalPastSearchDays,
+      additionalFutureSearchDays
+    );
+  }
+
   public TransferService getTransferService() {
     return transferService;
   }
@@ -176,14 +231,23 @@ public class TransitLayer {
   }
 
   /**
-   * Replaces all the TripPatternForDates for a single date. This is an atomic operation according
-   * to the HashMap implementation.
+   * Removes and adds TripPatternForDates for a single date. The trip patterns for the date are
+   * replaced with a new version, where only the changed part is copied and the rest is shared with
+   * the old version, see {@link TripPatternsRunningOnDate}. This is an atomic operation according
+   * to the HashMap implementation. The cached trip patterns for search days including the date are
+   * invalidated.
    */
-  public void replaceTripPatternsForDate(
+  public void updateTripPatternsForDate(
     LocalDate date,
-    List<TripPatternForDate> tripPatternForDates
+    Collection<TripPatternForDate> removed,
+    Collection<TripPatternForDate> added
   ) {
-    this.tripPatternsRunningOnDate.replace(date, tripPatternForDates);
+    this.tripPatternsRunningOnDate.computeIfPresent(
+      date,
+      (d, tripPatternForDates) ->
+        TripPatternsRunningOnDate.of(tripPatternForDates).update(removed, added)
+    );
+    this.tripPatternsForSearchDaysCache.invalidate(date);
   }
 
   public void setConstrainedTransfers(ConstrainedTransfersForPatterns constrainedTransfers) {
@@ -83,6 +83,21 @@ public interface TransitTuningParameters {
    */
   int transferCacheMaxSize();
 
+  /**
+   * The maximum number of access/egress street search results to share between requests. The
+   * default is 0, which disable the cache.
+   */
+  default int accessEgressCacheSize() {
+    return 0;
+  }
+
+  /**
+   * The maximum time an access/egress street search result is kept in the cache.
+   */
+  default Duration accessEgressCacheTimeToLive() {
+    return Duration.ofMinutes(5);
+  }
+
   /**
    * The maximum search window that can be set through the searchWindow API parameter. Due to the
    * way timetable data are collected before a Raptor trip search, using a search window larger than
@@ -0,0 +1,141 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The trip patterns running on a date in the real-time {@link TransitLayer}. The patterns are
+ * spread over small buckets by pattern index. An update copies only the buckets where patterns
+ * are added or removed, all other buckets are shared with the previous version. This makes the
+ * cost of applying a real-time update proportional to the number of changed patterns, not to the
+ * number of patterns running on the date.
+ * <p>
+ * Like a set, the collection does not contain the same {@link TripPatternForDate} twice.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+final class TripPatternsRunningOnDate extends AbstractCollection<TripPatternForDate> {
+
+  /**
+   * The average number of patterns in a bucket. The buckets are recreated when the average grows
+   * beyond four times this, so the buckets stay small if many patterns are added.
+   */
+  private static final int BUCKET_SIZE = 16;
+
+  private static final TripPatternForDate[] EMPTY_BUCKET = new TripPatternForDate[0];
+
+  private final TripPatternForDate[][] buckets;
+  private final int size;
+
+  private TripPatternsRunningOnDate(TripPatternForDate[][] buckets, int size) {
+    this.buckets = buckets;
+    this.size = size;
+  }
+
+  /**
+   * Return the given patterns if they are already a {@link TripPatternsRunningOnDate}, or else
+   * create one with the patterns.
+   */
+  static TripPatternsRunningOnDate of(Collection<TripPatternForDate> patterns) {
+    if (patterns instanceof TripPatternsRunningOnDate tripPatternsRunningOnDate) {
+      return tripPatternsRunningOnDate;
+    }
+    int nBuckets = Math.max(1, patterns.size() / BUCKET_SIZE);
+    var buckets = new TripPatternForDate[nBuckets][];
+    Arrays.fill(buckets, EMPTY_BUCKET);
+    var result = new TripPatternsRunningOnDate(buckets, 0);
+    return result.update(List.of(), patterns);
+  }
+
+  /**
+   * Create a new version with the removed patterns removed and then the added patterns added.
+   * Removed patterns not in this collection, and added patterns already in it, are ignored.
+   */
+  TripPatternsRunningOnDate update(
+    Collection<TripPatternForDate> removed,
+    Collection<TripPatternForDate> added
+  ) {
+    if (removed.isEmpty() && added.isEmpty()) {
+      return this;
+    }
+    var newBuckets = buckets.clone();
+    int newSize = size;
+
+    for (TripPatternForDate pattern : removed) {
+      int index = bucketIndex(pattern, newBuckets.length);
+      var bucket = newBuckets[index];
+      int pos = indexOf(bucket, pattern);
+      if (pos >= 0) {
+        var newBucket = new TripPatternForDate[bucket.length - 1];
+        System.arraycopy(bucket, 0, newBucket, 0, pos);
+        System.arraycopy(bucket, pos + 1, newBucket, pos, newBucket.length - pos);
+        newBuckets[index] = newBucket;
+        --newSize;
+      }
+    }
+    for (TripPatternForDate pattern : added) {
+      int index = bucketIndex(pattern, newBuckets.length);
+      var bucket = newBuckets[index];
+      if (indexOf(bucket, pattern) < 0) {
+        var newBucket = Arrays.copyOf(bucket, bucket.length + 1);
+        newBucket[bucket.length] = pattern;
+        newBuckets[index] = newBucket;
+        ++newSize;
+      }
+    }
+    var result = new TripPatternsRunningOnDate(newBuckets, newSize);
+
+    if (newSize > 4 * BUCKET_SIZE * newBuckets.length) {
+      return of(new ArrayList<>(result));
+    }
+    return result;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<TripPatternForDate> iterator() {
+    return new Iterator<>() {
+      private int bucket = 0;
+      private int pos = 0;
+
+      @Override
+      public boolean hasNext() {
+        while (bucket < buckets.length && pos >= buckets[bucket].length) {
+          ++bucket;
+          pos = 0;
+        }
+        return bucket < buckets.length;
+      }
+
+      @Override
+      public TripPatternForDate next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return buckets[bucket][pos++];
+      }
+    };
+  }
+
+  private static int bucketIndex(TripPatternForDate pattern, int nBuckets) {
+    return Math.floorMod(pattern.getTripPattern().patternIndex(), nBuckets);
+  }
+
+  private static int indexOf(TripPatternForDate[] bucket, TripPatternForDate pattern) {
+    for (int i = 0; i < bucket.length; ++i) {
+      if (bucket[i].equals(pattern)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
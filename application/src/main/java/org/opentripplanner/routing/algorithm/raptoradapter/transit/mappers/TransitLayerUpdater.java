@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
@@ -26,9 +27,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Update the TransitLayer from a set of TimeTables. A shallow copy is made of the TransitLayer
  * (this also includes a shallow copy of the TripPatternsForDate map). TripPatterns are matched on
- * id and replaced by their updated versions. The realtime TransitLayer is then switched out with
- * the updated copy in an atomic operation. This ensures that any TransitLayer that is referenced
- * from the Graph is never changed.
+ * id and replaced by their updated versions. Only the changed TripPatternsForDate are replaced,
+ * the trip patterns of each date are shared with the previous TransitLayer otherwise. The realtime
+ * TransitLayer is then switched out with the updated copy in an atomic operation. This ensures
+ * that any TransitLayer that is referenced from the Graph is never changed.
  *
  * This is a way of keeping the TransitLayer up to date (in sync with the TimetableRepository plus its most
  * recent TimetableSnapshot) without repeatedly deriving it from scratch every few seconds. The same
@@ -53,8 +55,6 @@ public class TransitLayerUpdater {
    */
   private final Map<TripIdAndServiceDate, TripPatternForDate> tripPatternsForTripIdAndServiceDateCache = new HashMap<>();
 
-  private final Map<LocalDate, Set<TripPatternForDate>> tripPatternsRunningOnDateMapCache = new HashMap<>();
-
   public TransitLayerUpdater(TransitEditorService transitService) {
     this.transitService = transitService;
   }
@@ -153,16 +153,13 @@ public class TransitLayerUpdater {
     }
 
     // Now loop through all running period dates of old and new TripPatternsForDate and update
-    // the tripPatternsByRunningPeriodDate accordingly
+    // the tripPatternsByRunningPeriodDate accordingly. Only the changed TripPatternsForDate are
+    // passed on, the unchanged part of the trip patterns for each date is not copied.
     for (LocalDate date : datesToBeUpdated) {
-      tripPatternsRunningOnDateMapCache.computeIfAbsent(
-        date,
-        p -> new HashSet<>(realtimeTransitLayer.getTripPatternsRunningOnDateCopy(date))
-      );
+      List<TripPatternForDate> removed = new ArrayList<>();
+      List<TripPatternForDate> added = new ArrayList<>();
 
       // Remove old cached tripPatterns where tripTimes are no longer running
-      Set<TripPatternForDate> patternsForDate = tripPatternsRunningOnDateMapCache.get(date);
-
       for (Map.Entry<TripPattern, Collection<TripPatternForDate>> entry : oldTripPatternsForDate
         .asMap()
         .entrySet()) {
@@ -170,7 +167,7 @@ public class TransitLayerUpdater {
           // Remove old TripPatternForDate for this date if it was valid on this date
           if (oldTripPatternForDate != null) {
             if (oldTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.remove(oldTripPatternForDate);
+              removed.add(oldTripPatternForDate);
             }
           }
         }
@@ -192,7 +189,7 @@ public class TransitLayerUpdater {
               .orElse(false);
 
             if (toRemove) {
-              patternsForDate.remove(tripPatternForDate);
+              removed.add(tripPatternForDate);
             }
           } else {
             LOG.warn("Could not fetch timetable for {}", pattern);
@@ -207,13 +204,13 @@ public class TransitLayerUpdater {
           // Add new TripPatternForDate for this date if it mapped correctly and is valid on this date
           if (newTripPatternForDate != null) {
             if (newTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.add(newTripPatternForDate);
+              added.add(newTripPatternForDate);
             }
           }
         }
       }
 
-      realtimeTransitLayer.replaceTripPatternsForDate(date, new ArrayList<>(patternsForDate));
+      realtimeTransitLayer.updateTripPatternsForDate(date, removed, added);
     }
 
     if (transferIndexGenerator != null) {
@@ -1,9 +1,11 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.model.transfer.TransferService;
@@ -27,6 +29,8 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtr
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.cost.CostCalculatorFactory;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.GeneralizedCostParametersMapper;
 import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.framework.DurationForEnum;
+import org.opentripplanner.transit.model.basic.TransitMode;
 import org.opentripplanner.transit.model.network.RoutingTripPattern;
 import org.opentripplanner.transit.model.network.grouppriority.TransitGroupPriorityService;
 import org.opentripplanner.utils.time.ServiceDateUtils;
@@ -52,6 +56,13 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
    */
   private final List<TripPatternForDates> patternIndex;
 
+  /**
+   * The patterns included in the search, if the trip patterns are shared with other requests. If
+   * {@code null} all patterns in the {@link #patternIndex} are included.
+   */
+  @Nullable
+  private final BitSet patternMask;
+
   /**
    * Transfers by stop index
    */
@@ -69,6 +80,13 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
 
   private final int validTransitDataEndTime;
 
+  /**
+   * Requests using the shared trip patterns can share the heuristic search results, see
+   * {@link #heuristicCacheKey()}. This is {@code null} if the trip patterns are not shared.
+   */
+  @Nullable
+  private final HeuristicCacheKey heuristicCacheKey;
+
   public RaptorRoutingRequestTransitData(
     TransitLayer transitLayer,
     TransitGroupPriorityService transitGroupPriorityService,
@@ -82,21 +100,38 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     this.transitLayer = transitLayer;
     this.transitSearchTimeZero = transitSearchTimeZero;
 
-    // Delegate to the creator to construct the needed data structures. The code is messy so
-    // it is nice to NOT have it in the class. It isolates this code to only be available at
-    // the time of construction
-    var transitDataCreator = new RaptorRoutingRequestTransitDataCreator(
-      transitLayer,
-      transitSearchTimeZero
-    );
-    List<TripPatternForDates> tripPatterns = transitDataCreator.createTripPatterns(
-      additionalPastSearchDays,
-      additionalFutureSearchDays,
-      filter,
-      transitGroupPriorityService
-    );
-    this.patternIndex = transitDataCreator.createPatternIndex(tripPatterns);
-    this.activeTripPatternsPerStop = transitDataCreator.createTripPatternsPerStop(tripPatterns);
+    TripPatternsForSearchDays sharedTripPatterns = null;
+
+    if (filter.isPatternLevelFilterOnly() && !transitGroupPriorityService.isEnabled()) {
+      // The trip patterns are shared with other requests, we only need to mask out the patterns
+      // not included by the filter
+      var tripPatterns = transitLayer.getTripPatternsForSearchDays(
+        transitSearchTimeZero,
+        additionalPastSearchDays,
+        additionalFutureSearchDays
+      );
+      this.patternIndex = tripPatterns.patternIndex();
+      this.activeTripPatternsPerStop = tripPatterns.activeTripPatternsPerStop();
+      this.patternMask = tripPatterns.createPatternMask(filter);
+      sharedTripPatterns = tripPatterns;
+    } else {
+      // Delegate to the creator to construct the needed data structures. The code is messy so
+      // it is nice to NOT have it in the class. It isolates this code to only be available at
+      // the time of construction
+      var transitDataCreator = new RaptorRoutingRequestTransitDataCreator(
+        transitLayer,
+        transitSearchTimeZero
+      );
+      List<TripPatternForDates> tripPatterns = transitDataCreator.createTripPatterns(
+        additionalPastSearchDays,
+        additionalFutureSearchDays,
+        filter,
+        transitGroupPriorityService
+      );
+      this.patternIndex = transitDataCreator.createPatternIndex(tripPatterns);
+      this.activeTripPatternsPerStop = transitDataCreator.createTripPatternsPerStop(tripPatterns);
+      this.patternMask = null;
+    }
     this.transferIndex = transitLayer.getRaptorTransfersForRequest(request);
     this.constrainedTransfers = transitLayer.getConstrainedTransfers();
 
@@ -126,6 +161,21 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
         this.transitSearchTimeZero,
         this.transitSearchTimeZero.plusDays(additionalFutureSearchDays + 1).toInstant()
       );
+
+    this.heuristicCacheKey =
+      sharedTripPatterns == null
+        ? null
+        : new HeuristicCacheKey(
+          sharedTripPatterns,
+          transitSearchTimeZero,
+          additionalPastSearchDays,
+          additionalFutureSearchDays,
+          patternMask,
+          transferIndex,
+          request.preferences().transfer().slack(),
+          request.preferences().transit().boardSlack(),
+          request.preferences().transit().alightSlack()
+        );
   }
 
   public RaptorRoutingRequestTransitData(
@@ -136,6 +186,7 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     this.transitSearchTimeZero = original.transitSearchTimeZero;
     this.activeTripPatternsPerStop = original.activeTripPatternsPerStop;
     this.patternIndex = original.patternIndex;
+    this.patternMask = original.patternMask;
     this.transferIndex = original.transferIndex;
     this.transferService = original.transferService;
     this.constrainedTransfers = original.constrainedTransfers;
@@ -143,6 +194,13 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     this.validTransitDataEndTime = original.validTransitDataEndTime;
     this.generalizedCostCalculator = newCostCalculator;
     this.slackProvider = original.slackProvider();
+    this.heuristicCacheKey = original.heuristicCacheKey;
+  }
+
+  @Override
+  @Nullable
+  public Object heuristicCacheKey() {
+    return heuristicCacheKey;
   }
 
   @Override
@@ -166,6 +224,10 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
       }
     }
 
+    if (patternMask != null) {
+      activeTripPatternsForGivenStops.and(patternMask);
+    }
+
     return new BitSetIterator(activeTripPatternsForGivenStops);
   }
 
@@ -259,4 +321,61 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     }
     return new ConstrainedBoardingSearch(false, toStopTransfers, fromStopTransfers);
   }
+
+  /**
+   * The key is made of the search-days window with its trip patterns, the patterns included by the
+   * filter, and the transfer profile. The trip patterns for the search days are replaced when a
+   * real-time update is applied, so the cached heuristics are not used after an update. The
+   * transfers are cached by the {@link TransitLayer} for each distinct set of transfer parameters,
+   * hence the same instance is used by requests with the same parameters.
+   *
+   * @param patternMask {@code null} if all patterns are included
+   */
+  private record HeuristicCacheKey(
+    TripPatternsForSearchDays tripPatterns,
+    ZonedDateTime transitSearchTimeZero,
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays,
+    @Nullable BitSet patternMask,
+    RaptorTransferIndex transferIndex,
+    Duration transferSlack,
+    DurationForEnum<TransitMode> boardSlack,
+    DurationForEnum<TransitMode> alightSlack
+  ) {
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof HeuristicCacheKey that)) {
+        return false;
+      }
+      return (
+        tripPatterns == that.tripPatterns &&
+        transferIndex == that.transferIndex &&
+        additionalPastSearchDays == that.additionalPastSearchDays &&
+        additionalFutureSearchDays == that.additionalFutureSearchDays &&
+        transitSearchTimeZero.equals(that.transitSearchTimeZero) &&
+        Objects.equals(patternMask, that.patternMask) &&
+        transferSlack.equals(that.transferSlack) &&
+        boardSlack.equals(that.boardSlack) &&
+        alightSlack.equals(that.alightSlack)
+      );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+        System.identityHashCode(tripPatterns),
+        System.identityHashCode(transferIndex),
+        transitSearchTimeZero,
+        additionalPastSearchDays,
+        additionalFutureSearchDays,
+        patternMask,
+        transferSlack,
+        boardSlack,
+        alightSlack
+      );
+    }
+  }
 }
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
 import org.opentripplanner.transit.model.network.RoutingTripPattern;
@@ -95,6 +96,28 @@ class RaptorRoutingRequestTransitDataCreator {
     List<TripPatternForDate> patternForDateList,
     TransitDataProviderFilter filter,
     TransitGroupPriorityService transitGroupPriorityService
+  ) {
+    return merge(
+      transitSearchTimeZero,
+      patternForDateList,
+      filter,
+      transitGroupPriorityService,
+      null
+    );
+  }
+
+  /**
+   * Merge the trip patterns like the method above, but reuse the merged patterns in
+   * {@code previous} if the {@link TripPatternForDate}s for the pattern are unchanged. The
+   * {@code previous} must be created with the same search time zero, filter and transit group
+   * priority service.
+   */
+  static List<TripPatternForDates> merge(
+    ZonedDateTime transitSearchTimeZero,
+    List<TripPatternForDate> patternForDateList,
+    TransitDataProviderFilter filter,
+    TransitGroupPriorityService transitGroupPriorityService,
+    @Nullable TripPatternsForSearchDays previous
   ) {
     // Group TripPatternForDate objects by TripPattern.
     // This is done in a loop to increase performance.
@@ -118,6 +141,16 @@ class RaptorRoutingRequestTransitDataCreator {
         .toArray(new TripPatternForDate[0]);
       Arrays.sort(patternsSorted);
 
+      // Reuse the previously merged pattern if none of the dates have changed
+      final RoutingTripPattern tripPattern = patternEntry.getKey();
+      if (previous != null) {
+        var previousPattern = previous.get(tripPattern.patternIndex());
+        if (previousPattern != null && previousPattern.hasTripPatternForDates(patternsSorted)) {
+          combinedList.add(previousPattern);
+          continue;
+        }
+      }
+
       // Calculate offsets per date
       int[] offsets = new int[patternsSorted.length];
       for (int i = 0; i < patternsSorted.length; i++) {
@@ -131,8 +164,6 @@ class RaptorRoutingRequestTransitDataCreator {
       }
 
       // Combine TripPatternForDate objects
-      final RoutingTripPattern tripPattern = patternEntry.getKey();
-
       combinedList.add(
         new TripPatternForDates(
           tripPattern,
@@ -171,6 +202,37 @@ class RaptorRoutingRequestTransitDataCreator {
     return merge(transitSearchTimeZero, tripPatternForDates, filter, transitGroupPriorityService);
   }
 
+  /**
+   * Create the trip patterns for the search days shared by all requests which only filter on
+   * patterns, see {@link TransitDataProviderFilter#isPatternLevelFilterOnly()}.
+   *
+   * @param previous If not null, the unchanged merged patterns are reused, see
+   *                 {@link TripPatternsForSearchDaysCache}.
+   */
+  TripPatternsForSearchDays createTripPatternsForSearchDays(
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays,
+    @Nullable TripPatternsForSearchDays previous
+  ) {
+    var filter = RouteRequestTransitDataProviderFilter.ofSharedTransitData();
+    List<TripPatternForDate> tripPatternForDates = getTripPatternsForDateRange(
+      additionalPastSearchDays,
+      additionalFutureSearchDays,
+      filter
+    );
+    var tripPatterns = merge(
+      transitSearchTimeZero,
+      tripPatternForDates,
+      filter,
+      TransitGroupPriorityService.empty(),
+      previous
+    );
+    return new TripPatternsForSearchDays(
+      createPatternIndex(tripPatterns),
+      createTripPatternsPerStop(tripPatterns)
+    );
+  }
+
   private static List<TripPatternForDate> filterActiveTripPatterns(
     TransitLayer transitLayer,
     LocalDate date,
@@ -8,6 +8,7 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternFo
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.api.request.preference.WheelchairPreferences;
+import org.opentripplanner.routing.api.request.request.filter.AllowAllTransitFilter;
 import org.opentripplanner.routing.api.request.request.filter.TransitFilter;
 import org.opentripplanner.transit.model.basic.Accessibility;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
@@ -76,6 +77,36 @@ public class RouteRequestTransitDataProviderFilter implements TransitDataProvide
     this.hasSubModeFilters = filters.stream().anyMatch(TransitFilter::isSubModePredicate);
   }
 
+  /**
+   * The filter used to build the {@link TripPatternsForSearchDays} shared between requests. It
+   * keeps all patterns, but removes cancelled trips - the same as the default request.
+   */
+  static RouteRequestTransitDataProviderFilter ofSharedTransitData() {
+    return new RouteRequestTransitDataProviderFilter(
+      false,
+      false,
+      false,
+      WheelchairPreferences.DEFAULT,
+      false,
+      false,
+      Set.of(),
+      List.of(AllowAllTransitFilter.of())
+    );
+  }
+
+  @Override
+  public boolean isPatternLevelFilterOnly() {
+    return (
+      !requireBikesAllowed &&
+      !requireCarsAllowed &&
+      !wheelchairFiltersTripsOrStops() &&
+      !includePlannedCancellations &&
+      !includeRealtimeCancellations &&
+      bannedTrips.isEmpty() &&
+      !hasSubModeFilters
+    );
+  }
+
   @Override
   public boolean hasSubModeFilters() {
     return hasSubModeFilters;
@@ -99,6 +130,18 @@ public class RouteRequestTransitDataProviderFilter implements TransitDataProvide
     return false;
   }
 
+  @Override
+  public BitSet createPatternMask(TripPatternFilterIndex index) {
+    if (filters.length == 1) {
+      return index.match(filters[0]);
+    }
+    var mask = new BitSet();
+    for (TransitFilter filter : filters) {
+      mask.or(index.match(filter));
+    }
+    return mask;
+  }
+
   @Override
   public boolean tripTimesPredicate(TripTimes tripTimes, boolean withFilters) {
     final Trip trip = tripTimes.getTrip();
@@ -187,4 +230,14 @@ public class RouteRequestTransitDataProviderFilter implements TransitDataProvide
     }
     return result;
   }
+
+  private boolean wheelchairFiltersTripsOrStops() {
+    return (
+      wheelchairEnabled &&
+      (
+        wheelchairPreferences.trip().onlyConsiderAccessible() ||
+        wheelchairPreferences.stop().onlyConsiderAccessible()
+      )
+    );
+  }
 }
@@ -22,6 +22,25 @@ public interface TransitDataProviderFilter {
 
   boolean tripTimesPredicate(TripTimes tripTimes, boolean withFilters);
 
+  /**
+   * Return {@code true} if this filter keeps the same trips and stops as the filter used to build
+   * the shared {@link TripPatternsForSearchDays}, and only removes whole patterns using
+   * {@link #tripPatternPredicate(TripPatternForDate)}. If so, the request can use the cached trip
+   * patterns with a pattern mask instead of building its own copy.
+   */
+  default boolean isPatternLevelFilterOnly() {
+    return false;
+  }
+
+  /**
+   * Return the patterns in the given index accepted by
+   * {@link #tripPatternPredicate(TripPatternForDate)}. Override this to resolve the filter using
+   * the bitsets in the index, the default implementation evaluates the predicate for each pattern.
+   */
+  default BitSet createPatternMask(TripPatternFilterIndex index) {
+    return index.matchEach(this::tripPatternPredicate);
+  }
+
   /**
    * Check if boarding/alighting is possible at each stop. If the values differ from the default
    * input values, create a clone of the bitset and subtract the unavailable stops.
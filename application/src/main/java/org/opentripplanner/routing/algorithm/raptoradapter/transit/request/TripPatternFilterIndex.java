@@ -0,0 +1,177 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.opentripplanner.model.modes.AllowTransitModeFilter;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
+import org.opentripplanner.routing.api.request.request.filter.AllowAllTransitFilter;
+import org.opentripplanner.routing.api.request.request.filter.SelectRequest;
+import org.opentripplanner.routing.api.request.request.filter.TransitFilter;
+import org.opentripplanner.routing.api.request.request.filter.TransitFilterRequest;
+import org.opentripplanner.transit.model.basic.SubMode;
+import org.opentripplanner.transit.model.basic.TransitMode;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.TripPattern;
+
+/**
+ * Index of the pattern level attributes used by the transit filters, the mode, agency, route and
+ * groups of routes. Each attribute value maps to a bitset of pattern indexes, so the pattern level
+ * part of a {@link TransitFilterRequest} can be resolved with a few bitwise operations instead of
+ * matching each pattern against each select clause.
+ * <p>
+ * The result is the same as {@link TransitFilter#matchTripPattern(TripPattern)}. Patterns
+ * containing multiple modes always match the mode filter, the mode of these patterns is checked
+ * on the trips.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+public class TripPatternFilterIndex {
+
+  /** The pattern, by pattern index, used to evaluate filters not supported by the index. */
+  private final TripPatternForDate[] patterns;
+  private final BitSet all;
+  private final BitSet containsMultipleModes;
+  private final Map<TransitMode, Map<SubMode, BitSet>> byMode;
+  private final Map<FeedScopedId, BitSet> byAgency;
+  private final Map<FeedScopedId, BitSet> byRoute;
+  private final Map<FeedScopedId, BitSet> byGroupOfRoutes;
+
+  private TripPatternFilterIndex(int size) {
+    this.patterns = new TripPatternForDate[size];
+    this.all = new BitSet(size);
+    this.containsMultipleModes = new BitSet(size);
+    this.byMode = new EnumMap<>(TransitMode.class);
+    this.byAgency = new HashMap<>();
+    this.byRoute = new HashMap<>();
+    this.byGroupOfRoutes = new HashMap<>();
+  }
+
+  /**
+   * @param patternIndex Trip patterns by pattern index, the list may be {@code null} padded.
+   */
+  static TripPatternFilterIndex of(List<TripPatternForDates> patternIndex) {
+    var index = new TripPatternFilterIndex(patternIndex.size());
+    for (TripPatternForDates it : patternIndex) {
+      if (it != null) {
+        index.add(it.patternIndex(), it.tripPatternForDate(0));
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Return a new bitset with all patterns in the index.
+   */
+  BitSet all() {
+    return (BitSet) all.clone();
+  }
+
+  /**
+   * Return a new bitset with the patterns matching the pattern level part of the given filter.
+   */
+  BitSet match(TransitFilter filter) {
+    if (filter instanceof AllowAllTransitFilter) {
+      return all();
+    }
+    if (filter instanceof TransitFilterRequest request) {
+      return match(request);
+    }
+    return matchEach(p -> filter.matchTripPattern(p.getTripPattern().getPattern()));
+  }
+
+  /**
+   * Return a new bitset with the patterns matching the given predicate. This is the fallback used
+   * for filters not supported by the index, the predicate is evaluated for each pattern.
+   */
+  BitSet matchEach(Predicate<TripPatternForDate> predicate) {
+    var result = new BitSet(patterns.length);
+    for (int i = all.nextSetBit(0); i >= 0; i = all.nextSetBit(i + 1)) {
+      if (predicate.test(patterns[i])) {
+        result.set(i);
+      }
+    }
+    return result;
+  }
+
+  private BitSet match(TransitFilterRequest request) {
+    BitSet result;
+    if (request.select().isEmpty()) {
+      result = all();
+    } else {
+      result = new BitSet(patterns.length);
+      for (SelectRequest select : request.select()) {
+        result.or(match(select));
+      }
+    }
+    for (SelectRequest not : request.not()) {
+      result.andNot(match(not));
+    }
+    return result;
+  }
+
+  private BitSet match(SelectRequest select) {
+    var result = all();
+    if (select.transportModeFilter() != null) {
+      result.and(matchModes(select.transportModeFilter()));
+    }
+    if (!select.agencies().isEmpty()) {
+      result.and(matchAny(byAgency, select.agencies()));
+    }
+    if (!select.routes().isEmpty()) {
+      result.and(matchAny(byRoute, select.routes()));
+    }
+    if (!select.groupOfRoutes().isEmpty()) {
+      result.and(matchAny(byGroupOfRoutes, select.groupOfRoutes()));
+    }
+    return result;
+  }
+
+  private BitSet matchModes(AllowTransitModeFilter filter) {
+    var result = (BitSet) containsMultipleModes.clone();
+    for (var e : byMode.entrySet()) {
+      for (var s : e.getValue().entrySet()) {
+        if (filter.match(e.getKey(), s.getKey())) {
+          result.or(s.getValue());
+        }
+      }
+    }
+    return result;
+  }
+
+  private BitSet matchAny(Map<FeedScopedId, BitSet> index, List<FeedScopedId> ids) {
+    var result = new BitSet(patterns.length);
+    for (FeedScopedId id : ids) {
+      var matching = index.get(id);
+      if (matching != null) {
+        result.or(matching);
+      }
+    }
+    return result;
+  }
+
+  private void add(int patternIndex, TripPatternForDate tripPatternForDate) {
+    TripPattern pattern = tripPatternForDate.getTripPattern().getPattern();
+    var route = pattern.getRoute();
+
+    patterns[patternIndex] = tripPatternForDate;
+    all.set(patternIndex);
+
+    if (pattern.getContainsMultipleModes()) {
+      containsMultipleModes.set(patternIndex);
+    } else {
+      byMode
+        .computeIfAbsent(pattern.getMode(), m -> new HashMap<>())
+        .computeIfAbsent(pattern.getNetexSubmode(), m -> new BitSet())
+        .set(patternIndex);
+    }
+    byAgency.computeIfAbsent(route.getAgency().getId(), id -> new BitSet()).set(patternIndex);
+    byRoute.computeIfAbsent(route.getId(), id -> new BitSet()).set(patternIndex);
+    for (var groupOfRoutes : route.getGroupsOfRoutes()) {
+      byGroupOfRoutes.computeIfAbsent(groupOfRoutes.getId(), id -> new BitSet()).set(patternIndex);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.function.IntUnaryOperator;
 import org.opentripplanner.raptor.api.model.RaptorTripPattern;
@@ -123,6 +124,13 @@ public class TripPatternForDates
     return tripPatternForDates[index];
   }
 
+  /**
+   * Return {@code true} if this is created from the given (sorted) trip patterns for dates.
+   */
+  boolean hasTripPatternForDates(TripPatternForDate[] tripPatternForDates) {
+    return Arrays.equals(this.tripPatternForDates, tripPatternForDates);
+  }
+
   /**
    * @deprecated This is exposed because it is needed in the TripFrequencyNnnSearch classes, but is
    * an implementation detail that should not leak outside the class.
@@ -0,0 +1,66 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import java.util.BitSet;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * The merged and time-shifted trip patterns for a range of search days together with the
+ * patterns-per-stop index. This is the expensive part of creating a
+ * {@link RaptorRoutingRequestTransitData}. Instances are immutable and built without any request
+ * specific trip filtering, so they can be shared between all requests with the same search days,
+ * see {@link TripPatternsForSearchDaysCache}. A request can remove whole patterns by applying a
+ * pattern mask, see {@link #createPatternMask(TransitDataProviderFilter)}.
+ */
+public class TripPatternsForSearchDays {
+
+  /**
+   * Trip patterns by pattern index, the list is {@code null} padded.
+   */
+  private final List<TripPatternForDates> patternIndex;
+
+  /**
+   * Active pattern indices by stop index
+   */
+  private final List<int[]> activeTripPatternsPerStop;
+
+  /**
+   * Pattern attributes used to resolve the pattern filter of a request
+   */
+  private final TripPatternFilterIndex filterIndex;
+
+  TripPatternsForSearchDays(
+    List<TripPatternForDates> patternIndex,
+    List<int[]> activeTripPatternsPerStop
+  ) {
+    this.patternIndex = patternIndex;
+    this.activeTripPatternsPerStop = activeTripPatternsPerStop;
+    this.filterIndex = TripPatternFilterIndex.of(patternIndex);
+  }
+
+  List<TripPatternForDates> patternIndex() {
+    return patternIndex;
+  }
+
+  List<int[]> activeTripPatternsPerStop() {
+    return activeTripPatternsPerStop;
+  }
+
+  @Nullable
+  TripPatternForDates get(int patternIndex) {
+    return patternIndex < this.patternIndex.size() ? this.patternIndex.get(patternIndex) : null;
+  }
+
+  /**
+   * Create a mask with the patterns accepted by the given filter. Only the pattern level part of
+   * the filter is used, the caller is responsible for checking that the filter does not remove
+   * trips or stops, see {@link TransitDataProviderFilter#isPatternLevelFilterOnly()}.
+   *
+   * @return {@code null} if all patterns are accepted - no mask is needed.
+   */
+  @Nullable
+  BitSet createPatternMask(TransitDataProviderFilter filter) {
+    var mask = filter.createPatternMask(filterIndex);
+    return mask.equals(filterIndex.all()) ? null : mask;
+  }
+}
@@ -0,0 +1,119 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ExecutionException;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.utils.time.ServiceDateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache the {@link TripPatternsForSearchDays} for a {@link TransitLayer}, so requests without trip
+ * level filters do not need to merge and time-shift the trip patterns for each request.
+ * <p>
+ * The {@link TransitLayer} is copied and the trip patterns for the updated dates are replaced on
+ * each real-time update. The cache is copied together with the transit layer, and only the entries
+ * overlapping the replaced dates are invalidated. An invalidated entry is kept around until it is
+ * rebuilt, so the merged patterns which are not changed can be reused.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class TripPatternsForSearchDaysCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TripPatternsForSearchDaysCache.class);
+
+  /**
+   * Each entry holds a copy of all trip schedules for the search days, so we keep only a few of
+   * them. The number of distinct keys in use at the same time is normally small; today and
+   * tomorrow with one or two additional search days.
+   */
+  private static final int MAX_SIZE = 6;
+
+  private final Cache<CacheKey, TripPatternsForSearchDays> cache;
+
+  /**
+   * Entries invalidated by a real-time update, kept until the entry is rebuilt.
+   */
+  private final Cache<CacheKey, TripPatternsForSearchDays> invalidated;
+
+  public TripPatternsForSearchDaysCache() {
+    this.cache = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+    this.invalidated = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+  }
+
+  /**
+   * Create a copy of this cache. Invalidating entries in the copy does not affect this cache.
+   */
+  public TripPatternsForSearchDaysCache copy() {
+    var copy = new TripPatternsForSearchDaysCache();
+    copy.cache.putAll(cache.asMap());
+    copy.invalidated.putAll(invalidated.asMap());
+    return copy;
+  }
+
+  /**
+   * Invalidate all entries for search days overlapping the given running date.
+   */
+  public void invalidate(LocalDate runningDate) {
+    for (var it = cache.asMap().entrySet().iterator(); it.hasNext();) {
+      var e = it.next();
+      if (e.getKey().includes(runningDate)) {
+        invalidated.put(e.getKey(), e.getValue());
+        it.remove();
+      }
+    }
+  }
+
+  public TripPatternsForSearchDays get(
+    TransitLayer transitLayer,
+    ZonedDateTime transitSearchTimeZero,
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays
+  ) {
+    var key = new CacheKey(
+      transitSearchTimeZero,
+      additionalPastSearchDays,
+      additionalFutureSearchDays
+    );
+    try {
+      return cache.get(key, () -> load(transitLayer, key));
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to get item from trip patterns cache", e);
+    }
+  }
+
+  private TripPatternsForSearchDays load(TransitLayer transitLayer, CacheKey key) {
+    long start = System.currentTimeMillis();
+    var previous = invalidated.getIfPresent(key);
+    var creator = new RaptorRoutingRequestTransitDataCreator(
+      transitLayer,
+      key.transitSearchTimeZero
+    );
+    var result = creator.createTripPatternsForSearchDays(
+      key.additionalPastSearchDays,
+      key.additionalFutureSearchDays,
+      previous
+    );
+    invalidated.invalidate(key);
+    long time = System.currentTimeMillis() - start;
+    LOG.debug("Adding trip patterns to cache: {} in {} ms", key, time);
+    return result;
+  }
+
+  private record CacheKey(
+    ZonedDateTime transitSearchTimeZero,
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays
+  ) {
+    boolean includes(LocalDate runningDate) {
+      var departureDate = ServiceDateUtils.asServiceDay(transitSearchTimeZero);
+      return (
+        !runningDate.isBefore(departureDate.minusDays(additionalPastSearchDays)) &&
+        !runningDate.isAfter(departureDate.plusDays(additionalFutureSearchDays))
+      );
+    }
+  }
+}
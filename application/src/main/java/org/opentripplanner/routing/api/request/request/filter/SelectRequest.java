@@ -120,6 +120,10 @@ public class SelectRequest implements Serializable {
     return routes;
   }
 
+  public List<FeedScopedId> groupOfRoutes() {
+    return groupOfRoutes;
+  }
+
   private String transportModesToString() {
     if (transportModes == null) {
       return null;
@@ -22,8 +22,12 @@ import org.opentripplanner.routing.fares.FareService;
 import org.opentripplanner.routing.graph.index.StreetIndex;
 import org.opentripplanner.routing.linking.VertexLinker;
 import org.opentripplanner.routing.services.notes.StreetNotesService;
+import org.opentripplanner.street.model.ContractionHierarchy;
+import org.opentripplanner.street.model.StreetLandmarks;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.RealTimeEdgeOverlay;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.model.vertex.VertexLabel;
@@ -78,6 +82,15 @@ public class Graph implements Serializable {
 
   private transient StreetIndex streetIndex;
 
+  /**
+   * Incremented when a real-time updater changes the street graph, see
+   * {@link #streetGraphUpdated()}.
+   */
+  private transient volatile long streetVersion = 0;
+
+  /** The latest version of the real-time edges, see {@link #updateRealTimeEdges}. */
+  private transient volatile RealTimeEdgeOverlay realTimeEdges = RealTimeEdgeOverlay.EMPTY;
+
   /** The convex hull of all the graph vertices. Generated at the time the Graph is built. */
   private Geometry convexHull = null;
 
@@ -112,6 +125,14 @@ public class Graph implements Serializable {
 
   private FareService fareService;
 
+  /** Landmark distance tables used by the direct street search, if built. */
+  @Nullable
+  private StreetLandmarks streetLandmarks;
+
+  /** Contraction hierarchy used by the direct car search, if built. */
+  @Nullable
+  private ContractionHierarchy carContractionHierarchy;
+
   /**
    * Hack. I've tried three different ways of generating unique labels. Previously we were just
    * tolerating edge label collisions. For some reason we're repeatedly generating splits on the
@@ -301,6 +322,45 @@ public class Graph implements Serializable {
     return this.streetIndex;
   }
 
+  /**
+   * The version of the street graph, it changes each time a real-time updater changes the street
+   * graph. Used to invalidate street search results cached between requests.
+   */
+  public long getStreetVersion() {
+    return streetVersion;
+  }
+
+  /**
+   * Called by the real-time updaters after changing the street graph, like when a rental station
+   * is linked or the rental vehicles available change. The updates are applied by a single graph
+   * writer thread, so the increment does not need to be atomic.
+   */
+  public void streetGraphUpdated() {
+    streetVersion++;
+  }
+
+  /**
+   * The latest version of the edges added by the real-time updaters. A routing request uses the
+   * version published when it started.
+   */
+  public RealTimeEdgeOverlay getRealTimeEdges() {
+    // Transient fields are not initialized when the graph is deserialized
+    var edges = realTimeEdges;
+    return edges != null ? edges : RealTimeEdgeOverlay.EMPTY;
+  }
+
+  /**
+   * Publish a new version of the real-time edges, with the edges collected in the added overlays
+   * and without the edges of the removed overlays. Requests already running keep using the
+   * previous version.
+   */
+  public synchronized void updateRealTimeEdges(
+    Collection<TemporaryEdgeOverlay> added,
+    Collection<TemporaryEdgeOverlay> removed
+  ) {
+    realTimeEdges = getRealTimeEdges().apply(added, removed);
+  }
+
   /**
    * Get streetIndex during graph build, both OSM street data and transit data must be loaded
    * before calling this.
@@ -368,6 +428,24 @@ public class Graph implements Serializable {
     this.fareService = fareService;
   }
 
+  @Nullable
+  public StreetLandmarks getStreetLandmarks() {
+    return streetLandmarks;
+  }
+
+  public void setStreetLandmarks(@Nullable StreetLandmarks streetLandmarks) {
+    this.streetLandmarks = streetLandmarks;
+  }
+
+  @Nullable
+  public ContractionHierarchy getCarContractionHierarchy() {
+    return carContractionHierarchy;
+  }
+
+  public void setCarContractionHierarchy(@Nullable ContractionHierarchy carContractionHierarchy) {
+    this.carContractionHierarchy = carContractionHierarchy;
+  }
+
   private void indexIfNotIndexed(SiteRepository siteRepository) {
     if (streetIndex == null) {
       index(siteRepository);
@@ -33,6 +33,7 @@ import org.opentripplanner.street.model.edge.TemporaryPartialStreetEdge;
 import org.opentripplanner.street.model.edge.TemporaryPartialStreetEdgeBuilder;
 import org.opentripplanner.street.model.vertex.StationCentroidVertex;
 import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.TemporaryStreetLocation;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
@@ -181,13 +182,15 @@ public class StreetIndex {
    * the stop or station types by id, and if not successful it uses the coordinates if provided.
    *
    * @param endVertex: whether this is a start vertex (if it's false) or end vertex (if it's true)
+   * @param overlay: the overlay of the request the temporary vertices are added to, if any
    */
   @Nullable
   public Set<Vertex> getStreetVerticesForLocation(
     GenericLocation location,
     StreetMode streetMode,
     boolean endVertex,
-    Set<DisposableEdgeCollection> tempEdges
+    Set<DisposableEdgeCollection> tempEdges,
+    @Nullable TemporaryEdgeOverlay overlay
   ) {
     // Differentiate between driving and non-driving, as driving is not available from transit stops
     TraverseMode nonTransitMode = getTraverseModeForLinker(streetMode, endVertex);
@@ -224,7 +227,8 @@ public class StreetIndex {
           location.label,
           streetMode,
           endVertex,
-          tempEdges
+          tempEdges,
+          overlay
         )
       );
     }
@@ -254,7 +258,7 @@ public class StreetIndex {
     boolean endVertex,
     Set<DisposableEdgeCollection> tempEdges
   ) {
-    return createVertexFromCoordinate(location, null, streetMode, endVertex, tempEdges);
+    return createVertexFromCoordinate(location, null, streetMode, endVertex, tempEdges, null);
   }
 
   /**
@@ -358,7 +362,8 @@ public class StreetIndex {
     @Nullable String label,
     StreetMode streetMode,
     boolean endVertex,
-    Set<DisposableEdgeCollection> tempEdges
+    Set<DisposableEdgeCollection> tempEdges,
+    @Nullable TemporaryEdgeOverlay overlay
   ) {
     if (endVertex) {
       LOG.debug("Creating end vertex for {}", coordinate);
@@ -381,7 +386,8 @@ public class StreetIndex {
       UUID.randomUUID().toString(),
       coordinate,
       name,
-      endVertex
+      endVertex,
+      overlay
     );
 
     TraverseMode nonTransitMode = getTraverseModeForLinker(streetMode, endVertex);
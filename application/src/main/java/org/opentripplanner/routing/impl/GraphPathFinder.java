@@ -7,22 +7,31 @@ import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
+import org.opentripplanner.astar.spi.SkipEdgeStrategy;
 import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.astar.strategy.ComposingSkipEdgeStrategy;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
 import org.opentripplanner.astar.strategy.PathComparator;
 import org.opentripplanner.ext.dataoverlay.routing.DataOverlayContext;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
 import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.api.request.preference.StreetPreferences;
 import org.opentripplanner.routing.error.PathNotFoundException;
+import org.opentripplanner.street.model.ContractionHierarchy;
 import org.opentripplanner.street.model.StreetConstants;
+import org.opentripplanner.street.model.StreetLandmarks;
 import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
 import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.street.search.strategy.ContractionHierarchyCorridor;
 import org.opentripplanner.street.search.strategy.DominanceFunctions;
 import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
+import org.opentripplanner.street.search.strategy.LandmarkRemainingWeightHeuristic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +61,14 @@ public class GraphPathFinder {
 
   private static final Logger LOG = LoggerFactory.getLogger(GraphPathFinder.class);
 
+  /**
+   * The path found with the contraction hierarchy may be up to this fraction more costly than the
+   * best path, see {@link #getPaths(RouteRequest, Set, Set)}. On the Columbus test extract with the
+   * default turn costs, about 60% of the paths found this way are within this bound of the lower
+   * bound and are used.
+   */
+  private static final double CONTRACTION_HIERARCHY_MAX_EXTRA_WEIGHT = 0.1;
+
   @Nullable
   private final TraverseVisitor<State, Edge> traverseVisitor;
 
@@ -59,45 +76,98 @@ public class GraphPathFinder {
 
   private final float maxCarSpeed;
 
+  @Nullable
+  private final StreetLandmarks streetLandmarks;
+
+  @Nullable
+  private final ContractionHierarchy carContractionHierarchy;
+
   public GraphPathFinder(@Nullable TraverseVisitor<State, Edge> traverseVisitor) {
-    this(traverseVisitor, null, StreetConstants.DEFAULT_MAX_CAR_SPEED);
+    this(traverseVisitor, null, StreetConstants.DEFAULT_MAX_CAR_SPEED, null, null);
   }
 
   public GraphPathFinder(
     @Nullable TraverseVisitor<State, Edge> traverseVisitor,
     @Nullable DataOverlayContext dataOverlayContext,
-    float maxCarSpeed
+    float maxCarSpeed,
+    @Nullable StreetLandmarks streetLandmarks,
+    @Nullable ContractionHierarchy carContractionHierarchy
   ) {
     this.traverseVisitor = traverseVisitor;
     this.dataOverlayContext = dataOverlayContext;
     this.maxCarSpeed = maxCarSpeed;
+    this.streetLandmarks = streetLandmarks;
+    this.carContractionHierarchy = carContractionHierarchy;
   }
 
   /**
    * This no longer does "trip banning" to find multiple itineraries. It just searches once trying
    * to find a non-transit path.
+   * <p>
+   * For car searches the contraction hierarchy is used to find the path first if it exists, the
+   * street search is then restricted to the edges of this path. The hierarchy ignores turn costs,
+   * so this path is an approximation. It is only returned if its weight is within
+   * {@link #CONTRACTION_HIERARCHY_MAX_EXTRA_WEIGHT} of the lowest weight any car path can have,
+   * otherwise all streets are searched.
    */
   public List<GraphPath<State, Edge, Vertex>> getPaths(
     RouteRequest request,
     Set<Vertex> from,
     Set<Vertex> to
+  ) {
+    return getPaths(request, from, to, (TemporaryEdgeOverlay) null);
+  }
+
+  /**
+   * @param overlay The temporary and real-time edges of the request, needed if the from or to
+   *                vertices are permanent vertices.
+   */
+  public List<GraphPath<State, Edge, Vertex>> getPaths(
+    RouteRequest request,
+    Set<Vertex> from,
+    Set<Vertex> to,
+    @Nullable TemporaryEdgeOverlay overlay
+  ) {
+    if (useContractionHierarchy(request)) {
+      var corridor = ContractionHierarchyCorridor.of(carContractionHierarchy, from, to);
+      if (corridor != null) {
+        var paths = getPaths(request, from, to, overlay, corridor);
+        if (!paths.isEmpty() && isWithinBound(request, corridor, paths.getFirst())) {
+          return paths;
+        }
+        LOG.debug("Contraction hierarchy path not usable, searching all streets.");
+      }
+    }
+    return getPaths(request, from, to, overlay, null);
+  }
+
+  private List<GraphPath<State, Edge, Vertex>> getPaths(
+    RouteRequest request,
+    Set<Vertex> from,
+    Set<Vertex> to,
+    @Nullable TemporaryEdgeOverlay overlay,
+    @Nullable SkipEdgeStrategy<State, Edge> corridor
   ) {
     StreetPreferences preferences = request.preferences().street();
 
+    SkipEdgeStrategy<State, Edge> skipEdgeStrategy = new DurationSkipEdgeStrategy<>(
+      preferences.maxDirectDuration().valueOf(request.journey().direct().mode())
+    );
+    if (corridor != null) {
+      skipEdgeStrategy = new ComposingSkipEdgeStrategy<>(corridor, skipEdgeStrategy);
+    }
+
     StreetSearchBuilder aStar = StreetSearchBuilder
       .of()
-      .setHeuristic(new EuclideanRemainingWeightHeuristic(maxCarSpeed))
-      .setSkipEdgeStrategy(
-        new DurationSkipEdgeStrategy(
-          preferences.maxDirectDuration().valueOf(request.journey().direct().mode())
-        )
-      )
+      .setHeuristic(createHeuristic())
+      .setSkipEdgeStrategy(skipEdgeStrategy)
       // FORCING the dominance function to weight only
       .setDominanceFunction(new DominanceFunctions.MinimumWeight())
       .setRequest(request)
       .setStreetRequest(request.journey().direct())
       .setFrom(from)
       .setTo(to)
+      .setOverlay(overlay)
       .setDataOverlayContext(dataOverlayContext);
 
     // If the search has a traverseVisitor(GraphVisualizer) attached to it, set it as a callback
@@ -129,7 +199,8 @@ public class GraphPathFinder {
     return graphPathFinderEntryPoint(
       request,
       vertexContainer.getFromVertices(),
-      vertexContainer.getToVertices()
+      vertexContainer.getToVertices(),
+      vertexContainer.getOverlay()
     );
   }
 
@@ -137,11 +208,20 @@ public class GraphPathFinder {
     RouteRequest request,
     Set<Vertex> from,
     Set<Vertex> to
+  ) {
+    return graphPathFinderEntryPoint(request, from, to, null);
+  }
+
+  private List<GraphPath<State, Edge, Vertex>> graphPathFinderEntryPoint(
+    RouteRequest request,
+    Set<Vertex> from,
+    Set<Vertex> to,
+    @Nullable TemporaryEdgeOverlay overlay
   ) {
     OTPRequestTimeoutException.checkForTimeout();
     Instant reqTime = request.dateTime().truncatedTo(ChronoUnit.SECONDS);
 
-    List<GraphPath<State, Edge, Vertex>> paths = getPaths(request, from, to);
+    List<GraphPath<State, Edge, Vertex>> paths = getPaths(request, from, to, overlay);
 
     // Detect and report that most obnoxious of bugs: path reversal asymmetry.
     // Removing paths might result in an empty list, so do this check before the empty list check.
@@ -171,4 +251,39 @@ public class GraphPathFinder {
 
     return paths;
   }
+
+  /**
+   * The path of the corridor is at most {@link #CONTRACTION_HIERARCHY_MAX_EXTRA_WEIGHT} more
+   * costly than the best path, if its weight is within this fraction of the lower bound.
+   */
+  private static boolean isWithinBound(
+    RouteRequest request,
+    ContractionHierarchyCorridor corridor,
+    GraphPath<State, Edge, Vertex> path
+  ) {
+    double minWeight = corridor.minWeight(request.preferences().car().reluctance());
+    return path.getWeight() <= (1.0 + CONTRACTION_HIERARCHY_MAX_EXTRA_WEIGHT) * minWeight;
+  }
+
+  /**
+   * The contraction hierarchy is only used for car searches, and not when the search is visualized
+   * since only the edges of the path are explored.
+   */
+  private boolean useContractionHierarchy(RouteRequest request) {
+    return (
+      carContractionHierarchy != null &&
+      traverseVisitor == null &&
+      request.journey().direct().mode() == StreetMode.CAR
+    );
+  }
+
+  /**
+   * Use the landmark heuristic if the landmark tables exist in the graph, it falls back to the
+   * Euclidean heuristic for modes not supported.
+   */
+  private RemainingWeightHeuristic<State> createHeuristic() {
+    return streetLandmarks == null
+      ? new EuclideanRemainingWeightHeuristic(maxCarSpeed)
+      : new LandmarkRemainingWeightHeuristic(streetLandmarks, maxCarSpeed);
+  }
 }
@@ -7,6 +7,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -29,6 +30,7 @@ import org.opentripplanner.street.model.edge.StreetEdge;
 import org.opentripplanner.street.model.vertex.IntersectionVertex;
 import org.opentripplanner.street.model.vertex.SplitterVertex;
 import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.TemporarySplitterVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.model.vertex.VertexFactory;
@@ -383,14 +385,22 @@ public class VertexLinker {
           if (vertex instanceof IntersectionVertex iv) {
             start = iv;
           } else {
-            start = splitVertex(aEdge, scope, direction, vertex.getLon(), vertex.getLat());
+            start =
+              splitVertex(
+                aEdge,
+                scope,
+                direction,
+                TemporaryEdgeOverlay.of(vertex),
+                vertex.getLon(),
+                vertex.getLat()
+              );
           }
           split = false;
         }
       }
       if (split) {
         // split the edge, get the split vertex
-        start = split(edge, ll, scope, direction, tempEdges);
+        start = split(edge, ll, scope, direction, TemporaryEdgeOverlay.of(vertex), tempEdges);
       }
     }
 
@@ -414,6 +424,7 @@ public class VertexLinker {
    * @param ll           fraction at which to split the edge
    * @param scope        the scope of the split
    * @param direction    what direction to link the edges
+   * @param overlay      the overlay of the request the split vertex belongs to, if any
    * @param tempEdges    collection of temporary edges
    * @return Splitter vertex with added new edges
    */
@@ -422,6 +433,7 @@ public class VertexLinker {
     LinearLocation ll,
     Scope scope,
     LinkingDirection direction,
+    @Nullable TemporaryEdgeOverlay overlay,
     DisposableEdgeCollection tempEdges
   ) {
     LineString geometry = originalEdge.getGeometry();
@@ -429,7 +441,14 @@ public class VertexLinker {
     // create the geometries
     Coordinate splitPoint = ll.getCoordinate(geometry);
 
-    SplitterVertex v = splitVertex(originalEdge, scope, direction, splitPoint.x, splitPoint.y);
+    SplitterVertex v = splitVertex(
+      originalEdge,
+      scope,
+      direction,
+      overlay,
+      splitPoint.x,
+      splitPoint.y
+    );
 
     // Split the 'edge' at 'v' in 2 new edges and connect these 2 edges to the
     // existing vertices
@@ -464,6 +483,7 @@ public class VertexLinker {
     StreetEdge originalEdge,
     Scope scope,
     LinkingDirection direction,
+    @Nullable TemporaryEdgeOverlay overlay,
     double x,
     double y
   ) {
@@ -476,7 +496,8 @@ public class VertexLinker {
         x,
         y,
         originalEdge,
-        direction == LinkingDirection.OUTGOING
+        direction == LinkingDirection.OUTGOING,
+        overlay
       );
       tsv.setWheelchairAccessible(originalEdge.isWheelchairAccessible());
       v = tsv;
@@ -1,9 +1,11 @@
 package org.opentripplanner.routing.stoptimes;
 
 import static org.opentripplanner.routing.stoptimes.ArrivalDeparture.ARRIVALS;
+import static org.opentripplanner.routing.stoptimes.ArrivalDeparture.BOTH;
 import static org.opentripplanner.routing.stoptimes.ArrivalDeparture.DEPARTURES;
 
 import com.google.common.collect.MinMaxPriorityQueue;
+import gnu.trove.set.TIntSet;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -14,6 +16,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Queue;
+import javax.annotation.Nullable;
 import org.opentripplanner.model.PickDrop;
 import org.opentripplanner.model.StopTimesInPattern;
 import org.opentripplanner.model.Timetable;
@@ -244,38 +247,71 @@ public class StopTimesHelper {
             continue;
           }
 
-          for (TripTimes tripTimes : timetable.getTripTimes()) {
-            if (!servicesRunning.contains(tripTimes.getServiceCode())) {
-              continue;
-            }
-            if (skipByTripCancellation(tripTimes, includeCancellations)) {
-              continue;
-            }
-            if (
-              !includeReplaced &&
-              isReplacedByAnotherPattern(tripTimes.getTrip(), serviceDate, pattern, transitService)
-            ) {
-              continue;
+          // ARRIVAL: Arrival time has to be within range
+          // DEPARTURES: Departure time has to be within range
+          // BOTH: Either arrival time or departure time has to be within range
+          var index = timetable.getStopTimesIndex();
+          int endTime = secondsSinceMidnight + timeRangeSeconds;
+          if (arrivalDeparture != ARRIVALS) {
+            int[] trips = index.findTripsDepartingBetween(stopIndex, secondsSinceMidnight, endTime);
+            boolean afterAllInQueue = false;
+            for (int tripIndex : trips) {
+              TripTimes tripTimes = timetable.getTripTimes(tripIndex);
+              // The trips are ordered by departure, so when a trip departs after all trips in the
+              // full queue, only the trips shown with the scheduled departure time can be earlier
+              afterAllInQueue =
+                afterAllInQueue ||
+                departsAfterAllInFullQueue(
+                  pq,
+                  numberOfDepartures,
+                  midnight.toEpochSecond() + tripTimes.getDepartureTime(stopIndex)
+                );
+              if (afterAllInQueue && !usesScheduledDeparture(pattern, tripTimes, stopIndex)) {
+                continue;
+              }
+              var tripTimeOnDate = tripTimeOnDate(
+                transitService,
+                pattern,
+                tripTimes,
+                stopIndex,
+                serviceDate,
+                midnight,
+                servicesRunning,
+                includeCancellations,
+                includeReplaced
+              );
+              if (tripTimeOnDate != null) {
+                pq.add(tripTimeOnDate);
+              }
             }
-
-            boolean departureTimeInRange =
-              tripTimes.getDepartureTime(stopIndex) >= secondsSinceMidnight &&
-              tripTimes.getDepartureTime(stopIndex) <= secondsSinceMidnight + timeRangeSeconds;
-
-            boolean arrivalTimeInRange =
-              tripTimes.getArrivalTime(stopIndex) >= secondsSinceMidnight &&
-              tripTimes.getArrivalTime(stopIndex) <= secondsSinceMidnight + timeRangeSeconds;
-
-            // ARRIVAL: Arrival time has to be within range
-            // DEPARTURES: Departure time has to be within range
-            // BOTH: Either arrival time or departure time has to be within range
-            if (
-              (arrivalDeparture != ARRIVALS && departureTimeInRange) ||
-              (arrivalDeparture != DEPARTURES && arrivalTimeInRange)
-            ) {
-              pq.add(
-                new TripTimeOnDate(tripTimes, stopIndex, pattern, serviceDate, midnight.toInstant())
+          }
+          if (arrivalDeparture != DEPARTURES) {
+            int[] trips = index.findTripsArrivingBetween(stopIndex, secondsSinceMidnight, endTime);
+            for (int tripIndex : trips) {
+              TripTimes tripTimes = timetable.getTripTimes(tripIndex);
+              int departureTime = tripTimes.getDepartureTime(stopIndex);
+              if (
+                arrivalDeparture == BOTH &&
+                departureTime >= secondsSinceMidnight &&
+                departureTime <= endTime
+              ) {
+                // Already added as a departure
+                continue;
+              }
+              var tripTimeOnDate = tripTimeOnDate(
+                transitService,
+                pattern,
+                tripTimes,
+                stopIndex,
+                serviceDate,
+                midnight,
+                servicesRunning,
+                includeCancellations,
+                includeReplaced
               );
+              if (tripTimeOnDate != null) {
+                pq.add(tripTimeOnDate);
+              }
             }
           }
           // TODO Add back support for frequency entries
@@ -285,6 +321,69 @@ public class StopTimesHelper {
     return pq;
   }
 
+  /**
+   * Create the TripTimeOnDate for the trip at the stop, or return {@code null} if the trip is not
+   * running on the service date or should be skipped.
+   */
+  @Nullable
+  private static TripTimeOnDate tripTimeOnDate(
+    TransitService transitService,
+    TripPattern pattern,
+    TripTimes tripTimes,
+    int stopIndex,
+    LocalDate serviceDate,
+    ZonedDateTime midnight,
+    TIntSet servicesRunning,
+    boolean includeCancellations,
+    boolean includeReplaced
+  ) {
+    if (!servicesRunning.contains(tripTimes.getServiceCode())) {
+      return null;
+    }
+    if (skipByTripCancellation(tripTimes, includeCancellations)) {
+      return null;
+    }
+    if (
+      !includeReplaced &&
+      isReplacedByAnotherPattern(tripTimes.getTrip(), serviceDate, pattern, transitService)
+    ) {
+      return null;
+    }
+    return new TripTimeOnDate(tripTimes, stopIndex, pattern, serviceDate, midnight.toInstant());
+  }
+
+  /**
+   * Return true if the queue is full, and the given departure time (epoch seconds) is after all
+   * trips in the queue.
+   */
+  private static boolean departsAfterAllInFullQueue(
+    MinMaxPriorityQueue<TripTimeOnDate> pq,
+    int maximumSize,
+    long departureTime
+  ) {
+    if (pq.size() < maximumSize) {
+      return false;
+    }
+    var last = pq.peekLast();
+    return departureTime > last.getServiceDayMidnight() + last.getRealtimeDeparture();
+  }
+
+  /**
+   * The departure time of cancelled stops and stops without real-time data is the scheduled
+   * departure time, see {@link TripTimeOnDate#getRealtimeDeparture()}.
+   */
+  private static boolean usesScheduledDeparture(
+    TripPattern pattern,
+    TripTimes tripTimes,
+    int stopIndex
+  ) {
+    return (
+      tripTimes.isCancelledStop(stopIndex) ||
+      tripTimes.isNoDataStop(stopIndex) ||
+      pattern.isBoardAndAlightAt(stopIndex, PickDrop.CANCELLED)
+    );
+  }
+
   private static boolean isReplacedByAnotherPattern(
     Trip trip,
     LocalDate serviceDate,
@@ -14,8 +14,10 @@ import org.opentripplanner.ext.sorlandsbanen.SorlandsbanenNorwayService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.inspector.raster.TileRendererManager;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.api.RoutingService;
@@ -79,6 +81,11 @@ public interface OtpServerRequestContext {
   @HttpRequestScoped
   TransitService transitService();
 
+  /**
+   * The access/egress street search results shared between requests.
+   */
+  AccessEgressCache accessEgressCache();
+
   /**
    * Get a request-scoped {@link RoutingService} valid for one HTTP request. It guarantees that
    * the data and services used are consistent and operate on the same transit snapshot. Any
@@ -127,6 +134,11 @@ public interface OtpServerRequestContext {
 
   VectorTileConfig vectorTileConfig();
 
+  /**
+   * The vector tiles shared between requests.
+   */
+  VectorTileCache vectorTileCache();
+
   /* Sandbox modules */
 
   @Nullable
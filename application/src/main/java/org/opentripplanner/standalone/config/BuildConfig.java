@@ -151,6 +151,8 @@ public class BuildConfig implements OtpDataStoreConfig {
   public final IslandPruningConfig islandPruning;
 
   public final Duration maxTransferDuration;
+  public final int streetLandmarks;
+  public final boolean carContractionHierarchy;
   public final NetexFeedParameters netexDefaults;
   public final GtfsFeedParameters gtfsDefaults;
 
@@ -210,6 +212,28 @@ public class BuildConfig implements OtpDataStoreConfig {
             """
         )
         .asBoolean(false);
+    carContractionHierarchy =
+      root
+        .of("carContractionHierarchy")
+        .since(V2_7)
+        .summary("Build a contraction hierarchy for faster, approximate direct car searches.")
+        .description(
+          """
+          Shortcuts are added to the car network when the graph is built, so that a direct car
+          search only needs to visit a few hundred vertices to find the fastest path ignoring turns.
+          The street search then follows this path using the normal traversal rules.
+
+          This is an approximate mode. The hierarchy does not take turn and intersection costs into
+          account, so the best path may follow other streets. The path is only returned if its cost
+          is at most 10% above a lower bound for the cost of the best path, so it is never more than
+          10% more costly than the best path. If not, or if the path can not be used, for example
+          because of a turn restriction, all streets are searched.
+
+          Building the hierarchy takes a few minutes for a large graph, and increases the size of
+          the graph.
+          """
+        )
+        .asBoolean(false);
     configVersion =
       root
         .of("configVersion")
@@ -360,6 +384,22 @@ all of the elevation values in the street edges.
         .since(V1_5)
         .summary("Whether we should create car P+R stations from OSM data.")
         .asBoolean(true);
+    streetLandmarks =
+      root
+        .of("streetLandmarks")
+        .since(V2_7)
+        .summary("Number of landmarks used to speed up direct car and bicycle street searches.")
+        .description(
+          """
+          The street network distances to and from each landmark are computed when the graph is
+          built, and used to estimate the remaining distance to the destination in direct car and
+          bicycle searches. A good estimate makes the search visit fewer streets, this matters for
+          long searches in large graphs. Around 8-16 landmarks is usually enough.
+
+          Each landmark adds four 4 byte values per vertex to the graph. Set to 0 to disable.
+          """
+        )
+        .asInt(0);
     subwayAccessTime =
       root
         .of("subwayAccessTime")
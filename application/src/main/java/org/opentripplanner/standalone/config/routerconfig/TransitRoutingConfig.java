@@ -6,6 +6,7 @@ import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 
 import java.time.Duration;
 import java.util.List;
@@ -28,6 +29,10 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
   private final int iterationDepartureStepInSeconds;
   private final int searchThreadPoolSize;
   private final int transferCacheMaxSize;
+  private final int heuristicCacheSize;
+  private final Duration heuristicCacheTimeToLive;
+  private final int accessEgressCacheSize;
+  private final Duration accessEgressCacheTimeToLive;
   private final List<RouteRequest> transferCacheRequests;
   private final List<Duration> pagingSearchWindowAdjustments;
 
@@ -158,6 +163,50 @@ Use values in a range from `0` to `100 000`. **All key/value pairs are required
           " If too low, requests may be slower. If too high, more memory may be used then required."
         )
         .asInt(25);
+    this.heuristicCacheSize =
+      c
+        .of("heuristicCacheSize")
+        .since(V2_7)
+        .summary("The maximum number of heuristic search results to share between requests.")
+        .description(
+          """
+Each travel search runs a heuristic search before the main search. Requests to the same
+destination with the same search parameters, transit filters and transfer preferences can share
+the heuristic search result. This is useful for high-traffic destinations like airports and central
+stations. The cached results are not used after a real-time update of the trips. If 0, the cache is
+disabled.
+"""
+        )
+        .asInt(dft.heuristicCacheSize());
+    this.heuristicCacheTimeToLive =
+      c
+        .of("heuristicCacheTimeToLive")
+        .since(V2_7)
+        .summary("The maximum time a heuristic search result is kept in the cache.")
+        .asDuration(dft.heuristicCacheTimeToLive());
+    this.accessEgressCacheSize =
+      c
+        .of("accessEgressCacheSize")
+        .since(V2_7)
+        .summary(
+          "The maximum number of access/egress street search results to share between requests."
+        )
+        .description(
+          """
+Each travel search finds the stops near the origin and the destination with a street search.
+Requests from or to the same place with the same street mode and preferences can share the result,
+like requests from a large station or the home of an app user. Rental searches are invalidated by
+the vehicle rental and parking updaters, and park-and-ride searches are not cached. If 0, the cache
+is disabled.
+"""
+        )
+        .asInt(0);
+    this.accessEgressCacheTimeToLive =
+      c
+        .of("accessEgressCacheTimeToLive")
+        .since(V2_7)
+        .summary("The maximum time an access/egress street search result is kept in the cache.")
+        .asDuration(Duration.ofMinutes(5));
 
     this.transferCacheRequests =
       c
@@ -268,6 +317,26 @@ for more info."
     return transferCacheMaxSize;
   }
 
+  @Override
+  public int heuristicCacheSize() {
+    return heuristicCacheSize;
+  }
+
+  @Override
+  public Duration heuristicCacheTimeToLive() {
+    return heuristicCacheTimeToLive;
+  }
+
+  @Override
+  public int accessEgressCacheSize() {
+    return accessEgressCacheSize;
+  }
+
+  @Override
+  public Duration accessEgressCacheTimeToLive() {
+    return accessEgressCacheTimeToLive;
+  }
+
   @Override
   public List<RouteRequest> transferCacheRequests() {
     return transferCacheRequests;
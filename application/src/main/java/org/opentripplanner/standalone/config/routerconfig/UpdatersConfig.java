@@ -2,6 +2,7 @@ package org.opentripplanner.standalone.config.routerconfig;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V1_5;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.BIKE_RENTAL;
 import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.MQTT_GTFS_RT_UPDATER;
 import static org.opentripplanner.standalone.config.routerconfig.UpdatersConfig.Type.REAL_TIME_ALERTS;
@@ -124,7 +125,18 @@ public class UpdatersConfig implements UpdatersParameters {
         .summary(
           "Should expired real-time data be purged from the graph. Apply to GTFS-RT and Siri updates."
         )
-        .asBoolean(dflt.purgeExpiredData())
+        .asBoolean(dflt.purgeExpiredData()),
+      c
+        .of("parallelFeedUpdates")
+        .since(V2_7)
+        .summary("Apply the GTFS-RT and Siri updates of different feeds in parallel.")
+        .description(
+          "By default all real-time updates are applied one by one on a single graph writer thread. " +
+          "If enabled, the trip updates of each feed are applied on a separate thread, in the order " +
+          "they are received, so a large feed does not delay the updates of the other feeds. The " +
+          "other updaters and the commit of the timetable snapshot still run alone."
+        )
+        .asBoolean(dflt.parallelFeedUpdates())
     );
   }
 
@@ -7,6 +7,7 @@ import static org.opentripplanner.inspector.vector.LayerParameters.MIN_ZOOM;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_0;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_5;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_6;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_7;
 
 import java.util.Collection;
 import java.util.List;
@@ -20,7 +21,7 @@ import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
 
 public class VectorTileConfig implements VectorTilesResource.LayersParameters<LayerType> {
 
-  public static final VectorTileConfig DEFAULT = new VectorTileConfig(List.of(), null, null);
+  public static final VectorTileConfig DEFAULT = new VectorTileConfig(List.of(), null, null, 0, -1);
   private final List<LayerParameters<LayerType>> layers;
 
   @Nullable
@@ -29,14 +30,22 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
   @Nullable
   private final String attribution;
 
+  private final int cacheSize;
+
+  private final int prerenderMaxZoom;
+
   VectorTileConfig(
     Collection<? extends LayerParameters<LayerType>> layers,
     @Nullable String basePath,
-    @Nullable String attribution
+    @Nullable String attribution,
+    int cacheSize,
+    int prerenderMaxZoom
   ) {
     this.layers = List.copyOf(layers);
     this.basePath = basePath;
     this.attribution = attribution;
+    this.cacheSize = cacheSize;
+    this.prerenderMaxZoom = prerenderMaxZoom;
   }
 
   @Override
@@ -52,6 +61,23 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
     return Optional.ofNullable(attribution);
   }
 
+  /**
+   * The maximum number of layer tiles in the server side tile cache, see {@link
+   * org.opentripplanner.inspector.vector.VectorTileCache}.
+   */
+  public int cacheSize() {
+    return cacheSize;
+  }
+
+  /**
+   * The maximum zoom level of the tiles of the static layers pre-rendered at startup, see {@link
+   * org.opentripplanner.inspector.vector.VectorTilePyramid}. A negative value disables the
+   * pre-rendering.
+   */
+  public int prerenderMaxZoom() {
+    return prerenderMaxZoom;
+  }
+
   public static VectorTileConfig mapVectorTilesParameters(NodeAdapter node, String paramName) {
     var root = node.of(paramName).summary("Vector tile configuration").asObject();
     return new VectorTileConfig(
@@ -98,7 +124,47 @@ public class VectorTileConfig implements VectorTilesResource.LayersParameters<La
           for example `<a href='https://trimet.org/mod'>Regional Partners</a>`.
           """
         )
-        .asString(DEFAULT.attribution)
+        .asString(DEFAULT.attribution),
+      root
+        .of("cacheSize")
+        .since(V2_7)
+        .summary("The maximum number of layer tiles kept in the server side tile cache.")
+        .description(
+          """
+          The tiles are cached for each layer, so a tile requested with several layers uses one
+          entry for each layer. The tiles of the stop, station and area stop layers show the
+          scheduled transit data, and are cached until the graph is reloaded. Tiles of these layers
+          with a `filter` depending on the current date are also dropped when the date changes.
+          The tiles of the other layers, and of stop layers with the `DigitransitRealtime` mapper,
+          show real-time data and are only cached when `cacheMaxSeconds` is set for the layer. They
+          are then kept for at most that number of seconds.
+          
+          The default value of 0 disables the cache.
+          """
+        )
+        .asInt(DEFAULT.cacheSize),
+      root
+        .of("prerenderMaxZoom")
+        .since(V2_7)
+        .summary("Pre-render the tiles of the static layers up to this zoom level at startup.")
+        .description(
+          """
+          The tiles of the stop, station and area stop layers without a filter, and not using the
+          `DigitransitRealtime` mapper, only change with the graph. If this is set, these tiles
+          are rendered once when the server starts, for all zoom levels of the layer up to and
+          including this zoom level, and served without rendering them again. The tiles of the
+          other layers and zoom levels are still rendered for each request.
+          
+          The tiles are rendered in the language of the default `locale` of the routing request,
+          requests in other languages are rendered as before. Changes by real-time updates, like
+          routes added to a stop, are not shown in the pre-rendered tiles.
+          
+          The number of tiles grows four times for each zoom level, so the startup time and the
+          memory used by the tiles grow quickly with the zoom level, especially for large area
+          stops. The default value of -1 disables the pre-rendering.
+          """
+        )
+        .asInt(DEFAULT.prerenderMaxZoom)
     );
   }
 
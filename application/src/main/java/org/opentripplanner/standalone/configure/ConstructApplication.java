@@ -6,6 +6,7 @@ import org.opentripplanner.apis.transmodel.TransmodelAPI;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
+import org.opentripplanner.ext.vectortiles.VectorTilesResource;
 import org.opentripplanner.framework.application.LogMDCSupport;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.GraphBuilder;
@@ -177,6 +178,10 @@ public class ConstructApplication {
 
     initializeTransferCache(routerConfig().transitTuningConfig(), timetableRepository());
 
+    if (OTPFeature.SandboxAPIMapboxVectorTilesApi.isOn()) {
+      VectorTilesResource.prerenderStaticLayers(createServerContext());
+    }
+
     if (OTPFeature.TransmodelGraphQlApi.isOn()) {
       TransmodelAPI.setUp(
         routerConfig().transmodelApi(),
@@ -3,6 +3,7 @@ package org.opentripplanner.standalone.configure;
 import dagger.Module;
 import dagger.Provides;
 import io.micrometer.core.instrument.Metrics;
+import jakarta.inject.Singleton;
 import java.util.List;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.spi.TraverseVisitor;
@@ -12,7 +13,9 @@ import org.opentripplanner.ext.interactivelauncher.api.LauncherRequestDecorator;
 import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.sorlandsbanen.SorlandsbanenNorwayService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
@@ -35,6 +38,8 @@ public class ConstructApplicationModule {
     RaptorConfig<TripSchedule> raptorConfig,
     Graph graph,
     TransitService transitService,
+    AccessEgressCache accessEgressCache,
+    VectorTileCache vectorTileCache,
     WorldEnvelopeService worldEnvelopeService,
     RealtimeVehicleService realtimeVehicleService,
     VehicleRentalService vehicleRentalService,
@@ -56,8 +61,10 @@ public class ConstructApplicationModule {
       raptorConfig,
       graph,
       transitService,
+      accessEgressCache,
       Metrics.globalRegistry,
       routerConfig.vectorTileConfig(),
+      vectorTileCache,
       worldEnvelopeService,
       realtimeVehicleService,
       vehicleRentalService,
@@ -73,6 +80,23 @@ public class ConstructApplicationModule {
     );
   }
 
+  @Provides
+  @Singleton
+  static AccessEgressCache providesAccessEgressCache(RouterConfig routerConfig, Graph graph) {
+    var config = routerConfig.transitTuningConfig();
+    return new AccessEgressCache(
+      graph,
+      config.accessEgressCacheSize(),
+      config.accessEgressCacheTimeToLive()
+    );
+  }
+
+  @Provides
+  @Singleton
+  static VectorTileCache providesVectorTileCache(RouterConfig routerConfig) {
+    return new VectorTileCache(routerConfig.vectorTileConfig().cacheSize());
+  }
+
   @Provides
   @Nullable
   TraverseVisitor<?, ?> traverseVisitor(@Nullable GraphVisualizer graphVisualizer) {
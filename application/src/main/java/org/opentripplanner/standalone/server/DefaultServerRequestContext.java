@@ -12,8 +12,10 @@ import org.opentripplanner.ext.ridehailing.RideHailingService;
 import org.opentripplanner.ext.sorlandsbanen.SorlandsbanenNorwayService;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationService;
 import org.opentripplanner.inspector.raster.TileRendererManager;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.api.RoutingService;
@@ -37,12 +39,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   private final List<RideHailingService> rideHailingServices;
   private final Graph graph;
   private final TransitService transitService;
+  private final AccessEgressCache accessEgressCache;
   private final TransitRoutingConfig transitRoutingConfig;
   private final RouteRequest routeRequestDefaults;
   private final MeterRegistry meterRegistry;
   private final RaptorConfig<TripSchedule> raptorConfig;
   private final TileRendererManager tileRendererManager;
   private final VectorTileConfig vectorTileConfig;
+  private final VectorTileCache vectorTileCache;
   private final FlexParameters flexParameters;
   private final TraverseVisitor traverseVisitor;
   private final WorldEnvelopeService worldEnvelopeService;
@@ -66,12 +70,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   private DefaultServerRequestContext(
     Graph graph,
     TransitService transitService,
+    AccessEgressCache accessEgressCache,
     TransitRoutingConfig transitRoutingConfig,
     RouteRequest routeRequestDefaults,
     MeterRegistry meterRegistry,
     RaptorConfig<TripSchedule> raptorConfig,
     TileRendererManager tileRendererManager,
     VectorTileConfig vectorTileConfig,
+    VectorTileCache vectorTileCache,
     WorldEnvelopeService worldEnvelopeService,
     RealtimeVehicleService realtimeVehicleService,
     VehicleRentalService vehicleRentalService,
@@ -87,11 +93,13 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   ) {
     this.graph = graph;
     this.transitService = transitService;
+    this.accessEgressCache = accessEgressCache;
     this.transitRoutingConfig = transitRoutingConfig;
     this.meterRegistry = meterRegistry;
     this.raptorConfig = raptorConfig;
     this.tileRendererManager = tileRendererManager;
     this.vectorTileConfig = vectorTileConfig;
+    this.vectorTileCache = vectorTileCache;
     this.vehicleRentalService = vehicleRentalService;
     this.vehicleParkingService = vehicleParkingService;
     this.flexParameters = flexParameters;
@@ -116,8 +124,10 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     RaptorConfig<TripSchedule> raptorConfig,
     Graph graph,
     TransitService transitService,
+    AccessEgressCache accessEgressCache,
     MeterRegistry meterRegistry,
     VectorTileConfig vectorTileConfig,
+    VectorTileCache vectorTileCache,
     WorldEnvelopeService worldEnvelopeService,
     RealtimeVehicleService realtimeVehicleService,
     VehicleRentalService vehicleRentalService,
@@ -134,12 +144,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return new DefaultServerRequestContext(
       graph,
       transitService,
+      accessEgressCache,
       transitRoutingConfig,
       routeRequestDefaults,
       meterRegistry,
       raptorConfig,
       new TileRendererManager(graph, routeRequestDefaults.preferences()),
       vectorTileConfig,
+      vectorTileCache,
       worldEnvelopeService,
       realtimeVehicleService,
       vehicleRentalService,
@@ -187,6 +199,11 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return transitService;
   }
 
+  @Override
+  public AccessEgressCache accessEgressCache() {
+    return accessEgressCache;
+  }
+
   @Override
   public RoutingService routingService() {
     return new DefaultRoutingService(this);
@@ -262,6 +279,11 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return vectorTileConfig;
   }
 
+  @Override
+  public VectorTileCache vectorTileCache() {
+    return vectorTileCache;
+  }
+
   @Nullable
   @Override
   public LuceneIndex lucenceIndex() {
@@ -0,0 +1,272 @@
+package org.opentripplanner.street.model;
+
+import gnu.trove.map.TIntDoubleMap;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TIntDoubleHashMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.stack.array.TIntArrayStack;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.model.BinHeap;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+
+/**
+ * A contraction hierarchy over the car network, used to find direct car routes without searching
+ * the full street graph. The vertices are ordered by "importance", and shortcut arcs are added so
+ * that a shortest path always exists which first goes up and then down in the hierarchy. A query
+ * is a bidirectional Dijkstra search where the forward search only follows arcs up and the
+ * backward search only follows arcs down, this visits only a few hundred vertices even in large
+ * graphs.
+ * <p>
+ * The arc cost is the time in seconds to drive the street at the max speed allowed, this is the
+ * car routing weight without reluctance and turn costs. Each arc is either a {@link StreetEdge} or
+ * a shortcut made of two other arcs, and a path is unpacked to the original street edges.
+ * <p>
+ * The hierarchy is built by the graph builder, vertices added later, like the temporary vertices
+ * of a request, are not indexed.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class ContractionHierarchy implements Serializable {
+
+  private static final int NO_ARC = -1;
+
+  private final Vertex[] vertices;
+
+  /** The edge of each arc, or {@code null} for shortcuts. */
+  private final Edge[] arcEdge;
+  private final int[] arcFrom;
+  private final int[] arcTo;
+  private final double[] arcCost;
+  private final int[] arcFirst;
+  private final int[] arcSecond;
+
+  /** The arcs going up from each vertex, in the range {@code [upOffsets[v], upOffsets[v+1])}. */
+  private final int[] upOffsets;
+  private final int[] upArcs;
+
+  /** The arcs coming down into each vertex, indexed the same way as the up arcs. */
+  private final int[] downOffsets;
+  private final int[] downArcs;
+
+  /** The index is not serialized, it is created the first time it is used. */
+  private transient volatile TObjectIntMap<Vertex> vertexIndex;
+
+  /**
+   * @param rank The position of each vertex in the contraction order, the first vertex contracted
+   *             has rank 0.
+   * @param arcFirst The first arc of each shortcut, or {@code -1} if the arc is an edge.
+   * @param arcSecond The second arc of each shortcut, or {@code -1} if the arc is an edge.
+   */
+  public ContractionHierarchy(
+    Vertex[] vertices,
+    int[] rank,
+    Edge[] arcEdge,
+    int[] arcFrom,
+    int[] arcTo,
+    double[] arcCost,
+    int[] arcFirst,
+    int[] arcSecond
+  ) {
+    this.vertices = vertices;
+    this.arcEdge = arcEdge;
+    this.arcFrom = arcFrom;
+    this.arcTo = arcTo;
+    this.arcCost = arcCost;
+    this.arcFirst = arcFirst;
+    this.arcSecond = arcSecond;
+
+    int n = vertices.length;
+    this.upOffsets = new int[n + 1];
+    this.downOffsets = new int[n + 1];
+    for (int a = 0; a < arcFrom.length; ++a) {
+      if (rank[arcTo[a]] > rank[arcFrom[a]]) {
+        ++upOffsets[arcFrom[a] + 1];
+      } else {
+        ++downOffsets[arcTo[a] + 1];
+      }
+    }
+    for (int v = 0; v < n; ++v) {
+      upOffsets[v + 1] += upOffsets[v];
+      downOffsets[v + 1] += downOffsets[v];
+    }
+    this.upArcs = new int[upOffsets[n]];
+    this.downArcs = new int[downOffsets[n]];
+    int[] upNext = upOffsets.clone();
+    int[] downNext = downOffsets.clone();
+    for (int a = 0; a < arcFrom.length; ++a) {
+      if (rank[arcTo[a]] > rank[arcFrom[a]]) {
+        upArcs[upNext[arcFrom[a]]++] = a;
+      } else {
+        downArcs[downNext[arcTo[a]]++] = a;
+      }
+    }
+  }
+
+  /**
+   * The time in seconds to drive the edge at the max speed allowed, or infinity if the edge is not
+   * a street edge which can be driven by car.
+   */
+  public static double carDuration(Edge edge) {
+    if (
+      edge instanceof StreetEdge e &&
+      e.getPermission().allows(TraverseMode.CAR) &&
+      e.getCarSpeed() > 0
+    ) {
+      return e.getDistanceMeters() / e.getCarSpeed();
+    }
+    return Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Return the index of the given vertex in the hierarchy, or {@code -1} if the vertex is not part
+   * of it.
+   */
+  public int vertexIndex(Vertex vertex) {
+    return index().get(vertex);
+  }
+
+  public boolean isIndexed(int vertexIndex) {
+    return vertexIndex != StreetLandmarks.NOT_INDEXED;
+  }
+
+  public int numberOfArcs() {
+    return arcFrom.length;
+  }
+
+  /**
+   * Find the shortest path from any of the sources to any of the targets.
+   *
+   * @param sources The vertex index and initial cost of each source.
+   * @param targets The vertex index and remaining cost to the destination of each target.
+   * @return The path, or {@code null} if no path exists. The path may have no edges if a source is
+   * also a target.
+   */
+  @Nullable
+  public Path shortestPath(TIntDoubleMap sources, TIntDoubleMap targets) {
+    var forward = new Search(sources);
+    var backward = new Search(targets);
+    double best = Double.POSITIVE_INFINITY;
+    int meeting = -1;
+
+    while (true) {
+      boolean forwardDone = forward.minCost() >= best;
+      boolean backwardDone = backward.minCost() >= best;
+      if (forwardDone && backwardDone) {
+        break;
+      }
+      boolean isForward = !forwardDone && (backwardDone || forward.minCost() <= backward.minCost());
+      var search = isForward ? forward : backward;
+      var other = isForward ? backward : forward;
+
+      double cost = search.queue.peek_min_key();
+      int v = search.queue.extract_min();
+      if (cost > search.cost.get(v)) {
+        continue;
+      }
+      if (other.cost.containsKey(v) && cost + other.cost.get(v) < best) {
+        best = cost + other.cost.get(v);
+        meeting = v;
+      }
+      if (isForward) {
+        for (int i = upOffsets[v]; i < upOffsets[v + 1]; ++i) {
+          int a = upArcs[i];
+          search.relax(arcTo[a], cost + arcCost[a], a);
+        }
+      } else {
+        for (int i = downOffsets[v]; i < downOffsets[v + 1]; ++i) {
+          int a = downArcs[i];
+          search.relax(arcFrom[a], cost + arcCost[a], a);
+        }
+      }
+    }
+
+    if (meeting < 0) {
+      return null;
+    }
+
+    // The arcs from the source up to the meeting vertex are found in reverse order
+    var arcs = new TIntArrayStack();
+    for (int v = meeting; forward.parent.get(v) != NO_ARC; v = arcFrom[forward.parent.get(v)]) {
+      arcs.push(forward.parent.get(v));
+    }
+    var edges = new ArrayList<Edge>();
+    while (arcs.size() > 0) {
+      unpack(arcs.pop(), edges);
+    }
+    for (int v = meeting; backward.parent.get(v) != NO_ARC; v = arcTo[backward.parent.get(v)]) {
+      unpack(backward.parent.get(v), edges);
+    }
+    return new Path(edges, best);
+  }
+
+  private void unpack(int arc, List<Edge> edges) {
+    var stack = new TIntArrayStack();
+    stack.push(arc);
+    while (stack.size() > 0) {
+      int a = stack.pop();
+      if (arcEdge[a] != null) {
+        edges.add(arcEdge[a]);
+      } else {
+        stack.push(arcSecond[a]);
+        stack.push(arcFirst[a]);
+      }
+    }
+  }
+
+  private TObjectIntMap<Vertex> index() {
+    var index = vertexIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = vertexIndex;
+        if (index == null) {
+          index = StreetLandmarks.createIndex(vertices);
+          vertexIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * A shortest path in the hierarchy.
+   *
+   * @param edges The street edges of the path in order.
+   * @param duration The cost of the path, including the initial cost of the source and the
+   *                 remaining cost of the target.
+   */
+  public record Path(List<Edge> edges, double duration) {}
+
+  /** The state of one direction of the bidirectional search. */
+  private static class Search {
+
+    private final TIntDoubleMap cost = new TIntDoubleHashMap();
+    private final TIntIntMap parent = new TIntIntHashMap();
+    private final BinHeap<Integer> queue = new BinHeap<>();
+
+    private Search(TIntDoubleMap initialCosts) {
+      initialCosts.forEachEntry((v, c) -> {
+        relax(v, c, NO_ARC);
+        return true;
+      });
+    }
+
+    private double minCost() {
+      return queue.empty() ? Double.POSITIVE_INFINITY : queue.peek_min_key();
+    }
+
+    private void relax(int v, double c, int arc) {
+      if (!cost.containsKey(v) || c < cost.get(v)) {
+        cost.put(v, c);
+        parent.put(v, arc);
+        queue.insert(v, c);
+      }
+    }
+  }
+}
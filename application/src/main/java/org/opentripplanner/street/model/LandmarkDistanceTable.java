@@ -0,0 +1,44 @@
+package org.opentripplanner.street.model;
+
+import java.io.Serializable;
+
+/**
+ * Street network distances from and to each landmark for all indexed vertices.
+ * {@code fromLandmark[l][v]} is the distance from landmark {@code l} to vertex {@code v}, and
+ * {@code toLandmark[l][v]} is the distance from vertex {@code v} to landmark {@code l}. The unit
+ * depends on the table, see {@link StreetLandmarks}. The distances are rounded down.
+ */
+public record LandmarkDistanceTable(int[][] fromLandmark, int[][] toLandmark)
+  implements Serializable {
+  /** The distance to/from vertices which is not connected to the landmark. */
+  public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+  public int numberOfLandmarks() {
+    return fromLandmark.length;
+  }
+
+  /**
+   * Return a lower bound of the distance from vertex {@code from} to vertex {@code to} using the
+   * triangle inequality for each landmark {@code L}:
+   * <pre>
+   *   d(from, to) >= d(L, to) - d(L, from)
+   *   d(from, to) >= d(from, L) - d(to, L)
+   * </pre>
+   * Landmarks not connected to both vertices are skipped. The result is reduced by one, since
+   * both distances are rounded down.
+   */
+  public int lowerBound(int from, int to) {
+    int best = 0;
+    for (int l = 0; l < fromLandmark.length; ++l) {
+      best = Math.max(best, difference(fromLandmark[l], to, from));
+      best = Math.max(best, difference(toLandmark[l], from, to));
+    }
+    return Math.max(0, best - 1);
+  }
+
+  private static int difference(int[] distances, int a, int b) {
+    int da = distances[a];
+    int db = distances[b];
+    return da == UNREACHABLE || db == UNREACHABLE ? 0 : da - db;
+  }
+}
@@ -0,0 +1,101 @@
+package org.opentripplanner.street.model;
+
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.custom_hash.TObjectIntCustomHashMap;
+import gnu.trove.strategy.IdentityHashingStrategy;
+import java.io.Serializable;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * Pre-computed street network distances to and from a small set of landmark vertices. The tables
+ * are built by the graph builder and used by the ALT (A*, Landmarks and Triangle inequality)
+ * remaining weight heuristic to compute a much tighter bound than the straight line distance.
+ * <p>
+ * Each edge is given a cost which is a lower bound of the cost when routing, so the estimates
+ * computed from the tables are lower bounds as well. There are two tables:
+ * <ul>
+ *   <li>{@link #carDurations()} - The duration in seconds driving at the max speed of each
+ *   street.</li>
+ *   <li>{@link #bikeDistances()} - The distance in meters on streets where cycling or walking is
+ *   allowed.</li>
+ * </ul>
+ * Vertices added after the tables are built, like the temporary vertices of a request, are not
+ * indexed.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class StreetLandmarks implements Serializable {
+
+  static final int NOT_INDEXED = -1;
+
+  private final Vertex[] vertices;
+  private final LandmarkDistanceTable carDurations;
+  private final LandmarkDistanceTable bikeDistances;
+
+  /** The index is not serialized, it is created the first time it is used. */
+  private transient volatile TObjectIntMap<Vertex> vertexIndex;
+
+  public StreetLandmarks(
+    Vertex[] vertices,
+    LandmarkDistanceTable carDurations,
+    LandmarkDistanceTable bikeDistances
+  ) {
+    this.vertices = vertices;
+    this.carDurations = carDurations;
+    this.bikeDistances = bikeDistances;
+  }
+
+  /**
+   * Return the index of the given vertex in the distance tables, or {@code -1} if the vertex is
+   * not part of the tables.
+   */
+  public int vertexIndex(Vertex vertex) {
+    return index().get(vertex);
+  }
+
+  public boolean isIndexed(int vertexIndex) {
+    return vertexIndex != NOT_INDEXED;
+  }
+
+  public int numberOfLandmarks() {
+    return carDurations.numberOfLandmarks();
+  }
+
+  public LandmarkDistanceTable carDurations() {
+    return carDurations;
+  }
+
+  public LandmarkDistanceTable bikeDistances() {
+    return bikeDistances;
+  }
+
+  /**
+   * Create an index from vertex to the position in the given array of vertices.
+   */
+  public static TObjectIntMap<Vertex> createIndex(Vertex[] vertices) {
+    var index = new TObjectIntCustomHashMap<Vertex>(
+      new IdentityHashingStrategy<>(),
+      vertices.length,
+      0.5f,
+      NOT_INDEXED
+    );
+    for (int i = 0; i < vertices.length; ++i) {
+      index.put(vertices[i], i);
+    }
+    return index;
+  }
+
+  private TObjectIntMap<Vertex> index() {
+    var index = vertexIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = vertexIndex;
+        if (index == null) {
+          index = createIndex(vertices);
+          vertexIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+}
@@ -10,6 +10,7 @@ import javax.annotation.Nullable;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.astar.spi.AStarEdge;
 import org.opentripplanner.framework.i18n.I18NString;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.state.State;
 import org.slf4j.Logger;
@@ -189,8 +190,13 @@ public abstract class Edge implements AStarEdge<State, Edge, Vertex>, Serializab
     for (Edge edge : this.fromv.getIncoming()) {
       edge.removeTurnRestrictionsTo(this);
     }
-    this.fromv.removeOutgoing(this);
-    this.tov.removeIncoming(this);
+    var overlay = TemporaryEdgeOverlay.of(this);
+    if (overlay != null) {
+      overlay.disconnect(this);
+    } else {
+      this.fromv.removeOutgoing(this);
+      this.tov.removeIncoming(this);
+    }
   }
 
   public void removeTurnRestrictionsTo(Edge origin) {}
@@ -200,10 +206,18 @@ public abstract class Edge implements AStarEdge<State, Edge, Vertex>, Serializab
    * and the list of incoming edges of the destination vertex. Once connected, the edge becomes
    * visible from other threads. This should not be done inside the constructor, otherwise the edge
    * might become reachable before being fully constructed.
+   * <p>
+   * An edge to or from a temporary vertex of a request is only added to the permanent vertex in
+   * the {@link TemporaryEdgeOverlay} of the request.
    */
   protected void connectToGraph() {
-    fromv.addOutgoing(this);
-    tov.addIncoming(this);
+    var overlay = TemporaryEdgeOverlay.of(this);
+    if (overlay != null) {
+      overlay.connect(this);
+    } else {
+      fromv.addOutgoing(this);
+      tov.addIncoming(this);
+    }
   }
 
   protected static <T extends Edge> T connectToGraph(T edge) {
@@ -0,0 +1,91 @@
+package org.opentripplanner.street.model.vertex;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opentripplanner.astar.spi.EdgeOverlay;
+import org.opentripplanner.street.model.edge.Edge;
+
+/**
+ * A version of the edges added to the street graph by the real-time updaters, like the links to
+ * the vehicle rental stations and vehicle parkings. The edges are not added to the vertices of the
+ * graph. Instead, each update publishes a new version with the edges added and removed by the
+ * update, and a routing request follows the edges of the version published when the request
+ * started, see {@link TemporaryEdgeOverlay}. A request therefore sees all the edges of an update
+ * or none of them, even if the update is applied while the request is running.
+ * <p>
+ * The edges of an update are collected with {@link TemporaryEdgeOverlay#collect}, one overlay for
+ * each linked vertex, so the edges can be removed again when the vertex is removed.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+public final class RealTimeEdgeOverlay implements EdgeOverlay<Edge, Vertex> {
+
+  public static final RealTimeEdgeOverlay EMPTY = new RealTimeEdgeOverlay(0, Map.of(), Map.of());
+
+  private final long version;
+  private final Map<Vertex, List<Edge>> outgoing;
+  private final Map<Vertex, List<Edge>> incoming;
+
+  private RealTimeEdgeOverlay(
+    long version,
+    Map<Vertex, List<Edge>> outgoing,
+    Map<Vertex, List<Edge>> incoming
+  ) {
+    this.version = version;
+    this.outgoing = outgoing;
+    this.incoming = incoming;
+  }
+
+  /**
+   * Create the next version, with the edges of the added overlays and without the edges of the
+   * removed overlays.
+   */
+  public RealTimeEdgeOverlay apply(
+    Collection<TemporaryEdgeOverlay> added,
+    Collection<TemporaryEdgeOverlay> removed
+  ) {
+    if (added.isEmpty() && removed.isEmpty()) {
+      return this;
+    }
+    var newOutgoing = new HashMap<>(outgoing);
+    var newIncoming = new HashMap<>(incoming);
+    for (TemporaryEdgeOverlay overlay : removed) {
+      overlay.outgoingEdges().forEach((v, edges) -> removeAll(newOutgoing, v, edges));
+      overlay.incomingEdges().forEach((v, edges) -> removeAll(newIncoming, v, edges));
+    }
+    for (TemporaryEdgeOverlay overlay : added) {
+      overlay.outgoingEdges().forEach((v, edges) -> addAll(newOutgoing, v, edges));
+      overlay.incomingEdges().forEach((v, edges) -> addAll(newIncoming, v, edges));
+    }
+    return new RealTimeEdgeOverlay(version + 1, Map.copyOf(newOutgoing), Map.copyOf(newIncoming));
+  }
+
+  /** The version is increased by one for each update. */
+  public long version() {
+    return version;
+  }
+
+  @Override
+  public Collection<Edge> getOutgoing(Vertex vertex) {
+    return TemporaryEdgeOverlay.concat(vertex.getOutgoing(), outgoing.get(vertex));
+  }
+
+  @Override
+  public Collection<Edge> getIncoming(Vertex vertex) {
+    return TemporaryEdgeOverlay.concat(vertex.getIncoming(), incoming.get(vertex));
+  }
+
+  private static void addAll(Map<Vertex, List<Edge>> map, Vertex vertex, List<Edge> edges) {
+    for (Edge edge : edges) {
+      map.put(vertex, TemporaryEdgeOverlay.add(map.get(vertex), edge));
+    }
+  }
+
+  private static void removeAll(Map<Vertex, List<Edge>> map, Vertex vertex, List<Edge> edges) {
+    for (Edge edge : edges) {
+      map.computeIfPresent(vertex, (v, list) -> TemporaryEdgeOverlay.remove(list, edge));
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package org.opentripplanner.street.model.vertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.spi.EdgeOverlay;
+import org.opentripplanner.street.model.edge.Edge;
+
+/**
+ * The temporary edges of a routing request which connect the temporary vertices of the request to
+ * the permanent vertices of the graph, like the partial street edges from the ends of a split
+ * street to the split point. The temporary vertices keep their edges as usual, but the edges are
+ * not added to the permanent vertices. Instead, the overlay keeps the extra edges of each
+ * permanent vertex, and the searches of the request follow the edges of the graph through the
+ * overlay.
+ * <p>
+ * Linking a request does not change the vertices shared by all requests, so concurrent requests
+ * do not copy the edge lists of the same vertices, and a request can not leave its edges in the
+ * graph if it fails before the edges are removed.
+ * <p>
+ * The overlay of a request also includes the version of the {@link RealTimeEdgeOverlay} published
+ * when the request started. The real-time updaters use an overlay to collect the edges of an
+ * update, see {@link #collect(Supplier)}.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class TemporaryEdgeOverlay implements EdgeOverlay<Edge, Vertex> {
+
+  /** The overlay collecting the edges created by the current thread, if any. */
+  private static final ThreadLocal<TemporaryEdgeOverlay> COLLECTING = new ThreadLocal<>();
+
+  private final RealTimeEdgeOverlay realTimeEdges;
+  private final Map<Vertex, List<Edge>> outgoing = new ConcurrentHashMap<>();
+  private final Map<Vertex, List<Edge>> incoming = new ConcurrentHashMap<>();
+
+  public TemporaryEdgeOverlay() {
+    this(RealTimeEdgeOverlay.EMPTY);
+  }
+
+  /**
+   * @param realTimeEdges The version of the real-time edges the searches using this overlay see.
+   */
+  public TemporaryEdgeOverlay(RealTimeEdgeOverlay realTimeEdges) {
+    this.realTimeEdges = realTimeEdges;
+  }
+
+  /**
+   * The overlay of the temporary vertex at either end of the edge, or else the overlay collecting
+   * the edges created by the current thread. Returns {@code null} if the edge belongs in the graph.
+   */
+  @Nullable
+  public static TemporaryEdgeOverlay of(Edge edge) {
+    var overlay = of(edge.getFromVertex());
+    if (overlay == null) {
+      overlay = of(edge.getToVertex());
+    }
+    return overlay != null ? overlay : COLLECTING.get();
+  }
+
+  /** The overlay of the vertex, or {@code null} if it is not a temporary vertex of a request. */
+  @Nullable
+  public static TemporaryEdgeOverlay of(Vertex vertex) {
+    return vertex instanceof TemporaryVertex temporaryVertex ? temporaryVertex.overlay() : null;
+  }
+
+  /** The overlay of the first vertex belonging to one, or {@code null} if there is none. */
+  @Nullable
+  public static TemporaryEdgeOverlay of(@Nullable Collection<Vertex> vertices) {
+    if (vertices != null) {
+      for (Vertex vertex : vertices) {
+        var overlay = of(vertex);
+        if (overlay != null) {
+          return overlay;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Add all the edges created by the current thread while running the given linking to this
+   * overlay, instead of to the vertices of the graph. None of the vertices are changed, not even
+   * the new vertices created by the linking. Edges to or from the temporary vertices of a request
+   * are still added to the overlay of the request.
+   */
+  public <T> T collect(Supplier<T> linking) {
+    var previous = COLLECTING.get();
+    COLLECTING.set(this);
+    try {
+      return linking.get();
+    } finally {
+      if (previous == null) {
+        COLLECTING.remove();
+      } else {
+        COLLECTING.set(previous);
+      }
+    }
+  }
+
+  /** True if no edges are added to the overlay. */
+  public boolean isEmpty() {
+    return outgoing.isEmpty() && incoming.isEmpty();
+  }
+
+  /**
+   * Add the edge to the temporary vertices of this overlay at either end, and to the overlay for
+   * the other vertices.
+   */
+  public void connect(Edge edge) {
+    var from = edge.getFromVertex();
+    var to = edge.getToVertex();
+    if (contains(from)) {
+      from.addOutgoing(edge);
+    } else {
+      outgoing.compute(from, (v, edges) -> add(edges, edge));
+    }
+    if (contains(to)) {
+      to.addIncoming(edge);
+    } else {
+      incoming.compute(to, (v, edges) -> add(edges, edge));
+    }
+  }
+
+  /** Remove an edge added with {@link #connect(Edge)}. */
+  public void disconnect(Edge edge) {
+    var from = edge.getFromVertex();
+    var to = edge.getToVertex();
+    if (contains(from)) {
+      from.removeOutgoing(edge);
+    } else {
+      outgoing.computeIfPresent(from, (v, edges) -> remove(edges, edge));
+    }
+    if (contains(to)) {
+      to.removeIncoming(edge);
+    } else {
+      incoming.computeIfPresent(to, (v, edges) -> remove(edges, edge));
+    }
+  }
+
+  @Override
+  public Collection<Edge> getOutgoing(Vertex vertex) {
+    return concat(realTimeEdges.getOutgoing(vertex), outgoing.get(vertex));
+  }
+
+  @Override
+  public Collection<Edge> getIncoming(Vertex vertex) {
+    return concat(realTimeEdges.getIncoming(vertex), incoming.get(vertex));
+  }
+
+  /** The edges added to the outgoing edges of each vertex. */
+  Map<Vertex, List<Edge>> outgoingEdges() {
+    return outgoing;
+  }
+
+  /** The edges added to the incoming edges of each vertex. */
+  Map<Vertex, List<Edge>> incomingEdges() {
+    return incoming;
+  }
+
+  private boolean contains(Vertex vertex) {
+    return of(vertex) == this;
+  }
+
+  static List<Edge> add(@Nullable List<Edge> edges, Edge edge) {
+    if (edges == null) {
+      return List.of(edge);
+    }
+    if (edges.stream().anyMatch(e -> e == edge)) {
+      return edges;
+    }
+    var result = new ArrayList<Edge>(edges.size() + 1);
+    result.addAll(edges);
+    result.add(edge);
+    return List.copyOf(result);
+  }
+
+  @Nullable
+  static List<Edge> remove(List<Edge> edges, Edge edge) {
+    var result = edges.stream().filter(e -> e != edge).toList();
+    return result.isEmpty() ? null : result;
+  }
+
+  static Collection<Edge> concat(Collection<Edge> edges, @Nullable List<Edge> extra) {
+    if (extra == null) {
+      return edges;
+    }
+    var result = new ArrayList<Edge>(edges.size() + extra.size());
+    result.addAll(edges);
+    result.addAll(extra);
+    return result;
+  }
+}
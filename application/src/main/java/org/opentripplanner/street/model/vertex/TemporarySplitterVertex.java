@@ -1,5 +1,6 @@
 package org.opentripplanner.street.model.vertex;
 
+import javax.annotation.Nullable;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
 
@@ -13,16 +14,31 @@ public class TemporarySplitterVertex extends SplitterVertex implements Temporary
   private final boolean endVertex;
   private boolean wheelchairAccessible;
 
+  @Nullable
+  private final TemporaryEdgeOverlay overlay;
+
   public TemporarySplitterVertex(
     String label,
     double x,
     double y,
     StreetEdge streetEdge,
     boolean endVertex
+  ) {
+    this(label, x, y, streetEdge, endVertex, null);
+  }
+
+  public TemporarySplitterVertex(
+    String label,
+    double x,
+    double y,
+    StreetEdge streetEdge,
+    boolean endVertex,
+    @Nullable TemporaryEdgeOverlay overlay
   ) {
     super(label, x, y, streetEdge.getName());
     this.endVertex = endVertex;
     this.wheelchairAccessible = streetEdge.isWheelchairAccessible();
+    this.overlay = overlay;
   }
 
   @Override
@@ -42,6 +58,12 @@ public class TemporarySplitterVertex extends SplitterVertex implements Temporary
     return endVertex;
   }
 
+  @Override
+  @Nullable
+  public TemporaryEdgeOverlay overlay() {
+    return overlay;
+  }
+
   public boolean isWheelchairAccessible() {
     return wheelchairAccessible;
   }
@@ -1,5 +1,6 @@
 package org.opentripplanner.street.model.vertex;
 
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.street.model.edge.Edge;
@@ -9,14 +10,28 @@ public final class TemporaryStreetLocation extends StreetLocation implements Tem
 
   private final boolean endVertex;
 
+  @Nullable
+  private final TemporaryEdgeOverlay overlay;
+
   public TemporaryStreetLocation(
     String id,
     Coordinate nearestPoint,
     I18NString name,
     boolean endVertex
+  ) {
+    this(id, nearestPoint, name, endVertex, null);
+  }
+
+  public TemporaryStreetLocation(
+    String id,
+    Coordinate nearestPoint,
+    I18NString name,
+    boolean endVertex,
+    @Nullable TemporaryEdgeOverlay overlay
   ) {
     super(id, nearestPoint, name);
     this.endVertex = endVertex;
+    this.overlay = overlay;
   }
 
   @Override
@@ -51,4 +66,10 @@ public final class TemporaryStreetLocation extends StreetLocation implements Tem
   public boolean isEndVertex() {
     return endVertex;
   }
+
+  @Override
+  @Nullable
+  public TemporaryEdgeOverlay overlay() {
+    return overlay;
+  }
 }
@@ -1,5 +1,7 @@
 package org.opentripplanner.street.model.vertex;
 
+import javax.annotation.Nullable;
+
 /**
  * Marker interface for temporary vertices.
  * <p>
@@ -23,4 +25,14 @@ public interface TemporaryVertex {
   }
 
   boolean isEndVertex();
+
+  /**
+   * The overlay of the request this vertex belongs to. The edges between this vertex and the
+   * permanent vertices are added to the overlay instead of the permanent vertices. If
+   * {@code null}, the edges are added to the graph and must be removed after use.
+   */
+  @Nullable
+  default TemporaryEdgeOverlay overlay() {
+    return null;
+  }
 }
@@ -8,6 +8,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import org.locationtech.jts.geom.Coordinate;
 import org.opentripplanner.astar.spi.AStarVertex;
 import org.opentripplanner.framework.geometry.WgsCoordinate;
@@ -28,12 +30,26 @@ public abstract class Vertex implements AStarVertex<State, Edge, Vertex>, Serial
   public static final I18NString NO_NAME = I18NString.of("(no name provided)");
   private static final Logger LOG = LoggerFactory.getLogger(Vertex.class);
 
+  /** The last index assigned, see {@link #getIndex()}. */
+  private static final AtomicInteger LAST_INDEX = new AtomicInteger();
+  private static final AtomicIntegerFieldUpdater<Vertex> INDEX = AtomicIntegerFieldUpdater.newUpdater(
+    Vertex.class,
+    "index"
+  );
+  private static final int NO_INDEX = 0;
+
   private final double x;
   private final double y;
 
   private transient Edge[] incoming = new Edge[0];
 
   private transient Edge[] outgoing = new Edge[0];
+
+  /**
+   * The index is assigned the first time it is used, it is not serialized since the constructor
+   * and field initializers are not run when the graph is loaded.
+   */
+  private transient volatile int index = NO_INDEX;
   private RentalRestrictionExtension rentalRestrictions = RentalRestrictionExtension.NO_RESTRICTION;
 
   /* CONSTRUCTORS */
@@ -105,6 +121,17 @@ public abstract class Vertex implements AStarVertex<State, Edge, Vertex>, Serial
     return Arrays.asList(incoming);
   }
 
+  /**
+   * The index is assigned from a global counter the first time it is requested, so the vertices
+   * used by the searches get small, dense indices. The counter may wrap around in a long-running
+   * server creating many temporary vertices, so the index is not guaranteed to be unique.
+   */
+  @Override
+  public int getIndex() {
+    int i = index;
+    return i == NO_INDEX ? assignIndex() : i;
+  }
+
   public int getDegreeOut() {
     return outgoing.length;
   }
@@ -297,6 +324,15 @@ public abstract class Vertex implements AStarVertex<State, Edge, Vertex>, Serial
     out.defaultWriteObject();
   }
 
+  private int assignIndex() {
+    int i;
+    do {
+      i = LAST_INDEX.incrementAndGet();
+    } while (i == NO_INDEX);
+    // Another thread may have assigned the index first
+    return INDEX.compareAndSet(this, NO_INDEX, i) ? i : index;
+  }
+
   private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
     in.defaultReadObject();
     this.incoming = new Edge[0];
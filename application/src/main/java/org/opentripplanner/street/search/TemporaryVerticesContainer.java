@@ -19,6 +19,7 @@ import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graph.index.StreetIndex;
 import org.opentripplanner.routing.linking.DisposableEdgeCollection;
 import org.opentripplanner.routing.linking.SameEdgeAdjuster;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
 
@@ -27,10 +28,15 @@ import org.opentripplanner.street.model.vertex.Vertex;
  * in the A-Star search, as well as removing them after the search has been done. It implements
  * AutoCloseable, in order to be able to use the try-with-resources statement, making the clean-up
  * automatic.
+ * <p>
+ * The temporary edges to and from the permanent vertices are kept in the {@link
+ * TemporaryEdgeOverlay} of the container, so linking does not change the permanent vertices. The
+ * overlay also pins the version of the real-time edges used by the searches of the request.
  */
 public class TemporaryVerticesContainer implements AutoCloseable {
 
   private final Graph graph;
+  private final TemporaryEdgeOverlay overlay;
   private final Set<DisposableEdgeCollection> tempEdges;
   private final Set<Vertex> fromVertices;
   private final Set<Vertex> toVertices;
@@ -47,11 +53,12 @@ public class TemporaryVerticesContainer implements AutoCloseable {
     this.tempEdges = new HashSet<>();
 
     this.graph = graph;
+    this.overlay = new TemporaryEdgeOverlay(graph.getRealTimeEdges());
     StreetIndex index = this.graph.getStreetIndex();
     this.from = from;
     this.to = to;
-    fromVertices = index.getStreetVerticesForLocation(from, accessMode, false, tempEdges);
-    toVertices = index.getStreetVerticesForLocation(to, egressMode, true, tempEdges);
+    fromVertices = index.getStreetVerticesForLocation(from, accessMode, false, tempEdges, overlay);
+    toVertices = index.getStreetVerticesForLocation(to, egressMode, true, tempEdges, overlay);
 
     checkIfVerticesFound();
 
@@ -68,12 +75,23 @@ public class TemporaryVerticesContainer implements AutoCloseable {
 
   /**
    * Tear down this container, removing any temporary edges from the "permanent" graph objects. This
-   * enables all temporary objects for garbage collection.
+   * enables all temporary objects for garbage collection. Most temporary edges are only in the
+   * overlay, but some of the changes made when linking, like the turn restrictions copied to the
+   * split edges, are made to the permanent graph objects.
    */
   public void close() {
     this.tempEdges.forEach(DisposableEdgeCollection::disposeEdges);
   }
 
+  /**
+   * The temporary and real-time edges of the permanent vertices. A search entering the temporary
+   * vertices or the real-time vertices, like the vehicle rental stations, from the permanent
+   * vertices must follow the edges of the overlay.
+   */
+  public TemporaryEdgeOverlay getOverlay() {
+    return overlay;
+  }
+
   public Set<Vertex> getFromVertices() {
     return fromVertices;
   }
@@ -0,0 +1,132 @@
+package org.opentripplanner.street.search.strategy;
+
+import gnu.trove.map.TIntDoubleMap;
+import gnu.trove.map.hash.TIntDoubleHashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.model.BinHeap;
+import org.opentripplanner.astar.spi.SkipEdgeStrategy;
+import org.opentripplanner.street.model.ContractionHierarchy;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * Restrict a street search to the edges of the shortest path found in a
+ * {@link ContractionHierarchy}. The street search still traverses the real edges, so turn
+ * restrictions, turn costs and the rest of the traversal rules apply, and the result is an
+ * ordinary {@link org.opentripplanner.astar.model.GraphPath}. The edges connected to vertices
+ * which are not part of the hierarchy, like the temporary vertices of the request, are not
+ * skipped.
+ * <p>
+ * The hierarchy does not know about turn costs, so the path is the fastest path ignoring turns,
+ * and the best path with turn costs may follow other streets. The path found in the corridor is
+ * therefore only an approximation, see {@link #minWeight(double)} for a lower bound to check it
+ * against. If the path is not traversable, for example because of a turn restriction, the search
+ * will not find a path and the caller should fall back to searching all streets.
+ */
+public class ContractionHierarchyCorridor implements SkipEdgeStrategy<State, Edge> {
+
+  /** Limit the search for the vertices in the hierarchy, the temporary vertices are only a few. */
+  private static final int MAX_TEMPORARY_VERTICES_VISITED = 100;
+
+  private final ContractionHierarchy hierarchy;
+  private final Set<Edge> edges;
+  private final double duration;
+
+  private ContractionHierarchyCorridor(
+    ContractionHierarchy hierarchy,
+    ContractionHierarchy.Path path
+  ) {
+    this.hierarchy = hierarchy;
+    this.edges = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.edges.addAll(path.edges());
+    this.duration = path.duration();
+  }
+
+  /**
+   * Find the shortest car path from any of the {@code from} vertices to any of the {@code to}
+   * vertices, return {@code null} if no path is found.
+   */
+  @Nullable
+  public static ContractionHierarchyCorridor of(
+    ContractionHierarchy hierarchy,
+    Set<Vertex> from,
+    Set<Vertex> to
+  ) {
+    var sources = findIndexedVertices(hierarchy, from, false);
+    var targets = findIndexedVertices(hierarchy, to, true);
+    if (sources.isEmpty() || targets.isEmpty()) {
+      return null;
+    }
+    var path = hierarchy.shortestPath(sources, targets);
+    return path == null ? null : new ContractionHierarchyCorridor(hierarchy, path);
+  }
+
+  /**
+   * The lowest weight a car path between the locations can have. The path of the hierarchy has
+   * the shortest duration at the max speed allowed, the weight of a car path is this duration
+   * times the car reluctance plus the turn costs, which are never negative.
+   */
+  public double minWeight(double carReluctance) {
+    return carReluctance * duration;
+  }
+
+  @Override
+  public boolean shouldSkipEdge(State current, Edge edge) {
+    return (
+      !edges.contains(edge) &&
+      hierarchy.isIndexed(hierarchy.vertexIndex(edge.getFromVertex())) &&
+      hierarchy.isIndexed(hierarchy.vertexIndex(edge.getToVertex()))
+    );
+  }
+
+  /**
+   * Find the closest vertices in the hierarchy and the cost to reach them, following the temporary
+   * edges from the given vertices. If {@code reverse} is true, the incoming edges are followed.
+   * Return an empty map if the search is aborted.
+   */
+  private static TIntDoubleMap findIndexedVertices(
+    ContractionHierarchy hierarchy,
+    Set<Vertex> vertices,
+    boolean reverse
+  ) {
+    var result = new TIntDoubleHashMap();
+    Map<Vertex, Double> costs = new IdentityHashMap<>();
+    var queue = new BinHeap<Vertex>();
+    for (Vertex v : vertices) {
+      costs.put(v, 0.0);
+      queue.insert(v, 0.0);
+    }
+
+    while (!queue.empty()) {
+      double cost = queue.peek_min_key();
+      var vertex = queue.extract_min();
+      if (cost > costs.get(vertex)) {
+        continue;
+      }
+      int index = hierarchy.vertexIndex(vertex);
+      if (hierarchy.isIndexed(index)) {
+        result.put(index, cost);
+        continue;
+      }
+      if (costs.size() > MAX_TEMPORARY_VERTICES_VISITED) {
+        return new TIntDoubleHashMap();
+      }
+      for (Edge e : reverse ? vertex.getIncoming() : vertex.getOutgoing()) {
+        // Temporary free edges connect the request location to the street
+        double c = cost + (e instanceof StreetEdge ? ContractionHierarchy.carDuration(e) : 0.0);
+        var next = reverse ? e.getFromVertex() : e.getToVertex();
+        if (c < costs.getOrDefault(next, Double.POSITIVE_INFINITY)) {
+          costs.put(next, c);
+          queue.insert(next, c);
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,123 @@
+package org.opentripplanner.street.search.strategy;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.street.model.LandmarkDistanceTable;
+import org.opentripplanner.street.model.StreetLandmarks;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * An ALT (A*, Landmarks and Triangle inequality) remaining weight heuristic for direct car and
+ * bicycle searches, using the pre-computed {@link StreetLandmarks} distance tables. The estimate
+ * is the max of the landmark bound and the {@link EuclideanRemainingWeightHeuristic}, so it is
+ * never worse than the Euclidean estimate. For other street modes only the Euclidean estimate is
+ * used.
+ * <p>
+ * Like the Euclidean heuristic, the estimate is the travel time in seconds, assuming the weight
+ * is at least the travel time.
+ * <p>
+ * The targets are usually temporary vertices, which are not part of the tables. All paths to a
+ * target pass through one of the indexed vertices connected to it, so the bound to the closest
+ * of these "anchors" is used.
+ */
+public class LandmarkRemainingWeightHeuristic implements RemainingWeightHeuristic<State> {
+
+  /** Limit the search for anchors, the temporary vertices of a request is only a few. */
+  private static final int MAX_TEMPORARY_VERTICES_VISITED = 100;
+
+  private final StreetLandmarks landmarks;
+  private final EuclideanRemainingWeightHeuristic euclideanHeuristic;
+  private LandmarkDistanceTable table;
+  private double secondsPerUnit;
+  private boolean arriveBy;
+  private int[] anchors;
+
+  public LandmarkRemainingWeightHeuristic(StreetLandmarks landmarks, Float maxCarSpeed) {
+    this.landmarks = landmarks;
+    this.euclideanHeuristic = new EuclideanRemainingWeightHeuristic(maxCarSpeed);
+  }
+
+  public void initialize(
+    StreetMode streetMode,
+    Set<Vertex> toVertices,
+    boolean arriveBy,
+    RoutingPreferences preferences
+  ) {
+    euclideanHeuristic.initialize(streetMode, toVertices, arriveBy, preferences);
+    this.arriveBy = arriveBy;
+
+    if (streetMode == StreetMode.CAR) {
+      this.table = landmarks.carDurations();
+      this.secondsPerUnit = 1.0;
+    } else if (streetMode == StreetMode.BIKE) {
+      // The bicycle may be walked, use the fastest speed
+      double maxSpeed = Math.max(
+        preferences.bike().speed(),
+        Math.max(preferences.bike().walking().speed(), preferences.walk().speed())
+      );
+      this.table = landmarks.bikeDistances();
+      this.secondsPerUnit = 1.0 / maxSpeed;
+    } else {
+      this.table = null;
+    }
+    this.anchors = table == null ? new int[0] : findAnchors(toVertices);
+  }
+
+  @Override
+  public double estimateRemainingWeight(State s) {
+    double euclideanEstimate = euclideanHeuristic.estimateRemainingWeight(s);
+    if (anchors.length == 0) {
+      return euclideanEstimate;
+    }
+    int v = landmarks.vertexIndex(s.getVertex());
+    if (!landmarks.isIndexed(v)) {
+      return euclideanEstimate;
+    }
+    int bound = Integer.MAX_VALUE;
+    for (int anchor : anchors) {
+      // In an arrive-by search the path goes from the target to the current vertex
+      int b = arriveBy ? table.lowerBound(anchor, v) : table.lowerBound(v, anchor);
+      bound = Math.min(bound, b);
+    }
+    return Math.max(euclideanEstimate, bound * secondsPerUnit);
+  }
+
+  /**
+   * Find the indexed vertices closest to the targets. In a depart-after search we follow the
+   * incoming edges from the target through the temporary vertices, in an arrive-by search we
+   * follow the outgoing edges.
+   */
+  private int[] findAnchors(Set<Vertex> targets) {
+    var anchors = new TIntArrayList();
+    var visited = Collections.newSetFromMap(new IdentityHashMap<Vertex, Boolean>());
+    var queue = new ArrayDeque<>(targets);
+
+    while (!queue.isEmpty()) {
+      var vertex = queue.poll();
+      if (!visited.add(vertex)) {
+        continue;
+      }
+      int index = landmarks.vertexIndex(vertex);
+      if (landmarks.isIndexed(index)) {
+        anchors.add(index);
+        continue;
+      }
+      if (visited.size() > MAX_TEMPORARY_VERTICES_VISITED) {
+        // Give up, the anchors found so far may not cover all paths
+        return new int[0];
+      }
+      for (Edge e : arriveBy ? vertex.getOutgoing() : vertex.getIncoming()) {
+        queue.add(arriveBy ? e.getToVertex() : e.getFromVertex());
+      }
+    }
+    return anchors.toArray();
+  }
+}
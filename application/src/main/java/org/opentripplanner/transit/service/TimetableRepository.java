@@ -258,13 +258,14 @@ public class TimetableRepository implements Serializable {
    * Get or create a serviceId for a given date. This method is used when a new trip is added from a
    * realtime data update. It make sure the date is in the existing transit service period.
    * <p>
+   * This is synchronized, since the updates of different feeds may be applied in parallel.
    *
    * @param serviceDate service date for the added service id
    * @return service-id for date if it exist or is created. If the given service date is outside the
    * service period {@code null} is returned.
    */
   @Nullable
-  public FeedScopedId getOrCreateServiceIdForDate(LocalDate serviceDate) {
+  public synchronized FeedScopedId getOrCreateServiceIdForDate(LocalDate serviceDate) {
     // Start of day
     ZonedDateTime time = ServiceDateUtils.asStartOfService(serviceDate, getTimeZone());
 
@@ -5,11 +5,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.opentripplanner.updater.spi.GraphUpdater;
@@ -48,6 +53,20 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
    */
   private final ScheduledExecutorService scheduler;
 
+  /**
+   * If the real-time updates of different feeds are applied in parallel, the runnables of each feed
+   * are executed in order on a separate thread. The feed writers hold the read lock of the
+   * {@link #writerLock} while running, and the graph writer thread holds the write lock, so the
+   * feed writers only run at the same time as each other.
+   */
+  private final Map<String, ExecutorService> feedWriters = new ConcurrentHashMap<>();
+
+  private final ThreadFactory feedWriterThreadFactory;
+
+  private final ReadWriteLock writerLock = new ReentrantReadWriteLock(true);
+
+  private final boolean parallelFeedUpdates;
+
   private final ScheduledExecutorService pollingUpdaterPool;
 
   /**
@@ -71,10 +90,25 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
    *
    */
   public GraphUpdaterManager(RealTimeUpdateContext context, List<GraphUpdater> updaters) {
+    this(context, updaters, false);
+  }
+
+  /**
+   * @param parallelFeedUpdates apply the real-time trip updates of different feeds in parallel,
+   *                            see {@link #execute(String, GraphWriterRunnable)}.
+   */
+  public GraphUpdaterManager(
+    RealTimeUpdateContext context,
+    List<GraphUpdater> updaters,
+    boolean parallelFeedUpdates
+  ) {
     this.realtimeUpdateContext = context;
+    this.parallelFeedUpdates = parallelFeedUpdates;
     // Thread factories used to create new threads, giving them more human-readable names.
     var graphWriterThreadFactory = new ThreadFactoryBuilder().setNameFormat("graph-writer").build();
     this.scheduler = Executors.newSingleThreadScheduledExecutor(graphWriterThreadFactory);
+    this.feedWriterThreadFactory =
+      new ThreadFactoryBuilder().setNameFormat("graph-writer-%d").build();
     var updaterThreadFactory = new ThreadFactoryBuilder().setNameFormat("updater-%d").build();
     this.pollingUpdaterPool =
       Executors.newScheduledThreadPool(
@@ -166,10 +200,14 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     }
     updaterList.clear();
 
-    // Shutdown scheduler
+    // Shutdown scheduler and feed writers
     scheduler.shutdownNow();
+    feedWriters.values().forEach(ExecutorService::shutdownNow);
     try {
       boolean ok = scheduler.awaitTermination(30, TimeUnit.SECONDS);
+      for (ExecutorService feedWriter : feedWriters.values()) {
+        ok &= feedWriter.awaitTermination(30, TimeUnit.SECONDS);
+      }
       if (!ok) {
         LOG.warn("Timeout waiting for scheduled task to finish.");
       }
@@ -182,13 +220,32 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
 
   @Override
   public Future<?> execute(GraphWriterRunnable runnable) {
-    return scheduler.submit(() -> {
+    return scheduler.submit(() -> run(writerLock.writeLock(), runnable));
+  }
+
+  @Override
+  public Future<?> execute(String feedId, GraphWriterRunnable runnable) {
+    if (!parallelFeedUpdates) {
+      return execute(runnable);
+    }
+    return feedWriters
+      .computeIfAbsent(feedId, id -> Executors.newSingleThreadExecutor(feedWriterThreadFactory))
+      .submit(() -> run(writerLock.readLock(), runnable));
+  }
+
+  /**
+   * Wrap a task scheduled directly on the graph writer thread, like the flush of the timetable
+   * snapshot, so it does not run at the same time as the updates of the feeds applied in parallel.
+   */
+  public Runnable withExclusiveAccess(Runnable task) {
+    return () -> {
+      writerLock.writeLock().lock();
       try {
-        runnable.run(realtimeUpdateContext);
-      } catch (Exception e) {
-        LOG.error("Error while running graph writer {}:", runnable.getClass().getName(), e);
+        task.run();
+      } finally {
+        writerLock.writeLock().unlock();
       }
-    });
+    };
   }
 
   @Override
@@ -256,6 +313,17 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     return scheduler;
   }
 
+  private void run(Lock lock, GraphWriterRunnable runnable) {
+    lock.lock();
+    try {
+      runnable.run(realtimeUpdateContext);
+    } catch (Exception e) {
+      LOG.error("Error while running graph writer {}:", runnable.getClass().getName(), e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * This method start a task during startup and log a message when all updaters are initialized.
    * When all updaters are ready, then OTP is ready for processing routing requests.
@@ -8,20 +8,38 @@ import java.time.Duration;
  */
 public record TimetableSnapshotSourceParameters(
   Duration maxSnapshotFrequency,
-  boolean purgeExpiredData
+  boolean purgeExpiredData,
+  boolean parallelFeedUpdates
 ) {
   public static final TimetableSnapshotSourceParameters DEFAULT = new TimetableSnapshotSourceParameters(
     Duration.ofSeconds(1),
-    true
+    true,
+    false
   );
 
   /* Factory functions, used instead of a builder - useful in tests. */
 
   public TimetableSnapshotSourceParameters withMaxSnapshotFrequency(Duration maxSnapshotFrequency) {
-    return new TimetableSnapshotSourceParameters(maxSnapshotFrequency, this.purgeExpiredData);
+    return new TimetableSnapshotSourceParameters(
+      maxSnapshotFrequency,
+      this.purgeExpiredData,
+      this.parallelFeedUpdates
+    );
   }
 
   public TimetableSnapshotSourceParameters withPurgeExpiredData(boolean purgeExpiredData) {
-    return new TimetableSnapshotSourceParameters(this.maxSnapshotFrequency, purgeExpiredData);
+    return new TimetableSnapshotSourceParameters(
+      this.maxSnapshotFrequency,
+      purgeExpiredData,
+      this.parallelFeedUpdates
+    );
+  }
+
+  public TimetableSnapshotSourceParameters withParallelFeedUpdates(boolean parallelFeedUpdates) {
+    return new TimetableSnapshotSourceParameters(
+      this.maxSnapshotFrequency,
+      this.purgeExpiredData,
+      parallelFeedUpdates
+    );
   }
 }
@@ -109,7 +109,8 @@ public class UpdaterConfigurator {
     }
     GraphUpdaterManager updaterManager = new GraphUpdaterManager(
       new DefaultRealTimeUpdateContext(graph, timetableRepository, timetableSnapshotBuffer),
-      updaters
+      updaters,
+      updatersParameters.timetableSnapshotParameters().parallelFeedUpdates()
     );
 
     configureTimetableSnapshotFlush(updaterManager);
@@ -254,7 +255,9 @@ public class UpdaterConfigurator {
       updaterManager
         .getScheduler()
         .scheduleWithFixedDelay(
-          new TimetableSnapshotFlush(siriTimetableSnapshotSource, gtfsTimetableSnapshotSource),
+          updaterManager.withExclusiveAccess(
+            new TimetableSnapshotFlush(siriTimetableSnapshotSource, gtfsTimetableSnapshotSource)
+          ),
           0,
           updatersParameters.timetableSnapshotParameters().maxSnapshotFrequency().toSeconds(),
           TimeUnit.SECONDS
@@ -216,11 +216,12 @@ class AddedTripBuilder {
     // TODO: We always create a new TripPattern to be able to modify its scheduled timetable
     StopPattern stopPattern = new StopPattern(aimedStopTimes);
 
-    RealTimeTripTimes tripTimes = TripTimesFactory.tripTimes(
-      trip,
-      aimedStopTimes,
-      transitService.getDeduplicator()
-    );
+    // The deduplicator is shared with the updates of the other feeds
+    var deduplicator = transitService.getDeduplicator();
+    RealTimeTripTimes tripTimes;
+    synchronized (deduplicator) {
+      tripTimes = TripTimesFactory.tripTimes(trip, aimedStopTimes, deduplicator);
+    }
     // validate the scheduled trip times
     // they are in general superseded by real-time trip times
     // but in case of trip cancellation, OTP will fall back to scheduled trip times
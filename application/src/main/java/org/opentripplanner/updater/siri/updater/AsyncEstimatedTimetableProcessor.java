@@ -33,14 +33,16 @@ public class AsyncEstimatedTimetableProcessor {
    * @return a future indicating when the changes are applied.
    */
   public Future<?> processSiriData(ServiceDelivery serviceDelivery) {
-    return saveResultOnGraph.execute(context ->
-      updateResultConsumer.accept(
-        estimatedTimetableHandler.applyUpdate(
-          serviceDelivery.getEstimatedTimetableDeliveries(),
-          UpdateIncrementality.DIFFERENTIAL,
-          context
+    return saveResultOnGraph.execute(
+      estimatedTimetableHandler.feedId(),
+      context ->
+        updateResultConsumer.accept(
+          estimatedTimetableHandler.applyUpdate(
+            serviceDelivery.getEstimatedTimetableDeliveries(),
+            UpdateIncrementality.DIFFERENTIAL,
+            context
+          )
         )
-      )
     );
   }
 }
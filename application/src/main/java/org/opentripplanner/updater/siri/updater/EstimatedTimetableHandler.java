@@ -29,6 +29,13 @@ public class EstimatedTimetableHandler {
     this.feedId = feedId;
   }
 
+  /**
+   * The ID for the static feed to which these real time updates are applied.
+   */
+  public String feedId() {
+    return feedId;
+  }
+
   /**
    * Apply the update to the transit model.
    */
@@ -84,14 +84,17 @@ public class SiriETUpdater extends PollingGraphUpdater {
         final boolean markPrimed = !moreData;
         List<EstimatedTimetableDeliveryStructure> etds = serviceDelivery.getEstimatedTimetableDeliveries();
         if (etds != null) {
-          saveResultOnGraph.execute(context -> {
-            var result = estimatedTimetableHandler.applyUpdate(etds, incrementality, context);
-            ResultLogger.logUpdateResult(feedId, "siri-et", result);
-            recordMetrics.accept(result);
-            if (markPrimed) {
-              primed = true;
+          saveResultOnGraph.execute(
+            feedId,
+            context -> {
+              var result = estimatedTimetableHandler.applyUpdate(etds, incrementality, context);
+              ResultLogger.logUpdateResult(feedId, "siri-et", result);
+              recordMetrics.accept(result);
+              if (markPrimed) {
+                primed = true;
+              }
             }
-          });
+          );
         }
       }
     } while (moreData);
@@ -13,4 +13,18 @@ public interface WriteToGraphCallback {
    * @param runnable is a graph writer runnable
    */
   Future<?> execute(GraphWriterRunnable runnable);
+
+  /**
+   * Use this method for runnables which only apply the real-time trip updates of a single feed to
+   * the timetable snapshot. The runnables of a feed are executed in the same order as the calls.
+   * If the updates of different feeds are applied in parallel, the runnables of different feeds
+   * may run at the same time, but never at the same time as the runnables passed to
+   * {@link #execute(GraphWriterRunnable)}.
+   *
+   * @param feedId the feed updated by the runnable
+   * @param runnable is a graph writer runnable
+   */
+  default Future<?> execute(String feedId, GraphWriterRunnable runnable) {
+    return execute(runnable);
+  }
 }
@@ -169,6 +169,7 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
       if (updates != null) {
         // Handle trip updates via graph writer runnable
         saveResultOnGraph.execute(
+          feedId,
           new TripUpdateGraphWriterRunnable(
             snapshotSource,
             fuzzyTripMatching,
@@ -89,7 +89,7 @@ public class PollingTripUpdater extends PollingGraphUpdater {
         feedId,
         recordMetrics
       );
-      saveResultOnGraph.execute(runnable);
+      saveResultOnGraph.execute(feedId, runnable);
     }
   }
 
@@ -32,7 +32,9 @@ public final class TimetableSnapshotManager {
 
   /**
    * The working copy of the timetable snapshot. Should not be visible to routing threads.
-   * By design, only one thread should ever be writing to this buffer.
+   * By design, only one thread should ever be writing the updates of a feed to this buffer. The
+   * updates of different feeds may be applied concurrently, see {@link TimetableSnapshot}. The
+   * buffer is only purged and committed while no updates are applied.
    */
   private final TimetableSnapshot buffer = new TimetableSnapshot();
 
@@ -890,12 +890,11 @@ public class TimetableSnapshotSource implements TimetableSnapshotProvider {
       originalTripPattern
     );
 
-    // Create new trip times
-    final RealTimeTripTimes newTripTimes = TripTimesFactory.tripTimes(
-      trip,
-      stopTimes,
-      deduplicator
-    );
+    // Create new trip times, the deduplicator is shared with the updates of the other feeds
+    final RealTimeTripTimes newTripTimes;
+    synchronized (deduplicator) {
+      newTripTimes = TripTimesFactory.tripTimes(trip, stopTimes, deduplicator);
+    }
 
     // Update all times to mark trip times as realtime
     // TODO: should we incorporate the delay field if present?
@@ -18,6 +18,7 @@ import org.opentripplanner.service.vehicleparking.model.VehicleParkingHelper;
 import org.opentripplanner.service.vehicleparking.model.VehicleParkingState;
 import org.opentripplanner.street.model.edge.StreetVehicleParkingLink;
 import org.opentripplanner.street.model.edge.VehicleParkingEdge;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.VehicleParkingEntranceVertex;
 import org.opentripplanner.street.search.TraverseMode;
 import org.opentripplanner.street.search.TraverseModeSet;
@@ -40,6 +41,7 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
   private static final Logger LOG = LoggerFactory.getLogger(VehicleParkingUpdater.class);
   private final Map<VehicleParking, List<VehicleParkingEntranceVertex>> verticesByPark = new HashMap<>();
   private final Map<VehicleParking, List<DisposableEdgeCollection>> tempEdgesByPark = new HashMap<>();
+  private final Map<VehicleParking, TemporaryEdgeOverlay> linksByPark = new HashMap<>();
   private final DataSource<VehicleParking> source;
   private final List<VehicleParking> oldVehicleParkings = new ArrayList<>();
   private WriteToGraphCallback saveResultOnGraph;
@@ -104,6 +106,10 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
       Set<VehicleParking> toAdd = new HashSet<>();
       Set<VehicleParking> toLink = new HashSet<>();
       Set<VehicleParking> toRemove = new HashSet<>();
+      List<TemporaryEdgeOverlay> addedLinks = new ArrayList<>();
+      List<TemporaryEdgeOverlay> removedLinks = new ArrayList<>();
+      List<DisposableEdgeCollection> removedEdges = new ArrayList<>();
+      List<VehicleParkingEntranceVertex> removedVertices = new ArrayList<>();
 
       var vehicleParkingHelper = new VehicleParkingHelper(context.graph());
 
@@ -130,11 +136,14 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
         }
 
         if (verticesByPark.containsKey(oldVehicleParking)) {
-          tempEdgesByPark.get(oldVehicleParking).forEach(DisposableEdgeCollection::disposeEdges);
-          verticesByPark
-            .get(oldVehicleParking)
-            .forEach(v -> removeVehicleParkingEdgesFromGraph(v, context.graph()));
-          verticesByPark.remove(oldVehicleParking);
+          // The edges are removed after the update is published, since the running requests may
+          // still use them. The vertices are removed now, so a re-added park does not get a
+          // duplicate label.
+          var vertices = verticesByPark.remove(oldVehicleParking);
+          vertices.forEach(context.graph()::remove);
+          removedVertices.addAll(vertices);
+          removedEdges.addAll(tempEdgesByPark.remove(oldVehicleParking));
+          removedLinks.add(linksByPark.remove(oldVehicleParking));
         }
 
         toRemove.add(oldVehicleParking);
@@ -145,31 +154,49 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
         var vehicleParkingVertices = vehicleParkingHelper.createVehicleParkingVertices(
           updatedVehicleParking
         );
+        var links = new TemporaryEdgeOverlay();
         var disposableEdgeCollectionsForVertex = linkVehicleParkingVertexToStreets(
-          vehicleParkingVertices
+          vehicleParkingVertices,
+          links
         );
 
         VehicleParkingHelper.linkVehicleParkingEntrances(vehicleParkingVertices);
 
         verticesByPark.put(updatedVehicleParking, vehicleParkingVertices);
         tempEdgesByPark.put(updatedVehicleParking, disposableEdgeCollectionsForVertex);
+        linksByPark.put(updatedVehicleParking, links);
+        addedLinks.add(links);
       }
 
+      // Publish the new links before the removed links are disposed, so a request sees either the
+      // old or the new version of the links
+      context.graph().updateRealTimeEdges(addedLinks, removedLinks);
+      removedEdges.forEach(DisposableEdgeCollection::disposeEdges);
+      removedVertices.forEach(v -> removeVehicleParkingEdges(v, context.graph()));
+
       parkingRepository.updateVehicleParking(toAdd, toRemove);
+      context.graph().streetGraphUpdated();
 
       oldVehicleParkings.removeAll(toRemove);
       oldVehicleParkings.addAll(toAdd);
     }
 
+    /**
+     * Link the vertices to the streets, the links are collected in the given overlay instead of
+     * being added to the vertices of the graph.
+     */
     private List<DisposableEdgeCollection> linkVehicleParkingVertexToStreets(
-      List<VehicleParkingEntranceVertex> vehicleParkingVertices
+      List<VehicleParkingEntranceVertex> vehicleParkingVertices,
+      TemporaryEdgeOverlay links
     ) {
       List<DisposableEdgeCollection> disposableEdgeCollectionsForVertex = new ArrayList<>();
       for (var vehicleParkingVertex : vehicleParkingVertices) {
-        var disposableEdges = linkVehicleParkingForRealtime(vehicleParkingVertex);
+        var disposableEdges = links.collect(() ->
+          linkVehicleParkingForRealtime(vehicleParkingVertex)
+        );
         disposableEdgeCollectionsForVertex.addAll(disposableEdges);
 
-        if (vehicleParkingVertex.getOutgoing().isEmpty()) {
+        if (links.getOutgoing(vehicleParkingVertex).isEmpty()) {
           LOG.info("Vehicle parking {} unlinked", vehicleParkingVertex);
         }
       }
@@ -223,7 +250,7 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
       return disposableEdgeCollections;
     }
 
-    private void removeVehicleParkingEdgesFromGraph(
+    private void removeVehicleParkingEdges(
       VehicleParkingEntranceVertex entranceVertex,
       Graph graph
     ) {
@@ -237,7 +264,6 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
         .stream()
         .filter(VehicleParkingEdge.class::isInstance)
         .forEach(graph::removeEdge);
-      graph.remove(entranceVertex);
     }
   }
 
@@ -22,6 +22,7 @@ import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex
 import org.opentripplanner.street.model.RentalFormFactor;
 import org.opentripplanner.street.model.RentalRestrictionExtension;
 import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.TemporaryEdgeOverlay;
 import org.opentripplanner.street.model.vertex.VertexFactory;
 import org.opentripplanner.street.search.TraverseMode;
 import org.opentripplanner.street.search.TraverseModeSet;
@@ -59,6 +60,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
   private Set<GeofencingZone> latestAppliedGeofencingZones = Set.of();
   private final Map<FeedScopedId, VehicleRentalPlaceVertex> verticesByStation = new HashMap<>();
   private final Map<FeedScopedId, DisposableEdgeCollection> tempEdgesByStation = new HashMap<>();
+  private final Map<FeedScopedId, TemporaryEdgeOverlay> linksByStation = new HashMap<>();
   private final VertexLinker linker;
 
   private final VehicleRentalRepository service;
@@ -159,6 +161,9 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
       // Apply stations to graph
       Set<FeedScopedId> stationSet = new HashSet<>();
       var vertexFactory = new VertexFactory(context.graph());
+      List<TemporaryEdgeOverlay> addedLinks = new ArrayList<>();
+      List<TemporaryEdgeOverlay> removedLinks = new ArrayList<>();
+      List<DisposableEdgeCollection> removedEdges = new ArrayList<>();
 
       /* add any new stations and update vehicle counts for existing stations */
       for (VehicleRentalPlace station : stations) {
@@ -168,23 +173,28 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
         if (vehicleRentalVertex == null) {
           vehicleRentalVertex = vertexFactory.vehicleRentalPlace(station);
-          DisposableEdgeCollection tempEdges = linker.linkVertexForRealTime(
-            vehicleRentalVertex,
-            new TraverseModeSet(TraverseMode.WALK),
-            LinkingDirection.BOTH_WAYS,
-            (vertex, streetVertex) ->
-              List.of(
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  (VehicleRentalPlaceVertex) vertex,
-                  streetVertex
-                ),
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  streetVertex,
-                  (VehicleRentalPlaceVertex) vertex
+          // The links are published to the routing requests with the other changes of this update
+          var links = new TemporaryEdgeOverlay();
+          var vertexToLink = vehicleRentalVertex;
+          DisposableEdgeCollection tempEdges = links.collect(() ->
+            linker.linkVertexForRealTime(
+              vertexToLink,
+              new TraverseModeSet(TraverseMode.WALK),
+              LinkingDirection.BOTH_WAYS,
+              (vertex, streetVertex) ->
+                List.of(
+                  StreetVehicleRentalLink.createStreetVehicleRentalLink(
+                    (VehicleRentalPlaceVertex) vertex,
+                    streetVertex
+                  ),
+                  StreetVehicleRentalLink.createStreetVehicleRentalLink(
+                    streetVertex,
+                    (VehicleRentalPlaceVertex) vertex
+                  )
                 )
-              )
+            )
           );
-          if (vehicleRentalVertex.getOutgoing().isEmpty()) {
+          if (links.getOutgoing(vehicleRentalVertex).isEmpty()) {
             // Copy reference to pass into lambda
             var vrv = vehicleRentalVertex;
             unlinkedPlaceThrottle.throttle(() ->
@@ -210,6 +220,8 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
           }
           verticesByStation.put(station.getId(), vehicleRentalVertex);
           tempEdgesByStation.put(station.getId(), tempEdges);
+          linksByStation.put(station.getId(), links);
+          addedLinks.add(links);
         } else {
           vehicleRentalVertex.setStation(station);
         }
@@ -226,10 +238,15 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
       for (FeedScopedId station : toRemove) {
         // post-iteration removal to avoid concurrent modification
         verticesByStation.remove(station);
-        tempEdgesByStation.get(station).disposeEdges();
-        tempEdgesByStation.remove(station);
+        removedEdges.add(tempEdgesByStation.remove(station));
+        removedLinks.add(linksByStation.remove(station));
       }
 
+      // Publish the new links before the removed links are disposed, so a request sees either the
+      // old or the new version of the links
+      context.graph().updateRealTimeEdges(addedLinks, removedLinks);
+      removedEdges.forEach(DisposableEdgeCollection::disposeEdges);
+
       // this check relies on the generated equals for the record which also recursively checks that
       // the JTS geometries are equal
       if (!geofencingZones.isEmpty() && !geofencingZones.equals(latestAppliedGeofencingZones)) {
@@ -253,6 +270,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
           nameForLogging
         );
       }
+      context.graph().streetGraphUpdated();
     }
   }
 }
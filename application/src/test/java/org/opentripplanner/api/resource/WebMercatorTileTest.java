@@ -22,4 +22,19 @@ class WebMercatorTileTest {
     assertEquals(85.0511, northEastQuarter.getMaxY(), 0.0001);
     assertEquals(0, northEastQuarter.getMinY());
   }
+
+  @Test
+  void lonLat2tile() {
+    assertEquals(0, WebMercatorTile.lon2tileX(-180, 1));
+    assertEquals(1, WebMercatorTile.lon2tileX(0.1, 1));
+    assertEquals(1, WebMercatorTile.lon2tileX(180, 1));
+    assertEquals(0, WebMercatorTile.lat2tileY(10, 1));
+    assertEquals(1, WebMercatorTile.lat2tileY(-10, 1));
+    assertEquals(0, WebMercatorTile.lat2tileY(90, 1));
+    assertEquals(1, WebMercatorTile.lat2tileY(-90, 1));
+
+    var envelope = WebMercatorTile.tile2Envelope(1234, 567, 12);
+    assertEquals(1234, WebMercatorTile.lon2tileX(envelope.centre().x, 12));
+    assertEquals(567, WebMercatorTile.lat2tileY(envelope.centre().y, 12));
+  }
 }
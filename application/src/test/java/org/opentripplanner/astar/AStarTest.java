@@ -116,6 +116,54 @@ public class AStarTest {
     assertEquals("leary_20th", states.get(6).getVertex().getLabelString());
   }
 
+  @Test
+  public void testDecreaseKey() {
+    var request = new RouteRequest();
+
+    request.withPreferences(pref -> pref.withWalk(w -> w.withSpeed(1.0)));
+    Vertex from = graph.getVertex("56th_24th");
+    for (boolean decreaseKey : new boolean[] { false, true }) {
+      ShortestPathTree<State, Edge, Vertex> tree = StreetSearchBuilder
+        .of()
+        .setRequest(request)
+        .setFrom(from)
+        .setDecreaseKey(decreaseKey)
+        .getShortestPathTree();
+
+      assertEquals(graph.getVertices().size(), tree.getVertexCount());
+      GraphPath<State, Edge, Vertex> path = tree.getPath(graph.getVertex("leary_20th"));
+      assertEquals(7, path.states.size());
+      assertEquals("market_leary", path.states.get(4).getVertex().getLabelString());
+    }
+  }
+
+  @Test
+  public void testReuseBuffers() {
+    var request = new RouteRequest();
+
+    request.withPreferences(pref -> pref.withWalk(w -> w.withSpeed(1.0)));
+    var buffers = new AStarBuffers<State, Edge, Vertex>();
+    for (String from : List.of("56th_24th", "leary_20th", "56th_24th")) {
+      ShortestPathTree<State, Edge, Vertex> tree = StreetSearchBuilder
+        .of()
+        .setRequest(request)
+        .setFrom(graph.getVertex(from))
+        .setBuffers(buffers)
+        .getShortestPathTree();
+
+      assertEquals(graph.getVertices().size(), tree.getVertexCount());
+      assertEquals(0, tree.getState(graph.getVertex(from)).getWeight());
+      if (from.equals("56th_24th")) {
+        GraphPath<State, Edge, Vertex> path = tree.getPath(graph.getVertex("leary_20th"));
+        assertEquals(7, path.states.size());
+        assertEquals("market_leary", path.states.get(4).getVertex().getLabelString());
+      }
+
+      buffers.clear();
+      assertEquals(0, tree.getVertexCount());
+    }
+  }
+
   @Test
   public void testBack() {
     var request = new RouteRequest();
@@ -0,0 +1,109 @@
+package org.opentripplanner.astar.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IndexedHeapTest {
+
+  @Test
+  void extractInOrder() {
+    var random = new Random(42);
+    var input = new ArrayList<Integer>();
+    for (int i = 0; i < 10_000; ++i) {
+      input.add(random.nextInt(1000));
+    }
+    var heap = new IndexedHeap<Integer>(10);
+    for (Integer i : input) {
+      heap.insert(i, i * 0.5);
+    }
+    assertEquals(input.size(), heap.size());
+
+    Collections.sort(input);
+    var result = new ArrayList<Integer>();
+    while (!heap.empty()) {
+      result.add(heap.extract_min());
+    }
+    assertEquals(input, result);
+    assertNull(heap.extract_min());
+    assertNull(heap.peek_min());
+    assertThrows(IllegalStateException.class, heap::peek_min_key);
+  }
+
+  @Test
+  void updateReplacesElementWithTheSameKey() {
+    var heap = new IndexedHeap<String>();
+    heap.update(3, "A", 5.0);
+    heap.update(7, "B", 4.0);
+    heap.insert("C", 3.0);
+
+    // Decrease
+    heap.update(3, "A2", 1.0);
+    assertEquals(3, heap.size());
+    assertEquals("A2", heap.peek_min());
+
+    // Increase
+    heap.update(3, "A3", 6.0);
+    assertEquals(3, heap.size());
+    assertTrue(heap.contains(3));
+
+    assertEquals(List.of("C", "B", "A3"), extractAll(heap));
+    assertFalse(heap.contains(3));
+
+    // The key can be inserted again after it is extracted
+    heap.update(3, "A4", 2.0);
+    assertEquals(List.of("A4"), extractAll(heap));
+  }
+
+  @Test
+  void randomUpdates() {
+    var random = new Random(7);
+    var heap = new IndexedHeap<Integer>(10);
+    var priorities = new double[500];
+    for (int i = 0; i < 20_000; ++i) {
+      int key = random.nextInt(priorities.length);
+      priorities[key] = random.nextDouble();
+      heap.update(key, key, priorities[key]);
+    }
+    double last = Double.NEGATIVE_INFINITY;
+    int count = 0;
+    while (!heap.empty()) {
+      double p = heap.peek_min_key();
+      int key = heap.extract_min();
+      assertEquals(priorities[key], p);
+      assertTrue(p >= last);
+      last = p;
+      ++count;
+    }
+    assertEquals(priorities.length, count);
+  }
+
+  @Test
+  void reset() {
+    var heap = new IndexedHeap<String>();
+    heap.update(1, "A", 1.0);
+    heap.insert("B", 2.0);
+    heap.reset();
+    assertTrue(heap.empty());
+    assertFalse(heap.contains(1));
+
+    heap.update(1, "C", 3.0);
+    assertEquals(List.of("C"), extractAll(heap));
+  }
+
+  private static <T> List<T> extractAll(IndexedHeap<T> heap) {
+    var result = new ArrayList<T>();
+    while (!heap.empty()) {
+      result.add(heap.extract_min());
+    }
+    return result;
+  }
+}
@@ -0,0 +1,180 @@
+package org.opentripplanner.astar.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.LabelledIntersectionVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+
+class ShortestPathTreeTest {
+
+  private static final StreetSearchRequest REQUEST = StreetSearchRequest.of().build();
+
+  /** A state dominates another state if its rank is lower or equal, unranked states co-dominate. */
+  private final Map<State, Integer> rank = new IdentityHashMap<>();
+
+  private final ShortestPathTree<State, Edge, Vertex> spt = new ShortestPathTree<>((a, b) ->
+    rank.containsKey(a) && rank.containsKey(b) && rank.get(a) <= rank.get(b)
+  );
+
+  private final Vertex v1 = StreetModelForTest.intersectionVertex("V1", 59.9, 10.7);
+  private final Vertex v2 = StreetModelForTest.intersectionVertex("V2", 59.9, 10.8);
+
+  @Test
+  void singleState() {
+    var s = new State(v1, REQUEST);
+    assertTrue(spt.add(s));
+
+    assertEquals(List.of(s), spt.getStates(v1));
+    assertNull(spt.getStates(v2));
+    assertTrue(spt.visit(s));
+    assertEquals(1, spt.getVertexCount());
+    assertEquals(List.of(v1), List.copyOf(spt.getVertices()));
+  }
+
+  @Test
+  void dominatedStates() {
+    var s1 = state(v1, 2);
+    var s2 = state(v1, 3);
+    var s3 = state(v1, 1);
+
+    assertTrue(spt.add(s1));
+    assertFalse(spt.add(s2));
+    assertTrue(spt.add(s3));
+
+    assertEquals(List.of(s3), spt.getStates(v1));
+    assertFalse(spt.visit(s1));
+    assertTrue(spt.visit(s3));
+  }
+
+  @Test
+  void coDominantStates() {
+    var s1 = new State(v1, REQUEST);
+    var s2 = new State(v1, REQUEST);
+    assertTrue(spt.add(s1));
+    assertTrue(spt.add(s2));
+
+    assertEquals(List.of(s1, s2), spt.getStates(v1));
+    assertTrue(spt.visit(s1));
+    assertTrue(spt.visit(s2));
+    assertEquals(1, spt.getVertexCount());
+    assertEquals(2, spt.getAllStates().size());
+  }
+
+  @Test
+  void keys() {
+    var s1 = state(v1, 2);
+    var s2 = state(v2, 2);
+    assertEquals(0, spt.addAndGetKey(s1));
+    assertEquals(1, spt.addAndGetKey(s2));
+
+    // A dominating state replaces the state, and has the same key
+    assertEquals(ShortestPathTree.NOT_ADDED, spt.addAndGetKey(state(v1, 3)));
+    assertEquals(0, spt.addAndGetKey(state(v1, 1)));
+
+    // An unranked state is co-dominant
+    assertEquals(ShortestPathTree.CO_DOMINANT, spt.addAndGetKey(new State(v2, REQUEST)));
+    assertEquals(2, spt.getStates(v2).size());
+  }
+
+  @Test
+  void sameIndex() {
+    var a = vertexWithIndex("A", 7);
+    var b = vertexWithIndex("B", 7);
+    var sa = new State(a, REQUEST);
+    var sb = new State(b, REQUEST);
+
+    assertTrue(spt.add(sa));
+    assertTrue(spt.add(sb));
+
+    assertEquals(List.of(sa), spt.getStates(a));
+    assertEquals(List.of(sb), spt.getStates(b));
+    assertEquals(2, spt.getVertexCount());
+  }
+
+  @Test
+  void manyVertices() {
+    var states = new ArrayList<State>();
+    for (int i = 0; i < 5000; ++i) {
+      var v = StreetModelForTest.intersectionVertex("V" + i, 59.9, 10.7 + i * 0.0001);
+      var s = new State(v, REQUEST);
+      states.add(s);
+      assertTrue(spt.add(s));
+    }
+
+    assertEquals(states.size(), spt.getVertexCount());
+    assertEquals(states.size(), spt.getVertices().size());
+    assertEquals(states.size(), spt.getAllStates().size());
+    for (State s : states) {
+      assertEquals(List.of(s), spt.getStates(s.getVertex()));
+      assertTrue(spt.visit(s));
+    }
+  }
+
+  @Test
+  void reuseTables() {
+    var s1 = new State(v1, REQUEST);
+    spt.add(s1);
+
+    var next = new ShortestPathTree<State, Edge, Vertex>(spt.dominanceFunction, spt);
+    assertEquals(0, next.getVertexCount());
+    assertNull(next.getStates(v1));
+    assertEquals(0, spt.getVertexCount());
+    assertNull(spt.getStates(v1));
+
+    var s2 = new State(v2, REQUEST);
+    assertTrue(next.add(s2));
+    assertEquals(List.of(s2), next.getStates(v2));
+    assertNull(spt.getStates(v2));
+  }
+
+  @Test
+  void clear() {
+    var states = new ArrayList<State>();
+    for (int i = 0; i < 2000; ++i) {
+      var v = StreetModelForTest.intersectionVertex("V" + i, 59.9, 10.7 + i * 0.0001);
+      var s = new State(v, REQUEST);
+      states.add(s);
+      spt.add(s);
+    }
+
+    spt.clear();
+
+    assertEquals(0, spt.getVertexCount());
+    assertTrue(spt.getAllStates().isEmpty());
+    for (State s : states) {
+      assertNull(spt.getStates(s.getVertex()));
+    }
+
+    var s1 = new State(v1, REQUEST);
+    assertTrue(spt.add(s1));
+    assertEquals(List.of(s1), spt.getStates(v1));
+    assertEquals(1, spt.getVertexCount());
+  }
+
+  private State state(Vertex vertex, int rank) {
+    var state = new State(vertex, REQUEST);
+    this.rank.put(state, rank);
+    return state;
+  }
+
+  private static Vertex vertexWithIndex(String label, int index) {
+    return new LabelledIntersectionVertex(label, 10.7, 59.9, false, false) {
+      @Override
+      public int getIndex() {
+        return index;
+      }
+    };
+  }
+}
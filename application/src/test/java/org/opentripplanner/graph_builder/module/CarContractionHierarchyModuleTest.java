@@ -0,0 +1,175 @@
+package org.opentripplanner.graph_builder.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gnu.trove.map.hash.TIntDoubleHashMap;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.ContractionHierarchy;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+class CarContractionHierarchyModuleTest {
+
+  private static final int N = 7;
+  private static final float[] CAR_SPEEDS = { 5f, 10f, 15f, 25f };
+
+  private final Graph graph = new Graph();
+
+  /**
+   * Create a grid of streets with random car speeds. Some streets are pedestrian only, and some
+   * are one-way for cars.
+   */
+  CarContractionHierarchyModuleTest() {
+    var random = new Random(11);
+    var grid = new IntersectionVertex[N][N];
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        grid[r][c] = StreetModelForTest.intersectionVertex(
+          "V" + r + "_" + c,
+          59.9 + r * 0.002,
+          10.7 + c * 0.004
+        );
+        graph.addVertex(grid[r][c]);
+      }
+    }
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        if (c + 1 < N) {
+          connect(grid[r][c], grid[r][c + 1], random);
+        }
+        if (r + 1 < N) {
+          connect(grid[r][c], grid[r + 1][c], random);
+        }
+      }
+    }
+  }
+
+  @Test
+  void buildGraph() {
+    new CarContractionHierarchyModule(graph).buildGraph();
+    assertNotNull(graph.getCarContractionHierarchy());
+  }
+
+  @Test
+  void shortestPathsAreExact() {
+    var vertices = graph.getVertices().toArray(Vertex[]::new);
+    var hierarchy = CarContractionHierarchyModule.build(vertices);
+    double[][] exact = allPairsShortestDurations(vertices);
+    int nPaths = 0;
+
+    for (int i = 0; i < vertices.length; ++i) {
+      for (int j = 0; j < vertices.length; ++j) {
+        if (i == j) {
+          continue;
+        }
+        var path = hierarchy.shortestPath(
+          costs(hierarchy.vertexIndex(vertices[i])),
+          costs(hierarchy.vertexIndex(vertices[j]))
+        );
+        if (exact[i][j] == Double.POSITIVE_INFINITY) {
+          assertNull(path);
+          continue;
+        }
+        assertNotNull(path);
+        var edges = path.edges();
+        assertSame(vertices[i], edges.getFirst().getFromVertex());
+        assertSame(vertices[j], edges.getLast().getToVertex());
+
+        double duration = 0.0;
+        for (int e = 0; e < edges.size(); ++e) {
+          if (e > 0) {
+            assertSame(edges.get(e - 1).getToVertex(), edges.get(e).getFromVertex());
+          }
+          duration += ContractionHierarchy.carDuration(edges.get(e));
+        }
+        assertEquals(exact[i][j], duration, 0.001);
+        assertEquals(exact[i][j], path.duration(), 0.001);
+        ++nPaths;
+      }
+    }
+    assertTrue(nPaths > vertices.length * (vertices.length - 1) / 2, "Paths found: " + nPaths);
+  }
+
+  @Test
+  void shortestPathFromMultipleSources() {
+    var vertices = graph.getVertices().toArray(Vertex[]::new);
+    var hierarchy = CarContractionHierarchyModule.build(vertices);
+    var v0 = graph.getVertex("V0_0");
+    var v1 = graph.getVertex("V0_1");
+    var target = graph.getVertex("V6_6");
+
+    // The source with the initial cost is far away, so the other source should be used
+    var sources = new TIntDoubleHashMap();
+    sources.put(hierarchy.vertexIndex(v0), 0.0);
+    sources.put(hierarchy.vertexIndex(v1), 100_000.0);
+
+    var path = hierarchy.shortestPath(sources, costs(hierarchy.vertexIndex(target)));
+    assertNotNull(path);
+    assertSame(v0, path.edges().getFirst().getFromVertex());
+  }
+
+  private static TIntDoubleHashMap costs(int vertexIndex) {
+    var costs = new TIntDoubleHashMap();
+    costs.put(vertexIndex, 0.0);
+    return costs;
+  }
+
+  private static double[][] allPairsShortestDurations(Vertex[] vertices) {
+    var list = Arrays.asList(vertices);
+    int n = vertices.length;
+    var d = new double[n][n];
+    for (int i = 0; i < n; ++i) {
+      Arrays.fill(d[i], Double.POSITIVE_INFINITY);
+      d[i][i] = 0;
+      for (Edge e : vertices[i].getOutgoing()) {
+        int j = list.indexOf(e.getToVertex());
+        d[i][j] = Math.min(d[i][j], ContractionHierarchy.carDuration(e));
+      }
+    }
+    for (int k = 0; k < n; ++k) {
+      for (int i = 0; i < n; ++i) {
+        for (int j = 0; j < n; ++j) {
+          d[i][j] = Math.min(d[i][j], d[i][k] + d[k][j]);
+        }
+      }
+    }
+    return d;
+  }
+
+  private static void connect(IntersectionVertex a, IntersectionVertex b, Random random) {
+    var meters = SphericalDistanceLibrary.distance(a.getCoordinate(), b.getCoordinate());
+    float carSpeed = CAR_SPEEDS[random.nextInt(CAR_SPEEDS.length)];
+    var forward = StreetTraversalPermission.ALL;
+    var backward = StreetTraversalPermission.ALL;
+
+    switch (random.nextInt(5)) {
+      case 0 -> {
+        forward = StreetTraversalPermission.PEDESTRIAN;
+        backward = StreetTraversalPermission.PEDESTRIAN;
+      }
+      // One-way for cars
+      case 1 -> backward = StreetTraversalPermission.PEDESTRIAN_AND_BICYCLE;
+      default -> {}
+    }
+    StreetModelForTest
+      .streetEdgeBuilder(a, b, meters, forward)
+      .withCarSpeed(carSpeed)
+      .buildAndConnect();
+    StreetModelForTest
+      .streetEdgeBuilder(b, a, meters, backward)
+      .withCarSpeed(carSpeed)
+      .withBack(true)
+      .buildAndConnect();
+  }
+}
@@ -0,0 +1,180 @@
+package org.opentripplanner.graph_builder.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.LandmarkDistanceTable;
+import org.opentripplanner.street.model.StreetLandmarks;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+class StreetLandmarkModuleTest {
+
+  private static final int N = 6;
+  private static final float[] CAR_SPEEDS = { 5f, 10f, 15f, 25f };
+
+  private final Graph graph = new Graph();
+  private final IntersectionVertex[][] grid = new IntersectionVertex[N][N];
+
+  /**
+   * Create a grid of streets with random car speeds. Some streets are pedestrian only, and some
+   * are one-way for cars.
+   */
+  StreetLandmarkModuleTest() {
+    var random = new Random(7);
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        grid[r][c] = StreetModelForTest.intersectionVertex(
+          "V" + r + "_" + c,
+          59.9 + r * 0.002,
+          10.7 + c * 0.004
+        );
+        graph.addVertex(grid[r][c]);
+      }
+    }
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        if (c + 1 < N) {
+          connect(grid[r][c], grid[r][c + 1], random);
+        }
+        if (r + 1 < N) {
+          connect(grid[r][c], grid[r + 1][c], random);
+        }
+      }
+    }
+  }
+
+  @Test
+  void noLandmarks() {
+    var emptyGraph = new Graph();
+    new StreetLandmarkModule(emptyGraph, 4).buildGraph();
+    assertNull(emptyGraph.getStreetLandmarks());
+  }
+
+  @Test
+  void selectLandmarksInTheCorners() {
+    new StreetLandmarkModule(graph, 4).buildGraph();
+    var landmarks = graph.getStreetLandmarks();
+    assertNotNull(landmarks);
+    assertEquals(4, landmarks.numberOfLandmarks());
+
+    var vertices = graph.getVertices().toArray(Vertex[]::new);
+    var selected = Arrays
+      .stream(StreetLandmarkModule.selectLandmarks(vertices, 4))
+      .mapToObj(i -> vertices[i].getLabelString())
+      .collect(Collectors.toSet());
+
+    assertEquals(Set.of("V0_0", "V0_5", "V5_0", "V5_5"), selected);
+  }
+
+  @Test
+  void carDurationsAreLowerBounds() {
+    new StreetLandmarkModule(graph, 4).buildGraph();
+    var landmarks = graph.getStreetLandmarks();
+    assertLowerBounds(landmarks, landmarks.carDurations(), StreetLandmarkModule::carDuration);
+  }
+
+  @Test
+  void bikeDistancesAreLowerBounds() {
+    new StreetLandmarkModule(graph, 4).buildGraph();
+    var landmarks = graph.getStreetLandmarks();
+    assertLowerBounds(landmarks, landmarks.bikeDistances(), StreetLandmarkModule::bikeDistance);
+  }
+
+  /**
+   * Compare the landmark bound with the exact shortest distance for all pairs of vertices. The
+   * bound must never be larger than the exact distance, and should be positive for most pairs.
+   */
+  private void assertLowerBounds(
+    StreetLandmarks landmarks,
+    LandmarkDistanceTable table,
+    ToDoubleFunction<Edge> cost
+  ) {
+    List<Vertex> vertices = List.copyOf(graph.getVertices());
+    double[][] exact = allPairsShortestDistances(vertices, cost);
+    int nPositive = 0;
+    int nPairs = 0;
+
+    for (int i = 0; i < vertices.size(); ++i) {
+      for (int j = 0; j < vertices.size(); ++j) {
+        if (i == j || exact[i][j] == Double.POSITIVE_INFINITY) {
+          continue;
+        }
+        int bound = table.lowerBound(
+          landmarks.vertexIndex(vertices.get(i)),
+          landmarks.vertexIndex(vertices.get(j))
+        );
+        assertTrue(bound <= exact[i][j], bound + " > " + exact[i][j]);
+        ++nPairs;
+        if (bound > 0) {
+          ++nPositive;
+        }
+      }
+    }
+    assertTrue(nPositive > nPairs / 2, nPositive + " of " + nPairs);
+  }
+
+  private static double[][] allPairsShortestDistances(
+    List<Vertex> vertices,
+    ToDoubleFunction<Edge> cost
+  ) {
+    int n = vertices.size();
+    var d = new double[n][n];
+    for (int i = 0; i < n; ++i) {
+      Arrays.fill(d[i], Double.POSITIVE_INFINITY);
+      d[i][i] = 0;
+      for (Edge e : vertices.get(i).getOutgoing()) {
+        int j = vertices.indexOf(e.getToVertex());
+        d[i][j] = Math.min(d[i][j], cost.applyAsDouble(e));
+      }
+    }
+    for (int k = 0; k < n; ++k) {
+      for (int i = 0; i < n; ++i) {
+        for (int j = 0; j < n; ++j) {
+          d[i][j] = Math.min(d[i][j], d[i][k] + d[k][j]);
+        }
+      }
+    }
+    return d;
+  }
+
+  private static void connect(IntersectionVertex a, IntersectionVertex b, Random random) {
+    var meters = SphericalDistanceLibrary.distance(a.getCoordinate(), b.getCoordinate());
+    float carSpeed = CAR_SPEEDS[random.nextInt(CAR_SPEEDS.length)];
+    var forward = StreetTraversalPermission.ALL;
+    var backward = StreetTraversalPermission.ALL;
+
+    switch (random.nextInt(5)) {
+      case 0 -> {
+        forward = StreetTraversalPermission.PEDESTRIAN;
+        backward = StreetTraversalPermission.PEDESTRIAN;
+      }
+      // One-way for cars
+      case 1 -> backward = StreetTraversalPermission.PEDESTRIAN_AND_BICYCLE;
+      default -> {}
+    }
+    StreetModelForTest
+      .streetEdgeBuilder(a, b, meters, forward)
+      .withCarSpeed(carSpeed)
+      .buildAndConnect();
+    StreetModelForTest
+      .streetEdgeBuilder(b, a, meters, backward)
+      .withCarSpeed(carSpeed)
+      .withBack(true)
+      .buildAndConnect();
+  }
+}
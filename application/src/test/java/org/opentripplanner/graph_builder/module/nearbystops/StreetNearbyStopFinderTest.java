@@ -98,6 +98,24 @@ class StreetNearbyStopFinderTest extends GraphRoutingTest {
     assertStopAtDistance(stopD, 300, sortedNearbyStops.get(3));
   }
 
+  @Test
+  void testReuseSearchBuffers() {
+    var durationLimit = Duration.ofMinutes(10);
+    var maxStopCount = 0;
+    var finder = new StreetNearbyStopFinder(durationLimit, maxStopCount, null).reuseSearchBuffers();
+
+    for (var stop : List.of(stopA, stopD, stopA)) {
+      var sortedNearbyStops = sort(
+        finder.findNearbyStops(stop, new RouteRequest(), new StreetRequest(), false)
+      );
+
+      assertThat(sortedNearbyStops).hasSize(4);
+      assertZeroDistanceStop(stop, sortedNearbyStops.get(0));
+      assertStopAtDistance(stop == stopA ? stopB : stopC, 100, sortedNearbyStops.get(1));
+      assertStopAtDistance(stop == stopA ? stopD : stopA, 300, sortedNearbyStops.get(3));
+    }
+  }
+
   @Test
   void testMaxStopCount() {
     var durationLimit = Duration.ofMinutes(10);
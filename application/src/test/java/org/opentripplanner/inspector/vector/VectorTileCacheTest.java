@@ -0,0 +1,69 @@
+package org.opentripplanner.inspector.vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class VectorTileCacheTest {
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final Supplier<byte[]> createTile = () -> new byte[] { (byte) created.incrementAndGet() };
+
+  @Test
+  void disabled() {
+    var subject = VectorTileCache.DISABLED;
+
+    subject.get("stops", Locale.ENGLISH, 1, 2, 3, "v1", createTile);
+    subject.get("stops", Locale.ENGLISH, 1, 2, 3, "v1", createTile);
+
+    assertEquals(2, created.get());
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  void cacheTile() {
+    var subject = new VectorTileCache(10);
+
+    var tile = subject.get("stops", Locale.ENGLISH, 1, 2, 3, "v1", createTile);
+
+    assertEquals(tile, subject.get("stops", Locale.ENGLISH, 1, 2, 3, "v1", createTile));
+    assertEquals(1, created.get());
+
+    subject.get("stops", Locale.GERMAN, 1, 2, 3, "v1", createTile);
+    subject.get("stops", Locale.ENGLISH, 1, 2, 4, "v1", createTile);
+    subject.get("stations", Locale.ENGLISH, 1, 2, 3, "v1", createTile);
+    assertEquals(4, created.get());
+    assertEquals(4, subject.size());
+  }
+
+  @Test
+  void newVersionInvalidatesTilesOfLayer() {
+    var subject = new VectorTileCache(10);
+    subject.get("stops", Locale.ENGLISH, 1, 2, 3, "v1", createTile);
+    subject.get("stops", Locale.ENGLISH, 1, 2, 4, "v1", createTile);
+    subject.get("vehicles", Locale.ENGLISH, 1, 2, 3, "v1", createTile);
+
+    subject.get("stops", Locale.ENGLISH, 1, 2, 3, "v2", createTile);
+
+    assertEquals(4, created.get());
+    assertEquals(2, subject.size());
+
+    // The tiles of the other layers are kept
+    subject.get("vehicles", Locale.ENGLISH, 1, 2, 3, "v1", createTile);
+    assertEquals(4, created.get());
+  }
+
+  @Test
+  void tilesWithoutVersionAreNotCached() {
+    var subject = new VectorTileCache(10);
+
+    subject.get("vehicles", Locale.ENGLISH, 1, 2, 3, null, createTile);
+    subject.get("vehicles", Locale.ENGLISH, 1, 2, 3, null, createTile);
+
+    assertEquals(2, created.get());
+    assertEquals(0, subject.size());
+  }
+}
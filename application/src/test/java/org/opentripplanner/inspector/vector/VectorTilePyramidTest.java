@@ -0,0 +1,140 @@
+package org.opentripplanner.inspector.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import edu.colorado.cires.cmg.mvt.VectorTile;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opentripplanner.TestServerContext;
+import org.opentripplanner.api.resource.WebMercatorTile;
+import org.opentripplanner.apis.support.mapping.PropertyMapper;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+class VectorTilePyramidTest {
+
+  private static final OtpServerRequestContext SERVER_CONTEXT = TestServerContext.createServerContext(
+    new Graph(),
+    new TimetableRepository()
+  );
+
+  private static final double LON = 10.75;
+  private static final double LAT = 59.91;
+  private static final int ZOOM = 8;
+  private static final int X = WebMercatorTile.lon2tileX(LON, ZOOM);
+  private static final int Y = WebMercatorTile.lat2tileY(LAT, ZOOM);
+
+  enum LayerType {
+    POINTS,
+  }
+
+  private record LayerParams(String name) implements LayerParameters<LayerType> {
+    @Override
+    public LayerType type() {
+      return LayerType.POINTS;
+    }
+
+    @Override
+    public String mapper() {
+      return "Points";
+    }
+
+    @Override
+    public int minZoom() {
+      return 2;
+    }
+  }
+
+  private static final LayerParams LAYER = new LayerParams("points");
+
+  private static final VectorTilePyramid SUBJECT = VectorTilePyramid.render(
+    List.of(LAYER),
+    ZOOM,
+    Locale.ENGLISH,
+    (layerParameters, locale, context) -> new PointsLayerBuilder(),
+    SERVER_CONTEXT
+  );
+
+  @Test
+  void tileWithFeatures() {
+    assertArrayEquals(render(X, Y, ZOOM), SUBJECT.get("points", Locale.ENGLISH, X, Y, ZOOM));
+    assertArrayEquals(
+      render(X + 1, Y, ZOOM),
+      SUBJECT.get("points", Locale.ENGLISH, X + 1, Y, ZOOM)
+    );
+    assertArrayEquals(render(2, 1, 2), SUBJECT.get("points", Locale.ENGLISH, 2, 1, 2));
+  }
+
+  @Test
+  void tileWithoutFeatures() {
+    var tile = SUBJECT.get("points", Locale.ENGLISH, X + 10, Y, ZOOM);
+
+    assertNotNull(tile);
+    assertArrayEquals(render(X + 10, Y, ZOOM), tile);
+  }
+
+  @Test
+  void tileNotPreRendered() {
+    assertNull(SUBJECT.get("points", Locale.ENGLISH, X, Y, ZOOM + 1));
+    assertNull(SUBJECT.get("points", Locale.ENGLISH, 0, 0, 1));
+    assertNull(SUBJECT.get("lines", Locale.ENGLISH, X, Y, ZOOM));
+    assertNull(SUBJECT.get("points", Locale.GERMAN, X, Y, ZOOM));
+    assertNull(SUBJECT.get("points", null, X, Y, ZOOM));
+  }
+
+  @Test
+  void localeOfSameLanguage() {
+    assertArrayEquals(render(X, Y, ZOOM), SUBJECT.get("points", Locale.US, X, Y, ZOOM));
+  }
+
+  @Test
+  void cacheServesPyramidOnlyForTilesWithVersion() {
+    var cache = new VectorTileCache(10);
+    cache.setPyramid(SUBJECT);
+    byte[] otherTile = { 1 };
+
+    assertArrayEquals(
+      render(X, Y, ZOOM),
+      cache.get("points", Locale.ENGLISH, X, Y, ZOOM, "v1", () -> otherTile)
+    );
+    // A layer of another API with the same name, like the debug client, has no version
+    assertSame(otherTile, cache.get("points", Locale.ENGLISH, X, Y, ZOOM, null, () -> otherTile));
+  }
+
+  private static byte[] render(int x, int y, int z) {
+    var layer = new PointsLayerBuilder().build(WebMercatorTile.tile2Envelope(x, y, z));
+    return VectorTile.Tile.newBuilder().addLayers(layer).build().toByteArray();
+  }
+
+  private static class PointsLayerBuilder extends LayerBuilder<String> {
+
+    PointsLayerBuilder() {
+      super(new NameMapper(), LAYER.name(), LAYER.expansionFactor());
+    }
+
+    @Override
+    protected List<Geometry> getGeometries(Envelope query) {
+      var point = GeometryUtils.getGeometryFactory().createPoint(new Coordinate(LON, LAT));
+      point.setUserData("Oslo");
+      return query.contains(point.getCoordinate()) ? List.of(point) : List.of();
+    }
+  }
+
+  private static class NameMapper extends PropertyMapper<String> {
+
+    @Override
+    protected Collection<KeyValue> map(String name) {
+      return List.of(new KeyValue("name", name));
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package org.opentripplanner.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.timetable.Trip;
+import org.opentripplanner.transit.model.timetable.TripTimes;
+import org.opentripplanner.transit.model.timetable.TripTimesFactory;
+import org.opentripplanner.utils.time.TimeUtils;
+
+class StopTimesIndexTest {
+
+  private static final TimetableRepositoryForTest TEST_MODEL = TimetableRepositoryForTest.of();
+
+  // The express trip departs last, but overtakes the local trips before the second stop
+  private static final Timetable TIMETABLE = TimetableRepositoryForTest
+    .tripPattern("P1", TimetableRepositoryForTest.route("R1").build())
+    .withStopPattern(TEST_MODEL.stopPattern(2))
+    .withScheduledTimeTableBuilder(builder ->
+      builder
+        .addTripTimes(tripTimes("local-1", "10:00", "10:30"))
+        .addTripTimes(tripTimes("local-2", "10:10", "10:40"))
+        .addTripTimes(tripTimes("express", "10:15", "10:25"))
+    )
+    .build()
+    .getScheduledTimetable();
+
+  private static final int LOCAL_1 = TIMETABLE.getTripIndex("local-1");
+  private static final int LOCAL_2 = TIMETABLE.getTripIndex("local-2");
+  private static final int EXPRESS = TIMETABLE.getTripIndex("express");
+
+  @Test
+  void findTripsDepartingBetween() {
+    var subject = TIMETABLE.getStopTimesIndex();
+
+    assertArrayEquals(
+      new int[] { LOCAL_1, LOCAL_2, EXPRESS },
+      subject.findTripsDepartingBetween(0, time("10:00"), time("10:15"))
+    );
+    assertArrayEquals(
+      new int[] { LOCAL_2, EXPRESS },
+      subject.findTripsDepartingBetween(0, time("10:01"), time("11:00"))
+    );
+    assertArrayEquals(
+      new int[] { EXPRESS, LOCAL_1 },
+      subject.findTripsDepartingBetween(1, time("10:00"), time("10:30"))
+    );
+    assertArrayEquals(
+      new int[0],
+      subject.findTripsDepartingBetween(1, time("10:41"), time("12:00"))
+    );
+  }
+
+  @Test
+  void findTripsArrivingBetween() {
+    var subject = TIMETABLE.getStopTimesIndex();
+
+    assertArrayEquals(
+      new int[] { EXPRESS, LOCAL_1, LOCAL_2 },
+      subject.findTripsArrivingBetween(1, time("10:25"), time("10:40"))
+    );
+    assertArrayEquals(
+      new int[] { LOCAL_1 },
+      subject.findTripsArrivingBetween(1, time("10:26"), time("10:39"))
+    );
+  }
+
+  @Test
+  void indexIsCreatedOnce() {
+    assertSame(TIMETABLE.getStopTimesIndex(), TIMETABLE.getStopTimesIndex());
+  }
+
+  private static TripTimes tripTimes(String id, String departure, String arrival) {
+    Trip trip = TimetableRepositoryForTest.trip(id).build();
+    return TripTimesFactory.tripTimes(
+      trip,
+      List.of(
+        TEST_MODEL.stopTime(trip, 0, time(departure)),
+        TEST_MODEL.stopTime(trip, 1, time(arrival))
+      ),
+      new Deduplicator()
+    );
+  }
+
+  private static int time(String time) {
+    return TimeUtils.time(time);
+  }
+}
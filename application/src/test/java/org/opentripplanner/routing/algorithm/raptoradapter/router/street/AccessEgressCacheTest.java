@@ -0,0 +1,103 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.street;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graphfinder.NearbyStop;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+
+class AccessEgressCacheTest {
+
+  private static final Duration DURATION_LIMIT = Duration.ofMinutes(30);
+  private static final List<NearbyStop> STOPS = List.of(
+    new NearbyStop(TimetableRepositoryForTest.of().stop("A").build(), 100, null, null)
+  );
+
+  private final Graph graph = new Graph();
+  private final AccessEgressCache subject = new AccessEgressCache(graph, 10, Duration.ofHours(1));
+
+  @Test
+  void sameRequestIsCached() {
+    var key = key(request(59.9, 10.7), StreetMode.WALK, AccessEgressType.ACCESS);
+    assertNull(subject.get(key));
+
+    subject.put(key, STOPS);
+
+    // A new request from the same place has the same key
+    var sameKey = key(request(59.9, 10.7), StreetMode.WALK, AccessEgressType.ACCESS);
+    assertEquals(key, sameKey);
+    assertEquals(STOPS, subject.get(sameKey));
+  }
+
+  @Test
+  void differentSearchesAreNotShared() {
+    var key = key(request(59.9, 10.7), StreetMode.WALK, AccessEgressType.ACCESS);
+    subject.put(key, STOPS);
+
+    assertNull(subject.get(key(request(59.9, 10.8), StreetMode.WALK, AccessEgressType.ACCESS)));
+    assertNull(subject.get(key(request(59.9, 10.7), StreetMode.BIKE, AccessEgressType.ACCESS)));
+    assertNull(subject.get(key(request(59.9, 10.7), StreetMode.WALK, AccessEgressType.EGRESS)));
+
+    var wheelchair = request(59.9, 10.7);
+    wheelchair.setWheelchair(true);
+    assertNull(subject.get(key(wheelchair, StreetMode.WALK, AccessEgressType.ACCESS)));
+  }
+
+  @Test
+  void parkAndRideIsNotCached() {
+    assertNull(key(request(59.9, 10.7), StreetMode.CAR_TO_PARK, AccessEgressType.ACCESS));
+  }
+
+  @Test
+  void rentalIsInvalidatedWhenTheStreetGraphIsUpdated() {
+    var key = key(request(59.9, 10.7), StreetMode.BIKE_RENTAL, AccessEgressType.ACCESS);
+    subject.put(key, STOPS);
+    assertNotNull(subject.get(key));
+
+    graph.streetGraphUpdated();
+
+    var newKey = key(request(59.9, 10.7), StreetMode.BIKE_RENTAL, AccessEgressType.ACCESS);
+    assertNotEquals(key, newKey);
+    assertNull(subject.get(newKey));
+
+    // Other modes are not affected by the update
+    var walkKey = key(request(59.9, 10.7), StreetMode.WALK, AccessEgressType.ACCESS);
+    subject.put(walkKey, STOPS);
+    graph.streetGraphUpdated();
+    assertNotNull(subject.get(key(request(59.9, 10.7), StreetMode.WALK, AccessEgressType.ACCESS)));
+  }
+
+  @Test
+  void disabled() {
+    var request = request(59.9, 10.7);
+    for (var cache : List.of(
+      AccessEgressCache.DISABLED,
+      new AccessEgressCache(graph, 0, Duration.ofHours(1))
+    )) {
+      var key = cache.key(request, StreetMode.WALK, AccessEgressType.ACCESS, DURATION_LIMIT, 0);
+      assertNull(key);
+      cache.put(key, STOPS);
+      assertNull(cache.get(key));
+    }
+  }
+
+  private AccessEgressCache.Key key(RouteRequest request, StreetMode mode, AccessEgressType type) {
+    return subject.key(request, mode, type, DURATION_LIMIT, 0);
+  }
+
+  private static RouteRequest request(double lat, double lng) {
+    var request = new RouteRequest();
+    request.setFrom(new GenericLocation(lat, lng));
+    request.setTo(new GenericLocation(lat, lng));
+    return request;
+  }
+}
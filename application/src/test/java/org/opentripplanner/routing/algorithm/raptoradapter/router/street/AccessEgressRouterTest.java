@@ -266,7 +266,8 @@ class AccessEgressRouterTest extends GraphRoutingTest {
         null,
         accessEgress,
         durationLimit,
-        maxStopCount
+        maxStopCount,
+        AccessEgressCache.DISABLED
       );
     }
   }
@@ -0,0 +1,106 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.StopTime;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.model.network.Route;
+import org.opentripplanner.transit.model.network.StopPattern;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.model.timetable.TripTimes;
+import org.opentripplanner.transit.model.timetable.TripTimesFactory;
+
+class TripPatternsRunningOnDateTest {
+
+  private static final TimetableRepositoryForTest TEST_MODEL = TimetableRepositoryForTest.of();
+  private static final RegularStop STOP = TEST_MODEL.stop("TEST:STOP", 0, 0).build();
+  private static final Route ROUTE = TimetableRepositoryForTest.route("1").build();
+  private static final TripTimes TRIP_TIMES = TripTimesFactory.tripTimes(
+    TimetableRepositoryForTest.trip("1").withRoute(ROUTE).build(),
+    List.of(new StopTime()),
+    new Deduplicator()
+  );
+  private static final LocalDate DATE = LocalDate.of(2024, 1, 1);
+
+  private static final List<TripPatternForDate> PATTERNS = IntStream
+    .range(0, 100)
+    .mapToObj(i -> tripPatternForDate("P" + i))
+    .toList();
+
+  @Test
+  void of() {
+    var subject = TripPatternsRunningOnDate.of(PATTERNS);
+
+    assertEquals(Set.copyOf(PATTERNS), Set.copyOf(subject));
+    assertEquals(PATTERNS.size(), subject.size());
+    assertSame(subject, TripPatternsRunningOnDate.of(subject));
+  }
+
+  @Test
+  void duplicatesAreIgnored() {
+    var subject = TripPatternsRunningOnDate.of(List.of(PATTERNS.get(0), PATTERNS.get(0)));
+    assertEquals(List.of(PATTERNS.get(0)), List.copyOf(subject));
+
+    subject = subject.update(List.of(), List.of(PATTERNS.get(0), PATTERNS.get(1)));
+    assertEquals(Set.of(PATTERNS.get(0), PATTERNS.get(1)), Set.copyOf(subject));
+    assertEquals(2, subject.size());
+  }
+
+  @Test
+  void update() {
+    var original = TripPatternsRunningOnDate.of(PATTERNS.subList(0, 50));
+    var removed = PATTERNS.subList(0, 10);
+    var added = PATTERNS.subList(50, 60);
+
+    var subject = original.update(removed, added);
+
+    var expected = new HashSet<>(PATTERNS.subList(10, 60));
+    assertEquals(expected, Set.copyOf(subject));
+    assertEquals(50, subject.size());
+    assertSame(subject, subject.update(List.of(), List.of()));
+
+    // The original is not changed
+    assertEquals(Set.copyOf(PATTERNS.subList(0, 50)), Set.copyOf(original));
+    assertEquals(50, original.size());
+  }
+
+  @Test
+  void removeAndAddTheSamePattern() {
+    var pattern = PATTERNS.get(0);
+    var subject = TripPatternsRunningOnDate.of(List.of(pattern));
+
+    assertEquals(List.of(pattern), List.copyOf(subject.update(List.of(pattern), List.of(pattern))));
+    assertEquals(0, subject.update(List.of(pattern), List.of()).size());
+  }
+
+  @Test
+  void addManyPatterns() {
+    var subject = TripPatternsRunningOnDate.of(List.of());
+    for (var pattern : PATTERNS) {
+      subject = subject.update(List.of(), List.of(pattern));
+    }
+    assertEquals(Set.copyOf(PATTERNS), Set.copyOf(subject));
+    assertEquals(PATTERNS.size(), subject.size());
+  }
+
+  private static TripPatternForDate tripPatternForDate(String id) {
+    var stopTime = new StopTime();
+    stopTime.setStop(STOP);
+    var tripPattern = TripPattern
+      .of(TimetableRepositoryForTest.id(id))
+      .withRoute(ROUTE)
+      .withStopPattern(new StopPattern(List.of(stopTime)))
+      .build()
+      .getRoutingTripPattern();
+    return new TripPatternForDate(tripPattern, List.of(TRIP_TIMES), List.of(), DATE);
+  }
+}
@@ -1,11 +1,14 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -87,6 +90,62 @@ public class RaptorRoutingRequestTransitDataCreatorTest {
     assertEquals(86400, ((TripScheduleWithOffset) r3.getTripSchedule(2)).getSecondsOffset());
   }
 
+  @Test
+  public void testMergeReusesUnchangedPatterns() {
+    LocalDate first = LocalDate.of(2019, 3, 30);
+    LocalDate second = LocalDate.of(2019, 3, 31);
+
+    ZonedDateTime startOfTime = ServiceDateUtils.asStartOfService(second, ZoneIds.LONDON);
+
+    List<TripTimes> tripTimes = List.of(createTripTimesForTest());
+
+    RoutingTripPattern tripPattern1 = createTripPattern(TP_ID_1);
+    RoutingTripPattern tripPattern2 = createTripPattern(TP_ID_2);
+
+    var p1First = new TripPatternForDate(tripPattern1, tripTimes, List.of(), first);
+    var p2First = new TripPatternForDate(tripPattern2, tripTimes, List.of(), first);
+    var p2Second = new TripPatternForDate(tripPattern2, tripTimes, List.of(), second);
+
+    var filter = new TestTransitDataProviderFilter();
+    var groupPriorityService = TransitGroupPriorityService.empty();
+
+    var previousPatterns = RaptorRoutingRequestTransitDataCreator.merge(
+      startOfTime,
+      List.of(p1First, p2First),
+      filter,
+      groupPriorityService
+    );
+    var previous = new TripPatternsForSearchDays(
+      createPatternIndex(previousPatterns),
+      List.of()
+    );
+
+    // Pattern 1 is unchanged, while pattern 2 get a new date
+    var result = RaptorRoutingRequestTransitDataCreator.merge(
+      startOfTime,
+      List.of(p1First, p2First, p2Second),
+      filter,
+      groupPriorityService,
+      previous
+    );
+
+    assertSame(
+      findTripPatternForDate(tripPattern1.patternIndex(), previousPatterns),
+      findTripPatternForDate(tripPattern1.patternIndex(), result)
+    );
+    var r2 = findTripPatternForDate(tripPattern2.patternIndex(), result);
+    assertNotSame(findTripPatternForDate(tripPattern2.patternIndex(), previousPatterns), r2);
+    assertEquals(2, r2.numberOfTripSchedules());
+  }
+
+  private static List<TripPatternForDates> createPatternIndex(List<TripPatternForDates> patterns) {
+    var result = new TripPatternForDates[RoutingTripPattern.indexCounter()];
+    for (var pattern : patterns) {
+      result[pattern.patternIndex()] = pattern;
+    }
+    return Arrays.asList(result);
+  }
+
   private static TripPatternForDates findTripPatternForDate(
     int patternIndex,
     List<TripPatternForDates> list
@@ -0,0 +1,105 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner._support.time.ZoneIds;
+import org.opentripplanner.model.StopTime;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.basic.TransitMode;
+import org.opentripplanner.transit.model.network.StopPattern;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.network.grouppriority.TransitGroupPriorityService;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.model.timetable.ScheduledTripTimes;
+import org.opentripplanner.transit.service.SiteRepositoryMock;
+import org.opentripplanner.utils.time.ServiceDateUtils;
+
+class RaptorRoutingRequestTransitDataTest {
+
+  private static final TimetableRepositoryForTest TEST_MODEL = TimetableRepositoryForTest.of();
+  private static final LocalDate DATE = LocalDate.of(2024, 1, 1);
+
+  private static final RegularStop STOP_A = TEST_MODEL.stop("A").build();
+  private static final RegularStop STOP_B = TEST_MODEL.stop("B").build();
+
+  private final TransitLayer transitLayer = createTransitLayer();
+
+  @Test
+  void heuristicCacheKeyForDefaultRequest() {
+    // The default request includes all patterns, so the pattern mask is not set
+    var request = new RouteRequest();
+
+    var key = transitData(request, 1).heuristicCacheKey();
+    var other = transitData(request, 1).heuristicCacheKey();
+
+    assertNotNull(key);
+    assertEquals(key, other);
+    assertEquals(key.hashCode(), other.hashCode());
+  }
+
+  @Test
+  void heuristicCacheKeyForOtherSearchDays() {
+    var request = new RouteRequest();
+
+    assertNotEquals(
+      transitData(request, 1).heuristicCacheKey(),
+      transitData(request, 2).heuristicCacheKey()
+    );
+  }
+
+  private RaptorRoutingRequestTransitData transitData(
+    RouteRequest request,
+    int additionalFutureSearchDays
+  ) {
+    return new RaptorRoutingRequestTransitData(
+      transitLayer,
+      TransitGroupPriorityService.empty(),
+      ServiceDateUtils.asStartOfService(DATE, ZoneIds.UTC),
+      0,
+      additionalFutureSearchDays,
+      new RouteRequestTransitDataProviderFilter(request),
+      request
+    );
+  }
+
+  private static TransitLayer createTransitLayer() {
+    var pattern = TripPattern
+      .of(id("P1"))
+      .withRoute(TimetableRepositoryForTest.route("R1").withMode(TransitMode.BUS).build())
+      .withStopPattern(new StopPattern(List.of(stopTime(STOP_A), stopTime(STOP_B))))
+      .build()
+      .getRoutingTripPattern();
+    var tripTimes = ScheduledTripTimes
+      .of()
+      .withTrip(TimetableRepositoryForTest.trip("T1").build())
+      .withDepartureTimes("10:00 10:10")
+      .build();
+
+    return new TransitLayer(
+      Map.of(DATE, List.of(new TripPatternForDate(pattern, List.of(tripTimes), List.of(), DATE))),
+      List.of(),
+      null,
+      new SiteRepositoryMock(List.of(STOP_A, STOP_B)),
+      new RaptorRequestTransferCache(1),
+      null,
+      null,
+      null
+    );
+  }
+
+  private static StopTime stopTime(RegularStop stop) {
+    var stopTime = new StopTime();
+    stopTime.setStop(stop);
+    return stopTime;
+  }
+}
@@ -0,0 +1,184 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.opentripplanner.transit.model._data.TimetableRepositoryForTest.id;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.opentripplanner.model.StopTime;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
+import org.opentripplanner.routing.api.request.request.filter.AllowAllTransitFilter;
+import org.opentripplanner.routing.api.request.request.filter.SelectRequest;
+import org.opentripplanner.routing.api.request.request.filter.TransitFilter;
+import org.opentripplanner.routing.api.request.request.filter.TransitFilterRequest;
+import org.opentripplanner.transit.model._data.TimetableRepositoryForTest;
+import org.opentripplanner.transit.model.basic.MainAndSubMode;
+import org.opentripplanner.transit.model.basic.SubMode;
+import org.opentripplanner.transit.model.basic.TransitMode;
+import org.opentripplanner.transit.model.network.GroupOfRoutes;
+import org.opentripplanner.transit.model.network.Route;
+import org.opentripplanner.transit.model.network.StopPattern;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.timetable.ScheduledTripTimes;
+
+class TripPatternFilterIndexTest {
+
+  private static final TimetableRepositoryForTest TEST_MODEL = TimetableRepositoryForTest.of();
+  private static final SubMode LOCAL_BUS = SubMode.getOrBuildAndCacheForever("localBus");
+  private static final GroupOfRoutes GROUP_OF_ROUTES = TimetableRepositoryForTest
+    .groupOfRoutes("GOR1")
+    .build();
+
+  private static final Route BUS_ROUTE = TimetableRepositoryForTest
+    .route("R1")
+    .withGroupOfRoutes(List.of(GROUP_OF_ROUTES))
+    .build();
+  private static final Route RAIL_ROUTE = TimetableRepositoryForTest
+    .route("R2")
+    .withMode(TransitMode.RAIL)
+    .withAgency(TimetableRepositoryForTest.OTHER_AGENCY)
+    .build();
+
+  private static final List<TripPattern> PATTERNS = List.of(
+    pattern("P1", BUS_ROUTE, TransitMode.BUS, LOCAL_BUS, false),
+    pattern("P2", BUS_ROUTE, TransitMode.BUS, SubMode.UNKNOWN, false),
+    pattern("P3", RAIL_ROUTE, TransitMode.RAIL, SubMode.UNKNOWN, false),
+    pattern("P4", RAIL_ROUTE, TransitMode.RAIL, SubMode.UNKNOWN, true)
+  );
+
+  private static final List<TripPatternForDates> PATTERN_INDEX = createPatternIndex();
+  private static final TripPatternFilterIndex SUBJECT = TripPatternFilterIndex.of(PATTERN_INDEX);
+
+  static Stream<Arguments> filterTestCases() {
+    return Stream.of(
+      Arguments.of("all", AllowAllTransitFilter.of()),
+      Arguments.of("empty", TransitFilterRequest.of().build()),
+      Arguments.of("bus", select(SelectRequest.of().addTransportMode(mode(TransitMode.BUS)))),
+      Arguments.of(
+        "local bus",
+        select(
+          SelectRequest.of().addTransportMode(new MainAndSubMode(TransitMode.BUS, LOCAL_BUS))
+        )
+      ),
+      Arguments.of(
+        "not rail",
+        TransitFilterRequest
+          .of()
+          .addNot(SelectRequest.of().addTransportMode(mode(TransitMode.RAIL)).build())
+          .build()
+      ),
+      Arguments.of(
+        "other agency",
+        select(SelectRequest.of().withAgencies(List.of(RAIL_ROUTE.getAgency().getId())))
+      ),
+      Arguments.of("route", select(SelectRequest.of().withRoutes(List.of(BUS_ROUTE.getId())))),
+      Arguments.of(
+        "unknown route",
+        select(SelectRequest.of().withRoutes(List.of(id("unknown"))))
+      ),
+      Arguments.of(
+        "group of routes",
+        select(SelectRequest.of().withGroupOfRoutes(List.of(GROUP_OF_ROUTES.getId())))
+      ),
+      Arguments.of(
+        "ferry or route, but not local bus",
+        TransitFilterRequest
+          .of()
+          .addSelect(SelectRequest.of().addTransportMode(mode(TransitMode.FERRY)).build())
+          .addSelect(SelectRequest.of().withRoutes(List.of(BUS_ROUTE.getId())).build())
+          .addNot(
+            SelectRequest
+              .of()
+              .addTransportMode(new MainAndSubMode(TransitMode.BUS, LOCAL_BUS))
+              .build()
+          )
+          .build()
+      )
+    );
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("filterTestCases")
+  void matchIsSameAsMatchTripPattern(String name, TransitFilter filter) {
+    var expected = new BitSet();
+    for (var it : PATTERN_INDEX) {
+      if (it != null && filter.matchTripPattern(it.getTripPattern().getPattern())) {
+        expected.set(it.patternIndex());
+      }
+    }
+    assertEquals(expected, SUBJECT.match(filter));
+    assertEquals(
+      expected,
+      SUBJECT.matchEach(p -> filter.matchTripPattern(p.getTripPattern().getPattern()))
+    );
+  }
+
+  private static TransitFilter select(SelectRequest.Builder select) {
+    return TransitFilterRequest.of().addSelect(select.build()).build();
+  }
+
+  private static MainAndSubMode mode(TransitMode mode) {
+    return new MainAndSubMode(mode);
+  }
+
+  private static TripPattern pattern(
+    String id,
+    Route route,
+    TransitMode mode,
+    SubMode subMode,
+    boolean containsMultipleModes
+  ) {
+    return TimetableRepositoryForTest
+      .tripPattern(id, route)
+      .withMode(mode)
+      .withNetexSubmode(subMode)
+      .withContainsMultipleModes(containsMultipleModes)
+      .withStopPattern(new StopPattern(List.of(createStopTime(), createStopTime())))
+      .build();
+  }
+
+  private static List<TripPatternForDates> createPatternIndex() {
+    var result = new ArrayList<TripPatternForDates>();
+    for (var pattern : PATTERNS) {
+      var routingPattern = pattern.getRoutingTripPattern();
+      while (result.size() <= routingPattern.patternIndex()) {
+        result.add(null);
+      }
+      var tripTimes = ScheduledTripTimes
+        .of()
+        .withTrip(TimetableRepositoryForTest.trip("T" + pattern.getId().getId()).build())
+        .withDepartureTimes("00:00 02:00")
+        .build();
+      var tripPatternForDate = new TripPatternForDate(
+        routingPattern,
+        List.of(tripTimes),
+        List.of(),
+        LocalDate.of(2024, 1, 1)
+      );
+      result.set(
+        routingPattern.patternIndex(),
+        new TripPatternForDates(
+          routingPattern,
+          new TripPatternForDate[] { tripPatternForDate },
+          new int[] { 0 },
+          null,
+          null,
+          0
+        )
+      );
+    }
+    return result;
+  }
+
+  private static StopTime createStopTime() {
+    var st = new StopTime();
+    st.setStop(TEST_MODEL.stop("Stop:1", 0.0, 0.0).build());
+    return st;
+  }
+}
@@ -64,11 +64,16 @@ public class TemporaryVerticesContainerTest {
 
     // Then:
     originAndDestinationInsertedCorrect();
+    assertPermanentVertexesNotReferencingTemporaryElements();
 
     // And When:
     subject.close();
 
-    // Then - permanent vertexes
+    // Then
+    assertPermanentVertexesNotReferencingTemporaryElements();
+  }
+
+  private void assertPermanentVertexesNotReferencingTemporaryElements() {
     for (Vertex v : permanentVertexes) {
       // - does not reference the any temporary nodes anymore
       for (Edge e : v.getIncoming()) {
@@ -80,7 +85,7 @@ public class TemporaryVerticesContainerTest {
     }
   }
 
-  private static <T extends Collection<String>> T findAllReachableVertexes(
+  private <T extends Collection<String>> T findAllReachableVertexes(
     Vertex vertex,
     boolean forward,
     T list
@@ -89,12 +94,16 @@ public class TemporaryVerticesContainerTest {
       return list;
     }
 
+    // The temporary edges of the permanent vertexes are only in the overlay
+    var overlay = subject.getOverlay();
     list.add(vertex.getDefaultName());
     if (forward) {
-      vertex.getOutgoing().forEach(it -> findAllReachableVertexes(it.getToVertex(), forward, list));
+      overlay
+        .getOutgoing(vertex)
+        .forEach(it -> findAllReachableVertexes(it.getToVertex(), forward, list));
     } else {
-      vertex
-        .getIncoming()
+      overlay
+        .getIncoming(vertex)
         .forEach(it -> findAllReachableVertexes(it.getFromVertex(), forward, list));
     }
     return list;
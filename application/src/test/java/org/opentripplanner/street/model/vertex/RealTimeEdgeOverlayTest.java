@@ -0,0 +1,80 @@
+package org.opentripplanner.street.model.vertex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+
+class RealTimeEdgeOverlayTest {
+
+  // A permanent graph: A -> B
+  private final StreetVertex a = StreetModelForTest.intersectionVertex("A", 59.90, 10.70);
+  private final StreetVertex b = StreetModelForTest.intersectionVertex("B", 59.91, 10.70);
+  private final Edge ab = StreetModelForTest.streetEdge(a, b);
+
+  // A vertex linked by an update: C
+  private final StreetVertex c = StreetModelForTest.intersectionVertex("C", 59.92, 10.70);
+
+  @Test
+  void collectEdgesOfAnUpdate() {
+    var links = new TemporaryEdgeOverlay();
+    var bc = links.collect(() -> StreetModelForTest.streetEdge(b, c));
+
+    // None of the vertices are changed
+    assertTrue(b.getOutgoing().isEmpty());
+    assertTrue(c.getIncoming().isEmpty());
+    assertFalse(links.isEmpty());
+    assertEquals(List.of(bc), List.copyOf(links.getOutgoing(b)));
+    assertEquals(List.of(bc), List.copyOf(links.getIncoming(c)));
+
+    // Edges created outside the collection are added to the vertices as usual
+    var ca = StreetModelForTest.streetEdge(c, a);
+    assertEquals(List.of(ca), List.copyOf(c.getOutgoing()));
+  }
+
+  @Test
+  void applyUpdates() {
+    var links = new TemporaryEdgeOverlay();
+    var bc = links.collect(() -> StreetModelForTest.streetEdge(b, c));
+
+    var v0 = RealTimeEdgeOverlay.EMPTY;
+    assertSame(v0, v0.apply(List.of(), List.of()));
+
+    var v1 = v0.apply(List.of(links), List.of());
+    assertEquals(1, v1.version());
+    assertEquals(List.of(bc), List.copyOf(v1.getOutgoing(b)));
+    assertEquals(List.of(bc), List.copyOf(v1.getIncoming(c)));
+    assertEquals(List.of(ab), List.copyOf(v1.getIncoming(b)));
+
+    var v2 = v1.apply(List.of(), List.of(links));
+    assertEquals(2, v2.version());
+    assertTrue(v2.getOutgoing(b).isEmpty());
+    assertTrue(v2.getIncoming(c).isEmpty());
+
+    // The previous versions are not changed
+    assertTrue(v0.getOutgoing(b).isEmpty());
+    assertEquals(List.of(bc), List.copyOf(v1.getOutgoing(b)));
+  }
+
+  @Test
+  void requestSeesTheVersionItStartedWith() {
+    var links = new TemporaryEdgeOverlay();
+    var bc = links.collect(() -> StreetModelForTest.streetEdge(b, c));
+    var v1 = RealTimeEdgeOverlay.EMPTY.apply(List.of(links), List.of());
+
+    var request = new TemporaryEdgeOverlay(v1);
+    v1.apply(List.of(), List.of(links));
+
+    assertEquals(List.of(bc), List.copyOf(request.getOutgoing(b)));
+
+    // The temporary edges of the request are added to the real-time edges
+    var ba = request.collect(() -> StreetModelForTest.streetEdge(b, a));
+    assertEquals(List.of(bc, ba), List.copyOf(request.getOutgoing(b)));
+    assertEquals(List.of(ba), List.copyOf(request.getIncoming(a)));
+  }
+}
@@ -0,0 +1,112 @@
+package org.opentripplanner.street.model.vertex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.framework.i18n.I18NString;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.TemporaryFreeEdge;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+
+class TemporaryEdgeOverlayTest {
+
+  private final TemporaryEdgeOverlay subject = new TemporaryEdgeOverlay();
+
+  // A permanent graph: A -> B
+  private final StreetVertex a = StreetModelForTest.intersectionVertex("A", 59.90, 10.70);
+  private final StreetVertex b = StreetModelForTest.intersectionVertex("B", 59.91, 10.70);
+  private final Edge ab = StreetModelForTest.streetEdge(a, b);
+
+  private final TemporaryStreetLocation origin = location("origin", 59.89, false, subject);
+  private final TemporaryStreetLocation destination = location("dest", 59.92, true, subject);
+
+  @Test
+  void edgesAreNotAddedToPermanentVertices() {
+    var out = TemporaryFreeEdge.createTemporaryFreeEdge(origin, a);
+    var in = TemporaryFreeEdge.createTemporaryFreeEdge(b, destination);
+
+    // The temporary vertices have their own edges
+    assertEquals(List.of(out), List.copyOf(origin.getOutgoing()));
+    assertEquals(List.of(in), List.copyOf(destination.getIncoming()));
+
+    // The permanent vertices are not changed
+    assertEquals(List.of(ab), List.copyOf(a.getOutgoing()));
+    assertTrue(a.getIncoming().isEmpty());
+    assertTrue(b.getOutgoing().isEmpty());
+
+    // The overlay adds the temporary edges to the permanent vertices
+    assertEquals(List.of(out), List.copyOf(subject.getIncoming(a)));
+    assertEquals(List.of(ab), List.copyOf(subject.getOutgoing(a)));
+    assertEquals(List.of(in), List.copyOf(subject.getOutgoing(b)));
+    assertEquals(List.of(ab), List.copyOf(subject.getIncoming(b)));
+
+    out.remove();
+    in.remove();
+
+    assertTrue(origin.getOutgoing().isEmpty());
+    assertTrue(destination.getIncoming().isEmpty());
+    assertTrue(subject.getIncoming(a).isEmpty());
+    assertTrue(subject.getOutgoing(b).isEmpty());
+  }
+
+  @Test
+  void edgesOfVerticesWithoutOverlayAreAddedToTheGraph() {
+    var other = location("other", 59.92, true, null);
+    var edge = TemporaryFreeEdge.createTemporaryFreeEdge(b, other);
+
+    assertNull(TemporaryEdgeOverlay.of(edge));
+    assertEquals(List.of(edge), List.copyOf(b.getOutgoing()));
+    assertTrue(subject.getOutgoing(b).contains(edge));
+
+    edge.remove();
+    assertTrue(b.getOutgoing().isEmpty());
+  }
+
+  @Test
+  void overlayOfVertices() {
+    assertSame(subject, TemporaryEdgeOverlay.of(origin));
+    assertNull(TemporaryEdgeOverlay.of(a));
+    assertSame(subject, TemporaryEdgeOverlay.of(List.of(a, destination)));
+    assertNull(TemporaryEdgeOverlay.of(Set.of(a, b)));
+    assertNull(TemporaryEdgeOverlay.of((Set<Vertex>) null));
+  }
+
+  @Test
+  void searchFollowsTheOverlayEdges() {
+    TemporaryFreeEdge.createTemporaryFreeEdge(origin, a);
+    TemporaryFreeEdge.createTemporaryFreeEdge(b, destination);
+
+    var paths = StreetSearchBuilder
+      .of()
+      .setRequest(new RouteRequest())
+      .setFrom(origin)
+      .setTo(destination)
+      .getPathsToTarget();
+
+    assertEquals(1, paths.size());
+    assertEquals(3, paths.getFirst().edges.size());
+  }
+
+  private static TemporaryStreetLocation location(
+    String id,
+    double lat,
+    boolean endVertex,
+    TemporaryEdgeOverlay overlay
+  ) {
+    return new TemporaryStreetLocation(
+      id,
+      new Coordinate(10.70, lat),
+      I18NString.of(id),
+      endVertex,
+      overlay
+    );
+  }
+}
@@ -0,0 +1,246 @@
+package org.opentripplanner.street.search.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.framework.i18n.NonLocalizedString;
+import org.opentripplanner.graph_builder.module.CarContractionHierarchyModule;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.CarPreferences;
+import org.opentripplanner.routing.api.request.preference.StreetPreferences;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.impl.GraphPathFinder;
+import org.opentripplanner.street.model.ContractionHierarchy;
+import org.opentripplanner.street.model.StreetConstants;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model.TurnRestriction;
+import org.opentripplanner.street.model.TurnRestrictionType;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.TemporaryFreeEdge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.TemporaryStreetLocation;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.opentripplanner.street.search.state.State;
+
+class ContractionHierarchyCorridorTest {
+
+  private static final int N = 8;
+  private static final float[] CAR_SPEEDS = { 5f, 10f, 20f, 30f };
+  private static final double CAR_RELUCTANCE = CarPreferences.DEFAULT.reluctance();
+  private static final double DEFAULT_TURN_RELUCTANCE = StreetPreferences.DEFAULT.turnReluctance();
+
+  private final Graph graph = new Graph();
+  private final IntersectionVertex[][] grid = new IntersectionVertex[N][N];
+  private final ContractionHierarchy hierarchy;
+
+  ContractionHierarchyCorridorTest() {
+    var random = new Random(5);
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        grid[r][c] = StreetModelForTest.intersectionVertex(
+          "V" + r + "_" + c,
+          59.9 + r * 0.002,
+          10.7 + c * 0.004
+        );
+        graph.addVertex(grid[r][c]);
+      }
+    }
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        if (c + 1 < N) {
+          connect(grid[r][c], grid[r][c + 1], random);
+        }
+        if (r + 1 < N) {
+          connect(grid[r][c], grid[r + 1][c], random);
+        }
+      }
+    }
+    new CarContractionHierarchyModule(graph).buildGraph();
+    hierarchy = graph.getCarContractionHierarchy();
+  }
+
+  @Test
+  void sameWeightAsSearchingAllStreets() {
+    var random = new Random(3);
+    for (int i = 0; i < 20; ++i) {
+      var from = grid[random.nextInt(N)][random.nextInt(N)];
+      var to = grid[random.nextInt(N)][random.nextInt(N)];
+      if (from == to) {
+        continue;
+      }
+      for (boolean arriveBy : new boolean[] { false, true }) {
+        var expected = route(false, from, to, arriveBy);
+        var actual = route(true, from, to, arriveBy);
+        assertEquals(expected.getWeight(), actual.getWeight(), 0.001);
+      }
+    }
+  }
+
+  @Test
+  void withinBoundOfSearchingAllStreetsWithTurnCosts() {
+    var random = new Random(7);
+    for (int i = 0; i < 20; ++i) {
+      var from = grid[random.nextInt(N)][random.nextInt(N)];
+      var to = grid[random.nextInt(N)][random.nextInt(N)];
+      if (from == to) {
+        continue;
+      }
+      var expected = route(false, from, to, false, DEFAULT_TURN_RELUCTANCE);
+      var actual = route(true, from, to, false, DEFAULT_TURN_RELUCTANCE);
+      assertTrue(actual.getWeight() <= 1.1 * expected.getWeight());
+
+      var corridor = ContractionHierarchyCorridor.of(hierarchy, Set.of(from), Set.of(to));
+      assertNotNull(corridor);
+      assertTrue(corridor.minWeight(CAR_RELUCTANCE) <= expected.getWeight() + 0.001);
+    }
+  }
+
+  @Test
+  void minWeightIsExactWithoutTurnCosts() {
+    var from = grid[0][0];
+    var to = grid[N - 1][N - 1];
+    var corridor = ContractionHierarchyCorridor.of(hierarchy, Set.of(from), Set.of(to));
+    assertNotNull(corridor);
+    assertEquals(
+      route(false, from, to, false).getWeight(),
+      corridor.minWeight(CAR_RELUCTANCE),
+      0.001
+    );
+  }
+
+  @Test
+  void temporaryVertices() {
+    var from = new TemporaryStreetLocation(
+      "from",
+      new Coordinate(10.7001, 59.9001),
+      new NonLocalizedString("from"),
+      false
+    );
+    TemporaryFreeEdge.createTemporaryFreeEdge(from, grid[0][0]);
+    var to = new TemporaryStreetLocation(
+      "to",
+      new Coordinate(10.7279, 59.9139),
+      new NonLocalizedString("to"),
+      true
+    );
+    TemporaryFreeEdge.createTemporaryFreeEdge(grid[N - 1][N - 1], to);
+
+    var corridor = ContractionHierarchyCorridor.of(hierarchy, Set.of(from), Set.of(to));
+    assertNotNull(corridor);
+
+    var expected = route(false, from, to, false);
+    var actual = route(true, from, to, false);
+    assertEquals(expected.getWeight(), actual.getWeight(), 0.001);
+    assertEquals(from, actual.states.getFirst().getVertex());
+    assertEquals(to, actual.states.getLast().getVertex());
+  }
+
+  @Test
+  void skipEdgesNotOnThePath() {
+    var from = grid[0][0];
+    var to = grid[N - 1][N - 1];
+    var corridor = ContractionHierarchyCorridor.of(hierarchy, Set.of(from), Set.of(to));
+    assertNotNull(corridor);
+
+    var path = route(true, from, to, false);
+    for (Edge edge : path.edges) {
+      assertFalse(corridor.shouldSkipEdge(null, edge));
+    }
+    int skipped = 0;
+    for (Edge edge : from.getOutgoing()) {
+      skipped += corridor.shouldSkipEdge(null, edge) ? 1 : 0;
+    }
+    assertEquals(from.getOutgoing().size() - 1, skipped);
+  }
+
+  @Test
+  void fallBackToSearchingAllStreetsIfPathIsNotTraversable() {
+    var from = grid[0][0];
+    var to = grid[N - 1][N - 1];
+    var edges = route(true, from, to, false).edges;
+
+    // Forbid the first turn on the path
+    var turnFrom = (StreetEdge) edges.get(0);
+    var turnTo = (StreetEdge) edges.get(1);
+    turnFrom.addTurnRestriction(
+      new TurnRestriction(
+        turnFrom,
+        turnTo,
+        TurnRestrictionType.NO_TURN,
+        new TraverseModeSet(TraverseMode.CAR),
+        null
+      )
+    );
+
+    var expected = route(false, from, to, false);
+    var actual = route(true, from, to, false);
+    assertEquals(expected.getWeight(), actual.getWeight(), 0.001);
+    assertTrue(actual.edges.indexOf(turnTo) != 1);
+  }
+
+  private GraphPath<State, Edge, Vertex> route(
+    boolean useHierarchy,
+    Vertex from,
+    Vertex to,
+    boolean arriveBy
+  ) {
+    // Turn costs are not part of the hierarchy
+    return route(useHierarchy, from, to, arriveBy, 0.0);
+  }
+
+  private GraphPath<State, Edge, Vertex> route(
+    boolean useHierarchy,
+    Vertex from,
+    Vertex to,
+    boolean arriveBy,
+    double turnReluctance
+  ) {
+    var request = new RouteRequest();
+    request.setArriveBy(arriveBy);
+    request.journey().direct().setMode(StreetMode.CAR);
+    request.withPreferences(p -> p.withStreet(s -> s.withTurnReluctance(turnReluctance)));
+
+    var finder = new GraphPathFinder(
+      null,
+      null,
+      StreetConstants.DEFAULT_MAX_CAR_SPEED,
+      null,
+      useHierarchy ? hierarchy : null
+    );
+    List<GraphPath<State, Edge, Vertex>> paths = finder.getPaths(
+      request,
+      Set.of(from),
+      Set.of(to)
+    );
+    assertFalse(paths.isEmpty());
+    return paths.getFirst();
+  }
+
+  private static void connect(IntersectionVertex a, IntersectionVertex b, Random random) {
+    var meters = SphericalDistanceLibrary.distance(a.getCoordinate(), b.getCoordinate());
+    float carSpeed = CAR_SPEEDS[random.nextInt(CAR_SPEEDS.length)];
+    StreetModelForTest
+      .streetEdgeBuilder(a, b, meters, StreetTraversalPermission.ALL)
+      .withCarSpeed(carSpeed)
+      .buildAndConnect();
+    StreetModelForTest
+      .streetEdgeBuilder(b, a, meters, StreetTraversalPermission.ALL)
+      .withCarSpeed(carSpeed)
+      .withBack(true)
+      .buildAndConnect();
+  }
+}
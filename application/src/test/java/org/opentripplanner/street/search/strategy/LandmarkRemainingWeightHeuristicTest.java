@@ -0,0 +1,148 @@
+package org.opentripplanner.street.search.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.graph_builder.module.StreetLandmarkModule;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.StreetLandmarks;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.state.State;
+
+class LandmarkRemainingWeightHeuristicTest {
+
+  private static final int N = 8;
+  private static final float[] CAR_SPEEDS = { 5f, 10f, 20f, 30f };
+
+  private final Graph graph = new Graph();
+  private final IntersectionVertex[][] grid = new IntersectionVertex[N][N];
+  private final StreetLandmarks landmarks;
+
+  LandmarkRemainingWeightHeuristicTest() {
+    var random = new Random(42);
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        grid[r][c] = StreetModelForTest.intersectionVertex(
+          "V" + r + "_" + c,
+          59.9 + r * 0.002,
+          10.7 + c * 0.004
+        );
+        graph.addVertex(grid[r][c]);
+      }
+    }
+    for (int r = 0; r < N; ++r) {
+      for (int c = 0; c < N; ++c) {
+        if (c + 1 < N) {
+          connect(grid[r][c], grid[r][c + 1], random);
+        }
+        if (r + 1 < N) {
+          connect(grid[r][c], grid[r + 1][c], random);
+        }
+      }
+    }
+    new StreetLandmarkModule(graph, 4).buildGraph();
+    landmarks = graph.getStreetLandmarks();
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = StreetMode.class, names = { "CAR", "BIKE" })
+  void sameWeightAsEuclideanHeuristic(StreetMode mode) {
+    var random = new Random(3);
+    for (int i = 0; i < 20; ++i) {
+      var from = grid[random.nextInt(N)][random.nextInt(N)];
+      var to = grid[random.nextInt(N)][random.nextInt(N)];
+      if (from == to) {
+        continue;
+      }
+      for (boolean arriveBy : new boolean[] { false, true }) {
+        var expected = route(new EuclideanRemainingWeightHeuristic(), mode, from, to, arriveBy);
+        var actual = route(
+          new LandmarkRemainingWeightHeuristic(landmarks, null),
+          mode,
+          from,
+          to,
+          arriveBy
+        );
+        assertEquals(expected.getWeight(), actual.getWeight(), 0.001);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = StreetMode.class, names = { "CAR", "BIKE" })
+  void estimatesAreLowerBoundsAndTighterThanEuclidean(StreetMode mode) {
+    var from = grid[0][0];
+    var to = grid[N - 1][N - 1];
+    var path = route(new EuclideanRemainingWeightHeuristic(), mode, from, to, false);
+
+    var euclidean = new EuclideanRemainingWeightHeuristic();
+    var heuristic = new LandmarkRemainingWeightHeuristic(landmarks, null);
+    var preferences = new RouteRequest().preferences();
+    euclidean.initialize(mode, Set.of(to), false, preferences);
+    heuristic.initialize(mode, Set.of(to), false, preferences);
+
+    double totalWeight = path.getWeight();
+    for (State s : path.states) {
+      double remainingWeight = totalWeight - s.getWeight();
+      double estimate = heuristic.estimateRemainingWeight(s);
+      assertTrue(estimate <= remainingWeight + 0.001, estimate + " > " + remainingWeight);
+      assertTrue(estimate >= euclidean.estimateRemainingWeight(s));
+    }
+    var origin = path.states.getFirst();
+    assertTrue(
+      heuristic.estimateRemainingWeight(origin) > euclidean.estimateRemainingWeight(origin)
+    );
+  }
+
+  private GraphPath<State, Edge, Vertex> route(
+    RemainingWeightHeuristic<State> heuristic,
+    StreetMode mode,
+    Vertex from,
+    Vertex to,
+    boolean arriveBy
+  ) {
+    var request = new RouteRequest();
+    request.setArriveBy(arriveBy);
+    var tree = StreetSearchBuilder
+      .of()
+      .setHeuristic(heuristic)
+      .setRequest(request)
+      .setStreetRequest(new StreetRequest(mode))
+      .setFrom(from)
+      .setTo(to)
+      .getShortestPathTree();
+    var path = tree.getPath(arriveBy ? from : to);
+    assertNotNull(path);
+    return path;
+  }
+
+  private static void connect(IntersectionVertex a, IntersectionVertex b, Random random) {
+    var meters = SphericalDistanceLibrary.distance(a.getCoordinate(), b.getCoordinate());
+    float carSpeed = CAR_SPEEDS[random.nextInt(CAR_SPEEDS.length)];
+    StreetModelForTest
+      .streetEdgeBuilder(a, b, meters, StreetTraversalPermission.ALL)
+      .withCarSpeed(carSpeed)
+      .buildAndConnect();
+    StreetModelForTest
+      .streetEdgeBuilder(b, a, meters, StreetTraversalPermission.ALL)
+      .withCarSpeed(carSpeed)
+      .withBack(true)
+      .buildAndConnect();
+  }
+}
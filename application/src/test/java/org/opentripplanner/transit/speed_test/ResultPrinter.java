@@ -20,10 +20,10 @@ import org.opentripplanner.utils.text.Table;
  *
  * <pre>
  *       METHOD CALLS DURATION |
- *                             |  Min   Max  Avg     Count   Total
- *       AvgTimer:main t1      | 1345  3715 2592 ms     50  129,6 s
- *       AvgTimer:main t2      |   45   699  388 ms     55   21,4 s
- *       AvgTimer:main t3      |    4   692  375 ms    110   41,3 s
+ *                             |  Min   Avg   P50   P90   P99   Max     Count   Total
+ *       AvgTimer:main t1      | 1345  2592  2510  3400  3700  3715 ms     50  129,6 s
+ *       AvgTimer:main t2      |   45   388   380   610   690   699 ms     55   21,4 s
+ *       AvgTimer:main t3      |    4   375   370   600   688   692 ms    110   41,3 s
  * </pre>
  */
 class ResultPrinter {
@@ -178,9 +178,12 @@ class ResultPrinter {
 
   private static String formatResultOk(SpeedTestTimer.Result r) {
     return String.format(
-      "%4s %5s %4s %s %6s %6.1f s",
+      "%4s %5s %5s %5s %5s %5s %s %6s %6.1f s",
       str(r.min()),
       str(r.mean()),
+      str(r.p50()),
+      str(r.p90()),
+      str(r.p99()),
       str(r.max()),
       "ms",
       str(r.count()),
@@ -193,11 +196,11 @@ class ResultPrinter {
   }
 
   private static String formatLine(String label, int labelWidth, String column) {
-    return String.format("%-" + labelWidth + "s | %-35s", label, column);
+    return String.format("%-" + labelWidth + "s | %-53s", label, column);
   }
 
   private static String columnHeaderAvg() {
-    return " Min   Avg  Max     Count   Total";
+    return " Min   Avg   P50   P90   P99   Max     Count   Total";
   }
 
   private static void printProfileResultLine(String label, List<Integer> v, int labelMaxLen) {
@@ -16,8 +16,10 @@ import java.util.function.Predicate;
 import org.opentripplanner.TestServerContext;
 import org.opentripplanner.datastore.OtpDataStore;
 import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressCache;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
 import org.opentripplanner.routing.graph.Graph;
@@ -67,9 +69,11 @@ public class SpeedTest {
   private final OtpServerRequestContext serverContext;
   private final Map<SpeedTestProfile, List<Integer>> workerResults = new HashMap<>();
   private final Map<SpeedTestProfile, List<Integer>> totalResults = new HashMap<>();
+  private final Map<SpeedTestProfile, List<Integer>> totalP90Results = new HashMap<>();
   private final CsvFileSupport tcIO;
   private SpeedTestProfile profile;
   private TestStatus status = TestStatus.OK;
+  private boolean latencyLimitExceeded = false;
 
   public SpeedTest(
     SpeedTestCmdLineOpts opts,
@@ -117,8 +121,10 @@ public class SpeedTest {
         ),
         graph,
         new DefaultTransitService(timetableRepository),
+        AccessEgressCache.DISABLED,
         timer.getRegistry(),
         VectorTileConfig.DEFAULT,
+        VectorTileCache.DISABLED,
         TestServerContext.createWorldEnvelopeService(),
         TestServerContext.createRealtimeVehicleService(transitService),
         TestServerContext.createVehicleRentalService(),
@@ -145,6 +151,14 @@ public class SpeedTest {
     return status;
   }
 
+  /**
+   * Return {@code true} if the P90 latency of any profile exceeded the {@code --maxP90Latency}
+   * limit.
+   */
+  public boolean latencyLimitExceeded() {
+    return latencyLimitExceeded;
+  }
+
   public static void main(String[] args) {
     try {
       OtpStartupInfo.logInfo("Run Speed Test");
@@ -168,6 +182,10 @@ public class SpeedTest {
       if (speedTest.timetableRepository.getUpdaterManager() != null) {
         speedTest.timetableRepository.getUpdaterManager().stop();
       }
+      // Only the latency limit is used as a gate, the expected results are allowed to drift
+      if (speedTest.latencyLimitExceeded()) {
+        System.exit(1);
+      }
     } catch (OtpAppException ae) {
       System.err.println(ae.getMessage());
       System.exit(1);
@@ -222,9 +240,30 @@ public class SpeedTest {
 
     workerResults.get(profile).add(timer.totalTimerMean(DebugTimingAggregator.ROUTING_RAPTOR));
     totalResults.get(profile).add(timer.totalTimerMean(DebugTimingAggregator.ROUTING_TOTAL));
+    int totalP90 = timer.totalTimerPercentile(DebugTimingAggregator.ROUTING_TOTAL, 0.9);
+    totalP90Results.get(profile).add(totalP90);
     timer.lapTest();
 
     ResultPrinter.logSingleTestResult(profile, testCases, sample, nSamples, timer);
+    assertMaxP90Latency(totalP90);
+  }
+
+  /**
+   * Fail the test if the 90th percentile of the total routing time exceeds the limit set on the
+   * command line.
+   */
+  private void assertMaxP90Latency(int totalP90) {
+    int limit = opts.maxP90LatencyMs();
+    if (limit > 0 && totalP90 > limit) {
+      System.err.printf(
+        "%n!!! LATENCY LIMIT EXCEEDED: P90 total routing time is %d ms, limit is %d ms (%s)%n",
+        totalP90,
+        limit,
+        profile
+      );
+      status = TestStatus.FAILED;
+      latencyLimitExceeded = true;
+    }
   }
 
   private void runSingleTestCase(TestCase testCase) {
@@ -290,6 +329,7 @@ public class SpeedTest {
     for (SpeedTestProfile key : opts.profiles()) {
       workerResults.put(key, new ArrayList<>());
       totalResults.put(key, new ArrayList<>());
+      totalP90Results.put(key, new ArrayList<>());
     }
   }
 
@@ -316,6 +356,7 @@ public class SpeedTest {
   private void printProfileStatistics() {
     ResultPrinter.printProfileResults("Worker: ", opts.profiles(), workerResults);
     ResultPrinter.printProfileResults("Total:  ", opts.profiles(), totalResults);
+    ResultPrinter.printProfileResults("Total P90: ", opts.profiles(), totalP90Results);
   }
 
   /**
@@ -53,6 +53,9 @@ public class SpeedTestTimer {
           new Result(
             groupResultByTestCaseCategory ? getNameIncTestCaseCategory(meter) : getName(meter),
             (int) timer.percentile(0.01, TimeUnit.MILLISECONDS),
+            (int) timer.percentile(0.5, TimeUnit.MILLISECONDS),
+            (int) timer.percentile(0.9, TimeUnit.MILLISECONDS),
+            (int) timer.percentile(0.99, TimeUnit.MILLISECONDS),
             (int) timer.max(TimeUnit.MILLISECONDS),
             (int) timer.mean(TimeUnit.MILLISECONDS),
             (int) timer.totalTime(TimeUnit.MILLISECONDS),
@@ -80,7 +83,7 @@ public class SpeedTestTimer {
         )
       );
 
-    // record the lowest percentile of times
+    // record the lowest percentile of times, the median and the tail percentiles
     //noinspection NullableProblems
     registry
       .config()
@@ -91,7 +94,11 @@ public class SpeedTestTimer {
             Meter.Id id,
             DistributionStatisticConfig config
           ) {
-            return DistributionStatisticConfig.builder().percentiles(0.01).build().merge(config);
+            return DistributionStatisticConfig
+              .builder()
+              .percentiles(0.01, 0.5, 0.9, 0.99)
+              .build()
+              .merge(config);
           }
         }
       );
@@ -146,6 +153,21 @@ public class SpeedTestTimer {
     return count == 0 ? NOT_AVAILABLE : (int) (testTotalTimeMs(timerName) / count);
   }
 
+  /**
+   * Return the given percentile for the given timer in milliseconds. If more than one timer
+   * exist with the given name, the highest value is returned. If the timer is not found
+   * {@link #NOT_AVAILABLE} is returned.
+   *
+   * @param percentile One of the recorded percentiles: 0.01, 0.5, 0.9 or 0.99.
+   */
+  public int totalTimerPercentile(String timerName, double percentile) {
+    return getTotalTimers(timerName)
+      .filter(timer -> timer.count() > 0)
+      .mapToInt(timer -> (int) timer.percentile(percentile, TimeUnit.MILLISECONDS))
+      .max()
+      .orElse(NOT_AVAILABLE);
+  }
+
   public int testTotalTimeMs(String timerName) {
     return getTotalTimers(timerName)
       .mapToInt(timer -> (int) timer.totalTime(TimeUnit.MILLISECONDS))
@@ -195,13 +217,30 @@ public class SpeedTestTimer {
       .map(Timer.class::cast);
   }
 
-  public record Result(String name, int min, int max, int mean, int totTime, int count) {
+  /**
+   * The result for a timer. The percentiles can not be merged, so when the results of more than
+   * one timer are merged the highest percentile values are used.
+   */
+  public record Result(
+    String name,
+    int min,
+    int p50,
+    int p90,
+    int p99,
+    int max,
+    int mean,
+    int totTime,
+    int count
+  ) {
     public static Result merge(Collection<Result> results) {
       if (results.isEmpty()) {
         throw new IllegalArgumentException("At least on result is needed to merge.");
       }
       Result any = null;
       int min = Integer.MAX_VALUE;
+      int p50 = Integer.MIN_VALUE;
+      int p90 = Integer.MIN_VALUE;
+      int p99 = Integer.MIN_VALUE;
       int max = Integer.MIN_VALUE;
       int totTime = 0;
       int count = 0;
@@ -209,11 +248,14 @@ public class SpeedTestTimer {
       for (Result it : results) {
         any = it;
         min = it.min < min ? it.min : min;
+        p50 = Math.max(p50, it.p50);
+        p90 = Math.max(p90, it.p90);
+        p99 = Math.max(p99, it.p99);
         max = it.max > max ? it.max : max;
         totTime += it.totTime;
         count += it.count;
       }
-      return new Result(any.name, min, max, totTime / count, totTime, count);
+      return new Result(any.name, min, p50, p90, p99, max, totTime / count, totTime, count);
     }
   }
 }
@@ -23,6 +23,7 @@ public class SpeedTestCmdLineOpts {
   static final String NUM_OF_SAMPLES = "n";
   static final String SKIP_COST = "0";
   static final String REPLACE_EXPECTED_RESULTS_FILES = "R";
+  static final String MAX_P90_LATENCY = "L";
   static final String DEBUG_STOPS = "S";
   static final String DEBUG_PATH = "P";
   private static final String GROUP_RESULTS_BY_CATEGORY = "T";
@@ -95,6 +96,14 @@ public class SpeedTestCmdLineOpts {
     return cmd.hasOption(SKIP_COST);
   }
 
+  /**
+   * The max allowed 90th percentile of the total routing time in milliseconds, or {@code -1} if
+   * not set.
+   */
+  public int maxP90LatencyMs() {
+    return Integer.parseInt(cmd.getOptionValue(MAX_P90_LATENCY, "-1"));
+  }
+
   public boolean replaceExpectedResultsFiles() {
     return cmd.hasOption(REPLACE_EXPECTED_RESULTS_FILES);
   }
@@ -180,6 +189,14 @@ public class SpeedTestCmdLineOpts {
       "If result differ, replace the 'expected-results' files instead of creating 'results' " +
       "files. This is especially useful if the expected files are under version control."
     );
+    options.addOption(
+      MAX_P90_LATENCY,
+      "maxP90Latency",
+      true,
+      "Fail the test if the 90th percentile of the total routing time in milliseconds exceeds " +
+      "this limit for any of the profiles. The process exits with a non-zero status if the " +
+      "test fails, so this can be used to gate a deployment on latency."
+    );
     // Debug options
     options.addOption(DEBUG_STOPS, "debugStops", true, "A coma separated list of stops to debug.");
     options.addOption(
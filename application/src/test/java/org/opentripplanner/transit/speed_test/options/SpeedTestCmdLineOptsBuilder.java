@@ -3,6 +3,7 @@ package org.opentripplanner.transit.speed_test.options;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.CATEGORIES;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.DEBUG_PATH;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.DEBUG_STOPS;
+import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.MAX_P90_LATENCY;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.NUM_OF_ITINERARIES;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.NUM_OF_SAMPLES;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.PROFILES;
@@ -35,6 +36,7 @@ public class SpeedTestCmdLineOptsBuilder {
   private int nSamples = -1;
   private boolean skipCost = false;
   private boolean replaceExpectedResultsFile = false;
+  private int maxP90LatencyMs = -1;
   private final List<String> debugStops = new ArrayList<>();
   private final List<String> debugPath = new ArrayList<>();
 
@@ -85,6 +87,11 @@ public class SpeedTestCmdLineOptsBuilder {
     return this;
   }
 
+  public SpeedTestCmdLineOptsBuilder withMaxP90Latency(int maxP90LatencyMs) {
+    this.maxP90LatencyMs = maxP90LatencyMs;
+    return this;
+  }
+
   public SpeedTestCmdLineOptsBuilder withDebugStops(String... debugStops) {
     Collections.addAll(this.debugStops, debugStops);
     return this;
@@ -110,6 +117,7 @@ public class SpeedTestCmdLineOptsBuilder {
     addOptInt(NUM_OF_SAMPLES, nSamples);
     addOptBool(SKIP_COST, skipCost);
     addOptBool(REPLACE_EXPECTED_RESULTS_FILES, replaceExpectedResultsFile);
+    addOptInt(MAX_P90_LATENCY, maxP90LatencyMs);
     addOptStrings(DEBUG_STOPS, debugStops);
     addOptStrings(DEBUG_PATH, debugPath);
     return new SpeedTestCmdLineOpts(opts.toArray(new String[0]));
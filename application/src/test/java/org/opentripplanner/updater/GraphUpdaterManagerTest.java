@@ -0,0 +1,109 @@
+package org.opentripplanner.updater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.TimetableRepository;
+
+class GraphUpdaterManagerTest {
+
+  private static final String FEED_A = "A";
+  private static final String FEED_B = "B";
+
+  private GraphUpdaterManager subject;
+
+  @AfterEach
+  void stop() {
+    subject.stop();
+  }
+
+  @Test
+  void feedsAreUpdatedInParallel() throws Exception {
+    subject = manager(true);
+    var updatedB = new CountDownLatch(1);
+
+    // Feed A waits for feed B, which is only possible if they run at the same time
+    Future<?> a = subject.execute(FEED_A, context -> await(updatedB));
+    Future<?> b = subject.execute(FEED_B, context -> updatedB.countDown());
+
+    a.get(5, TimeUnit.SECONDS);
+    b.get(5, TimeUnit.SECONDS);
+    assertEquals(0, updatedB.getCount());
+  }
+
+  @Test
+  void updatesOfAFeedAreAppliedInOrder() throws Exception {
+    subject = manager(true);
+    List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+
+    Future<?> last = null;
+    for (int i = 0; i < 100; ++i) {
+      int update = i;
+      last = subject.execute(FEED_A, context -> applied.add(update));
+    }
+    last.get(5, TimeUnit.SECONDS);
+
+    assertEquals(IntStream.range(0, 100).boxed().toList(), applied);
+  }
+
+  @Test
+  void otherWritersWaitForTheFeedUpdates() throws Exception {
+    subject = manager(true);
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+
+    Future<?> feed = subject.execute(
+      FEED_A,
+      context -> {
+        started.countDown();
+        await(release);
+      }
+    );
+    await(started);
+    Future<?> writer = subject.execute(context -> {});
+
+    assertThrows(TimeoutException.class, () -> writer.get(200, TimeUnit.MILLISECONDS));
+    assertFalse(writer.isDone());
+
+    release.countDown();
+    writer.get(5, TimeUnit.SECONDS);
+    assertTrue(feed.isDone());
+  }
+
+  @Test
+  void feedsAreUpdatedOnTheGraphWriterThreadByDefault() throws Exception {
+    subject = manager(false);
+    List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+    subject.execute(FEED_A, context -> threads.add(Thread.currentThread().getName())).get();
+    subject.execute(FEED_B, context -> threads.add(Thread.currentThread().getName())).get();
+
+    assertEquals(List.of("graph-writer", "graph-writer"), threads);
+  }
+
+  private static GraphUpdaterManager manager(boolean parallelFeedUpdates) {
+    var context = new DefaultRealTimeUpdateContext(new Graph(), new TimetableRepository());
+    return new GraphUpdaterManager(context, List.of(), parallelFeedUpdates);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -39,6 +39,7 @@ public final class RealtimeTestEnvironment implements RealtimeTestConstants {
   // static constants
   private static final TimetableSnapshotSourceParameters PARAMETERS = new TimetableSnapshotSourceParameters(
     Duration.ZERO,
+    false,
     false
   );
 
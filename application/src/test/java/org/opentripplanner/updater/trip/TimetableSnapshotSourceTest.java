@@ -283,7 +283,7 @@ public class TimetableSnapshotSourceTest {
 
   private TimetableSnapshotSource defaultUpdater() {
     return new TimetableSnapshotSource(
-      new TimetableSnapshotSourceParameters(Duration.ZERO, true),
+      new TimetableSnapshotSourceParameters(Duration.ZERO, true, false),
       timetableRepository,
       () -> SERVICE_DATE
     );
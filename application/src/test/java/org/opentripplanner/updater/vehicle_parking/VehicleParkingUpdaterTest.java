@@ -224,37 +224,22 @@ class VehicleParkingUpdaterTest {
 
     assertEquals(vehicleParkingNumber, parkingVertices.size());
 
+    // The links to the streets are only visible through the real-time edges of the graph
+    var edges = graph.getRealTimeEdges();
+
     for (var parkingVertex : parkingVertices) {
-      assertEquals(2, parkingVertex.getIncoming().size());
-      assertEquals(2, parkingVertex.getOutgoing().size());
-
-      assertEquals(
-        1,
-        parkingVertex
-          .getIncoming()
-          .stream()
-          .filter(StreetVehicleParkingLink.class::isInstance)
-          .count()
-      );
-
-      assertEquals(
-        1,
-        parkingVertex.getIncoming().stream().filter(VehicleParkingEdge.class::isInstance).count()
-      );
-
-      assertEquals(
-        1,
-        parkingVertex
-          .getOutgoing()
-          .stream()
-          .filter(StreetVehicleParkingLink.class::isInstance)
-          .count()
-      );
-
-      assertEquals(
-        1,
-        parkingVertex.getOutgoing().stream().filter(VehicleParkingEdge.class::isInstance).count()
-      );
+      var incoming = edges.getIncoming(parkingVertex);
+      var outgoing = edges.getOutgoing(parkingVertex);
+
+      assertEquals(2, incoming.size());
+      assertEquals(2, outgoing.size());
+      assertEquals(1, parkingVertex.getIncoming().size());
+      assertEquals(1, parkingVertex.getOutgoing().size());
+
+      assertEquals(1, incoming.stream().filter(StreetVehicleParkingLink.class::isInstance).count());
+      assertEquals(1, incoming.stream().filter(VehicleParkingEdge.class::isInstance).count());
+      assertEquals(1, outgoing.stream().filter(StreetVehicleParkingLink.class::isInstance).count());
+      assertEquals(1, outgoing.stream().filter(VehicleParkingEdge.class::isInstance).count());
     }
 
     assertEquals(vehicleParkingNumber, parkingRepository.listVehicleParkings().size());
@@ -0,0 +1,65 @@
+package org.opentripplanner.raptor.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
+
+/**
+ * Add a sequence of vectors with the same three criteria as a Raptor stop arrival (arrival time,
+ * number of transfers and generalized cost) to an empty {@link ParetoSet}. The values are random,
+ * but the seed is fixed, so all runs add the same sequence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParetoSetBenchmark {
+
+  private static final ParetoComparator<Vector> COMPARATOR = (l, r) ->
+    l.time < r.time || l.transfers < r.transfers || l.cost < r.cost;
+
+  /** The number of vectors added to the set. */
+  @Param({ "10", "100", "1000" })
+  public int size;
+
+  private Vector[] vectors;
+
+  @Setup
+  public void setup() {
+    var random = new Random(42);
+    vectors = new Vector[size];
+    for (int i = 0; i < size; ++i) {
+      vectors[i] =
+        new Vector(
+          28_800 + random.nextInt(3_600),
+          random.nextInt(5),
+          100_000 + random.nextInt(50_000)
+        );
+    }
+  }
+
+  @Benchmark
+  public ParetoSet<Vector> add() {
+    var set = new ParetoSet<>(COMPARATOR);
+    for (Vector it : vectors) {
+      set.add(it);
+    }
+    return set;
+  }
+
+  public record Vector(int time, int transfers, int cost) {}
+}
@@ -0,0 +1,86 @@
+package org.opentripplanner.raptor.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.response.RaptorResponse;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.utils.time.TimeUtils;
+
+/**
+ * Run a complete Range Raptor search across the {@link SyntheticNetwork}. The search time is
+ * dominated by the transit and transfer phase of each round, the
+ * {@code DefaultRangeRaptorWorker#findTransitForRound()} and
+ * {@code DefaultRangeRaptorWorker#findTransfersForRound()}. The multi-criteria profile also
+ * measures the stop arrivals pareto sets, the {@code McStopArrivals}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RangeRaptorBenchmark {
+
+  private static final int HEADWAY = 600;
+  private static final int ACCESS_EGRESS_DURATION = 120;
+
+  @Param({ "10", "30" })
+  public int gridSize;
+
+  @Param({ "STANDARD", "MULTI_CRITERIA" })
+  public RaptorProfile profile;
+
+  private TestTransitData data;
+  private RaptorService<TestTripSchedule> service;
+  private RaptorRequest<TestTripSchedule> request;
+
+  @Setup
+  public void setup() {
+    data = SyntheticNetwork.grid(gridSize, HEADWAY);
+    service = new RaptorService<>(RaptorConfig.defaultConfigForTest());
+
+    int last = gridSize - 1;
+    var builder = new RaptorRequestBuilder<TestTripSchedule>();
+    builder
+      .profile(profile)
+      .searchParams()
+      .addAccessPaths(
+        TestAccessEgress.walk(SyntheticNetwork.stop(0, 0, gridSize), ACCESS_EGRESS_DURATION),
+        TestAccessEgress.walk(SyntheticNetwork.stop(0, 1, gridSize), ACCESS_EGRESS_DURATION)
+      )
+      .addEgressPaths(
+        TestAccessEgress.walk(SyntheticNetwork.stop(last, last, gridSize), ACCESS_EGRESS_DURATION),
+        TestAccessEgress.walk(
+          SyntheticNetwork.stop(last - 1, last, gridSize),
+          ACCESS_EGRESS_DURATION
+        )
+      )
+      .earliestDepartureTime(TimeUtils.time("08:00"))
+      .searchWindow(Duration.ofHours(1))
+      .timetable(true);
+    request = builder.build();
+  }
+
+  @Benchmark
+  public RaptorResponse<TestTripSchedule> route() {
+    return service.route(request, data);
+  }
+}
@@ -0,0 +1,89 @@
+package org.opentripplanner.raptor.benchmark;
+
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import org.opentripplanner.raptor._data.transit.TestTransfer;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.utils.time.TimeUtils;
+
+/**
+ * A synthetic grid network used by the benchmarks. The network has {@code size x size} stops.
+ * Each row and each column is served by one route in each direction, so it is possible to travel
+ * between any two stops with at most one transfer. A walking transfer connects each stop with the
+ * diagonal neighbours, this gives the Raptor more alternatives to explore in each round.
+ * <p>
+ * The routes run from 05:00 to 23:00 with a fixed headway. The first departure is shifted for
+ * each route to avoid all routes departing at the same time.
+ */
+final class SyntheticNetwork {
+
+  private static final int START_OF_SERVICE = TimeUtils.time("05:00");
+  private static final int END_OF_SERVICE = TimeUtils.time("23:00");
+  private static final int TRAVEL_TIME_BETWEEN_STOPS = 120;
+  private static final int DIAGONAL_WALK_TIME = 300;
+
+  private SyntheticNetwork() {}
+
+  /**
+   * Return the stop index for the given row and column. Stop index 0 is not used, this is the
+   * same as in the Raptor test data.
+   */
+  static int stop(int row, int col, int size) {
+    return 1 + row * size + col;
+  }
+
+  static TestTransitData grid(int size, int headwaySeconds) {
+    var data = new TestTransitData();
+    int nTrips = (END_OF_SERVICE - START_OF_SERVICE) / headwaySeconds;
+
+    for (int i = 0; i < size; ++i) {
+      int[] row = new int[size];
+      int[] col = new int[size];
+      for (int j = 0; j < size; ++j) {
+        row[j] = stop(i, j, size);
+        col[j] = stop(j, i, size);
+      }
+      int offset = (i * 60) % headwaySeconds;
+      addRoute(data, "E" + i, row, offset, nTrips, headwaySeconds);
+      addRoute(data, "W" + i, reverse(row), offset, nTrips, headwaySeconds);
+      addRoute(data, "S" + i, col, offset, nTrips, headwaySeconds);
+      addRoute(data, "N" + i, reverse(col), offset, nTrips, headwaySeconds);
+    }
+
+    for (int r = 0; r < size - 1; ++r) {
+      for (int c = 0; c < size - 1; ++c) {
+        int from = stop(r, c, size);
+        int to = stop(r + 1, c + 1, size);
+        data.withTransfer(from, TestTransfer.transfer(to, DIAGONAL_WALK_TIME));
+        data.withTransfer(to, TestTransfer.transfer(from, DIAGONAL_WALK_TIME));
+      }
+    }
+    return data;
+  }
+
+  private static void addRoute(
+    TestTransitData data,
+    String name,
+    int[] stops,
+    int offset,
+    int nTrips,
+    int headwaySeconds
+  ) {
+    int[] times = new int[stops.length];
+    for (int i = 0; i < stops.length; ++i) {
+      times[i] = START_OF_SERVICE + offset + i * TRAVEL_TIME_BETWEEN_STOPS;
+    }
+    data.withRoute(
+      route(name, stops).withTimetable(schedule().times(times).repeat(nTrips, headwaySeconds))
+    );
+  }
+
+  private static int[] reverse(int[] values) {
+    int[] result = new int[values.length];
+    for (int i = 0; i < values.length; ++i) {
+      result[i] = values[values.length - 1 - i];
+    }
+    return result;
+  }
+}
@@ -0,0 +1,128 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.raptor._data.transit.TestTripPattern;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorBoardOrAlightEvent;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+/**
+ * Search for the first trip departing after a random time in a timetable with {@code nTrips}
+ * trips. The search uses a linear search for small timetables and a binary search for large ones,
+ * see {@link TripScheduleSearchFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripScheduleBoardSearchBenchmark {
+
+  private static final int N_STOPS = 10;
+  private static final int N_SEARCHES = 1024;
+  private static final int START_OF_SERVICE = 5 * 3600;
+  private static final int TRAVEL_TIME_BETWEEN_STOPS = 120;
+
+  @Param({ "10", "50", "200", "1000" })
+  public int nTrips;
+
+  private RaptorTripScheduleSearch<TestTripSchedule> search;
+  private int[] boardTimes;
+  private int[] stopPositions;
+  private int index = 0;
+
+  @Setup
+  public void setup() {
+    var timetable = new Timetable(nTrips);
+    search = TripScheduleSearchFactory.create(SearchDirection.FORWARD, timetable);
+
+    var random = new Random(42);
+    int endOfService = timetable.getTripSchedule(nTrips - 1).departure(0);
+    boardTimes = new int[N_SEARCHES];
+    stopPositions = new int[N_SEARCHES];
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      boardTimes[i] = START_OF_SERVICE + random.nextInt(endOfService - START_OF_SERVICE + 1);
+      stopPositions[i] = random.nextInt(N_STOPS);
+    }
+  }
+
+  @Benchmark
+  public RaptorBoardOrAlightEvent<TestTripSchedule> search() {
+    int i = index++ & (N_SEARCHES - 1);
+    return search.search(boardTimes[i], stopPositions[i]);
+  }
+
+  /**
+   * A timetable with trips departing every 3 minutes. The times are stored by stop, the same way
+   * as the transit model does it. The arrival and departure times are the same.
+   */
+  private static class Timetable implements TripSearchTimetable<TestTripSchedule> {
+
+    private final TestTripSchedule[] trips;
+    private final int[][] departureTimes;
+
+    Timetable(int nTrips) {
+      int[] stops = new int[N_STOPS];
+      int[] times = new int[N_STOPS];
+      for (int i = 0; i < N_STOPS; ++i) {
+        stops[i] = i + 1;
+        times[i] = START_OF_SERVICE + i * TRAVEL_TIME_BETWEEN_STOPS;
+      }
+      var pattern = TestTripPattern.pattern("R1", stops);
+      var builders = schedule(pattern).times(times).repeat(nTrips, 180);
+
+      this.trips = new TestTripSchedule[nTrips];
+      this.departureTimes = new int[N_STOPS][nTrips];
+      for (int i = 0; i < nTrips; ++i) {
+        trips[i] = builders[i].build();
+        for (int s = 0; s < N_STOPS; ++s) {
+          departureTimes[s][i] = trips[i].departure(s);
+        }
+      }
+    }
+
+    @Override
+    public TestTripSchedule getTripSchedule(int index) {
+      return trips[index];
+    }
+
+    @Override
+    public int numberOfTripSchedules() {
+      return trips.length;
+    }
+
+    @Override
+    public RaptorTripScheduleSearch<TestTripSchedule> tripSearch(SearchDirection direction) {
+      return TripScheduleSearchFactory.create(direction, this);
+    }
+
+    @Override
+    public IntUnaryOperator getArrivalTimes(int stopPositionInPattern) {
+      final int[] times = departureTimes[stopPositionInPattern];
+      return i -> times[i];
+    }
+
+    @Override
+    public IntUnaryOperator getDepartureTimes(int stopPositionInPattern) {
+      final int[] times = departureTimes[stopPositionInPattern];
+      return i -> times[i];
+    }
+  }
+}
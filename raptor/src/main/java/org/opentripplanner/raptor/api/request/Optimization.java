@@ -15,6 +15,19 @@ public enum Optimization {
    */
   PARALLEL,
 
+  /**
+   * Split the search-window into chunks and run a Range Raptor search for each chunk in parallel.
+   * The destination arrivals of each chunk are merged into one pareto set. Each search can not
+   * prune on the arrivals found by the other searches, so the total amount of work increase, but
+   * the latency of searches with a long search-window should go down. The chunk size is set with
+   * {@link RaptorTuningParameters#searchWindowChunkSizeInSeconds()}.
+   * <p>
+   * This is ignored unless a thread-pool is provided, see {@link RaptorEnvironment#threadPool()}.
+   * <p>
+   * This only apply to: multi-criteria forward search without via locations.
+   */
+  PARALLEL_ITERATIONS,
+
   /**
    * This optimization use heuristics at each stop calculate an optimistic estimate for all criteria
    * at the destination. Then this "vector" is checked if it qualify in the existing set of pareto
@@ -160,6 +160,10 @@ public class RaptorRequestBuilder<T extends RaptorTripSchedule> {
       // Run search in parallel
       name += "-LL";
     }
+    if (Optimization.PARALLEL_ITERATIONS.isOneOf(optimizations)) {
+      // Run the search-window iterations in parallel
+      name += "-PI";
+    }
     if (Optimization.PARETO_CHECK_AGAINST_DESTINATION.isOneOf(optimizations)) {
       // Heuristic to prune on pareto optimal Destination arrivals
       name += "-DP";
@@ -1,5 +1,7 @@
 package org.opentripplanner.raptor.api.request;
 
+import java.time.Duration;
+
 /**
  * Tuning parameters - changing these parameters change the performance (speed and/or memory
  * consumption).
@@ -20,6 +22,32 @@ public interface RaptorTuningParameters {
     return 60;
   }
 
+  /**
+   * The size of each search-window chunk when the {@link Optimization#PARALLEL_ITERATIONS} is
+   * enabled. The value is rounded down to a multiple of the
+   * {@link #iterationDepartureStepInSeconds()}.
+   */
+  default int searchWindowChunkSizeInSeconds() {
+    return 20 * 60;
+  }
+
+  /**
+   * The maximum number of heuristic search results to cache. The heuristic search results are
+   * shared between requests with the same transit data and search parameters, see
+   * {@link org.opentripplanner.raptor.spi.RaptorTransitDataProvider#heuristicCacheKey()}. The
+   * default is 0, which disable the cache.
+   */
+  default int heuristicCacheSize() {
+    return 0;
+  }
+
+  /**
+   * The maximum time a heuristic search result is kept in the cache.
+   */
+  default Duration heuristicCacheTimeToLive() {
+    return Duration.ofMinutes(5);
+  }
+
   /**
    * Coefficients used to calculate raptor-search-window parameters dynamically  from heuristics.
    */
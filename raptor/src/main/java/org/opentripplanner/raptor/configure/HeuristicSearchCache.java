@@ -0,0 +1,270 @@
+package org.opentripplanner.raptor.configure;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
+import org.opentripplanner.raptor.api.model.RaptorConstants;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.SearchParams;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
+import org.opentripplanner.raptor.rangeraptor.internalapi.SingleCriteriaStopArrivals;
+import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
+
+/**
+ * Cache the result of the heuristic searches, so repeated searches to the same destination can
+ * skip the heuristic search. The result is only cached if the transit data provides a key, see
+ * {@link RaptorTransitDataProvider#heuristicCacheKey()}. The transit data key is combined with the
+ * access or egress the heuristic search starts from, so a reverse heuristic search is shared by
+ * all searches to the same egress stops, regardless of the origin.
+ * <p>
+ * The departure time and the time limit of the search is part of the key. The heuristics depend on
+ * the time of day, since the trips available and the waiting times change during the day, so a
+ * result is never reused for another departure time. Searches with access or egress with opening
+ * hours are not cached.
+ * <p>
+ * The cache keeps the {@code maxSize} last used entries, and entries older than the
+ * {@code timeToLive} is dropped. Only the stop arrival values needed to create the
+ * {@link org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics} is kept, not the
+ * paths and the search state.
+ * <p>
+ * This class has APPLICATION scope. THIS CLASS IS THREAD-SAFE.
+ */
+public class HeuristicSearchCache<T extends RaptorTripSchedule> {
+
+  private static final String UNSUPPORTED_OPERATION =
+    "The paths of a heuristic search is not cached.";
+
+  private final int maxSize;
+  private final long timeToLiveNanos;
+  private final LongSupplier clock;
+  private final Map<Key, Entry> cache;
+
+  HeuristicSearchCache(int maxSize, Duration timeToLive, LongSupplier clock) {
+    this.maxSize = maxSize;
+    this.timeToLiveNanos = timeToLive.toNanos();
+    this.clock = clock;
+    this.cache =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+          return size() > HeuristicSearchCache.this.maxSize;
+        }
+      };
+  }
+
+  HeuristicSearchCache(int maxSize, Duration timeToLive) {
+    this(maxSize, timeToLive, System::nanoTime);
+  }
+
+  /**
+   * Return the cached result for the given heuristic search if it exists, if not the search is
+   * run and the result is cached. The cached result holds only the stop arrival values, so the
+   * cached copy is also returned the first time - this make sure the first and the following
+   * searches behave the same. The destination is reached if any of the destination stops of the
+   * heuristic request is reached, since the destination is not part of the key.
+   */
+  public RaptorRouterResult<T> routeIfNotCached(
+    RaptorTransitDataProvider<T> transitData,
+    RaptorRequest<T> heuristicRequest,
+    Supplier<RaptorRouterResult<T>> search
+  ) {
+    var key = key(transitData, heuristicRequest);
+    if (key == null) {
+      return search.get();
+    }
+    var searchParams = heuristicRequest.searchParams();
+    var arrivals = get(key);
+    if (arrivals == null) {
+      arrivals = CachedArrivals.of(search.get());
+      put(key, arrivals);
+    }
+    return arrivals.result(
+      heuristicRequest.searchDirection().isForward()
+        ? searchParams.egressPaths()
+        : searchParams.accessPaths()
+    );
+  }
+
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Create the cache key for the given heuristic search, returns {@code null} if the search
+   * should not be cached. Searches with debugging enabled are not cached, since the debug events
+   * are part of the result.
+   */
+  @Nullable
+  private Key key(RaptorTransitDataProvider<T> transitData, RaptorRequest<T> heuristicRequest) {
+    if (maxSize <= 0) {
+      return null;
+    }
+    var transitDataKey = transitData.heuristicCacheKey();
+    if (transitDataKey == null) {
+      return null;
+    }
+    var debug = heuristicRequest.debug();
+    if (!debug.stops().isEmpty() || !debug.path().isEmpty()) {
+      return null;
+    }
+    var direction = heuristicRequest.searchDirection();
+    var searchParams = heuristicRequest.searchParams();
+    int departureTime = departureTime(direction, searchParams);
+    if (departureTime == RaptorConstants.TIME_NOT_SET) {
+      return null;
+    }
+    if (
+      searchParams.accessPaths().stream().anyMatch(RaptorAccessEgress::hasOpeningHours) ||
+      searchParams.egressPaths().stream().anyMatch(RaptorAccessEgress::hasOpeningHours)
+    ) {
+      return null;
+    }
+    var startPaths = direction.isForward()
+      ? searchParams.accessPaths()
+      : searchParams.egressPaths();
+    int timeLimit = direction.isForward()
+      ? searchParams.latestArrivalTime()
+      : searchParams.earliestDepartureTime();
+    return new Key(
+      transitDataKey,
+      heuristicRequest.profile(),
+      direction,
+      startPaths.stream().map(StartPath::of).collect(Collectors.toSet()),
+      departureTime,
+      timeLimit,
+      searchParams.maxNumberOfTransfers(),
+      searchParams.constrainedTransfers()
+    );
+  }
+
+  /**
+   * The departure time of a heuristic search, which runs one iteration only. In a reverse search
+   * this is the latest arrival time.
+   */
+  private static int departureTime(SearchDirection direction, SearchParams searchParams) {
+    return direction.isForward()
+      ? searchParams.earliestDepartureTime()
+      : searchParams.latestArrivalTime();
+  }
+
+  @Nullable
+  private CachedArrivals get(Key key) {
+    synchronized (cache) {
+      var entry = cache.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (clock.getAsLong() - entry.created() > timeToLiveNanos) {
+        cache.remove(key);
+        return null;
+      }
+      return entry.arrivals();
+    }
+  }
+
+  private void put(Key key, CachedArrivals arrivals) {
+    synchronized (cache) {
+      cache.put(key, new Entry(arrivals, clock.getAsLong()));
+    }
+  }
+
+  /**
+   * The key of a heuristic search. The start paths are compared by the values used by the search,
+   * not by the equality of the access and egress implementations.
+   */
+  private record Key(
+    Object transitDataKey,
+    RaptorProfile profile,
+    SearchDirection direction,
+    Set<StartPath> startPaths,
+    int departureTime,
+    int timeLimit,
+    int maxNumberOfTransfers,
+    boolean constrainedTransfers
+  ) {}
+
+  private record StartPath(int stop, int durationInSeconds, int numberOfRides, boolean onBoard) {
+    static StartPath of(RaptorAccessEgress path) {
+      return new StartPath(
+        path.stop(),
+        path.durationInSeconds(),
+        path.numberOfRides(),
+        path.stopReachedOnBoard()
+      );
+    }
+  }
+
+  private record Entry(CachedArrivals arrivals, long created) {}
+
+  /** The stop arrivals of a heuristic search. */
+  private record CachedArrivals(
+    SingleCriteriaStopArrivals bestOverallArrivals,
+    SingleCriteriaStopArrivals bestTransitArrivals,
+    SingleCriteriaStopArrivals bestNumberOfTransfers
+  ) {
+    static CachedArrivals of(RaptorRouterResult<?> result) {
+      return new CachedArrivals(
+        result.extractBestOverallArrivals(),
+        result.extractBestTransitArrivals(),
+        result.extractBestNumberOfTransfers()
+      );
+    }
+
+    <T extends RaptorTripSchedule> CachedResult<T> result(
+      Collection<RaptorAccessEgress> destinationPaths
+    ) {
+      return new CachedResult<>(
+        bestOverallArrivals,
+        bestTransitArrivals,
+        bestNumberOfTransfers,
+        destinationPaths.stream().anyMatch(path -> bestOverallArrivals.isReached(path.stop()))
+      );
+    }
+  }
+
+  private record CachedResult<T extends RaptorTripSchedule>(
+    SingleCriteriaStopArrivals bestOverallArrivals,
+    SingleCriteriaStopArrivals bestTransitArrivals,
+    SingleCriteriaStopArrivals bestNumberOfTransfers,
+    boolean destinationReached
+  )
+    implements RaptorRouterResult<T> {
+    @Override
+    public Collection<RaptorPath<T>> extractPaths() {
+      throw new UnsupportedOperationException(UNSUPPORTED_OPERATION);
+    }
+
+    @Override
+    public SingleCriteriaStopArrivals extractBestOverallArrivals() {
+      return bestOverallArrivals;
+    }
+
+    @Override
+    public SingleCriteriaStopArrivals extractBestTransitArrivals() {
+      return bestTransitArrivals;
+    }
+
+    @Override
+    public SingleCriteriaStopArrivals extractBestNumberOfTransfers() {
+      return bestNumberOfTransfers;
+    }
+
+    @Override
+    public boolean isDestinationReached() {
+      return destinationReached;
+    }
+  }
+}
@@ -1,12 +1,15 @@
 package org.opentripplanner.raptor.configure;
 
+import java.util.ArrayList;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.request.Optimization;
 import org.opentripplanner.raptor.api.request.RaptorEnvironment;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.rangeraptor.ConcurrentCompositeRaptorRouter;
+import org.opentripplanner.raptor.rangeraptor.ConcurrentSearchWindowRaptorRouter;
 import org.opentripplanner.raptor.rangeraptor.DefaultRangeRaptorWorker;
 import org.opentripplanner.raptor.rangeraptor.RangeRaptor;
 import org.opentripplanner.raptor.rangeraptor.RangeRaptorWorkerComposite;
@@ -38,6 +41,7 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
 
   private final RaptorEnvironment environment;
   private final RaptorTuningParameters tuningParameters;
+  private final HeuristicSearchCache<T> heuristicSearchCache;
 
   /** The service is not final, because it depends on the request. */
   private PassThroughPointsService passThroughPointsService = null;
@@ -45,6 +49,11 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
   public RaptorConfig(RaptorTuningParameters tuningParameters, RaptorEnvironment environment) {
     this.tuningParameters = tuningParameters;
     this.environment = environment;
+    this.heuristicSearchCache =
+      new HeuristicSearchCache<>(
+        tuningParameters.heuristicCacheSize(),
+        tuningParameters.heuristicCacheTimeToLive()
+      );
   }
 
   public static <T extends RaptorTripSchedule> RaptorConfig<T> defaultConfigForTest() {
@@ -76,11 +85,13 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     Heuristics heuristics,
     @Nullable ExtraMcRouterSearch<T> extraMcSearch
   ) {
-    var mainSearch = createRangeRaptorWithMcWorker(transitData, request, heuristics);
-
     if (extraMcSearch == null) {
-      return mainSearch;
+      if (runSearchWindowInParallel(request)) {
+        return createRangeRaptorWithMcWorkerPerSearchWindowChunk(transitData, request, heuristics);
+      }
+      return createRangeRaptorWithMcWorker(transitData, request, heuristics);
     }
+    var mainSearch = createRangeRaptorWithMcWorker(transitData, request, heuristics);
     var alternativeSearch = createRangeRaptorWithMcWorker(
       extraMcSearch.createTransitDataAlternativeSearch(transitData),
       request,
@@ -121,6 +132,44 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     return createRangeRaptor(context, worker);
   }
 
+  /**
+   * Split the search-window into chunks, starting with the latest departures, and create one
+   * multi-criteria router for each chunk. The routers are run in parallel and the paths merged.
+   */
+  private RaptorRouter<T> createRangeRaptorWithMcWorkerPerSearchWindowChunk(
+    RaptorTransitDataProvider<T> transitData,
+    RaptorRequest<T> request,
+    Heuristics heuristics
+  ) {
+    var searchParams = request.searchParams();
+    int edt = searchParams.earliestDepartureTime();
+    int chunkSize = searchWindowChunkSizeInSeconds();
+    var routers = new ArrayList<RaptorRouter<T>>();
+
+    for (int end = edt + searchParams.searchWindowInSeconds(); end > edt; end -= chunkSize) {
+      int start = Math.max(edt, end - chunkSize);
+      var chunkRequest = request
+        .mutate()
+        .searchParams()
+        .earliestDepartureTime(start)
+        .searchWindowInSeconds(end - start)
+        .build();
+      routers.add(createRangeRaptorWithMcWorker(transitData, chunkRequest, heuristics));
+    }
+    var pathComparator = new McRangeRaptorConfig<>(
+      context(transitData, request).legs().getFirst(),
+      passThroughPointsService
+    )
+      .pathParetoComparator();
+
+    return new ConcurrentSearchWindowRaptorRouter<>(
+      routers,
+      pathComparator,
+      threadPool(),
+      environment::mapInterruptedException
+    );
+  }
+
   public RaptorRouter<T> createRangeRaptorWithHeuristicSearch(
     RaptorTransitDataProvider<T> transitData,
     RaptorRequest<T> request
@@ -137,6 +186,13 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     return new StdRangeRaptorConfig<>(context).createHeuristics(results);
   }
 
+  /**
+   * The heuristic search results are shared between requests, so the cache has APPLICATION scope.
+   */
+  public HeuristicSearchCache<T> heuristicSearchCache() {
+    return heuristicSearchCache;
+  }
+
   public boolean isMultiThreaded() {
     return threadPool() != null;
   }
@@ -162,6 +218,36 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
 
   /* private factory methods */
 
+  /**
+   * Return {@code true} if the {@link Optimization#PARALLEL_ITERATIONS} is enabled and the request
+   * has a search-window which is long enough to be split into more than one chunk. The
+   * search-window must be a multiple of the iteration step, if not, the iteration departure times
+   * would change.
+   */
+  private boolean runSearchWindowInParallel(RaptorRequest<T> request) {
+    var searchParams = request.searchParams();
+    int iterationStep = tuningParameters.iterationDepartureStepInSeconds();
+    return (
+      isMultiThreaded() &&
+      request.optimizationEnabled(Optimization.PARALLEL_ITERATIONS) &&
+      request.searchDirection().isForward() &&
+      !searchParams.hasViaLocations() &&
+      searchParams.isEarliestDepartureTimeSet() &&
+      searchParams.isSearchWindowSet() &&
+      searchParams.searchWindowInSeconds() % iterationStep == 0 &&
+      searchParams.searchWindowInSeconds() > searchWindowChunkSizeInSeconds()
+    );
+  }
+
+  /**
+   * The chunk size rounded down to a multiple of the iteration step, at least one step.
+   */
+  private int searchWindowChunkSizeInSeconds() {
+    int iterationStep = tuningParameters.iterationDepartureStepInSeconds();
+    int chunkSize = tuningParameters.searchWindowChunkSizeInSeconds();
+    return Math.max(iterationStep, chunkSize - chunkSize % iterationStep);
+  }
+
   private static PassThroughPointsService createPassThroughPointsService(RaptorRequest<?> request) {
     return McRangeRaptorConfig.passThroughPointsService(request.multiCriteria());
   }
@@ -0,0 +1,82 @@
+package org.opentripplanner.raptor.rangeraptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouter;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
+
+/**
+ * Run one Raptor router for each chunk of the search-window in parallel and merge the paths into
+ * one pareto optimal set. The first router is run in the caller thread, the rest is submitted to
+ * the {@link ExecutorService}.
+ * @see CompositeResult for joining results.
+ */
+public class ConcurrentSearchWindowRaptorRouter<T extends RaptorTripSchedule>
+  implements RaptorRouter<T> {
+
+  private final List<RaptorRouter<T>> routers;
+  private final ParetoComparator<RaptorPath<T>> pathComparator;
+  private final ExecutorService executorService;
+  private final Function<InterruptedException, RuntimeException> mapInterruptedException;
+
+  public ConcurrentSearchWindowRaptorRouter(
+    List<RaptorRouter<T>> routers,
+    ParetoComparator<RaptorPath<T>> pathComparator,
+    ExecutorService executorService,
+    Function<InterruptedException, RuntimeException> mapInterruptedException
+  ) {
+    if (routers.isEmpty()) {
+      throw new IllegalArgumentException("At least one router is required.");
+    }
+    this.routers = List.copyOf(routers);
+    this.pathComparator = pathComparator;
+    this.executorService = executorService;
+    this.mapInterruptedException = mapInterruptedException;
+  }
+
+  @Override
+  public RaptorRouterResult<T> route() {
+    var futures = new ArrayList<Future<RaptorRouterResult<T>>>();
+    for (var router : routers.subList(1, routers.size())) {
+      futures.add(executorService.submit(router::route));
+    }
+
+    try {
+      var result = routers.getFirst().route();
+      for (var future : futures) {
+        result = new CompositeResult<>(result, future.get(), this::merge);
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // propagate interruption to the running tasks.
+      futures.forEach(it -> it.cancel(true));
+      throw mapInterruptedException.apply(e);
+    } catch (ExecutionException e) {
+      futures.forEach(it -> it.cancel(true));
+      throw (e.getCause() instanceof RuntimeException re) ? re : new RuntimeException(e);
+    } catch (RuntimeException e) {
+      futures.forEach(it -> it.cancel(true));
+      throw e;
+    }
+  }
+
+  private Collection<RaptorPath<T>> merge(
+    Collection<RaptorPath<T>> left,
+    Collection<RaptorPath<T>> right
+  ) {
+    var paths = new ParetoSet<>(pathComparator);
+    paths.addAll(left);
+    paths.addAll(right);
+    return List.copyOf(paths);
+  }
+}
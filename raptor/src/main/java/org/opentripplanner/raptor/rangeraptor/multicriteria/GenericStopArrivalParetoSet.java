@@ -0,0 +1,30 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.view.ArrivalView;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetEventListener;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetWithMarker;
+
+/**
+ * A pareto optimal set of stop arrivals for a given stop using a {@link ParetoComparator}. This
+ * is used when one of the criteria is relaxed, otherwise the {@link PrimitiveStopArrivalParetoSet}
+ * is used.
+ *
+ * @param <T> The TripSchedule type defined by the user of the raptor API.
+ */
+class GenericStopArrivalParetoSet<T extends RaptorTripSchedule>
+  extends ParetoSetWithMarker<McStopArrival<T>>
+  implements StopArrivalParetoSet<T> {
+
+  /**
+   * Use the {@link StopArrivalParetoSet} builder to create a new instance.
+   */
+  GenericStopArrivalParetoSet(
+    ParetoComparator<McStopArrival<T>> comparator,
+    ParetoSetEventListener<ArrivalView<T>> listener
+  ) {
+    super(comparator, listener);
+  }
+}
@@ -135,6 +135,12 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     }
 
     final int c1 = calculateC1(ride, alightStop, alightTime, alightSlack);
+    final var prev = ride.prevArrival();
+    final int paretoRound = prev.paretoRound() + McStopArrival.transitParetoRoundIncrement(prev);
+
+    if (arrivals.isDominated(alightStop, stopArrivalTime, paretoRound, c1, ride.c2(), true)) {
+      return;
+    }
 
     var transitState = stopArrivalFactory.createTransitStopArrival(
       ride,
@@ -171,13 +177,27 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     RaptorTransfer transfer
   ) {
     final int transferTimeInSeconds = transfer.durationInSeconds();
+    final int toStop = transfer.stop();
 
     for (McStopArrival<T> it : fromArrivals) {
       int arrivalTime = it.arrivalTime() + transferTimeInSeconds;
 
-      if (!exceedsTimeLimit(arrivalTime)) {
-        arrivalsCache.add(stopArrivalFactory.createTransferStopArrival(it, transfer, arrivalTime));
+      if (exceedsTimeLimit(arrivalTime)) {
+        continue;
+      }
+      if (
+        arrivals.isDominated(
+          toStop,
+          arrivalTime,
+          it.paretoRound() + 1,
+          it.c1() + transfer.c1(),
+          it.c2(),
+          false
+        )
+      ) {
+        continue;
       }
+      arrivalsCache.add(stopArrivalFactory.createTransferStopArrival(it, transfer, arrivalTime));
     }
   }
 
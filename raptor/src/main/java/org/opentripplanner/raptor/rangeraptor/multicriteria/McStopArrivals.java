@@ -18,7 +18,6 @@ import org.opentripplanner.raptor.rangeraptor.transit.EgressPaths;
 import org.opentripplanner.raptor.rangeraptor.transit.ViaConnections;
 import org.opentripplanner.raptor.spi.IntIterator;
 import org.opentripplanner.raptor.util.BitSetIterator;
-import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
 
 /**
  * This class serve as a wrapper for all stop arrival pareto set, one set for each stop. It also
@@ -34,7 +33,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
 
   private final DebugHandlerFactory<T> debugHandlerFactory;
   private final DebugStopArrivalsStatistics debugStats;
-  private final ParetoComparator<McStopArrival<T>> comparator;
+  private final ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory;
 
   /**
    * Set the time at a transit index if it is optimal. This sets both the best time and the
@@ -65,7 +64,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     //noinspection unchecked
     this.arrivals = (StopArrivalParetoSet<T>[]) new StopArrivalParetoSet[nStops];
     this.touchedStops = new BitSet(nStops);
-    this.comparator = comparatorFactory.compareArrivalTimeRoundCostAndOnBoardArrival();
+    this.comparatorFactory = comparatorFactory;
     this.debugHandlerFactory = debugHandlerFactory;
     this.debugStats = new DebugStopArrivalsStatistics(debugHandlerFactory.debugLogger());
 
@@ -115,6 +114,27 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     }
   }
 
+  /**
+   * Return {@code true} if a new arrival at the given stop with the given criteria is dominated
+   * by an existing arrival, and would be rejected if added. The caller can use this to skip
+   * creating the arrival. This is only supported if the criteria are NOT relaxed, for other sets
+   * and if debugging is enabled for the stop, {@code false} is returned.
+   */
+  boolean isDominated(
+    int stop,
+    int arrivalTime,
+    int paretoRound,
+    int c1,
+    int c2,
+    boolean arrivedOnBoard
+  ) {
+    return (
+      arrivals[stop] instanceof PrimitiveStopArrivalParetoSet<T> set &&
+      !debugHandlerFactory.isDebugStopArrival(stop) &&
+      set.isDominated(arrivalTime, paretoRound, c1, c2, arrivedOnBoard)
+    );
+  }
+
   void debugStateInfo() {
     debugStats.debugStatInfo(arrivals);
   }
@@ -145,7 +165,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     if (arrivals[stop] == null) {
       arrivals[stop] =
         StopArrivalParetoSet
-          .of(comparator)
+          .of(comparatorFactory)
           .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
           .build();
     }
@@ -165,7 +185,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
       .forEachEntry((stop, connections) -> {
         this.arrivals[stop] =
           StopArrivalParetoSet
-            .of(comparator)
+            .of(comparatorFactory)
             .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
             .withNextLegListener(
               new ViaConnectionStopArrivalEventListener<>(stopArrivalFactory, connections, nextLeg)
@@ -193,7 +213,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
         // The factory is creating the actual "glue"
         this.arrivals[stop] =
           StopArrivalParetoSet
-            .of(comparator)
+            .of(comparatorFactory)
             .withDebugListener(debugHandlerFactory.paretoSetStopArrivalListener(stop))
             .withEgressListener(list, paths)
             .build();
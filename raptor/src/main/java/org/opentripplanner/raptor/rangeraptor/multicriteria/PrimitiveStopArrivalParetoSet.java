@@ -0,0 +1,376 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import javax.annotation.Nullable;
+import org.opentripplanner.raptor.api.model.DominanceFunction;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.view.ArrivalView;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetEventListener;
+
+/**
+ * A pareto optimal set of stop arrivals specialized for the {@link McStopArrival} criteria:
+ * {@code arrivalTime}, {@code paretoRound}, {@code c1}, {@code arrivedOnBoard} and
+ * optionally {@code c2}. The result is the same as using a {@link ParetoSet} with the
+ * {@code compareArrivalTimeRoundCostAndOnBoardArrival()} comparator, when c1 is not relaxed.
+ * <p>
+ * The criteria are copied into primitive arrays (struct-of-arrays), parallel to the element
+ * array, when an arrival is added. The dominance checks read the criteria from these arrays
+ * instead of calling a comparator and the accessor methods on each arrival in the set. The arrays
+ * grow the same way as the element array and are reused if the set is cleared.
+ * <p>
+ * The algorithm is the same as in {@link ParetoSet}, see that class for the details.
+ *
+ * @param <T> The TripSchedule type defined by the user of the raptor API.
+ */
+final class PrimitiveStopArrivalParetoSet<T extends RaptorTripSchedule>
+  extends AbstractCollection<McStopArrival<T>>
+  implements StopArrivalParetoSet<T> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  @Nullable
+  private final DominanceFunction c2DominanceFunction;
+
+  @Nullable
+  private final ParetoSetEventListener<ArrivalView<T>> eventListener;
+
+  @SuppressWarnings("unchecked")
+  private McStopArrival<T>[] elements = new McStopArrival[INITIAL_CAPACITY];
+
+  private int[] arrivalTimes = new int[INITIAL_CAPACITY];
+  private int[] paretoRounds = new int[INITIAL_CAPACITY];
+  private int[] c1s = new int[INITIAL_CAPACITY];
+  private int[] c2s = new int[INITIAL_CAPACITY];
+  private boolean[] arrivedOnBoard = new boolean[INITIAL_CAPACITY];
+
+  private int size = 0;
+  private int marker = 0;
+
+  private McStopArrival<T> goodElement = null;
+
+  /**
+   * Use the {@link StopArrivalParetoSet} builder to create a new instance.
+   *
+   * @param c2DominanceFunction The function used to compare c2, {@code null} if c2 is not used.
+   */
+  PrimitiveStopArrivalParetoSet(
+    @Nullable DominanceFunction c2DominanceFunction,
+    @Nullable ParetoSetEventListener<ArrivalView<T>> eventListener
+  ) {
+    this.c2DominanceFunction = c2DominanceFunction;
+    this.eventListener = eventListener;
+  }
+
+  @Override
+  public Iterator<McStopArrival<T>> iterator() {
+    return tailIterator(0);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean add(McStopArrival<T> newValue) {
+    if (size == 0) {
+      acceptAndAppendValue(newValue);
+      return true;
+    }
+
+    final int time = newValue.arrivalTime();
+    final int round = newValue.paretoRound();
+    final int c1 = newValue.c1();
+    final int c2 = newValue.c2();
+    final boolean onBoard = newValue.arrivedOnBoard();
+
+    // Quick shortcut, one element probably dominate most of the new elements
+    if (goodElement != null && goodElementDominates(time, round, c1, c2, onBoard)) {
+      notifyElementRejected(newValue, goodElement);
+      return false;
+    }
+
+    boolean mutualDominanceExist = false;
+    boolean equivalentVectorExist = false;
+
+    for (int i = 0; i < size; ++i) {
+      boolean leftDominance = leftDominanceExist(time, round, c1, c2, onBoard, i);
+      boolean rightDominance = rightDominanceExist(time, round, c1, c2, onBoard, i);
+
+      if (leftDominance && rightDominance) {
+        mutualDominanceExist = true;
+      } else if (leftDominance) {
+        removeDominatedElementsFromRestOfSetAndAddNewElement(newValue, i);
+        return true;
+      } else if (rightDominance) {
+        goodElement = elements[i];
+        notifyElementRejected(newValue, elements[i]);
+        return false;
+      } else {
+        equivalentVectorExist = true;
+      }
+    }
+
+    if (mutualDominanceExist && !equivalentVectorExist) {
+      acceptAndAppendValue(newValue);
+      return true;
+    }
+
+    // No dominance found, newValue is equivalent with all values in the set
+    notifyElementRejected(newValue, elements[0]);
+    return false;
+  }
+
+  /**
+   * Return {@code true} if an arrival with the given criteria is dominated by an arrival in the
+   * set. A dominated arrival is always rejected by {@link #add(McStopArrival)}, also if other
+   * arrivals are added first, since the arrival dominating it can only be dropped by an arrival
+   * which also dominates it. This allow the caller to skip creating the arrival, the set is NOT
+   * changed.
+   */
+  boolean isDominated(int time, int round, int c1, int c2, boolean onBoard) {
+    if (size == 0) {
+      return false;
+    }
+    if (goodElement != null && goodElementDominates(time, round, c1, c2, onBoard)) {
+      return true;
+    }
+    for (int i = 0; i < size; ++i) {
+      if (
+        rightDominanceExist(time, round, c1, c2, onBoard, i) &&
+        !leftDominanceExist(time, round, c1, c2, onBoard, i)
+      ) {
+        goodElement = elements[i];
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    size = 0;
+    marker = 0;
+    goodElement = null;
+  }
+
+  @Override
+  public boolean hasElementsAfterMarker() {
+    return marker != size;
+  }
+
+  @Override
+  public Iterable<McStopArrival<T>> elementsAfterMarker() {
+    final int startIndexInclusive = marker;
+    return () -> tailIterator(startIndexInclusive);
+  }
+
+  @Override
+  public void markAtEndOfSet() {
+    marker = size;
+  }
+
+  @Override
+  public int internalArrayLength() {
+    return elements.length;
+  }
+
+  /* private methods */
+
+  /**
+   * Return {@code true} if the new value is better than the element at the given index for at
+   * least one criteria.
+   */
+  private boolean leftDominanceExist(
+    int time,
+    int round,
+    int c1,
+    int c2,
+    boolean onBoard,
+    int index
+  ) {
+    // This is important with respect to performance. Using the short-circuit logical OR(||) is
+    // faster than bitwise inclusive OR(|) (even between boolean expressions)
+    return (
+      time < arrivalTimes[index] ||
+      round < paretoRounds[index] ||
+      c1 < c1s[index] ||
+      (onBoard && !arrivedOnBoard[index]) ||
+      (c2DominanceFunction != null && c2DominanceFunction.leftDominateRight(c2, c2s[index]))
+    );
+  }
+
+  /**
+   * Return {@code true} if the element at the given index is better than the new value for at
+   * least one criteria.
+   */
+  private boolean rightDominanceExist(
+    int time,
+    int round,
+    int c1,
+    int c2,
+    boolean onBoard,
+    int index
+  ) {
+    return (
+      arrivalTimes[index] < time ||
+      paretoRounds[index] < round ||
+      c1s[index] < c1 ||
+      (arrivedOnBoard[index] && !onBoard) ||
+      (c2DominanceFunction != null && c2DominanceFunction.leftDominateRight(c2s[index], c2))
+    );
+  }
+
+  /**
+   * The good element is the last element rejecting a new value, it is not necessarily in the set
+   * anymore. This is not used in the inner loop, so the accessor methods are used here.
+   */
+  private boolean goodElementDominates(int time, int round, int c1, int c2, boolean onBoard) {
+    var it = goodElement;
+    boolean leftDominance =
+      it.arrivalTime() < time ||
+      it.paretoRound() < round ||
+      it.c1() < c1 ||
+      (it.arrivedOnBoard() && !onBoard) ||
+      (c2DominanceFunction != null && c2DominanceFunction.leftDominateRight(it.c2(), c2));
+    boolean rightDominance =
+      time < it.arrivalTime() ||
+      round < it.paretoRound() ||
+      c1 < it.c1() ||
+      (onBoard && !it.arrivedOnBoard()) ||
+      (c2DominanceFunction != null && c2DominanceFunction.leftDominateRight(c2, it.c2()));
+    return leftDominance && !rightDominance;
+  }
+
+  /**
+   * Remove all elements dominated by the {@code newValue} starting from {@code index + 1}. The
+   * element at {@code index} is dropped.
+   */
+  private void removeDominatedElementsFromRestOfSetAndAddNewElement(
+    final McStopArrival<T> newValue,
+    final int index
+  ) {
+    final int time = newValue.arrivalTime();
+    final int round = newValue.paretoRound();
+    final int c1 = newValue.c1();
+    final int c2 = newValue.c2();
+    final boolean onBoard = newValue.arrivedOnBoard();
+
+    // Let 'i' be the current element index for removal
+    int i = index;
+    // Let 'j' be the next element to compare
+    int j = index + 1;
+
+    notifyElementDropped(elements[i], newValue);
+
+    while (j < size) {
+      notifyElementMoved(j, i);
+      // Move next element(j) forward if it is not dominated by the new value
+      if (
+        !leftDominanceExist(time, round, c1, c2, onBoard, j) ||
+        rightDominanceExist(time, round, c1, c2, onBoard, j)
+      ) {
+        moveElement(j, i);
+        ++i;
+      } else {
+        notifyElementDropped(elements[j], newValue);
+      }
+      // Goto the next element
+      ++j;
+    }
+    notifyElementMoved(j, i);
+    notifyElementAccepted(newValue);
+    setElement(i, newValue);
+    size = i + 1;
+  }
+
+  private void acceptAndAppendValue(McStopArrival<T> newValue) {
+    notifyElementAccepted(newValue);
+    assertEnoughSpaceInSet();
+    setElement(size++, newValue);
+  }
+
+  private void setElement(int index, McStopArrival<T> value) {
+    elements[index] = value;
+    arrivalTimes[index] = value.arrivalTime();
+    paretoRounds[index] = value.paretoRound();
+    c1s[index] = value.c1();
+    c2s[index] = value.c2();
+    arrivedOnBoard[index] = value.arrivedOnBoard();
+  }
+
+  private void moveElement(int fromIndex, int toIndex) {
+    elements[toIndex] = elements[fromIndex];
+    arrivalTimes[toIndex] = arrivalTimes[fromIndex];
+    paretoRounds[toIndex] = paretoRounds[fromIndex];
+    c1s[toIndex] = c1s[fromIndex];
+    c2s[toIndex] = c2s[fromIndex];
+    arrivedOnBoard[toIndex] = arrivedOnBoard[fromIndex];
+  }
+
+  private void assertEnoughSpaceInSet() {
+    if (size == elements.length) {
+      int newLength = elements.length * 2;
+      elements = Arrays.copyOf(elements, newLength);
+      arrivalTimes = Arrays.copyOf(arrivalTimes, newLength);
+      paretoRounds = Arrays.copyOf(paretoRounds, newLength);
+      c1s = Arrays.copyOf(c1s, newLength);
+      c2s = Arrays.copyOf(c2s, newLength);
+      arrivedOnBoard = Arrays.copyOf(arrivedOnBoard, newLength);
+    }
+  }
+
+  private void notifyElementMoved(int fromIndex, int toIndex) {
+    if (fromIndex == marker) {
+      marker = toIndex;
+    }
+  }
+
+  /**
+   * This tail iterator is made to be FAST, it is NOT thread-safe and it the underlying collection
+   * is changed the returned values of the iterator also changes. Do not update on this collection
+   * while using this iterator.
+   */
+  private Iterator<McStopArrival<T>> tailIterator(final int startInclusive) {
+    return new Iterator<>() {
+      int i = startInclusive;
+
+      @Override
+      public boolean hasNext() {
+        return i < size;
+      }
+
+      @Override
+      public McStopArrival<T> next() {
+        return elements[i++];
+      }
+    };
+  }
+
+  private void notifyElementAccepted(McStopArrival<T> newElement) {
+    if (eventListener != null) {
+      eventListener.notifyElementAccepted(newElement);
+    }
+  }
+
+  private void notifyElementDropped(McStopArrival<T> element, McStopArrival<T> droppedByElement) {
+    if (eventListener != null) {
+      eventListener.notifyElementDropped(element, droppedByElement);
+    }
+  }
+
+  private void notifyElementRejected(McStopArrival<T> element, McStopArrival<T> rejectByElement) {
+    if (eventListener != null) {
+      eventListener.notifyElementRejected(element, rejectByElement);
+    }
+  }
+}
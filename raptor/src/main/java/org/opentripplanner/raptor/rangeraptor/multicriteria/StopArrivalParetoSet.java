@@ -1,49 +1,84 @@
 package org.opentripplanner.raptor.rangeraptor.multicriteria;
 
+import java.util.Collection;
 import java.util.List;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.view.ArrivalView;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
 import org.opentripplanner.raptor.rangeraptor.path.DestinationArrivalPaths;
 import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
 import org.opentripplanner.raptor.util.paretoset.ParetoSetEventListener;
 import org.opentripplanner.raptor.util.paretoset.ParetoSetEventListenerComposite;
-import org.opentripplanner.raptor.util.paretoset.ParetoSetWithMarker;
 
 /**
- * A pareto optimal set of stop arrivals for a given stop.
+ * A pareto optimal set of stop arrivals for a given stop. The set keeps a marker, which can be
+ * used to list all elements added after the marker is set.
+ * <p>
+ * There are two implementations, the {@link GenericStopArrivalParetoSet} using a
+ * {@link ParetoComparator} and the {@link PrimitiveStopArrivalParetoSet} which compare the
+ * criteria directly. Use the builder to create a new instance, it will pick the best
+ * implementation for the given comparator.
  *
  * @param <T> The TripSchedule type defined by the user of the raptor API.
  */
-class StopArrivalParetoSet<T extends RaptorTripSchedule>
-  extends ParetoSetWithMarker<McStopArrival<T>> {
-
+interface StopArrivalParetoSet<T extends RaptorTripSchedule> extends Collection<McStopArrival<T>> {
   /**
-   * Use the factory methods in this class to create a new instance.
+   * Create a set using the given comparator.
    */
-  private StopArrivalParetoSet(
-    ParetoComparator<McStopArrival<T>> comparator,
-    ParetoSetEventListener<ArrivalView<T>> listener
+  static <T extends RaptorTripSchedule> Builder<T> of(
+    ParetoComparator<McStopArrival<T>> comparator
   ) {
-    super(comparator, listener);
+    return new Builder<>(comparator, null);
   }
 
-  public static <T extends RaptorTripSchedule> Builder<T> of(
-    ParetoComparator<McStopArrival<T>> comparator
+  /**
+   * Create a set comparing arrival-time, round, c1, on-board-arrival and c2, see
+   * {@link ArrivalParetoSetComparatorFactory#compareArrivalTimeRoundCostAndOnBoardArrival()}.
+   * The {@link PrimitiveStopArrivalParetoSet} is used if the criteria are NOT relaxed.
+   */
+  static <T extends RaptorTripSchedule> Builder<T> of(
+    ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory
   ) {
-    return new Builder<>(comparator);
+    return new Builder<>(
+      comparatorFactory.compareArrivalTimeRoundCostAndOnBoardArrival(),
+      comparatorFactory
+    );
   }
 
-  static class Builder<T extends RaptorTripSchedule> {
+  boolean hasElementsAfterMarker();
+
+  /**
+   * List all elements added after the marker.
+   */
+  Iterable<McStopArrival<T>> elementsAfterMarker();
+
+  /**
+   * Move the marker after the last element in the set.
+   */
+  void markAtEndOfSet();
+
+  /**
+   * This is used for logging and tuning purposes - by looking at the statistics we can decide a
+   * good value for the initial size.
+   */
+  int internalArrayLength();
+
+  class Builder<T extends RaptorTripSchedule> {
 
     private ParetoSetEventListener<ArrivalView<T>> debugListener = null;
     private ParetoSetEventListener<ArrivalView<T>> egressListener = null;
     private ParetoSetEventListener<ArrivalView<T>> nextSearchListener = null;
     private final ParetoComparator<McStopArrival<T>> comparator;
+    private final ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory;
 
-    Builder(ParetoComparator<McStopArrival<T>> comparator) {
+    private Builder(
+      ParetoComparator<McStopArrival<T>> comparator,
+      ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory
+    ) {
       this.comparator = comparator;
+      this.comparatorFactory = comparatorFactory;
     }
 
     /**
@@ -77,10 +112,18 @@ class StopArrivalParetoSet<T extends RaptorTripSchedule>
     StopArrivalParetoSet<T> build() {
       // The order of the listeners is important, we want the debug event for reaching a
       // stop to appear before the path is logged (in case both debuggers are enabled).
-      return new StopArrivalParetoSet<>(
-        comparator,
-        ParetoSetEventListenerComposite.of(debugListener, nextSearchListener, egressListener)
+      var listener = ParetoSetEventListenerComposite.of(
+        debugListener,
+        nextSearchListener,
+        egressListener
       );
+      if (comparatorFactory != null && !comparatorFactory.isRelaxed()) {
+        return new PrimitiveStopArrivalParetoSet<>(
+          comparatorFactory.c2DominanceFunction(),
+          listener
+        );
+      }
+      return new GenericStopArrivalParetoSet<>(comparator, listener);
     }
   }
 }
@@ -22,6 +22,19 @@ public interface ArrivalParetoSetComparatorFactory<T extends McStopArrival<?>> {
    */
   ParetoComparator<T> compareArrivalTimeRoundCostAndOnBoardArrival();
 
+  /**
+   * Return {@code true} if c1 is relaxed. If not, the comparators compare each criteria directly
+   * and the stop arrivals can be stored in a set specialized for the {@link McStopArrival}
+   * criteria.
+   */
+  boolean isRelaxed();
+
+  /**
+   * The function used to compare c2, {@code null} if c2 is not used.
+   */
+  @Nullable
+  DominanceFunction c2DominanceFunction();
+
   static <T extends McStopArrival<?>> ArrivalParetoSetComparatorFactory<T> factory(
     final RelaxFunction relaxC1,
     @Nullable final DominanceFunction c2DominanceFunction
@@ -51,6 +64,16 @@ public interface ArrivalParetoSetComparatorFactory<T extends McStopArrival<?>> {
         return (l, r) ->
           McStopArrival.compareBase(l, r) || McStopArrival.compareArrivedOnBoard(l, r);
       }
+
+      @Override
+      public boolean isRelaxed() {
+        return false;
+      }
+
+      @Override
+      public DominanceFunction c2DominanceFunction() {
+        return null;
+      }
     };
   }
 
@@ -75,6 +98,16 @@ public interface ArrivalParetoSetComparatorFactory<T extends McStopArrival<?>> {
             c2DominanceFunction.leftDominateRight(l.c2(), r.c2())
         );
       }
+
+      @Override
+      public boolean isRelaxed() {
+        return false;
+      }
+
+      @Override
+      public DominanceFunction c2DominanceFunction() {
+        return c2DominanceFunction;
+      }
     };
   }
 
@@ -92,6 +125,16 @@ public interface ArrivalParetoSetComparatorFactory<T extends McStopArrival<?>> {
         return (l, r) ->
           McStopArrival.relaxedCompareBase(rc1, l, r) || McStopArrival.compareArrivedOnBoard(l, r);
       }
+
+      @Override
+      public boolean isRelaxed() {
+        return true;
+      }
+
+      @Override
+      public DominanceFunction c2DominanceFunction() {
+        return null;
+      }
     };
   }
 
@@ -121,6 +164,16 @@ public interface ArrivalParetoSetComparatorFactory<T extends McStopArrival<?>> {
           ) ||
           McStopArrival.compareArrivedOnBoard(l, r);
       }
+
+      @Override
+      public boolean isRelaxed() {
+        return true;
+      }
+
+      @Override
+      public DominanceFunction c2DominanceFunction() {
+        return c2DominanceFunction;
+      }
     };
   }
 }
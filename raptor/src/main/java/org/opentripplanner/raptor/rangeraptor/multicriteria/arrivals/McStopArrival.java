@@ -1,5 +1,7 @@
 package org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals;
 
+import static org.opentripplanner.raptor.api.model.PathLegType.TRANSIT;
+
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.model.RelaxFunction;
 import org.opentripplanner.raptor.api.view.ArrivalView;
@@ -81,7 +83,7 @@ public abstract class McStopArrival<T extends RaptorTripSchedule> implements Arr
     return (paretoRound + 1) / 2;
   }
 
-  protected final int paretoRound() {
+  public final int paretoRound() {
     return paretoRound;
   }
 
@@ -135,6 +137,14 @@ public abstract class McStopArrival<T extends RaptorTripSchedule> implements Arr
     return previous.stop;
   }
 
+  /**
+   * The {@code paretoRound} increment for a transit arrival. A transit following another transit
+   * is incremented with 2, since the transfer in between is skipped.
+   */
+  public static int transitParetoRoundIncrement(McStopArrival<?> previous) {
+    return previous.arrivedBy(TRANSIT) ? 2 : 1;
+  }
+
   /**
    * Compare arrivalTime, paretoRound and c1.
    */
@@ -27,7 +27,7 @@ final class TransitStopArrival<T extends RaptorTripSchedule>
   ) {
     super(
       previousState,
-      previousState.arrivedBy(TRANSIT) ? 2 : 1,
+      transitParetoRoundIncrement(previousState),
       stopIndex,
       arrivalTime,
       totalCost
@@ -25,7 +25,7 @@ final class TransitStopArrivalC2<T extends RaptorTripSchedule>
     int c2,
     T trip
   ) {
-    super(previous, previous.arrivedBy(TRANSIT) ? 2 : 1, stopIndex, arrivalTime, c1, c2);
+    super(previous, transitParetoRoundIncrement(previous), stopIndex, arrivalTime, c1, c2);
     this.trip = trip;
   }
 
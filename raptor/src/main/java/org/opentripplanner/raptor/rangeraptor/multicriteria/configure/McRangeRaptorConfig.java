@@ -4,6 +4,7 @@ import java.util.Objects;
 import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.DominanceFunction;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.path.RaptorPath;
 import org.opentripplanner.raptor.api.request.MultiCriteriaRequest;
 import org.opentripplanner.raptor.api.request.RaptorTransitGroupPriorityCalculator;
 import org.opentripplanner.raptor.rangeraptor.context.SearchContext;
@@ -120,6 +121,15 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
     return arrivals;
   }
 
+  /**
+   * The comparator used to create the pareto set of paths at the destination. Use this to merge
+   * paths from more than one search.
+   */
+  public ParetoComparator<RaptorPath<T>> pathParetoComparator() {
+    var c2Comp = includeC2() ? dominanceFunctionC2() : null;
+    return pathConfig.createPathParetoComparator(resolveCostConfig(), c2Comp);
+  }
+
   /* private factory methods */
 
   private RoutingStrategy<T> createTransitWorkerStrategy(McRangeRaptorWorkerState<T> state) {
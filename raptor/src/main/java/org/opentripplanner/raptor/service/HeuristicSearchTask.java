@@ -34,7 +34,6 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
   private final RaptorTransitDataProvider<T> transitData;
 
   private boolean run = false;
-  private RaptorRouter<T> search = null;
   private RaptorRequest<T> originalRequest;
   private RaptorRequest<T> heuristicRequest;
   private RaptorRouterResult<T> result = null;
@@ -111,10 +110,13 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
 
     long start = System.currentTimeMillis();
 
-    createHeuristicSearchIfNotExist(originalRequest);
+    createHeuristicRequestIfNotExist(originalRequest);
 
     LOG.debug("Heuristic search: {}", heuristicRequest);
-    this.result = search.route();
+    this.result =
+      config
+        .heuristicSearchCache()
+        .routeIfNotCached(transitData, heuristicRequest, () -> createHeuristicSearch().route());
     LOG.debug("Heuristic result: {}", result);
 
     if (!result.isDestinationReached()) {
@@ -126,8 +128,8 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
     }
   }
 
-  private void createHeuristicSearchIfNotExist(RaptorRequest<T> request) {
-    if (search == null) {
+  private void createHeuristicRequestIfNotExist(RaptorRequest<T> request) {
+    if (heuristicRequest == null) {
       var profile = MIN_TRAVEL_DURATION;
 
       var builder = request
@@ -145,7 +147,10 @@ public class HeuristicSearchTask<T extends RaptorTripSchedule> {
       );
 
       heuristicRequest = builder.build();
-      search = config.createRangeRaptorWithHeuristicSearch(transitData, heuristicRequest);
     }
   }
+
+  private RaptorRouter<T> createHeuristicSearch() {
+    return config.createRangeRaptorWithHeuristicSearch(transitData, heuristicRequest);
+  }
 }
@@ -2,12 +2,14 @@ package org.opentripplanner.raptor.spi;
 
 import java.util.Iterator;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorStopNameResolver;
 import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.api.model.RaptorTransferConstraint;
 import org.opentripplanner.raptor.api.model.RaptorTripPattern;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 
 /**
  * This interface defines the data needed by Raptor. It is the main/top-level interface and together
@@ -149,4 +151,17 @@ public interface RaptorTransitDataProvider<T extends RaptorTripSchedule> {
    * REVERSE search.
    */
   RaptorConstrainedBoardingSearch<T> transferConstraintsReverseSearch(int routeIndex);
+
+  /**
+   * Return a key identifying the transit data used by the heuristic searches. Two providers
+   * returning equal keys must provide the same stops, patterns, trips, transfers and slack, the
+   * cost is not used by the heuristic searches. The key is used to share the heuristic search
+   * results between requests, see {@link RaptorTuningParameters#heuristicCacheSize()}.
+   * <p>
+   * Return {@code null} to disable caching, this is the default.
+   */
+  @Nullable
+  default Object heuristicCacheKey() {
+    return null;
+  }
 }
@@ -5,6 +5,7 @@ import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
 import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -48,7 +49,7 @@ public class TestTransitData
   private int transferCostSec = 0;
   private double waitReluctance = 1.0;
 
-  private final int[] stopBoardAlightTransferCosts = new int[NUM_STOPS];
+  private int[] stopBoardAlightTransferCosts = new int[NUM_STOPS];
 
   private RaptorSlackProvider slackProvider = SLACK_PROVIDER;
 
@@ -333,6 +334,9 @@ public class TestTransitData
       transfersToStop.add(new ArrayList<>());
       routeIndexesByStopIndex.add(new HashSet<>());
     }
+    if (stopIndex >= stopBoardAlightTransferCosts.length) {
+      stopBoardAlightTransferCosts = Arrays.copyOf(stopBoardAlightTransferCosts, stopIndex + 1);
+    }
   }
 
   private List<Integer> stopsVisited() {
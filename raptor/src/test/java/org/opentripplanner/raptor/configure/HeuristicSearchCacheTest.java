@@ -0,0 +1,269 @@
+package org.opentripplanner.raptor.configure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.D10m;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.D1m;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.D30s;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.STOP_A;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.STOP_B;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.STOP_C;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.STOP_D;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.T00_00;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.T00_10;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.T01_00;
+import static org.opentripplanner.raptor._data.transit.TestAccessEgress.walk;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorRouterResult;
+import org.opentripplanner.raptor.rangeraptor.internalapi.SingleCriteriaStopArrivals;
+import org.opentripplanner.raptor.rangeraptor.support.IntArraySingleCriteriaArrivals;
+
+class HeuristicSearchCacheTest {
+
+  private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+  private static final int UNREACHED = -1;
+  private static final RaptorAccessEgress ACCESS_A = walk(STOP_A, D30s);
+  private static final RaptorAccessEgress ACCESS_B = walk(STOP_B, D30s);
+  private static final RaptorAccessEgress ACCESS_D = walk(STOP_D, D30s);
+  private static final RaptorAccessEgress EGRESS_B = walk(STOP_B, D30s);
+  private static final RaptorAccessEgress EGRESS_C = walk(STOP_C, D30s);
+
+  private long time = 0;
+  private int nSearches = 0;
+  private final HeuristicSearchCache<TestTripSchedule> subject = new HeuristicSearchCache<>(
+    2,
+    TIME_TO_LIVE,
+    () -> time
+  );
+
+  @Test
+  void cacheResultForSameTransitDataKeyAndRequest() {
+    var result = subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    var other = subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    assertEquals(1, nSearches);
+
+    // Only the stop arrivals is cached
+    for (var it : List.of(result, other)) {
+      assertEquals(7, it.extractBestOverallArrivals().value(STOP_A));
+      assertEquals(UNREACHED, it.extractBestTransitArrivals().value(STOP_A));
+      assertEquals(2, it.extractBestNumberOfTransfers().value(STOP_A));
+      assertTrue(it.isDestinationReached());
+      assertThrows(UnsupportedOperationException.class, it::extractPaths);
+    }
+  }
+
+  @Test
+  void cacheResultForSameTransitDataKeyAndNewEqualRequest() {
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(transitData("K"), request(walk(STOP_C, D30s)), this::search);
+    assertEquals(1, nSearches);
+  }
+
+  @Test
+  void doNotShareResultForDifferentTransitDataOrEgress() {
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(transitData("K2"), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_B), this::search);
+    subject.routeIfNotCached(transitData("K"), request(walk(STOP_C, D1m)), this::search);
+    assertEquals(4, nSearches);
+  }
+
+  @Test
+  void doNotShareResultForDifferentTimeLimit() {
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(
+      transitData("K"),
+      request(ACCESS_A, EGRESS_C, T00_10, T01_00),
+      this::search
+    );
+    assertEquals(2, nSearches);
+  }
+
+  @Test
+  void shareResultForDifferentAccess() {
+    subject.routeIfNotCached(transitData("K"), request(ACCESS_A, EGRESS_C), this::search);
+    var result = subject.routeIfNotCached(
+      transitData("K"),
+      request(ACCESS_B, EGRESS_C),
+      this::search
+    );
+    assertEquals(1, nSearches);
+    assertTrue(result.isDestinationReached());
+  }
+
+  @Test
+  void doNotShareResultForOtherDepartureTime() {
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(
+      transitData("K"),
+      request(ACCESS_A, EGRESS_C, T00_00 + D10m, T01_00 + D10m),
+      this::search
+    );
+    assertEquals(2, nSearches);
+  }
+
+  @Test
+  void destinationReachedIsComputedForEachRequest() {
+    var result = subject.routeIfNotCached(
+      transitData("K"),
+      request(ACCESS_D, EGRESS_C),
+      this::search
+    );
+    assertFalse(result.isDestinationReached());
+
+    result = subject.routeIfNotCached(transitData("K"), request(ACCESS_A, EGRESS_C), this::search);
+    assertTrue(result.isDestinationReached());
+    assertEquals(1, nSearches);
+  }
+
+  @Test
+  void doNotCacheIfAccessOrEgressHasOpeningHours() {
+    var openingHours = walk(STOP_C, D30s).openingHours(T00_00, T01_00);
+    subject.routeIfNotCached(transitData("K"), request(openingHours), this::search);
+    subject.routeIfNotCached(transitData("K"), request(openingHours), this::search);
+    subject.routeIfNotCached(transitData("K"), request(openingHours, EGRESS_C), this::search);
+    subject.routeIfNotCached(transitData("K"), request(openingHours, EGRESS_C), this::search);
+    assertEquals(4, nSearches);
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  void doNotCacheIfTransitDataHasNoKey() {
+    subject.routeIfNotCached(transitData(null), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(transitData(null), request(EGRESS_C), this::search);
+    assertEquals(2, nSearches);
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  void doNotCacheIfCacheIsDisabled() {
+    var disabled = new HeuristicSearchCache<TestTripSchedule>(0, TIME_TO_LIVE);
+    disabled.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    disabled.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    assertEquals(2, nSearches);
+  }
+
+  @Test
+  void expireEntriesAfterTimeToLive() {
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    time += TIME_TO_LIVE.toNanos();
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    assertEquals(1, nSearches);
+
+    time += 1;
+    subject.routeIfNotCached(transitData("K"), request(EGRESS_C), this::search);
+    assertEquals(2, nSearches);
+  }
+
+  @Test
+  void dropLeastRecentlyUsedEntry() {
+    subject.routeIfNotCached(transitData("A"), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(transitData("B"), request(EGRESS_C), this::search);
+    // Use A, so B is the least recently used
+    subject.routeIfNotCached(transitData("A"), request(EGRESS_C), this::search);
+    subject.routeIfNotCached(transitData("C"), request(EGRESS_C), this::search);
+    assertEquals(3, nSearches);
+    assertEquals(2, subject.size());
+
+    subject.routeIfNotCached(transitData("A"), request(EGRESS_C), this::search);
+    assertEquals(3, nSearches);
+    subject.routeIfNotCached(transitData("B"), request(EGRESS_C), this::search);
+    assertEquals(4, nSearches);
+  }
+
+  private static TestTransitData transitData(Object key) {
+    return new TestTransitData() {
+      @Override
+      public Object heuristicCacheKey() {
+        return key;
+      }
+    };
+  }
+
+  private static RaptorRequest<TestTripSchedule> request(RaptorAccessEgress egress) {
+    return request(ACCESS_A, egress);
+  }
+
+  private static RaptorRequest<TestTripSchedule> request(
+    RaptorAccessEgress access,
+    RaptorAccessEgress egress
+  ) {
+    return request(access, egress, T00_00, T01_00);
+  }
+
+  /**
+   * Create a reverse heuristic search request, the same way the destination heuristics is
+   * computed. The search starts from the egress at the latest arrival time.
+   */
+  private static RaptorRequest<TestTripSchedule> request(
+    RaptorAccessEgress access,
+    RaptorAccessEgress egress,
+    int edt,
+    int lat
+  ) {
+    var builder = new RaptorRequestBuilder<TestTripSchedule>()
+      .profile(RaptorProfile.MIN_TRAVEL_DURATION)
+      .searchDirection(SearchDirection.REVERSE);
+    builder
+      .searchParams()
+      .addAccessPaths(access)
+      .addEgressPaths(egress)
+      .earliestDepartureTime(edt)
+      .latestArrivalTime(lat)
+      .searchOneIterationOnly();
+    return builder.build();
+  }
+
+  private RaptorRouterResult<TestTripSchedule> search() {
+    ++nSearches;
+    return new RaptorRouterResult<>() {
+      @Override
+      public Collection<RaptorPath<TestTripSchedule>> extractPaths() {
+        return List.of();
+      }
+
+      @Override
+      public SingleCriteriaStopArrivals extractBestOverallArrivals() {
+        return arrivals(7);
+      }
+
+      @Override
+      public SingleCriteriaStopArrivals extractBestTransitArrivals() {
+        return arrivals(UNREACHED);
+      }
+
+      @Override
+      public SingleCriteriaStopArrivals extractBestNumberOfTransfers() {
+        return arrivals(2);
+      }
+
+      @Override
+      public boolean isDestinationReached() {
+        return true;
+      }
+    };
+  }
+
+  private static SingleCriteriaStopArrivals arrivals(int value) {
+    // STOP_D is never reached
+    return IntArraySingleCriteriaArrivals.create(
+      STOP_D + 1,
+      UNREACHED,
+      i -> i == STOP_D ? UNREACHED : value
+    );
+  }
+}
@@ -0,0 +1,119 @@
+package org.opentripplanner.raptor.moduletests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.D20m;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.D30s;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.STOP_A;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.STOP_B;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.STOP_C;
+import static org.opentripplanner.raptor._data.RaptorTestConstants.T00_00;
+import static org.opentripplanner.raptor._data.api.PathUtils.pathsToString;
+import static org.opentripplanner.raptor._data.transit.TestAccessEgress.walk;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.Optimization;
+import org.opentripplanner.raptor.api.request.RaptorEnvironment;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+/**
+ * FEATURE UNDER TEST
+ * <p>
+ * Raptor should return the same paths when the search-window is split into chunks and each chunk
+ * is searched in parallel, as when the hole search-window is searched in one Range Raptor search.
+ */
+class M01_ParallelIterationsTest {
+
+  private static final int N_TRIPS = 8;
+
+  private final TestTransitData data = new TestTransitData();
+  private final AtomicInteger threadCount = new AtomicInteger();
+  private ExecutorService threadPool;
+  private RaptorService<TestTripSchedule> raptorService;
+
+  /**
+   * Stops: A, B, C
+   * <p>
+   * Routes:
+   * <pre>
+   *   R1: A - C      Every 10 minutes, 20 minutes ride
+   *   R2: A - B      Every 15 minutes, 6 minutes ride
+   *   R3: B - C      Every 15 minutes, 10 minutes ride
+   * </pre>
+   * The trip with a transfer is faster than the direct trip, but has a higher cost.
+   */
+  @BeforeEach
+  void setup() {
+    data.withRoutes(
+      route("R1", STOP_A, STOP_C).withTimetable(schedule("0:05 0:25").repeat(N_TRIPS, 600)),
+      route("R2", STOP_A, STOP_B).withTimetable(schedule("0:02 0:08").repeat(N_TRIPS, 900)),
+      route("R3", STOP_B, STOP_C).withTimetable(schedule("0:10 0:20").repeat(N_TRIPS, 900))
+    );
+
+    threadPool =
+      Executors.newFixedThreadPool(
+        2,
+        r -> {
+          threadCount.incrementAndGet();
+          return new Thread(r);
+        }
+      );
+    var environment = new RaptorEnvironment() {
+      @Override
+      public ExecutorService threadPool() {
+        return threadPool;
+      }
+    };
+    var tuningParameters = new RaptorTuningParameters() {
+      @Override
+      public int searchWindowChunkSizeInSeconds() {
+        return D20m;
+      }
+    };
+    raptorService = new RaptorService<>(new RaptorConfig<>(tuningParameters, environment));
+  }
+
+  @AfterEach
+  void tearDown() {
+    threadPool.shutdownNow();
+  }
+
+  @Test
+  void sameResultAsSequentialSearch() {
+    var expected = pathsToString(raptorService.route(prepareRequest().build(), data));
+
+    var request = prepareRequest().enableOptimization(Optimization.PARALLEL_ITERATIONS).build();
+    var result = raptorService.route(request, data);
+
+    assertEquals(expected, pathsToString(result));
+    assertTrue(result.paths().size() > 3, result.paths().toString());
+    assertTrue(threadCount.get() > 0, "The thread pool is not used");
+  }
+
+  private RaptorRequestBuilder<TestTripSchedule> prepareRequest() {
+    var builder = new RaptorRequestBuilder<TestTripSchedule>();
+    builder.profile(RaptorProfile.MULTI_CRITERIA).clearOptimizations();
+    builder
+      .searchParams()
+      .addAccessPaths(walk(STOP_A, D30s))
+      .addEgressPaths(walk(STOP_C, D30s))
+      .earliestDepartureTime(T00_00)
+      .searchWindow(Duration.ofHours(1))
+      .timetable(true);
+    return builder;
+  }
+}
@@ -0,0 +1,198 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransfer;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.DominanceFunction;
+import org.opentripplanner.raptor.api.model.GeneralizedCostRelaxFunction;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.model.RelaxFunction;
+import org.opentripplanner.raptor.api.view.ArrivalView;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.c2.StopArrivalFactoryC2;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.ride.c2.PatternRideC2;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetEventListener;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetWithMarker;
+
+/**
+ * The {@link PrimitiveStopArrivalParetoSet} should behave exactly as a {@link ParetoSetWithMarker}
+ * using the {@code compareArrivalTimeRoundCostAndOnBoardArrival()} comparator. This test adds the
+ * same random sequence of arrivals to both and compare the result after each step.
+ */
+class PrimitiveStopArrivalParetoSetTest {
+
+  private static final int STOP = 1;
+  private static final int N_ARRIVALS = 2_000;
+  private static final RaptorTripSchedule ANY_TRIP = TestTripSchedule
+    .schedule("10:00 10:30")
+    .build();
+  private static final DominanceFunction C2_LESS_THAN = (left, right) -> left < right;
+  private static final StopArrivalFactoryC2<RaptorTripSchedule> STOP_ARRIVAL_FACTORY = new StopArrivalFactoryC2<>();
+
+  static Stream<Arguments> testCases() {
+    return Stream.of(
+      Arguments.of("C1", null, 1),
+      Arguments.of("C1 & C2", C2_LESS_THAN, 2),
+      Arguments.of("C1 & C2 - large set", C2_LESS_THAN, 3)
+    );
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("testCases")
+  void sameResultAsGenericParetoSet(String name, DominanceFunction c2, long seed) {
+    ArrivalParetoSetComparatorFactory<McStopArrival<RaptorTripSchedule>> comparatorFactory = ArrivalParetoSetComparatorFactory.factory(
+      RelaxFunction.NORMAL,
+      c2
+    );
+    var expectedEvents = new EventRecorder();
+    var expected = new ParetoSetWithMarker<>(
+      comparatorFactory.compareArrivalTimeRoundCostAndOnBoardArrival(),
+      expectedEvents
+    );
+    var resultEvents = new EventRecorder();
+    var subject = StopArrivalParetoSet
+      .of(comparatorFactory)
+      .withDebugListener(resultEvents)
+      .build();
+
+    assertInstanceOf(PrimitiveStopArrivalParetoSet.class, subject);
+    var primitiveSet = (PrimitiveStopArrivalParetoSet<RaptorTripSchedule>) subject;
+    int nDominated = 0;
+
+    var random = new Random(seed);
+    // Use a large range of values for the last case to get many elements in the set
+    int range = seed == 3 ? 200 : 20;
+
+    for (int i = 0; i < N_ARRIVALS; ++i) {
+      var arrival = randomArrival(random, range);
+      boolean dominated = primitiveSet.isDominated(
+        arrival.arrivalTime(),
+        arrival.paretoRound(),
+        arrival.c1(),
+        arrival.c2(),
+        arrival.arrivedOnBoard()
+      );
+      boolean added = expected.add(arrival);
+      assertEquals(added, subject.add(arrival), "Add #" + i);
+      // A dominated arrival must be rejected, but not all rejected arrivals are dominated
+      if (dominated) {
+        assertFalse(added, "Dominated #" + i);
+        ++nDominated;
+      }
+      assertEquals(ids(expected, expectedEvents), ids(subject, resultEvents), "Set #" + i);
+      assertEquals(
+        ids(expected.elementsAfterMarker(), expectedEvents),
+        ids(subject.elementsAfterMarker(), resultEvents),
+        "After marker #" + i
+      );
+      assertEquals(expected.hasElementsAfterMarker(), subject.hasElementsAfterMarker());
+
+      if (random.nextInt(5) == 0) {
+        expected.markAtEndOfSet();
+        subject.markAtEndOfSet();
+      }
+    }
+    assertEquals(expectedEvents.events, resultEvents.events);
+    assertTrue(nDominated > 0);
+  }
+
+  @Test
+  void relaxedComparatorUseGenericSet() {
+    ArrivalParetoSetComparatorFactory<McStopArrival<RaptorTripSchedule>> comparatorFactory = ArrivalParetoSetComparatorFactory.factory(
+      GeneralizedCostRelaxFunction.of(1.5),
+      null
+    );
+    assertInstanceOf(
+      GenericStopArrivalParetoSet.class,
+      StopArrivalParetoSet.of(comparatorFactory).build()
+    );
+  }
+
+  private static McStopArrival<RaptorTripSchedule> randomArrival(Random random, int range) {
+    int time = 1000 + random.nextInt(range);
+    int c1 = 1000 + random.nextInt(range);
+    int c2 = random.nextInt(1 + range / 10);
+
+    var access = STOP_ARRIVAL_FACTORY.createAccessStopArrival(
+      0,
+      TestAccessEgress.walk(STOP, time, c1)
+    );
+    if (random.nextInt(4) == 0) {
+      return access;
+    }
+    var transit = STOP_ARRIVAL_FACTORY.createTransitStopArrival(
+      new PatternRideC2<>(access, STOP, 0, 0, 0, 0, c2, 0, ANY_TRIP),
+      STOP,
+      time + random.nextInt(range),
+      c1 + random.nextInt(range)
+    );
+    if (random.nextBoolean()) {
+      return transit;
+    }
+    return STOP_ARRIVAL_FACTORY.createTransferStopArrival(
+      transit,
+      TestTransfer.transfer(STOP, 60, random.nextInt(range)),
+      transit.arrivalTime() + random.nextInt(range)
+    );
+  }
+
+  private static List<Integer> ids(
+    Iterable<McStopArrival<RaptorTripSchedule>> arrivals,
+    EventRecorder recorder
+  ) {
+    return StreamSupport.stream(arrivals.spliterator(), false).map(recorder::id).toList();
+  }
+
+  /**
+   * Record all events, the arrivals are identified by the order they are accepted. We can not use
+   * the arrivals directly, since {@link McStopArrival#equals(Object)} is not supported.
+   */
+  private static class EventRecorder
+    implements ParetoSetEventListener<ArrivalView<RaptorTripSchedule>> {
+
+    private final Map<ArrivalView<RaptorTripSchedule>, Integer> ids = new IdentityHashMap<>();
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void notifyElementAccepted(ArrivalView<RaptorTripSchedule> newElement) {
+      events.add("Accepted " + id(newElement));
+    }
+
+    @Override
+    public void notifyElementDropped(
+      ArrivalView<RaptorTripSchedule> element,
+      ArrivalView<RaptorTripSchedule> droppedByElement
+    ) {
+      events.add("Dropped " + id(element) + " by " + id(droppedByElement));
+    }
+
+    @Override
+    public void notifyElementRejected(
+      ArrivalView<RaptorTripSchedule> element,
+      ArrivalView<RaptorTripSchedule> rejectedByElement
+    ) {
+      events.add("Rejected " + id(element) + " by " + id(rejectedByElement));
+    }
+
+    int id(ArrivalView<RaptorTripSchedule> arrival) {
+      return ids.computeIfAbsent(arrival, it -> ids.size());
+    }
+  }
+}